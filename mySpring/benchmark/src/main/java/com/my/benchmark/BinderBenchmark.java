@@ -0,0 +1,105 @@
+package com.my.benchmark;
+
+import com.my.mvcFramework.annotation.MyRequestParam;
+import com.my.mvcFramework.v1.handler.Handler;
+import com.my.mvcFramework.v1.handler.HandlerInvokers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @ClassName BinderBenchmark
+ * @Description 参数绑定和调用的耗时，按形参个数测量。形参混合了String、int、long、boolean，覆盖类型转换
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BinderBenchmark {
+    @Param({"0", "1", "4", "8"})
+    public int params;
+
+    @Param({"methodHandle", "reflect"})
+    public String invokerMode;
+
+    private Handler handler;
+
+    private StubRequest request;
+
+    private StubResponse response;
+
+    private Object[] args;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Target target = new Target();
+        Method method = null;
+        for (Method candidate : Target.class.getMethods()) {
+            if (("p" + params).equals(candidate.getName())) {
+                method = candidate;
+            }
+        }
+        handler = new Handler("/bind", target, method, HandlerInvokers.create(invokerMode, target, method));
+        request = new StubRequest().reset("/bind")
+                .parameter("s0", "a").parameter("s1", "b")
+                .parameter("i0", "1").parameter("i1", "2")
+                .parameter("l0", "3").parameter("l1", "4")
+                .parameter("b0", "true").parameter("b1", "false");
+        response = new StubResponse();
+        args = handler.resolveArguments(request, response, new String[0]);
+    }
+
+    @Benchmark
+    public Object[] bind() {
+        return handler.resolveArguments(request, response, new String[0]);
+    }
+
+    @Benchmark
+    public Object invoke() throws Exception {
+        return handler.getInvoker().invoke(args);
+    }
+
+    @Benchmark
+    public Object bindAndInvoke() throws Exception {
+        return handler.getInvoker().invoke(handler.resolveArguments(request, response, new String[0]));
+    }
+
+    public static class Target {
+        public String p0() {
+            return "ok";
+        }
+
+        public String p1(@MyRequestParam("s0") String s0) {
+            return s0;
+        }
+
+        public String p4(@MyRequestParam("s0") String s0, @MyRequestParam("i0") int i0,
+                         @MyRequestParam("l0") long l0, @MyRequestParam("b0") boolean b0) {
+            return s0;
+        }
+
+        public String p8(@MyRequestParam("s0") String s0, @MyRequestParam("i0") int i0,
+                         @MyRequestParam("l0") long l0, @MyRequestParam("b0") boolean b0,
+                         @MyRequestParam("s1") String s1, @MyRequestParam("i1") int i1,
+                         @MyRequestParam("l1") long l1, @MyRequestParam("b1") boolean b1) {
+            return s1;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.my.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.servlet.http.HttpServlet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @ClassName DispatcherBenchmark
+ * @Description MyDispatcherServlet.service()的端到端吞吐：路由、参数绑定、调用、写回。
+ *              按路由数、每个Handler的参数个数和线程数组合测量，每个线程依次轮询所有路由
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DispatcherBenchmark {
+    /** 每个Controller最多100个Handler */
+    private static final int ROUTES_PER_CONTROLLER = 100;
+
+    @State(Scope.Benchmark)
+    public static class App {
+        @Param({"10", "100", "1000", "10000"})
+        public int routes;
+
+        @Param({"0", "1", "4"})
+        public int params;
+
+        SyntheticApp app;
+
+        HttpServlet servlet;
+
+        String[] uris;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            int perController = Math.min(routes, ROUTES_PER_CONTROLLER);
+            int controllers = (routes + perController - 1) / perController;
+            app = SyntheticApp.generate(controllers, perController, params, 1);
+            servlet = app.start();
+            List<String> generated = app.getRoutes();
+            uris = generated.toArray(new String[generated.size()]);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+            servlet.destroy();
+            app.delete();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Exchange {
+        StubRequest request;
+
+        StubResponse response = new StubResponse();
+
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp(App app) {
+            request = app.app.fillParameters(new StubRequest());
+            // 各线程从不同位置开始轮询，避免所有线程同时打在同一个Handler上
+            next = (int) (Thread.currentThread().getId() % app.uris.length);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long dispatch1Thread(App app, Exchange exchange) throws Exception {
+        return dispatch(app, exchange);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long dispatch4Threads(App app, Exchange exchange) throws Exception {
+        return dispatch(app, exchange);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public long dispatch16Threads(App app, Exchange exchange) throws Exception {
+        return dispatch(app, exchange);
+    }
+
+    private static long dispatch(App app, Exchange exchange) throws Exception {
+        String uri = app.uris[exchange.next];
+        if (++exchange.next == app.uris.length) {
+            exchange.next = 0;
+        }
+        app.servlet.service(exchange.request.reset(uri), exchange.response);
+        return exchange.response.drain();
+    }
+}
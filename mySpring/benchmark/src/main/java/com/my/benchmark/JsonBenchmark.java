@@ -0,0 +1,174 @@
+package com.my.benchmark;
+
+import com.my.mvcFramework.v1.json.JsonCodec;
+import com.my.mvcFramework.v1.json.JsonType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @ClassName JsonBenchmark
+ * @Description JsonCodec与朴素的反射序列化（每次getDeclaredFields + Field.get + StringBuilder + getBytes）的对比，
+ *              按订单中的明细条数测量；同时给出JsonCodec反序列化的耗时
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JsonBenchmark {
+    @Param({"1", "10", "100"})
+    public int items;
+
+    private Order order;
+
+    private JsonType orderType;
+
+    private byte[] json;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        order = new Order();
+        order.id = 20261018L;
+        order.customer = "客户\"ykq\"";
+        order.paid = true;
+        order.items = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            Item item = new Item();
+            item.sku = "SKU-" + i;
+            item.quantity = i + 1;
+            item.price = 9.99 + i;
+            order.items.add(item);
+        }
+        orderType = JsonCodec.DEFAULT.typeOf(Order.class);
+        JsonCodec.DEFAULT.write(out, order, orderType);
+        json = out.toByteArray();
+    }
+
+    @Benchmark
+    public int codecWrite() throws IOException {
+        out.reset();
+        JsonCodec.DEFAULT.write(out, order, orderType);
+        return out.size();
+    }
+
+    @Benchmark
+    public int reflectiveWrite() throws IOException {
+        out.reset();
+        StringBuilder builder = new StringBuilder();
+        NaiveJson.write(builder, order);
+        out.write(builder.toString().getBytes(StandardCharsets.UTF_8));
+        return out.size();
+    }
+
+    @Benchmark
+    public Object codecRead() throws IOException {
+        return JsonCodec.DEFAULT.read(new ByteArrayInputStream(json), orderType);
+    }
+
+    public static class Order {
+        private long id;
+
+        private String customer;
+
+        private boolean paid;
+
+        private List<Item> items;
+    }
+
+    public static class Item {
+        private String sku;
+
+        private int quantity;
+
+        private double price;
+    }
+
+    /** 对照组：不做任何预计算，每次都反射查找字段 */
+    static final class NaiveJson {
+        private NaiveJson() {
+        }
+
+        static void write(StringBuilder builder, Object value) {
+            if (null == value) {
+                builder.append("null");
+            } else if (value instanceof CharSequence) {
+                builder.append('"');
+                CharSequence chars = (CharSequence) value;
+                for (int i = 0; i < chars.length(); i++) {
+                    char c = chars.charAt(i);
+                    if ('"' == c || '\\' == c) {
+                        builder.append('\\').append(c);
+                    } else if (c < 0x20) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+                }
+                builder.append('"');
+            } else if (value instanceof Number || value instanceof Boolean) {
+                builder.append(value);
+            } else if (value instanceof Collection) {
+                builder.append('[');
+                boolean first = true;
+                for (Object item : (Collection<?>) value) {
+                    if (!first) {
+                        builder.append(',');
+                    }
+                    first = false;
+                    write(builder, item);
+                }
+                builder.append(']');
+            } else if (value instanceof Map) {
+                throw new UnsupportedOperationException();
+            } else {
+                builder.append('{');
+                boolean first = true;
+                for (Field field : value.getClass().getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    if (!first) {
+                        builder.append(',');
+                    }
+                    first = false;
+                    field.setAccessible(true);
+                    builder.append('"').append(field.getName()).append("\":");
+                    try {
+                        write(builder, field.get(value));
+                    } catch (IllegalAccessException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+                builder.append('}');
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.my.benchmark;
+
+import com.my.mvcFramework.v1.handler.Handler;
+import com.my.mvcFramework.v1.handler.HandlerInvokers;
+import com.my.mvcFramework.v1.router.RouteMatch;
+import com.my.mvcFramework.v1.router.Router;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @ClassName RouterBenchmark
+ * @Description Router.lookup()的耗时。每4个路由中有1个带{id}路径变量，另有一个不存在的url测量404的路径；
+ *              frozen区分注册阶段的前缀树和freeze()之后压平的只读数组
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RouterBenchmark {
+    @Param({"10", "100", "1000", "10000"})
+    public int routes;
+
+    @Param({"false", "true"})
+    public boolean frozen;
+
+    private Router router;
+
+    private String[] uris;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Target target = new Target();
+        Method method = Target.class.getMethod("handle");
+        router = new Router();
+        uris = new String[routes];
+        for (int i = 0; i < routes; i++) {
+            String url = 0 == i % 4 ? "/api/v1/resource" + i + "/items/{id}" : "/api/v1/resource" + i + "/items";
+            router.register(new Handler(url, target, method, HandlerInvokers.create(null, target, method)));
+            uris[i] = 0 == i % 4 ? "/api/v1/resource" + i + "/items/42" : url;
+        }
+        if (frozen) {
+            router.freeze();
+        }
+    }
+
+    @Benchmark
+    public RouteMatch lookup() {
+        String uri = uris[next];
+        if (++next == uris.length) {
+            next = 0;
+        }
+        return router.lookup(uri, "");
+    }
+
+    @Benchmark
+    public RouteMatch lookupMiss() {
+        return router.lookup("/api/v1/missing/items", "");
+    }
+
+    public static class Target {
+        public String handle() {
+            return "ok";
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.my.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.servlet.http.HttpServlet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @ClassName StartupBenchmark
+ * @Description 冷启动耗时：在新的类加载器中执行MyDispatcherServlet.init()，
+ *              包括扫描、类加载、doInstance、doAutowired和doInitHandlerMapping。
+ *              合成应用中一半是Service、一半是Controller，每个Controller有10个Handler。
+ *              bootstrap为reflect时扫描class文件、反射注册，为aot时走编译期生成的注册代码
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+    private static final int ROUTES_PER_CONTROLLER = 10;
+
+    /** @MyController和@MyService的总数 */
+    @Param({"100", "1000", "5000"})
+    public int components;
+
+    @Param({"reflect", "aot"})
+    public String bootstrap;
+
+    private SyntheticApp app;
+
+    private HttpServlet servlet;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        int services = components / 2;
+        app = SyntheticApp.generate(components - services, ROUTES_PER_CONTROLLER, 1, services, "aot".equals(bootstrap));
+    }
+
+    @TearDown(Level.Invocation)
+    public void destroy() {
+        if (null != servlet) {
+            servlet.destroy();
+            servlet = null;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        app.delete();
+    }
+
+    @Benchmark
+    public HttpServlet init() throws Exception {
+        servlet = app.start();
+        return servlet;
+    }
+}
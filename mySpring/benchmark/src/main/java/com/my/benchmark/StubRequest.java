@@ -0,0 +1,141 @@
+package com.my.benchmark;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @ClassName StubRequest
+ * @Description 内存中的GET请求，只实现分发路径上会用到的方法，其余方法抛UnsupportedOperationException。
+ *              同一个线程反复reset()复用，测量时不分配请求对象
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class StubRequest extends HttpServletRequestWrapper {
+    private static final HttpServletRequest UNSUPPORTED = (HttpServletRequest) Proxy.newProxyInstance(
+            StubRequest.class.getClassLoader(), new Class<?>[]{HttpServletRequest.class}, (proxy, method, args) -> {
+                throw new UnsupportedOperationException(method.getName());
+            });
+
+    private final Map<String, String[]> parameters = new HashMap<>();
+
+    private final Map<String, Object> attributes = new HashMap<>();
+
+    private String requestURI;
+
+    public StubRequest() {
+        super(UNSUPPORTED);
+    }
+
+    /**
+     * 功能描述: 换成下一个请求的uri，清空上一个请求的属性
+     * @author ykq
+     * @date 2026/10/18
+     * @param requestURI
+     * @return com.my.benchmark.StubRequest
+     */
+    public StubRequest reset(String requestURI) {
+        this.requestURI = requestURI;
+        attributes.clear();
+        return this;
+    }
+
+    public StubRequest parameter(String name, String... values) {
+        parameters.put(name, values);
+        return this;
+    }
+
+    @Override
+    public String getMethod() {
+        return "GET";
+    }
+
+    @Override
+    public String getRequestURI() {
+        return requestURI;
+    }
+
+    @Override
+    public String getQueryString() {
+        return null;
+    }
+
+    @Override
+    public String getRemoteAddr() {
+        return "127.0.0.1";
+    }
+
+    @Override
+    public String getContextPath() {
+        return "";
+    }
+
+    @Override
+    public String getServletPath() {
+        return "";
+    }
+
+    @Override
+    public String getProtocol() {
+        return "HTTP/1.1";
+    }
+
+    @Override
+    public String getParameter(String name) {
+        String[] values = parameters.get(name);
+        return null == values ? null : values[0];
+    }
+
+    @Override
+    public String[] getParameterValues(String name) {
+        return parameters.get(name);
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        return parameters;
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public void setAttribute(String name, Object o) {
+        attributes.put(name, o);
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        attributes.remove(name);
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return "UTF-8";
+    }
+
+    @Override
+    public String getHeader(String name) {
+        return null;
+    }
+
+    @Override
+    public long getDateHeader(String name) {
+        return -1;
+    }
+
+    @Override
+    public boolean isAsyncSupported() {
+        return false;
+    }
+
+    @Override
+    public boolean isAsyncStarted() {
+        return false;
+    }
+}
@@ -0,0 +1,246 @@
+package com.my.benchmark;
+
+import javax.servlet.ServletConfig;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * @ClassName SyntheticApp
+ * @Description 生成并编译一个合成应用：services个@MyService（各自实现一个接口，按二叉树互相注入），
+ *              controllers个@MyController（每个routesPerController个Handler，每个Handler有params个@MyRequestParam）。
+ *              aot为true时编译时执行AotBootstrapProcessor，启动走生成的注册代码，否则扫描class文件、反射注册。
+ *              MyDispatcherServlet用自己的类加载器Class.forName，所以每次启动都在新的子优先类加载器中加载框架和合成类
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class SyntheticApp {
+    public static final String PACKAGE = "com.my.generated";
+
+    private static final String CONFIG = "synthetic.properties";
+
+    private final Path root;
+
+    private final List<String> routes = new ArrayList<>();
+
+    private final int params;
+
+    private SyntheticApp(Path root, int params) {
+        this.root = root;
+        this.params = params;
+    }
+
+    /**
+     * 功能描述: 生成源码并用javac编译到临时目录，不生成注册代码，启动时扫描、反射注册
+     * @author ykq
+     * @date 2026/10/18
+     * @param controllers Controller个数
+     * @param routesPerController 每个Controller的Handler个数
+     * @param params 每个Handler的@MyRequestParam个数
+     * @param services Service个数，至少为1
+     * @return com.my.benchmark.SyntheticApp
+     */
+    public static SyntheticApp generate(int controllers, int routesPerController, int params, int services) throws IOException {
+        return generate(controllers, routesPerController, params, services, false);
+    }
+
+    /**
+     * 功能描述: 生成源码并用javac编译到临时目录
+     * @author ykq
+     * @date 2026/10/18
+     * @param controllers Controller个数
+     * @param routesPerController 每个Controller的Handler个数
+     * @param params 每个Handler的@MyRequestParam个数
+     * @param services Service个数，至少为1
+     * @param aot 是否生成启动用的注册代码
+     * @return com.my.benchmark.SyntheticApp
+     */
+    public static SyntheticApp generate(int controllers, int routesPerController, int params, int services, boolean aot) throws IOException {
+        services = Math.max(1, services);
+        Path root = Files.createTempDirectory("mySpring-synthetic");
+        SyntheticApp app = new SyntheticApp(root, params);
+        Path sourceDir = Files.createDirectories(root.resolve("src").resolve(PACKAGE.replace('.', '/')));
+        Path classesDir = Files.createDirectories(root.resolve("classes"));
+        List<String> sources = new ArrayList<>();
+
+        for (int i = 0; i < services; i++) {
+            StringBuilder api = new StringBuilder();
+            api.append("package ").append(PACKAGE).append(";\n");
+            api.append("public interface IService").append(i).append(" { String call(String value); }\n");
+            sources.add(write(sourceDir, "IService" + i, api));
+
+            StringBuilder impl = new StringBuilder();
+            impl.append("package ").append(PACKAGE).append(";\n");
+            impl.append("import com.my.mvcFramework.annotation.*;\n");
+            impl.append("@MyService\n");
+            impl.append("public class Service").append(i).append(" implements IService").append(i).append(" {\n");
+            if (i > 0) {
+                impl.append("    @MyAutowired private IService").append((i - 1) / 2).append(" parent;\n");
+            }
+            impl.append("    public String call(String value) { return value; }\n");
+            impl.append("}\n");
+            sources.add(write(sourceDir, "Service" + i, impl));
+        }
+
+        for (int c = 0; c < controllers; c++) {
+            StringBuilder controller = new StringBuilder();
+            controller.append("package ").append(PACKAGE).append(";\n");
+            controller.append("import com.my.mvcFramework.annotation.*;\n");
+            controller.append("@MyController\n");
+            controller.append("@MyRequestMapping(\"/c").append(c).append("\")\n");
+            controller.append("public class Controller").append(c).append(" {\n");
+            controller.append("    @MyAutowired private IService").append(c % services).append(" service;\n");
+            for (int m = 0; m < routesPerController; m++) {
+                controller.append("    @MyRequestMapping(\"/m").append(m).append("\")\n");
+                controller.append("    public String m").append(m).append("(");
+                for (int p = 0; p < params; p++) {
+                    controller.append(p > 0 ? ", " : "").append("@MyRequestParam(\"p").append(p).append("\") String p").append(p);
+                }
+                controller.append(") { return service.call(\"ok\"); }\n");
+                app.routes.add("/c" + c + "/m" + m);
+            }
+            controller.append("}\n");
+            sources.add(write(sourceDir, "Controller" + c, controller));
+        }
+
+        JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+        if (null == javac) {
+            throw new IllegalStateException("A JDK is required to compile the synthetic application");
+        }
+        List<String> args = new ArrayList<>();
+        if (aot) {
+            // 只执行框架的处理器，classpath上还有JMH的处理器
+            args.add("-processor");
+            args.add("com.my.mvcFramework.v1.aot.AotBootstrapProcessor");
+            args.add("-s");
+            args.add(Files.createDirectories(root.resolve("generated")).toString());
+        } else {
+            args.add("-proc:none");
+        }
+        args.add("-nowarn");
+        args.add("-classpath");
+        args.add(System.getProperty("java.class.path"));
+        args.add("-d");
+        args.add(classesDir.toString());
+        args.addAll(sources);
+        if (0 != javac.run(null, null, null, args.toArray(new String[args.size()]))) {
+            throw new IllegalStateException("Failed to compile the synthetic application in " + root);
+        }
+
+        String config = "scanPackage=" + PACKAGE + "\ncomponentIndex=false\naot.enabled=" + aot + "\n"
+                + "ioc.parallelism=" + Runtime.getRuntime().availableProcessors() + "\n"
+                // 日志写到临时目录，不输出到控制台干扰JMH的结果
+                + "log.dir=" + root.resolve("logs").toString().replace('\\', '/') + "\n";
+        Files.write(classesDir.resolve(CONFIG), config.getBytes(StandardCharsets.UTF_8));
+        return app;
+    }
+
+    /**
+     * 功能描述: 在新的类加载器中创建并初始化MyDispatcherServlet，包含类加载在内的完整冷启动
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return javax.servlet.http.HttpServlet
+     */
+    public HttpServlet start() throws Exception {
+        ClassLoader loader = new ChildFirstClassLoader(new URL[]{
+                root.resolve("classes").toUri().toURL(),
+                SyntheticApp.class.getProtectionDomain().getCodeSource().getLocation()
+        }, SyntheticApp.class.getClassLoader());
+        HttpServlet servlet = (HttpServlet) loader.loadClass("com.my.mvcFramework.v1.servlet.MyDispatcherServlet")
+                .getDeclaredConstructor().newInstance();
+        servlet.init(servletConfig());
+        return servlet;
+    }
+
+    public List<String> getRoutes() {
+        return routes;
+    }
+
+    /**
+     * 功能描述: 给请求填上每个Handler都需要的请求参数
+     * @author ykq
+     * @date 2026/10/18
+     * @param request
+     * @return com.my.benchmark.StubRequest
+     */
+    public StubRequest fillParameters(StubRequest request) {
+        for (int p = 0; p < params; p++) {
+            request.parameter("p" + p, "v" + p);
+        }
+        return request;
+    }
+
+    public void delete() throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private static String write(Path dir, String className, CharSequence source) throws IOException {
+        Path file = dir.resolve(className + ".java");
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.append(source);
+        }
+        return file.toString();
+    }
+
+    private static ServletConfig servletConfig() {
+        final ServletContext context = (ServletContext) Proxy.newProxyInstance(SyntheticApp.class.getClassLoader(),
+                new Class<?>[]{ServletContext.class}, (proxy, method, args) -> null);
+        return (ServletConfig) Proxy.newProxyInstance(SyntheticApp.class.getClassLoader(),
+                new Class<?>[]{ServletConfig.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getInitParameter":
+                            return "contextConfigLocation".equals(args[0]) ? CONFIG : null;
+                        case "getServletName":
+                            return "mymvc";
+                        case "getServletContext":
+                            return context;
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    /**
+     * 框架和合成类由自己加载，servlet-api等其他类交给父加载器，保证HttpServlet类型一致
+     */
+    private static final class ChildFirstClassLoader extends URLClassLoader {
+        ChildFirstClassLoader(URL[] urls, ClassLoader parent) {
+            super(urls, parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.startsWith("com.my.") || name.startsWith("com.my.benchmark.")) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                if (null == loaded) {
+                    loaded = findClass(name);
+                }
+                if (resolve) {
+                    resolveClass(loaded);
+                }
+                return loaded;
+            }
+        }
+    }
+}
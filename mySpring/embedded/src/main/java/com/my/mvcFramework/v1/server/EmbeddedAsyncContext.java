@@ -0,0 +1,205 @@
+package com.my.mvcFramework.v1.server;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * @ClassName EmbeddedAsyncContext
+ * @Description 内嵌服务器的AsyncContext。在servlet的service()返回之前调用complete()的，推迟到返回之后再收尾；
+ *              超时从service()返回时开始计算。不支持dispatch()，异步结果由调用方直接写进response
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+final class EmbeddedAsyncContext implements AsyncContext {
+    private static final long DEFAULT_TIMEOUT_MILLIS = 30000L;
+
+    private final HttpConnection connection;
+
+    private final EmbeddedRequest originalRequest;
+
+    private final EmbeddedResponse originalResponse;
+
+    private final ServletRequest request;
+
+    private final ServletResponse response;
+
+    private final List<Registration> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile long timeout = DEFAULT_TIMEOUT_MILLIS;
+
+    // 以下状态由this保护
+    private boolean dispatching = true;
+
+    private boolean completed;
+
+    private ScheduledFuture<?> timeoutFuture;
+
+    EmbeddedAsyncContext(HttpConnection connection, EmbeddedRequest originalRequest, EmbeddedResponse originalResponse,
+                         ServletRequest request, ServletResponse response) {
+        this.connection = connection;
+        this.originalRequest = originalRequest;
+        this.originalResponse = originalResponse;
+        this.request = request;
+        this.response = response;
+    }
+
+    /**
+     * 功能描述: servlet的service()返回后由连接调用
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return boolean true表示请求仍在异步处理中，由complete()收尾；false表示分发期间已经complete()，由调用方直接收尾
+     */
+    boolean onDispatchReturned() {
+        synchronized (this) {
+            dispatching = false;
+            if (!completed) {
+                if (timeout > 0) {
+                    timeoutFuture = connection.getServer().schedule(this::onTimeout, timeout);
+                }
+                return true;
+            }
+        }
+        fireComplete();
+        return false;
+    }
+
+    @Override
+    public void complete() {
+        synchronized (this) {
+            if (completed) {
+                return;
+            }
+            completed = true;
+            if (null != timeoutFuture) {
+                timeoutFuture.cancel(false);
+            }
+            if (dispatching) {
+                return;
+            }
+        }
+        fireComplete();
+        connection.completeAsync(originalResponse);
+    }
+
+    synchronized boolean isCompleted() {
+        return completed;
+    }
+
+    private void onTimeout() {
+        if (isCompleted()) {
+            return;
+        }
+        for (Registration registration : listeners) {
+            try {
+                registration.listener.onTimeout(registration.event);
+            } catch (IOException | RuntimeException e) {
+                connection.getServer().getLogger().error("AsyncListener.onTimeout failed", e);
+            }
+        }
+        // 没有监听器处理超时，按servlet规范返回500
+        if (!isCompleted() && !originalResponse.isCommitted()) {
+            try {
+                originalResponse.sendError(500, "Async request timed out after " + timeout + "ms");
+            } catch (IOException | IllegalStateException e) {
+                originalResponse.setKeepAlive(false);
+            }
+        }
+        complete();
+    }
+
+    private void fireComplete() {
+        for (Registration registration : listeners) {
+            try {
+                registration.listener.onComplete(registration.event);
+            } catch (IOException | RuntimeException e) {
+                connection.getServer().getLogger().error("AsyncListener.onComplete failed", e);
+            }
+        }
+    }
+
+    @Override
+    public ServletRequest getRequest() {
+        return request;
+    }
+
+    @Override
+    public ServletResponse getResponse() {
+        return response;
+    }
+
+    @Override
+    public boolean hasOriginalRequestAndResponse() {
+        return request == originalRequest && response == originalResponse;
+    }
+
+    @Override
+    public void dispatch() {
+        throw new UnsupportedOperationException("AsyncContext.dispatch() is not supported by the embedded server");
+    }
+
+    @Override
+    public void dispatch(String path) {
+        dispatch();
+    }
+
+    @Override
+    public void dispatch(ServletContext context, String path) {
+        dispatch();
+    }
+
+    @Override
+    public void start(Runnable run) {
+        connection.getServer().execute(run);
+    }
+
+    @Override
+    public void addListener(AsyncListener listener) {
+        addListener(listener, request, response);
+    }
+
+    @Override
+    public void addListener(AsyncListener listener, ServletRequest servletRequest, ServletResponse servletResponse) {
+        listeners.add(new Registration(listener, new AsyncEvent(this, servletRequest, servletResponse)));
+    }
+
+    @Override
+    public <T extends AsyncListener> T createListener(Class<T> clazz) throws ServletException {
+        try {
+            return clazz.newInstance();
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new ServletException(e);
+        }
+    }
+
+    @Override
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    @Override
+    public long getTimeout() {
+        return timeout;
+    }
+
+    private static final class Registration {
+        final AsyncListener listener;
+
+        final AsyncEvent event;
+
+        Registration(AsyncListener listener, AsyncEvent event) {
+            this.listener = listener;
+            this.event = event;
+        }
+    }
+}
@@ -0,0 +1,677 @@
+package com.my.mvcFramework.v1.server;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.DispatcherType;
+import javax.servlet.ReadListener;
+import javax.servlet.RequestDispatcher;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import javax.servlet.http.HttpUpgradeHandler;
+import javax.servlet.http.Part;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * @ClassName EmbeddedRequest
+ * @Description 内嵌服务器的请求。请求体在交给servlet之前已经完整读入内存；参数在第一次访问时才解析，
+ *              表单请求体只在servlet没有读过输入流时参与解析。没有声明字符集时按UTF-8解码参数和请求体。
+ *              不支持session、multipart和RequestDispatcher
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+final class EmbeddedRequest implements HttpServletRequest {
+    private static final String DEFAULT_CHARSET = "UTF-8";
+
+    private static final String FORM_CONTENT_TYPE = "application/x-www-form-urlencoded";
+
+    private final HttpConnection connection;
+
+    private final ParsedRequest request;
+
+    private final EmbeddedResponse response;
+
+    private final String contextPath;
+
+    private Map<String, Object> attributes;
+
+    private String characterEncoding;
+
+    private Map<String, String[]> parameters;
+
+    /** 0未读，1已通过getInputStream()读，2已通过getReader()读 */
+    private int bodyAccess;
+
+    private BodyInputStream inputStream;
+
+    private BufferedReader reader;
+
+    private EmbeddedAsyncContext asyncContext;
+
+    EmbeddedRequest(HttpConnection connection, ParsedRequest request, EmbeddedResponse response) {
+        this.connection = connection;
+        this.request = request;
+        this.response = response;
+        this.contextPath = connection.getServer().getContextPath();
+    }
+
+    /**
+     * 功能描述: 请求路径是否在server.contextPath下
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return boolean
+     */
+    boolean isUnderContextPath() {
+        String uri = request.requestURI;
+        return "".equals(contextPath) || uri.equals(contextPath)
+                || (uri.startsWith(contextPath) && '/' == uri.charAt(contextPath.length()));
+    }
+
+    EmbeddedAsyncContext getEmbeddedAsyncContext() {
+        return asyncContext;
+    }
+
+    // ---------------- ServletRequest ----------------
+
+    @Override
+    public Object getAttribute(String name) {
+        return null == attributes ? null : attributes.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return null == attributes ? Collections.<String>emptyEnumeration()
+                : Collections.enumeration(new ArrayList<>(attributes.keySet()));
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        if (null != characterEncoding) {
+            return characterEncoding;
+        }
+        String contentType = getContentType();
+        if (null == contentType) {
+            return null;
+        }
+        int charset = contentType.toLowerCase(Locale.ROOT).indexOf("charset=");
+        if (charset < 0) {
+            return null;
+        }
+        int end = contentType.indexOf(';', charset);
+        String value = contentType.substring(charset + "charset=".length(), end < 0 ? contentType.length() : end).trim();
+        return value.length() > 1 && value.startsWith("\"") && value.endsWith("\"") ? value.substring(1, value.length() - 1) : value;
+    }
+
+    @Override
+    public void setCharacterEncoding(String env) throws UnsupportedEncodingException {
+        if (0 != bodyAccess || null != parameters) {
+            return;
+        }
+        if (!Charset.isSupported(env)) {
+            throw new UnsupportedEncodingException(env);
+        }
+        characterEncoding = env;
+    }
+
+    @Override
+    public int getContentLength() {
+        long length = getContentLengthLong();
+        return length > Integer.MAX_VALUE ? -1 : (int) length;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        // chunked请求没有Content-Length头，按servlet规范返回-1
+        return null == request.getHeader("Content-Length") ? -1 : request.body.length;
+    }
+
+    @Override
+    public String getContentType() {
+        return request.getHeader("Content-Type");
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        if (2 == bodyAccess) {
+            throw new IllegalStateException("getReader() has already been called");
+        }
+        bodyAccess = 1;
+        if (null == inputStream) {
+            inputStream = new BodyInputStream(request.body);
+        }
+        return inputStream;
+    }
+
+    @Override
+    public String getParameter(String name) {
+        String[] values = getParameterMap().get(name);
+        return null == values ? null : values[0];
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+        return Collections.enumeration(getParameterMap().keySet());
+    }
+
+    @Override
+    public String[] getParameterValues(String name) {
+        return getParameterMap().get(name);
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        if (null == parameters) {
+            parameters = parseParameters();
+        }
+        return parameters;
+    }
+
+    @Override
+    public String getProtocol() {
+        return request.protocol;
+    }
+
+    @Override
+    public String getScheme() {
+        return "http";
+    }
+
+    @Override
+    public String getServerName() {
+        String host = request.getHeader("Host");
+        if (null == host || "".equals(host)) {
+            return connection.getLocalAddress().getHostString();
+        }
+        // IPv6字面量带方括号，端口在方括号之后
+        int colon = host.lastIndexOf(':');
+        return colon > host.lastIndexOf(']') ? host.substring(0, colon) : host;
+    }
+
+    @Override
+    public int getServerPort() {
+        String host = request.getHeader("Host");
+        if (null == host || "".equals(host)) {
+            return connection.getLocalAddress().getPort();
+        }
+        int colon = host.lastIndexOf(':');
+        if (colon > host.lastIndexOf(']')) {
+            try {
+                return Integer.parseInt(host.substring(colon + 1));
+            } catch (NumberFormatException e) {
+                return connection.getLocalAddress().getPort();
+            }
+        }
+        return 80;
+    }
+
+    @Override
+    public BufferedReader getReader() throws UnsupportedEncodingException {
+        if (1 == bodyAccess) {
+            throw new IllegalStateException("getInputStream() has already been called");
+        }
+        bodyAccess = 2;
+        if (null == reader) {
+            String charset = getCharacterEncoding();
+            reader = new BufferedReader(new InputStreamReader(new BodyInputStream(request.body),
+                    null == charset ? DEFAULT_CHARSET : charset));
+        }
+        return reader;
+    }
+
+    @Override
+    public String getRemoteAddr() {
+        return connection.getRemoteAddress().getAddress().getHostAddress();
+    }
+
+    @Override
+    public String getRemoteHost() {
+        return connection.getRemoteAddress().getHostString();
+    }
+
+    @Override
+    public void setAttribute(String name, Object o) {
+        if (null == o) {
+            removeAttribute(name);
+            return;
+        }
+        if (null == attributes) {
+            attributes = new HashMap<>();
+        }
+        attributes.put(name, o);
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        if (null != attributes) {
+            attributes.remove(name);
+        }
+    }
+
+    @Override
+    public Locale getLocale() {
+        List<Locale> locales = parseLocales();
+        return locales.isEmpty() ? Locale.getDefault() : locales.get(0);
+    }
+
+    @Override
+    public Enumeration<Locale> getLocales() {
+        List<Locale> locales = parseLocales();
+        return Collections.enumeration(locales.isEmpty() ? Collections.singletonList(Locale.getDefault()) : locales);
+    }
+
+    @Override
+    public boolean isSecure() {
+        return false;
+    }
+
+    @Override
+    public RequestDispatcher getRequestDispatcher(String path) {
+        return null;
+    }
+
+    @Override
+    @Deprecated
+    public String getRealPath(String path) {
+        return getServletContext().getRealPath(path);
+    }
+
+    @Override
+    public int getRemotePort() {
+        return connection.getRemoteAddress().getPort();
+    }
+
+    @Override
+    public String getLocalName() {
+        return connection.getLocalAddress().getHostString();
+    }
+
+    @Override
+    public String getLocalAddr() {
+        return connection.getLocalAddress().getAddress().getHostAddress();
+    }
+
+    @Override
+    public int getLocalPort() {
+        return connection.getLocalAddress().getPort();
+    }
+
+    @Override
+    public ServletContext getServletContext() {
+        return connection.getServer().getServletContext();
+    }
+
+    @Override
+    public AsyncContext startAsync() {
+        return startAsync(this, response);
+    }
+
+    @Override
+    public AsyncContext startAsync(ServletRequest servletRequest, ServletResponse servletResponse) {
+        if (null != asyncContext) {
+            throw new IllegalStateException("startAsync() has already been called");
+        }
+        asyncContext = new EmbeddedAsyncContext(connection, this, response, servletRequest, servletResponse);
+        return asyncContext;
+    }
+
+    @Override
+    public boolean isAsyncStarted() {
+        return null != asyncContext && !asyncContext.isCompleted();
+    }
+
+    @Override
+    public boolean isAsyncSupported() {
+        return true;
+    }
+
+    @Override
+    public AsyncContext getAsyncContext() {
+        if (null == asyncContext) {
+            throw new IllegalStateException("startAsync() has not been called");
+        }
+        return asyncContext;
+    }
+
+    @Override
+    public DispatcherType getDispatcherType() {
+        return DispatcherType.REQUEST;
+    }
+
+    // ---------------- HttpServletRequest ----------------
+
+    @Override
+    public String getAuthType() {
+        return null;
+    }
+
+    @Override
+    public Cookie[] getCookies() {
+        List<String> headers = request.headers.get("Cookie");
+        if (null == headers) {
+            return null;
+        }
+        List<Cookie> cookies = new ArrayList<>();
+        for (String header : headers) {
+            for (String pair : header.split(";")) {
+                int eq = pair.indexOf('=');
+                String name = (eq < 0 ? pair : pair.substring(0, eq)).trim();
+                if ("".equals(name) || name.startsWith("$")) {
+                    continue;
+                }
+                String value = eq < 0 ? "" : pair.substring(eq + 1).trim();
+                if (value.length() > 1 && value.startsWith("\"") && value.endsWith("\"")) {
+                    value = value.substring(1, value.length() - 1);
+                }
+                try {
+                    cookies.add(new Cookie(name, value));
+                } catch (IllegalArgumentException e) {
+                    // 名字不合法的cookie忽略
+                }
+            }
+        }
+        return cookies.isEmpty() ? null : cookies.toArray(new Cookie[0]);
+    }
+
+    @Override
+    public long getDateHeader(String name) {
+        String value = request.getHeader(name);
+        return null == value ? -1 : HttpDates.parse(value);
+    }
+
+    @Override
+    public String getHeader(String name) {
+        return request.getHeader(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        List<String> values = request.headers.get(name);
+        return null == values ? Collections.<String>emptyEnumeration() : Collections.enumeration(values);
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+        return Collections.enumeration(request.headers.keySet());
+    }
+
+    @Override
+    public int getIntHeader(String name) {
+        String value = request.getHeader(name);
+        return null == value ? -1 : Integer.parseInt(value.trim());
+    }
+
+    @Override
+    public String getMethod() {
+        return request.method;
+    }
+
+    /** servlet映射为/*，上下文路径之后的部分都是pathInfo */
+    @Override
+    public String getPathInfo() {
+        String pathInfo = request.requestURI.substring(Math.min(contextPath.length(), request.requestURI.length()));
+        return "".equals(pathInfo) ? null : pathInfo;
+    }
+
+    @Override
+    public String getPathTranslated() {
+        String pathInfo = getPathInfo();
+        return null == pathInfo ? null : getServletContext().getRealPath(pathInfo);
+    }
+
+    @Override
+    public String getContextPath() {
+        return contextPath;
+    }
+
+    @Override
+    public String getQueryString() {
+        return request.queryString;
+    }
+
+    @Override
+    public String getRemoteUser() {
+        return null;
+    }
+
+    @Override
+    public boolean isUserInRole(String role) {
+        return false;
+    }
+
+    @Override
+    public Principal getUserPrincipal() {
+        return null;
+    }
+
+    @Override
+    public String getRequestedSessionId() {
+        return null;
+    }
+
+    @Override
+    public String getRequestURI() {
+        return request.requestURI;
+    }
+
+    @Override
+    public StringBuffer getRequestURL() {
+        StringBuffer url = new StringBuffer(getScheme()).append("://").append(getServerName());
+        int port = getServerPort();
+        if (80 != port) {
+            url.append(':').append(port);
+        }
+        return url.append(request.requestURI);
+    }
+
+    @Override
+    public String getServletPath() {
+        return "";
+    }
+
+    @Override
+    public HttpSession getSession(boolean create) {
+        if (create) {
+            throw new IllegalStateException("Sessions are not supported by the embedded server");
+        }
+        return null;
+    }
+
+    @Override
+    public HttpSession getSession() {
+        return getSession(true);
+    }
+
+    @Override
+    public String changeSessionId() {
+        throw new IllegalStateException("Sessions are not supported by the embedded server");
+    }
+
+    @Override
+    public boolean isRequestedSessionIdValid() {
+        return false;
+    }
+
+    @Override
+    public boolean isRequestedSessionIdFromCookie() {
+        return false;
+    }
+
+    @Override
+    public boolean isRequestedSessionIdFromURL() {
+        return false;
+    }
+
+    @Override
+    @Deprecated
+    public boolean isRequestedSessionIdFromUrl() {
+        return false;
+    }
+
+    @Override
+    public boolean authenticate(HttpServletResponse response) throws ServletException {
+        throw new ServletException("Authentication is not supported by the embedded server");
+    }
+
+    @Override
+    public void login(String username, String password) throws ServletException {
+        throw new ServletException("Authentication is not supported by the embedded server");
+    }
+
+    @Override
+    public void logout() throws ServletException {
+        throw new ServletException("Authentication is not supported by the embedded server");
+    }
+
+    @Override
+    public Collection<Part> getParts() throws ServletException {
+        throw new ServletException("Multipart requests are not supported by the embedded server");
+    }
+
+    @Override
+    public Part getPart(String name) throws ServletException {
+        throw new ServletException("Multipart requests are not supported by the embedded server");
+    }
+
+    @Override
+    public <T extends HttpUpgradeHandler> T upgrade(Class<T> handlerClass) throws ServletException {
+        throw new ServletException("Protocol upgrade is not supported by the embedded server");
+    }
+
+    // ---------------- 解析 ----------------
+
+    /**
+     * 功能描述: 解析查询串和表单请求体中的参数，同名参数按出现顺序合并
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return java.util.Map<java.lang.String,java.lang.String[]>
+     */
+    private Map<String, String[]> parseParameters() {
+        String charset = getCharacterEncoding();
+        if (null == charset) {
+            charset = DEFAULT_CHARSET;
+        }
+        Map<String, List<String>> values = new LinkedHashMap<>();
+        if (null != request.queryString) {
+            parseUrlEncoded(request.queryString, charset, values);
+        }
+        String contentType = getContentType();
+        if (0 == bodyAccess && "POST".equals(request.method) && request.body.length > 0
+                && null != contentType && contentType.toLowerCase(Locale.ROOT).startsWith(FORM_CONTENT_TYPE)) {
+            parseUrlEncoded(new String(request.body, StandardCharsets.ISO_8859_1), charset, values);
+        }
+        if (values.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String[]> result = new LinkedHashMap<>(values.size() * 2);
+        for (Map.Entry<String, List<String>> entry : values.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().toArray(new String[0]));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    private static void parseUrlEncoded(String encoded, String charset, Map<String, List<String>> values) {
+        for (String pair : encoded.split("&")) {
+            if ("".equals(pair)) {
+                continue;
+            }
+            int eq = pair.indexOf('=');
+            try {
+                String name = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), charset);
+                String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), charset);
+                values.computeIfAbsent(name, k -> new ArrayList<>(1)).add(value);
+            } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+                // 编码错误的参数忽略，与servlet容器的默认行为一致
+            }
+        }
+    }
+
+    /** Accept-Language中的语言，按出现顺序，忽略q值 */
+    private List<Locale> parseLocales() {
+        String acceptLanguage = request.getHeader("Accept-Language");
+        if (null == acceptLanguage) {
+            return Collections.emptyList();
+        }
+        List<Locale> locales = new ArrayList<>();
+        for (String range : acceptLanguage.split(",")) {
+            int semicolon = range.indexOf(';');
+            String tag = (semicolon < 0 ? range : range.substring(0, semicolon)).trim();
+            if (!"".equals(tag) && !"*".equals(tag)) {
+                locales.add(Locale.forLanguageTag(tag));
+            }
+        }
+        return locales;
+    }
+
+    /**
+     * 内存中请求体的输入流
+     */
+    private static final class BodyInputStream extends ServletInputStream {
+        private final byte[] body;
+
+        private int position;
+
+        BodyInputStream(byte[] body) {
+            this.body = body;
+        }
+
+        @Override
+        public int read() {
+            return position < body.length ? body[position++] & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (position >= body.length) {
+                return -1;
+            }
+            int n = Math.min(len, body.length - position);
+            System.arraycopy(body, position, b, off, n);
+            position += n;
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return body.length - position;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return position >= body.length;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            throw new UnsupportedOperationException("Non-blocking IO is not supported by the embedded server");
+        }
+    }
+}
@@ -0,0 +1,789 @@
+package com.my.mvcFramework.v1.server;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * @ClassName EmbeddedResponse
+ * @Description 内嵌服务器的响应。响应体先写进缓冲区：处理结束时还没写满就带Content-Length一次写出（和响应头在同一次系统调用中），
+ *              写满或被flush时提交响应头，长度未知则HTTP/1.1用chunked编码、HTTP/1.0写完后关闭连接。
+ *              输出流同时是WritableByteChannel，静态资源的FileChannel.transferTo()可以直接写进来
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+final class EmbeddedResponse implements HttpServletResponse {
+    private static final String DEFAULT_CHARSET = "ISO-8859-1";
+
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    /** 最后一块数据的结尾加上长度为0的结束块 */
+    private static final byte[] CRLF_LAST_CHUNK = "\r\n0\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1);
+
+    private static final byte[] LAST_CHUNK = "0\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1);
+
+    private final HttpConnection connection;
+
+    private final boolean http11;
+
+    private final boolean head;
+
+    private boolean keepAlive;
+
+    private int status = SC_OK;
+
+    // 响应头，个数很少，用两个并列的列表按顺序保存，查找时线性比较
+    private final List<String> headerNames = new ArrayList<>(8);
+
+    private final List<String> headerValues = new ArrayList<>(8);
+
+    /** Content-Type中charset之外的部分 */
+    private String mimeType;
+
+    /** 显式设置的或getWriter()时确定的字符集，未设置时为null */
+    private String characterEncoding;
+
+    private long contentLength = -1;
+
+    private Locale locale;
+
+    private int bufferSize;
+
+    private byte[] buffer;
+
+    private int count;
+
+    /** 响应头是否已经写出 */
+    private boolean committed;
+
+    private boolean chunked;
+
+    /** sendError()或sendRedirect()之后，servlet再写的内容丢弃 */
+    private boolean suspended;
+
+    private boolean finished;
+
+    /** 已写出的响应体字节数，用于检查与Content-Length是否一致 */
+    private long bodyWritten;
+
+    private ResponseOutputStream outputStream;
+
+    private PrintWriter writer;
+
+    /** writer下面的编码器，结束时只把它的缓冲写进响应，不触发提交 */
+    private OutputStreamWriter encoder;
+
+    EmbeddedResponse(HttpConnection connection, ParsedRequest request, int bufferSize) {
+        this.connection = connection;
+        this.http11 = !"HTTP/1.0".equals(request.protocol);
+        this.head = "HEAD".equals(request.method);
+        this.keepAlive = request.keepAlive;
+        this.bufferSize = bufferSize;
+    }
+
+    // ---------------- 写出 ----------------
+
+    /**
+     * 功能描述: 处理结束，写出缓冲区中剩余的内容和chunked的结束块。只调用一次
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return void
+     */
+    void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        if (null != encoder) {
+            encoder.flush();
+        }
+        finished = true;
+        send(count > 0 ? ByteBuffer.wrap(buffer, 0, count) : null, true);
+        count = 0;
+        if (contentLength >= 0 && bodyAllowed() && bodyWritten != contentLength) {
+            // 实际长度与Content-Length不一致，只能关闭连接
+            keepAlive = false;
+        }
+    }
+
+    private void writeByte(int b) throws IOException {
+        if (suspended) {
+            return;
+        }
+        checkNotFinished();
+        if (null == buffer) {
+            buffer = new byte[bufferSize];
+        } else if (count == buffer.length) {
+            flushInternal();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    private void writeBytes(byte[] b, int off, int len) throws IOException {
+        if (suspended || 0 == len) {
+            return;
+        }
+        checkNotFinished();
+        if (null == buffer) {
+            buffer = new byte[bufferSize];
+        }
+        if (len <= buffer.length - count) {
+            System.arraycopy(b, off, buffer, count, len);
+            count += len;
+            return;
+        }
+        flushInternal();
+        if (len < buffer.length) {
+            System.arraycopy(b, off, buffer, 0, len);
+            count = len;
+        } else {
+            // 大块数据不经过缓冲区，直接写socket
+            send(ByteBuffer.wrap(b, off, len), false);
+        }
+    }
+
+    private int writeBuffer(ByteBuffer src) throws IOException {
+        int length = src.remaining();
+        if (suspended || 0 == length) {
+            src.position(src.limit());
+            return length;
+        }
+        checkNotFinished();
+        if (null == buffer) {
+            buffer = new byte[bufferSize];
+        }
+        if (length <= buffer.length - count) {
+            src.get(buffer, count, length);
+            count += length;
+            return length;
+        }
+        flushInternal();
+        int end = src.limit();
+        send(src, false);
+        // HEAD请求或超出Content-Length时没有写出，也算作已消费
+        src.limit(end).position(end);
+        return length;
+    }
+
+    /**
+     * 功能描述: 写出缓冲区，没提交时先提交响应头
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return void
+     */
+    private void flushInternal() throws IOException {
+        if (finished) {
+            return;
+        }
+        send(count > 0 ? ByteBuffer.wrap(buffer, 0, count) : null, false);
+        count = 0;
+    }
+
+    /**
+     * 功能描述: 把一段响应体连同（第一次时的）响应头和chunked的分块标记一起，用一次聚集写写到socket
+     * @author ykq
+     * @date 2026/10/18
+     * @param body 可以为null
+     * @param last 是否为最后一段
+     * @return void
+     */
+    private void send(ByteBuffer body, boolean last) throws IOException {
+        ByteBuffer headBuffer = null;
+        if (!committed) {
+            headBuffer = commit(last ? (null == body ? 0 : body.remaining()) : -1);
+        }
+        int length = null == body || !bodyAllowed() ? 0 : body.remaining();
+        if (length > 0 && contentLength >= 0 && length > contentLength - bodyWritten) {
+            // 超出Content-Length的部分丢弃
+            length = (int) Math.max(0, contentLength - bodyWritten);
+            body.limit(body.position() + length);
+            keepAlive = false;
+        }
+        bodyWritten += length;
+
+        ByteBuffer[] parts = new ByteBuffer[4];
+        int n = 0;
+        if (null != headBuffer) {
+            parts[n++] = headBuffer;
+        }
+        if (chunked) {
+            if (length > 0) {
+                parts[n++] = ByteBuffer.wrap((Integer.toHexString(length) + "\r\n").getBytes(StandardCharsets.ISO_8859_1));
+                parts[n++] = body;
+                parts[n++] = ByteBuffer.wrap(last ? CRLF_LAST_CHUNK : CRLF);
+            } else if (last) {
+                parts[n++] = ByteBuffer.wrap(LAST_CHUNK);
+            }
+        } else if (length > 0) {
+            parts[n++] = body;
+        }
+        if (n > 0) {
+            connection.write(n == parts.length ? parts : Arrays.copyOf(parts, n));
+        }
+    }
+
+    /**
+     * 功能描述: 确定响应体的长度编码并生成响应头
+     * @author ykq
+     * @date 2026/10/18
+     * @param knownLength 最后一次写出时为整个响应体的长度，否则为-1
+     * @return java.nio.ByteBuffer
+     */
+    private ByteBuffer commit(long knownLength) {
+        committed = true;
+        if (contentLength < 0 && knownLength >= 0 && bodyAllowed()) {
+            contentLength = knownLength;
+        }
+        if (contentLength < 0 && bodyAllowed()) {
+            if (http11) {
+                chunked = true;
+            } else {
+                keepAlive = false;
+            }
+        }
+        StringBuilder sb = new StringBuilder(256);
+        sb.append("HTTP/1.1 ").append(status).append(' ').append(reasonPhrase(status)).append("\r\n");
+        sb.append("Date: ").append(HttpDates.now()).append("\r\n");
+        if (null != mimeType) {
+            sb.append("Content-Type: ").append(getContentType()).append("\r\n");
+        }
+        if (contentLength >= 0 && (bodyAllowed() || head)) {
+            sb.append("Content-Length: ").append(contentLength).append("\r\n");
+        }
+        if (chunked) {
+            sb.append("Transfer-Encoding: chunked\r\n");
+        }
+        for (int i = 0; i < headerNames.size(); i++) {
+            sb.append(headerNames.get(i)).append(": ").append(headerValues.get(i)).append("\r\n");
+        }
+        if (!keepAlive) {
+            sb.append("Connection: close\r\n");
+        } else if (!http11) {
+            sb.append("Connection: keep-alive\r\n");
+        }
+        sb.append("\r\n");
+        return ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private boolean bodyAllowed() {
+        return !head && status >= 200 && SC_NO_CONTENT != status && SC_NOT_MODIFIED != status;
+    }
+
+    private void checkNotFinished() throws IOException {
+        if (finished) {
+            throw new IOException("Response already completed");
+        }
+    }
+
+    boolean isKeepAlive() {
+        return keepAlive;
+    }
+
+    void setKeepAlive(boolean keepAlive) {
+        this.keepAlive = keepAlive;
+    }
+
+    /**
+     * 功能描述: 状态码的原因短语
+     * @author ykq
+     * @date 2026/10/18
+     * @param status
+     * @return java.lang.String
+     */
+    static String reasonPhrase(int status) {
+        switch (status) {
+            case 100: return "Continue";
+            case 200: return "OK";
+            case 201: return "Created";
+            case 202: return "Accepted";
+            case 204: return "No Content";
+            case 206: return "Partial Content";
+            case 301: return "Moved Permanently";
+            case 302: return "Found";
+            case 303: return "See Other";
+            case 304: return "Not Modified";
+            case 307: return "Temporary Redirect";
+            case 308: return "Permanent Redirect";
+            case 400: return "Bad Request";
+            case 401: return "Unauthorized";
+            case 403: return "Forbidden";
+            case 404: return "Not Found";
+            case 405: return "Method Not Allowed";
+            case 406: return "Not Acceptable";
+            case 408: return "Request Timeout";
+            case 409: return "Conflict";
+            case 411: return "Length Required";
+            case 412: return "Precondition Failed";
+            case 413: return "Payload Too Large";
+            case 415: return "Unsupported Media Type";
+            case 416: return "Range Not Satisfiable";
+            case 429: return "Too Many Requests";
+            case 431: return "Request Header Fields Too Large";
+            case 500: return "Internal Server Error";
+            case 501: return "Not Implemented";
+            case 502: return "Bad Gateway";
+            case 503: return "Service Unavailable";
+            case 504: return "Gateway Timeout";
+            case 505: return "HTTP Version Not Supported";
+            default: return "Unknown";
+        }
+    }
+
+    // ---------------- ServletResponse ----------------
+
+    @Override
+    public String getCharacterEncoding() {
+        return null == characterEncoding ? DEFAULT_CHARSET : characterEncoding;
+    }
+
+    @Override
+    public String getContentType() {
+        if (null == mimeType) {
+            return null;
+        }
+        return null == characterEncoding ? mimeType : mimeType + ";charset=" + characterEncoding;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (null != writer) {
+            throw new IllegalStateException("getWriter() has already been called");
+        }
+        if (null == outputStream) {
+            outputStream = new ResponseOutputStream();
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws UnsupportedEncodingException {
+        if (null != outputStream) {
+            throw new IllegalStateException("getOutputStream() has already been called");
+        }
+        if (null == writer) {
+            if (null == characterEncoding) {
+                characterEncoding = DEFAULT_CHARSET;
+            }
+            encoder = new OutputStreamWriter(new OutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    writeByte(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    writeBytes(b, off, len);
+                }
+            }, characterEncoding);
+            writer = new PrintWriter(encoder) {
+                @Override
+                public void flush() {
+                    super.flush();
+                    try {
+                        flushInternal();
+                    } catch (IOException e) {
+                        setError();
+                    }
+                }
+            };
+        }
+        return writer;
+    }
+
+    @Override
+    public void setCharacterEncoding(String charset) {
+        if (committed || null != writer) {
+            return;
+        }
+        characterEncoding = charset;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        setContentLengthLong(len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        if (!committed) {
+            contentLength = len;
+        }
+    }
+
+    @Override
+    public void setContentType(String type) {
+        if (committed) {
+            return;
+        }
+        if (null == type) {
+            mimeType = null;
+            return;
+        }
+        int charset = type.toLowerCase(Locale.ROOT).indexOf("charset=");
+        if (charset < 0) {
+            mimeType = type.trim();
+            return;
+        }
+        int semicolon = type.lastIndexOf(';', charset);
+        int end = type.indexOf(';', charset);
+        String value = type.substring(charset + "charset=".length(), end < 0 ? type.length() : end).trim();
+        if (value.length() > 1 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        mimeType = (type.substring(0, semicolon < 0 ? charset : semicolon) + (end < 0 ? "" : type.substring(end))).trim();
+        if (null == writer) {
+            characterEncoding = value;
+        }
+    }
+
+    @Override
+    public void setBufferSize(int size) {
+        if (committed || count > 0) {
+            throw new IllegalStateException("Response body has already been written");
+        }
+        bufferSize = Math.max(512, size);
+        buffer = null;
+    }
+
+    @Override
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (null != writer) {
+            writer.flush();
+        } else {
+            flushInternal();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (committed) {
+            throw new IllegalStateException("Response has already been committed");
+        }
+        count = 0;
+    }
+
+    @Override
+    public boolean isCommitted() {
+        return committed || suspended;
+    }
+
+    @Override
+    public void reset() {
+        resetBuffer();
+        status = SC_OK;
+        headerNames.clear();
+        headerValues.clear();
+        mimeType = null;
+        characterEncoding = null;
+        contentLength = -1;
+        suspended = false;
+        outputStream = null;
+        writer = null;
+        encoder = null;
+    }
+
+    @Override
+    public void setLocale(Locale loc) {
+        if (!committed) {
+            locale = loc;
+        }
+    }
+
+    @Override
+    public Locale getLocale() {
+        return null == locale ? Locale.getDefault() : locale;
+    }
+
+    // ---------------- HttpServletResponse ----------------
+
+    @Override
+    public void addCookie(Cookie cookie) {
+        StringBuilder sb = new StringBuilder(cookie.getName()).append('=').append(null == cookie.getValue() ? "" : cookie.getValue());
+        if (cookie.getMaxAge() >= 0) {
+            sb.append("; Max-Age=").append(cookie.getMaxAge());
+        }
+        if (null != cookie.getDomain()) {
+            sb.append("; Domain=").append(cookie.getDomain());
+        }
+        if (null != cookie.getPath()) {
+            sb.append("; Path=").append(cookie.getPath());
+        }
+        if (cookie.getSecure()) {
+            sb.append("; Secure");
+        }
+        if (cookie.isHttpOnly()) {
+            sb.append("; HttpOnly");
+        }
+        addHeader("Set-Cookie", sb.toString());
+    }
+
+    @Override
+    public boolean containsHeader(String name) {
+        if ("Content-Type".equalsIgnoreCase(name)) {
+            return null != mimeType;
+        }
+        if ("Content-Length".equalsIgnoreCase(name)) {
+            return contentLength >= 0;
+        }
+        return indexOfHeader(name) >= 0;
+    }
+
+    @Override
+    public String encodeURL(String url) {
+        return url;
+    }
+
+    @Override
+    public String encodeRedirectURL(String url) {
+        return url;
+    }
+
+    @Override
+    @Deprecated
+    public String encodeUrl(String url) {
+        return url;
+    }
+
+    @Override
+    @Deprecated
+    public String encodeRedirectUrl(String url) {
+        return url;
+    }
+
+    /**
+     * 功能描述: 以纯文本写出错误信息。之后servlet再写的内容丢弃，剩下的在处理结束时写出
+     * @author ykq
+     * @date 2026/10/18
+     * @param sc
+     * @param msg
+     * @return void
+     */
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        if (isCommitted()) {
+            throw new IllegalStateException("Response has already been committed");
+        }
+        resetBuffer();
+        status = sc;
+        contentLength = -1;
+        mimeType = "text/plain";
+        characterEncoding = "UTF-8";
+        byte[] body = (sc + " " + (null == msg ? reasonPhrase(sc) : msg)).getBytes(StandardCharsets.UTF_8);
+        writeBytes(body, 0, body.length);
+        suspended = true;
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        sendError(sc, null);
+    }
+
+    @Override
+    public void sendRedirect(String location) {
+        if (isCommitted()) {
+            throw new IllegalStateException("Response has already been committed");
+        }
+        resetBuffer();
+        status = SC_FOUND;
+        setHeader("Location", location);
+        suspended = true;
+    }
+
+    @Override
+    public void setDateHeader(String name, long date) {
+        setHeader(name, HttpDates.format(date));
+    }
+
+    @Override
+    public void addDateHeader(String name, long date) {
+        addHeader(name, HttpDates.format(date));
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (isCommitted() || null == name || specialHeader(name, value)) {
+            return;
+        }
+        int index;
+        while ((index = indexOfHeader(name)) >= 0) {
+            headerNames.remove(index);
+            headerValues.remove(index);
+        }
+        if (null != value) {
+            headerNames.add(name);
+            headerValues.add(sanitize(value));
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (isCommitted() || null == name || null == value || specialHeader(name, value)) {
+            return;
+        }
+        headerNames.add(name);
+        headerValues.add(sanitize(value));
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        setHeader(name, String.valueOf(value));
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        addHeader(name, String.valueOf(value));
+    }
+
+    @Override
+    public void setStatus(int sc) {
+        if (!isCommitted()) {
+            status = sc;
+        }
+    }
+
+    @Override
+    @Deprecated
+    public void setStatus(int sc, String sm) {
+        setStatus(sc);
+    }
+
+    @Override
+    public int getStatus() {
+        return status;
+    }
+
+    @Override
+    public String getHeader(String name) {
+        if ("Content-Type".equalsIgnoreCase(name)) {
+            return getContentType();
+        }
+        if ("Content-Length".equalsIgnoreCase(name)) {
+            return contentLength < 0 ? null : String.valueOf(contentLength);
+        }
+        int index = indexOfHeader(name);
+        return index < 0 ? null : headerValues.get(index);
+    }
+
+    @Override
+    public Collection<String> getHeaders(String name) {
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < headerNames.size(); i++) {
+            if (headerNames.get(i).equalsIgnoreCase(name)) {
+                values.add(headerValues.get(i));
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public Collection<String> getHeaderNames() {
+        return new LinkedHashSet<>(headerNames);
+    }
+
+    /**
+     * 功能描述: Content-Type、Content-Length、Connection由响应自己生成，通过头设置时转成对应的属性
+     * @author ykq
+     * @date 2026/10/18
+     * @param name
+     * @param value
+     * @return boolean 是否已处理
+     */
+    private boolean specialHeader(String name, String value) {
+        if ("Content-Type".equalsIgnoreCase(name)) {
+            setContentType(value);
+            return true;
+        }
+        if ("Content-Length".equalsIgnoreCase(name)) {
+            setContentLengthLong(null == value ? -1 : Long.parseLong(value.trim()));
+            return true;
+        }
+        if ("Connection".equalsIgnoreCase(name)) {
+            if (null != value && "close".equalsIgnoreCase(value.trim())) {
+                keepAlive = false;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private int indexOfHeader(String name) {
+        for (int i = 0; i < headerNames.size(); i++) {
+            if (headerNames.get(i).equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** 头的值中不能有换行，防止响应拆分 */
+    private static String sanitize(String value) {
+        return value.indexOf('\r') < 0 && value.indexOf('\n') < 0 ? value : value.replace('\r', ' ').replace('\n', ' ');
+    }
+
+    /**
+     * servlet的输出流。实现WritableByteChannel，transferTo()的数据块不用再包装成流，装不进缓冲区的直接写socket
+     */
+    private final class ResponseOutputStream extends ServletOutputStream implements WritableByteChannel {
+        @Override
+        public void write(int b) throws IOException {
+            writeByte(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            writeBytes(b, off, len);
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            return writeBuffer(src);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            flushInternal();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return !finished;
+        }
+
+        @Override
+        public void close() throws IOException {
+            flushInternal();
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new UnsupportedOperationException("Non-blocking IO is not supported by the embedded server");
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.my.mvcFramework.v1.server;
+
+import com.my.mvcFramework.v1.log.MyLogger;
+
+import javax.servlet.ServletContext;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.MalformedURLException;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @ClassName EmbeddedServletContext
+ * @Description 内嵌服务器的ServletContext。框架只用到上下文路径、webapp目录（静态资源）、MIME类型和属性，
+ *              这里用动态代理只实现这些方法，注册servlet、filter等部署期的方法抛UnsupportedOperationException。
+ *              webapp目录由server.webRoot指定，未指定时getRealPath()返回null，静态资源只从classpath中查找
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+final class EmbeddedServletContext implements InvocationHandler {
+    private final String contextPath;
+
+    /** 未配置时为null */
+    private final Path webRoot;
+
+    private final ClassLoader classLoader;
+
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+
+    private EmbeddedServletContext(String contextPath, Path webRoot, ClassLoader classLoader) {
+        this.contextPath = contextPath;
+        this.webRoot = webRoot;
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * 功能描述: 按server.contextPath、server.webRoot创建
+     * @author ykq
+     * @date 2026/10/18
+     * @param config
+     * @param classLoader
+     * @return javax.servlet.ServletContext
+     */
+    static ServletContext create(Properties config, ClassLoader classLoader) {
+        String contextPath = config.getProperty("server.contextPath", "").trim();
+        while (contextPath.endsWith("/")) {
+            contextPath = contextPath.substring(0, contextPath.length() - 1);
+        }
+        if (!"".equals(contextPath) && !contextPath.startsWith("/")) {
+            contextPath = "/" + contextPath;
+        }
+        String root = config.getProperty("server.webRoot", "").trim();
+        Path webRoot = "".equals(root) ? null : Paths.get(root).toAbsolutePath().normalize();
+        return (ServletContext) Proxy.newProxyInstance(EmbeddedServletContext.class.getClassLoader(),
+                new Class<?>[]{ServletContext.class}, new EmbeddedServletContext(contextPath, webRoot, classLoader));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "getContextPath":
+                return contextPath;
+            case "getRealPath":
+                Path real = resolve((String) args[0]);
+                return null == real ? null : real.toString();
+            case "getResource":
+                return getResource((String) args[0]);
+            case "getResourceAsStream":
+                return getResourceAsStream((String) args[0]);
+            case "getMimeType":
+                return null == args[0] ? null : URLConnection.guessContentTypeFromName((String) args[0]);
+            case "getAttribute":
+                return attributes.get(args[0]);
+            case "getAttributeNames":
+                return Collections.enumeration(attributes.keySet());
+            case "setAttribute":
+                if (null == args[1]) {
+                    attributes.remove(args[0]);
+                } else {
+                    attributes.put((String) args[0], args[1]);
+                }
+                return null;
+            case "removeAttribute":
+                attributes.remove(args[0]);
+                return null;
+            case "getInitParameter":
+                return null;
+            case "getInitParameterNames":
+                return Collections.emptyEnumeration();
+            case "getClassLoader":
+                return classLoader;
+            case "getServerInfo":
+                return "mySpring-embedded";
+            case "getServletContextName":
+                return "mySpring";
+            case "getMajorVersion":
+            case "getEffectiveMajorVersion":
+                return 3;
+            case "getMinorVersion":
+            case "getEffectiveMinorVersion":
+                return 1;
+            case "getContext":
+                return proxy;
+            case "log":
+                log(args);
+                return null;
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "EmbeddedServletContext{contextPath='" + contextPath + "', webRoot=" + webRoot + "}";
+            default:
+                throw new UnsupportedOperationException("ServletContext." + method.getName()
+                        + "() is not supported by the embedded server");
+        }
+    }
+
+    /**
+     * 功能描述: ServletContext.log()的三种形式：log(msg)、log(msg, throwable)和已废弃的log(exception, msg)。
+     *          写到servlet放入属性中的MyLogger；servlet初始化完成之前还没有日志，写到标准错误
+     * @author ykq
+     * @date 2026/10/18
+     * @param args
+     * @return void
+     */
+    private void log(Object[] args) {
+        Throwable error = null;
+        String message;
+        if (2 == args.length && args[0] instanceof Throwable) {
+            error = (Throwable) args[0];
+            message = String.valueOf(args[1]);
+        } else {
+            message = String.valueOf(args[0]);
+            if (2 == args.length && args[1] instanceof Throwable) {
+                error = (Throwable) args[1];
+            }
+        }
+        MyLogger logger = (MyLogger) attributes.get(MyLogger.BEAN_NAME);
+        if (null == logger) {
+            System.err.println(null == error ? message : message + ": " + error);
+        } else if (null == error) {
+            logger.info(message);
+        } else {
+            logger.error(message, error);
+        }
+    }
+
+    /** webapp目录下的路径，不允许通过..跳出webapp目录 */
+    private Path resolve(String path) {
+        if (null == webRoot || null == path) {
+            return null;
+        }
+        Path resolved = webRoot.resolve(path.startsWith("/") ? path.substring(1) : path).normalize();
+        return resolved.startsWith(webRoot) ? resolved : null;
+    }
+
+    private Object getResource(String path) throws MalformedURLException {
+        Path file = resolve(path);
+        return null != file && Files.exists(file) ? file.toUri().toURL() : null;
+    }
+
+    private InputStream getResourceAsStream(String path) {
+        Path file = resolve(path);
+        if (null == file || !Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            return Files.newInputStream(file);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,420 @@
+package com.my.mvcFramework.v1.server;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * @ClassName HttpConnection
+ * @Description 一个客户端连接。空闲时由selector线程读数据、解析请求；解析出完整请求后停止读，把请求交给工作线程，
+ *              此后读缓冲区只由处理请求的线程访问。响应写完后，缓冲区中已有的流水线请求直接在同一个线程上接着处理，
+ *              没有了再交还selector线程继续读。同一时刻只有一个线程在用读缓冲区，不需要加锁
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+final class HttpConnection {
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+
+    private static final byte[] CONTINUE = "HTTP/1.1 100 Continue\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1);
+
+    private final NioHttpServer server;
+
+    private final SelectorLoop loop;
+
+    private final SocketChannel channel;
+
+    private final HttpRequestParser parser;
+
+    private final InetSocketAddress localAddress;
+
+    private final InetSocketAddress remoteAddress;
+
+    /** 在selector线程上注册后赋值，之后只在selector线程上修改interestOps */
+    private SelectionKey key;
+
+    // 读缓冲区，[readPos, writePos)是已读未处理的数据
+    private byte[] data = new byte[INITIAL_BUFFER_SIZE];
+
+    private ByteBuffer in = ByteBuffer.wrap(data);
+
+    private int readPos;
+
+    private int writePos;
+
+    /** 是否有请求正在处理，处理期间不读也不做空闲超时 */
+    private volatile boolean processing;
+
+    private volatile boolean closed;
+
+    /** 最后一次读写的时间，System.nanoTime()口径 */
+    private volatile long lastActive = System.nanoTime();
+
+    // 写满socket时，写响应的线程在这里等selector线程的可写通知
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private final Condition writableCondition = writeLock.newCondition();
+
+    private boolean writable;
+
+    HttpConnection(NioHttpServer server, SelectorLoop loop, SocketChannel channel) throws IOException {
+        this.server = server;
+        this.loop = loop;
+        this.channel = channel;
+        this.parser = new HttpRequestParser(server.getMaxHeaderSize(), server.getMaxRequestSize());
+        this.localAddress = (InetSocketAddress) channel.getLocalAddress();
+        this.remoteAddress = (InetSocketAddress) channel.getRemoteAddress();
+    }
+
+    void register(Selector selector) throws IOException {
+        key = channel.register(selector, SelectionKey.OP_READ, this);
+    }
+
+    /**
+     * 功能描述: selector线程上的读事件。读到完整请求后停止读，交给工作线程
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return void
+     */
+    void onReadable() {
+        try {
+            ensureReadSpace();
+            in.limit(data.length).position(writePos);
+            int read = channel.read(in);
+            if (read < 0) {
+                close();
+                return;
+            }
+            if (0 == read) {
+                return;
+            }
+            writePos += read;
+            lastActive = System.nanoTime();
+            final ParsedRequest request = nextRequest();
+            if (null != request) {
+                key.interestOps(0);
+                server.execute(() -> process(request));
+            }
+        } catch (IOException | RejectedExecutionException e) {
+            close();
+        }
+    }
+
+    /**
+     * 功能描述: selector线程上的可写事件，唤醒等待写的线程
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return void
+     */
+    void onWritable() {
+        key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+        signalWritable();
+    }
+
+    /**
+     * 功能描述: 工作线程上处理请求，以及处理完后缓冲区中已经收全的流水线请求
+     * @author ykq
+     * @date 2026/10/18
+     * @param request
+     * @return void
+     */
+    private void process(ParsedRequest request) {
+        while (null != request) {
+            EmbeddedResponse response = new EmbeddedResponse(this, request, server.getResponseBufferSize());
+            EmbeddedRequest servletRequest = new EmbeddedRequest(this, request, response);
+            if (dispatch(servletRequest, response)) {
+                // 异步请求由AsyncContext.complete()收尾
+                return;
+            }
+            request = finishExchange(response);
+        }
+    }
+
+    /**
+     * 功能描述: 执行servlet
+     * @author ykq
+     * @date 2026/10/18
+     * @param req
+     * @param resp
+     * @return boolean 请求进入了异步处理、还没结束时返回true
+     */
+    private boolean dispatch(EmbeddedRequest req, EmbeddedResponse resp) {
+        try {
+            if (!req.isUnderContextPath()) {
+                resp.sendError(404, "Not under context path " + server.getContextPath());
+            } else {
+                server.getServlet().service(req, resp);
+            }
+        } catch (Throwable t) {
+            // 只在日志的环形缓冲区中发布，不在请求线程上格式化、写文件；响应中只给出错误编号
+            long errorId = server.getLogger().error("Request failed: " + req.getMethod() + " " + req.getRequestURI(), t);
+            if (resp.isCommitted()) {
+                // 响应已经部分写出，无法再改成500，只能关闭连接让客户端知道响应不完整
+                resp.setKeepAlive(false);
+            } else {
+                resp.reset();
+                try {
+                    resp.sendError(500, errorId >= 0 ? "500 Exception! See the error log, id: " + errorId : "500 Exception!");
+                } catch (IOException e) {
+                    resp.setKeepAlive(false);
+                }
+            }
+        }
+        EmbeddedAsyncContext async = req.getEmbeddedAsyncContext();
+        return null != async && async.onDispatchReturned();
+    }
+
+    /**
+     * 功能描述: 写完响应，决定连接的去留：关闭、接着处理下一个流水线请求、或交还selector线程继续读
+     * @author ykq
+     * @date 2026/10/18
+     * @param response
+     * @return com.my.mvcFramework.v1.server.ParsedRequest 缓冲区中已收全的下一个请求，没有时返回null
+     */
+    private ParsedRequest finishExchange(EmbeddedResponse response) {
+        try {
+            response.finish();
+        } catch (IOException e) {
+            close();
+            return null;
+        }
+        if (!response.isKeepAlive() || closed) {
+            close();
+            return null;
+        }
+        lastActive = System.nanoTime();
+        ParsedRequest next = nextRequest();
+        if (null == next && !closed) {
+            processing = false;
+            loop.execute(this::resumeReading);
+        }
+        return next;
+    }
+
+    /**
+     * 功能描述: 异步请求结束，由AsyncContext.complete()调用，可能在任意线程上
+     * @author ykq
+     * @date 2026/10/18
+     * @param response
+     * @return void
+     */
+    void completeAsync(EmbeddedResponse response) {
+        final ParsedRequest next = finishExchange(response);
+        if (null != next) {
+            try {
+                server.execute(() -> process(next));
+            } catch (RejectedExecutionException e) {
+                close();
+            }
+        }
+    }
+
+    /**
+     * 功能描述: 从缓冲区中解析下一个请求，收全时标记为处理中。请求格式错误时回复错误并关闭连接
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return com.my.mvcFramework.v1.server.ParsedRequest
+     */
+    private ParsedRequest nextRequest() {
+        ParsedRequest request;
+        try {
+            request = parser.parse(data, readPos, writePos);
+        } catch (HttpRequestParser.HttpParseException e) {
+            writeErrorAndClose(e.getStatus(), e.getMessage());
+            return null;
+        }
+        if (null == request) {
+            if (parser.takeExpectContinue()) {
+                // 只有一行，socket缓冲区不会写不下，不等待可写
+                try {
+                    channel.write(ByteBuffer.wrap(CONTINUE));
+                } catch (IOException e) {
+                    close();
+                }
+            }
+            return null;
+        }
+        readPos += parser.getConsumed();
+        if (readPos == writePos) {
+            readPos = 0;
+            writePos = 0;
+        }
+        processing = true;
+        return request;
+    }
+
+    private void resumeReading() {
+        if (!closed && key.isValid()) {
+            key.interestOps(SelectionKey.OP_READ);
+        }
+    }
+
+    /**
+     * 功能描述: 读之前保证缓冲区尾部有空间：先把已处理的数据挪走，还不够再扩容。
+     *          请求大小由解析器限制，扩容不会无限增长；处理完大请求后缓冲区恢复初始大小
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return void
+     */
+    private void ensureReadSpace() {
+        if (readPos == writePos) {
+            readPos = 0;
+            writePos = 0;
+            if (data.length > INITIAL_BUFFER_SIZE) {
+                setBuffer(new byte[INITIAL_BUFFER_SIZE]);
+            }
+        }
+        if (writePos < data.length) {
+            return;
+        }
+        if (readPos > 0) {
+            System.arraycopy(data, readPos, data, 0, writePos - readPos);
+            writePos -= readPos;
+            readPos = 0;
+            return;
+        }
+        byte[] grown = new byte[data.length * 2];
+        System.arraycopy(data, 0, grown, 0, writePos);
+        setBuffer(grown);
+    }
+
+    private void setBuffer(byte[] buffer) {
+        data = buffer;
+        in = ByteBuffer.wrap(buffer);
+    }
+
+    /**
+     * 功能描述: 把所有buffers写到socket，写不下时等待可写，最长等server.idleTimeoutMillis
+     * @author ykq
+     * @date 2026/10/18
+     * @param buffers
+     * @return void
+     */
+    void write(ByteBuffer... buffers) throws IOException {
+        long remaining = 0;
+        for (ByteBuffer buffer : buffers) {
+            remaining += buffer.remaining();
+        }
+        while (remaining > 0) {
+            if (closed) {
+                throw new ClosedChannelException();
+            }
+            long written = channel.write(buffers);
+            remaining -= written;
+            if (remaining > 0 && 0 == written) {
+                awaitWritable();
+            }
+        }
+        lastActive = System.nanoTime();
+    }
+
+    private void awaitWritable() throws IOException {
+        writeLock.lock();
+        try {
+            writable = false;
+        } finally {
+            writeLock.unlock();
+        }
+        loop.execute(() -> {
+            if (!closed && key.isValid()) {
+                key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+            }
+        });
+        writeLock.lock();
+        try {
+            long nanos = TimeUnit.MILLISECONDS.toNanos(server.getIdleTimeoutMillis());
+            while (!writable && !closed) {
+                if (nanos <= 0) {
+                    close();
+                    throw new SocketTimeoutException("Write timed out after " + server.getIdleTimeoutMillis() + "ms");
+                }
+                nanos = writableCondition.awaitNanos(nanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the client to read");
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void signalWritable() {
+        writeLock.lock();
+        try {
+            writable = true;
+            writableCondition.signalAll();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 功能描述: 请求格式错误时尽力回复一个错误响应后关闭，不等待可写
+     * @author ykq
+     * @date 2026/10/18
+     * @param status
+     * @param message
+     * @return void
+     */
+    private void writeErrorAndClose(int status, String message) {
+        byte[] body = (status + " " + message).getBytes(StandardCharsets.UTF_8);
+        String head = "HTTP/1.1 " + status + " " + EmbeddedResponse.reasonPhrase(status) + "\r\n"
+                + "Date: " + HttpDates.now() + "\r\n"
+                + "Content-Type: text/plain;charset=UTF-8\r\n"
+                + "Content-Length: " + body.length + "\r\n"
+                + "Connection: close\r\n\r\n";
+        try {
+            channel.write(new ByteBuffer[]{ByteBuffer.wrap(head.getBytes(StandardCharsets.ISO_8859_1)), ByteBuffer.wrap(body)});
+        } catch (IOException e) {
+            // 连接本来就要关闭
+        }
+        close();
+    }
+
+    boolean isIdle(long now, long idleNanos) {
+        return !processing && now - lastActive > idleNanos;
+    }
+
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (null != key) {
+            key.cancel();
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // 忽略
+        }
+        signalWritable();
+    }
+
+    NioHttpServer getServer() {
+        return server;
+    }
+
+    InetSocketAddress getLocalAddress() {
+        return localAddress;
+    }
+
+    InetSocketAddress getRemoteAddress() {
+        return remoteAddress;
+    }
+}
@@ -0,0 +1,73 @@
+package com.my.mvcFramework.v1.server;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+/**
+ * @ClassName HttpDates
+ * @Description HTTP头中的日期（RFC 7231 IMF-fixdate）。响应的Date头按秒缓存，同一秒内的响应不重复格式化
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+final class HttpDates {
+    private static final DateTimeFormatter FORMATTER =
+            DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US).withZone(ZoneOffset.UTC);
+
+    /** 当前秒和它格式化后的值，放在一个对象里保证两者一致 */
+    private static volatile CachedDate current = new CachedDate(0L, "");
+
+    private HttpDates() {
+    }
+
+    static String format(long epochMillis) {
+        return FORMATTER.format(Instant.ofEpochMilli(epochMillis));
+    }
+
+    /**
+     * 功能描述: 解析日期头，接受IMF-fixdate和RFC 1123中日期不补零的写法
+     * @author ykq
+     * @date 2026/10/18
+     * @param value
+     * @return long 毫秒时间戳
+     */
+    static long parse(String value) {
+        try {
+            return ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed date header: " + value, e);
+        }
+    }
+
+    /**
+     * 功能描述: 当前时间的Date头
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return java.lang.String
+     */
+    static String now() {
+        long second = System.currentTimeMillis() / 1000;
+        CachedDate cached = current;
+        if (cached.second != second) {
+            cached = new CachedDate(second, format(second * 1000));
+            current = cached;
+        }
+        return cached.value;
+    }
+
+    private static final class CachedDate {
+        final long second;
+
+        final String value;
+
+        CachedDate(long second, String value) {
+            this.second = second;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,390 @@
+package com.my.mvcFramework.v1.server;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeMap;
+
+/**
+ * @ClassName HttpRequestParser
+ * @Description HTTP/1.1请求解析，每个连接一个。直接在连接的读缓冲区上解析，数据不完整时返回null，等收到更多数据后再次调用；
+ *              头部收全而请求体没收全时保留已解析的头部，不重复解析。请求体支持Content-Length和chunked两种长度，
+ *              两者同时出现时按请求走私处理，直接拒绝
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+final class HttpRequestParser {
+
+    /**
+     * 请求格式错误或超出限制，status为应当返回给客户端的状态码，返回后关闭连接
+     */
+    static final class HttpParseException extends Exception {
+        private final int status;
+
+        HttpParseException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+
+        int getStatus() {
+            return status;
+        }
+    }
+
+    private static final byte[] EMPTY_BODY = new byte[0];
+
+    /** 请求行加所有头的字节数上限 */
+    private final int maxHeaderSize;
+
+    /** 解码后请求体的字节数上限 */
+    private final long maxBodySize;
+
+    // 以下是当前请求已经解析出的头部，headLength为-1表示头部还没收全
+    private int headLength = -1;
+
+    private String method;
+
+    private String requestURI;
+
+    private String queryString;
+
+    private String protocol;
+
+    private TreeMap<String, List<String>> headers;
+
+    private boolean keepAlive;
+
+    private long contentLength;
+
+    private boolean chunked;
+
+    private boolean expectContinue;
+
+    /** 上一个完整请求占用的字节数 */
+    private int consumed;
+
+    HttpRequestParser(int maxHeaderSize, long maxBodySize) {
+        this.maxHeaderSize = maxHeaderSize;
+        this.maxBodySize = maxBodySize;
+    }
+
+    /**
+     * 功能描述: 从data[start, end)中解析一个请求。返回非null时getConsumed()为它占用的字节数，后面的字节属于下一个（流水线）请求
+     * @author ykq
+     * @date 2026/10/18
+     * @param data 读缓冲区
+     * @param start 未处理数据的起点
+     * @param end 已读数据的终点
+     * @return com.my.mvcFramework.v1.server.ParsedRequest 数据不完整时返回null
+     */
+    ParsedRequest parse(byte[] data, int start, int end) throws HttpParseException {
+        if (headLength < 0 && !parseHead(data, start, end)) {
+            return null;
+        }
+        int bodyStart = start + headLength;
+        byte[] body;
+        int length;
+        if (chunked) {
+            int encoded = decodeChunked(data, bodyStart, end, null);
+            if (encoded < 0) {
+                return null;
+            }
+            body = new byte[(int) contentLength];
+            decodeChunked(data, bodyStart, end, body);
+            length = headLength + encoded;
+        } else {
+            if (end - bodyStart < contentLength) {
+                return null;
+            }
+            body = 0 == contentLength ? EMPTY_BODY : Arrays.copyOfRange(data, bodyStart, bodyStart + (int) contentLength);
+            length = headLength + (int) contentLength;
+        }
+        ParsedRequest request = new ParsedRequest(method, requestURI, queryString, protocol, headers, body, keepAlive);
+        consumed = length;
+        headLength = -1;
+        headers = null;
+        expectContinue = false;
+        return request;
+    }
+
+    int getConsumed() {
+        return consumed;
+    }
+
+    /**
+     * 功能描述: 头部已收全、带Expect: 100-continue且还没回复过100时返回true，每个请求只返回一次
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return boolean
+     */
+    boolean takeExpectContinue() {
+        if (headLength >= 0 && expectContinue) {
+            expectContinue = false;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean parseHead(byte[] data, int start, int end) throws HttpParseException {
+        int pos = start;
+        // 请求行前的空行忽略（RFC 7230 3.5）
+        while (pos < end && ('\r' == data[pos] || '\n' == data[pos])) {
+            pos++;
+        }
+        int lineEnd = indexOf(data, pos, end);
+        if (lineEnd < 0) {
+            checkHeaderSize(end - start);
+            return false;
+        }
+        String requestLine = ascii(data, pos, trimCr(data, pos, lineEnd));
+        int firstSpace = requestLine.indexOf(' ');
+        int lastSpace = requestLine.lastIndexOf(' ');
+        if (firstSpace <= 0 || lastSpace == firstSpace) {
+            throw new HttpParseException(400, "Malformed request line");
+        }
+        String requestMethod = requestLine.substring(0, firstSpace);
+        String target = requestLine.substring(firstSpace + 1, lastSpace);
+        String requestProtocol = requestLine.substring(lastSpace + 1);
+        if (!requestProtocol.startsWith("HTTP/1.")) {
+            throw new HttpParseException(505, "Unsupported protocol " + requestProtocol);
+        }
+
+        TreeMap<String, List<String>> requestHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        pos = lineEnd + 1;
+        while (true) {
+            lineEnd = indexOf(data, pos, end);
+            if (lineEnd < 0) {
+                checkHeaderSize(end - start);
+                return false;
+            }
+            checkHeaderSize(lineEnd + 1 - start);
+            int contentEnd = trimCr(data, pos, lineEnd);
+            if (contentEnd == pos) {
+                pos = lineEnd + 1;
+                break;
+            }
+            // 以空白开头的是已废弃的折行头（obs-fold），按RFC 7230 3.2.4拒绝
+            if (' ' == data[pos] || '\t' == data[pos]) {
+                throw new HttpParseException(400, "Folded header lines are not supported");
+            }
+            int colon = indexOf(data, pos, contentEnd, (byte) ':');
+            if (colon <= pos) {
+                throw new HttpParseException(400, "Malformed header line");
+            }
+            String name = ascii(data, pos, colon);
+            if (name.indexOf(' ') >= 0 || name.indexOf('\t') >= 0) {
+                throw new HttpParseException(400, "Whitespace in header name");
+            }
+            requestHeaders.computeIfAbsent(name, k -> new ArrayList<>(1)).add(ascii(data, colon + 1, contentEnd).trim());
+            pos = lineEnd + 1;
+        }
+
+        readBodyLength(requestHeaders, requestProtocol);
+        keepAlive = isKeepAlive(requestHeaders, requestProtocol);
+        String expect = first(requestHeaders, "Expect");
+        expectContinue = null != expect && "100-continue".equalsIgnoreCase(expect) && (chunked || contentLength > 0);
+
+        // 绝对形式的请求目标（代理请求）只保留路径
+        if (target.startsWith("http://") || target.startsWith("https://")) {
+            int path = target.indexOf('/', target.indexOf("//") + 2);
+            target = path < 0 ? "/" : target.substring(path);
+        }
+        if (!target.startsWith("/") && !"*".equals(target)) {
+            throw new HttpParseException(400, "Malformed request target");
+        }
+        int question = target.indexOf('?');
+        method = requestMethod;
+        requestURI = question < 0 ? target : target.substring(0, question);
+        queryString = question < 0 ? null : target.substring(question + 1);
+        protocol = requestProtocol;
+        headers = requestHeaders;
+        headLength = pos - start;
+        return true;
+    }
+
+    private void readBodyLength(TreeMap<String, List<String>> requestHeaders, String requestProtocol) throws HttpParseException {
+        List<String> transferEncoding = requestHeaders.get("Transfer-Encoding");
+        List<String> lengths = requestHeaders.get("Content-Length");
+        chunked = false;
+        contentLength = 0;
+        if (null != transferEncoding) {
+            if (null != lengths) {
+                throw new HttpParseException(400, "Both Transfer-Encoding and Content-Length present");
+            }
+            if (transferEncoding.size() != 1 || !"chunked".equalsIgnoreCase(transferEncoding.get(0))
+                    || "HTTP/1.0".equals(requestProtocol)) {
+                throw new HttpParseException(501, "Unsupported Transfer-Encoding " + transferEncoding);
+            }
+            chunked = true;
+            return;
+        }
+        if (null == lengths) {
+            return;
+        }
+        long length = -1;
+        for (String value : lengths) {
+            long parsed;
+            try {
+                parsed = Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                throw new HttpParseException(400, "Malformed Content-Length " + value);
+            }
+            if (parsed < 0 || (length >= 0 && parsed != length)) {
+                throw new HttpParseException(400, "Malformed Content-Length " + lengths);
+            }
+            length = parsed;
+        }
+        if (length > maxBodySize) {
+            throw new HttpParseException(413, "Request body exceeds " + maxBodySize + " bytes");
+        }
+        contentLength = length;
+    }
+
+    private static boolean isKeepAlive(TreeMap<String, List<String>> requestHeaders, String requestProtocol) {
+        boolean http10 = "HTTP/1.0".equals(requestProtocol);
+        List<String> connection = requestHeaders.get("Connection");
+        if (null == connection) {
+            return !http10;
+        }
+        for (String value : connection) {
+            for (String token : value.toLowerCase(Locale.ROOT).split(",")) {
+                token = token.trim();
+                if ("close".equals(token)) {
+                    return false;
+                }
+                if ("keep-alive".equals(token)) {
+                    return true;
+                }
+            }
+        }
+        return !http10;
+    }
+
+    /**
+     * 功能描述: 解码chunked请求体。out为null时只检查是否收全，并把解码后的长度记到contentLength；
+     *          不为null时把数据拷贝进out
+     * @author ykq
+     * @date 2026/10/18
+     * @param data
+     * @param start 请求体的起点
+     * @param end
+     * @param out
+     * @return int 编码后的请求体（含结尾的0块和trailer）占用的字节数，没收全时返回-1
+     */
+    private int decodeChunked(byte[] data, int start, int end, byte[] out) throws HttpParseException {
+        int pos = start;
+        long decoded = 0;
+        while (true) {
+            int lineEnd = indexOf(data, pos, end);
+            if (lineEnd < 0) {
+                checkChunkedSize(end - start);
+                return -1;
+            }
+            long size = parseChunkSize(data, pos, lineEnd);
+            pos = lineEnd + 1;
+            if (0 == size) {
+                // trailer忽略，读到空行为止
+                while (true) {
+                    lineEnd = indexOf(data, pos, end);
+                    if (lineEnd < 0) {
+                        checkChunkedSize(end - start);
+                        return -1;
+                    }
+                    boolean blank = trimCr(data, pos, lineEnd) == pos;
+                    pos = lineEnd + 1;
+                    if (blank) {
+                        contentLength = decoded;
+                        return pos - start;
+                    }
+                }
+            }
+            if (decoded + size > maxBodySize) {
+                throw new HttpParseException(413, "Request body exceeds " + maxBodySize + " bytes");
+            }
+            // 块数据后面跟CRLF（宽容地接受单独的LF）
+            if (end - pos < size + 1 || ('\n' != data[pos + (int) size] && end - pos < size + 2)) {
+                checkChunkedSize(end - start);
+                return -1;
+            }
+            if (null != out) {
+                System.arraycopy(data, pos, out, (int) decoded, (int) size);
+            }
+            decoded += size;
+            pos += (int) size;
+            if ('\n' == data[pos]) {
+                pos += 1;
+            } else if ('\r' == data[pos] && '\n' == data[pos + 1]) {
+                pos += 2;
+            } else {
+                throw new HttpParseException(400, "Malformed chunk");
+            }
+        }
+    }
+
+    private static long parseChunkSize(byte[] data, int start, int end) throws HttpParseException {
+        long size = 0;
+        int digits = 0;
+        for (int i = start; i < end; i++) {
+            int digit = Character.digit(data[i], 16);
+            if (digit < 0) {
+                // 块扩展（;name=value）忽略
+                if (';' == data[i] || '\r' == data[i] || ' ' == data[i] || '\t' == data[i]) {
+                    break;
+                }
+                throw new HttpParseException(400, "Malformed chunk size");
+            }
+            if (++digits > 15) {
+                throw new HttpParseException(413, "Chunk too large");
+            }
+            size = (size << 4) | digit;
+        }
+        if (0 == digits) {
+            throw new HttpParseException(400, "Malformed chunk size");
+        }
+        return size;
+    }
+
+    private void checkHeaderSize(int size) throws HttpParseException {
+        if (size > maxHeaderSize) {
+            throw new HttpParseException(431, "Request header exceeds " + maxHeaderSize + " bytes");
+        }
+    }
+
+    /** 块很小时编码开销可能数倍于数据本身，按编码后的长度再限制一次，避免缓冲区被撑大 */
+    private void checkChunkedSize(long size) throws HttpParseException {
+        if (size > 2 * maxBodySize + maxHeaderSize) {
+            throw new HttpParseException(413, "Request body exceeds " + maxBodySize + " bytes");
+        }
+    }
+
+    private static String first(TreeMap<String, List<String>> requestHeaders, String name) {
+        List<String> values = requestHeaders.get(name);
+        return null == values ? null : values.get(0);
+    }
+
+    private static int indexOf(byte[] data, int start, int end) {
+        return indexOf(data, start, end, (byte) '\n');
+    }
+
+    private static int indexOf(byte[] data, int start, int end, byte target) {
+        for (int i = start; i < end; i++) {
+            if (target == data[i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** 行尾的CR不算行内容 */
+    private static int trimCr(byte[] data, int start, int lineEnd) {
+        return lineEnd > start && '\r' == data[lineEnd - 1] ? lineEnd - 1 : lineEnd;
+    }
+
+    private static String ascii(byte[] data, int start, int end) {
+        return new String(data, start, end - start, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,82 @@
+package com.my.mvcFramework.v1.server;
+
+import com.my.mvcFramework.v1.config.MyEnvironment;
+import com.my.mvcFramework.v1.log.MyLogger;
+import com.my.mvcFramework.v1.servlet.MyDispatcherServlet;
+
+import javax.servlet.ServletConfig;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Properties;
+
+/**
+ * @ClassName MyApplication
+ * @Description 不部署war、直接运行的启动类：读取application.properties，初始化与web.xml中相同的MyDispatcherServlet，
+ *              再在NioHttpServer上提供服务。用法：java -jar mySpring-embedded.jar [配置文件在classpath中的位置]，
+ *              配置可以用同名的系统属性或环境变量覆盖，如-Dserver.port=9090、SERVER_PORT=9090
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class MyApplication {
+    private static final String DEFAULT_CONFIG_LOCATION = "application.properties";
+
+    private static final String SERVLET_NAME = "mymvc";
+
+    public static void main(String[] args) throws Exception {
+        run(args.length > 0 ? args[0] : DEFAULT_CONFIG_LOCATION);
+    }
+
+    /**
+     * 功能描述: 初始化servlet并启动服务器，JVM退出时关闭服务器、销毁servlet
+     * @author ykq
+     * @date 2026/10/18
+     * @param contextConfigLocation 配置文件在classpath中的位置，与web.xml中的contextConfigLocation相同
+     * @return com.my.mvcFramework.v1.server.NioHttpServer
+     */
+    public static NioHttpServer run(final String contextConfigLocation) throws IOException, ServletException {
+        long start = System.nanoTime();
+        ClassLoader classLoader = MyApplication.class.getClassLoader();
+        // 与servlet读取配置的方式相同：系统属性、环境变量、外部文件依次覆盖classpath中的配置，如-Dserver.port=9090
+        Properties config = MyEnvironment.load(classLoader, contextConfigLocation);
+
+        final ServletContext servletContext = EmbeddedServletContext.create(config, classLoader);
+        final MyDispatcherServlet servlet = new MyDispatcherServlet();
+        servlet.init(new ServletConfig() {
+            @Override
+            public String getServletName() {
+                return SERVLET_NAME;
+            }
+
+            @Override
+            public ServletContext getServletContext() {
+                return servletContext;
+            }
+
+            @Override
+            public String getInitParameter(String name) {
+                return "contextConfigLocation".equals(name) ? contextConfigLocation : null;
+            }
+
+            @Override
+            public Enumeration<String> getInitParameterNames() {
+                return Collections.enumeration(Collections.singletonList("contextConfigLocation"));
+            }
+        });
+
+        // 服务器的错误和servlet的写到同一组日志文件
+        MyLogger logger = (MyLogger) servletContext.getAttribute(MyLogger.BEAN_NAME);
+        final NioHttpServer server = new NioHttpServer(config, servlet, servletContext, logger);
+        server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            servlet.destroy();
+        }, "mySpring-shutdown"));
+        System.out.println("MySpring embedded server started on port " + server.getPort() + servletContext.getContextPath()
+                + " in " + (System.nanoTime() - start) / 1000000 + "ms");
+        return server;
+    }
+}
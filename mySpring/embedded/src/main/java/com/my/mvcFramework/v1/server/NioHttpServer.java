@@ -0,0 +1,303 @@
+package com.my.mvcFramework.v1.server;
+
+import com.my.mvcFramework.v1.log.MyLogger;
+
+import javax.servlet.Servlet;
+import javax.servlet.ServletContext;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @ClassName NioHttpServer
+ * @Description 基于NIO的HTTP/1.1服务器。一个接收线程accept后按轮询把连接分给selector线程（默认每个CPU核一个），
+ *              selector线程只做读和可写通知；请求收全后交给工作线程执行servlet，响应由工作线程直接写socket，
+ *              socket写满时等待selector的可写通知，慢客户端不会让响应在内存中无限堆积。
+ *              连接默认保持；同一连接上的流水线请求按顺序逐个处理，前一个响应写完才解析下一个
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class NioHttpServer implements Closeable {
+    private final Servlet servlet;
+
+    private final ServletContext servletContext;
+
+    private final MyLogger logger;
+
+    private final String host;
+
+    private final int port;
+
+    private final int backlog;
+
+    private final String contextPath;
+
+    private final long idleTimeoutMillis;
+
+    private final int maxHeaderSize;
+
+    private final long maxRequestSize;
+
+    private final int responseBufferSize;
+
+    private final SelectorLoop[] loops;
+
+    private final ExecutorService workers;
+
+    /** 异步请求的超时 */
+    private final ScheduledThreadPoolExecutor timer;
+
+    private ServerSocketChannel serverChannel;
+
+    private Thread acceptor;
+
+    private volatile boolean running;
+
+    /**
+     * 功能描述: 读取application.properties中server.*的配置
+     *          server.host                 监听地址，为空时监听所有地址
+     *          server.port                 端口，默认8080，0为随机端口
+     *          server.selectorThreads      selector线程数，默认CPU核数
+     *          server.workerThreads        执行servlet的线程数，默认200
+     *          server.virtualThreads       JDK支持虚拟线程时是否用虚拟线程执行servlet，默认true
+     *          server.idleTimeoutMillis    空闲连接的超时时间，也是写响应时等待客户端的最长时间，默认60000
+     *          server.maxHeaderSize        请求行加请求头的字节数上限，默认8192
+     *          server.maxRequestSize       请求体的字节数上限，默认10485760
+     *          server.responseBufferSize   响应缓冲区大小，响应体不超过它时带Content-Length一次写出，默认8192
+     * @author ykq
+     * @date 2026/10/18
+     * @param config
+     * @param servlet 已经init()过的servlet
+     * @param servletContext 上下文路径取自它的getContextPath()
+     * @param logger 服务器的错误写到这里，通常是servlet初始化后放在ServletContext中的MyLogger
+     * @return
+     */
+    public NioHttpServer(Properties config, Servlet servlet, ServletContext servletContext, MyLogger logger) throws IOException {
+        this.servlet = servlet;
+        this.servletContext = servletContext;
+        this.logger = logger;
+        this.host = config.getProperty("server.host", "").trim();
+        this.port = Integer.parseInt(config.getProperty("server.port", "8080").trim());
+        this.backlog = Integer.parseInt(config.getProperty("server.backlog", "1024").trim());
+        this.contextPath = servletContext.getContextPath();
+        this.idleTimeoutMillis = Long.parseLong(config.getProperty("server.idleTimeoutMillis", "60000").trim());
+        this.maxHeaderSize = Integer.parseInt(config.getProperty("server.maxHeaderSize", "8192").trim());
+        this.maxRequestSize = Long.parseLong(config.getProperty("server.maxRequestSize", "10485760").trim());
+        this.responseBufferSize = Integer.parseInt(config.getProperty("server.responseBufferSize", "8192").trim());
+        int selectorThreads = Integer.parseInt(config.getProperty("server.selectorThreads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())).trim());
+        int workerThreads = Integer.parseInt(config.getProperty("server.workerThreads", "200").trim());
+        boolean virtualThreads = Boolean.parseBoolean(config.getProperty("server.virtualThreads", "true").trim());
+
+        this.loops = new SelectorLoop[Math.max(1, selectorThreads)];
+        for (int i = 0; i < loops.length; i++) {
+            loops[i] = new SelectorLoop(this, i + 1);
+        }
+        ExecutorService virtual = virtualThreads ? newVirtualThreadExecutor() : null;
+        this.workers = null != virtual ? virtual : newPlatformExecutor(workerThreads);
+        this.timer = new ScheduledThreadPoolExecutor(1, daemonThreadFactory("mySpring-async-timeout"));
+        this.timer.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * 功能描述: 绑定端口，启动selector线程和接收线程
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return void
+     */
+    public synchronized void start() throws IOException {
+        if (running) {
+            return;
+        }
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+        serverChannel.bind("".equals(host) ? new InetSocketAddress(port) : new InetSocketAddress(host, port), backlog);
+        running = true;
+        for (SelectorLoop loop : loops) {
+            loop.start();
+        }
+        acceptor = new Thread(this::accept, "mySpring-acceptor");
+        acceptor.start();
+    }
+
+    /**
+     * 功能描述: 阻塞accept，新连接按轮询分给selector线程
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return void
+     */
+    private void accept() {
+        int next = 0;
+        while (running) {
+            SocketChannel channel = null;
+            try {
+                channel = serverChannel.accept();
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                loops[next].register(channel);
+                next = (next + 1) % loops.length;
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                // 文件句柄耗尽等错误，关闭这个连接，接收线程继续
+                logger.error("Failed to accept a connection", e);
+                closeQuietly(channel);
+            }
+        }
+    }
+
+    /**
+     * 功能描述: 停止接收新连接，关闭所有连接和线程。servlet由调用方destroy()
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return void
+     */
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        closeQuietly(serverChannel);
+        for (SelectorLoop loop : loops) {
+            loop.close();
+        }
+        workers.shutdown();
+        timer.shutdownNow();
+        try {
+            acceptor.join(1000L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 功能描述: 实际监听的端口，server.port=0时由系统分配
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return int
+     */
+    public int getPort() {
+        try {
+            return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+        } catch (IOException e) {
+            return port;
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    Servlet getServlet() {
+        return servlet;
+    }
+
+    ServletContext getServletContext() {
+        return servletContext;
+    }
+
+    MyLogger getLogger() {
+        return logger;
+    }
+
+    String getContextPath() {
+        return contextPath;
+    }
+
+    long getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    int getMaxHeaderSize() {
+        return maxHeaderSize;
+    }
+
+    long getMaxRequestSize() {
+        return maxRequestSize;
+    }
+
+    int getResponseBufferSize() {
+        return responseBufferSize;
+    }
+
+    /**
+     * 功能描述: 在工作线程上执行，服务器关闭后抛出RejectedExecutionException
+     * @author ykq
+     * @date 2026/10/18
+     * @param task
+     * @return void
+     */
+    void execute(Runnable task) {
+        workers.execute(task);
+    }
+
+    ScheduledFuture<?> schedule(Runnable task, long delayMillis) {
+        try {
+            return timer.schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (null == closeable) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // 关闭时的错误不影响其他连接
+        }
+    }
+
+    /**
+     * 功能描述: JDK 21+通过反射创建虚拟线程执行器，低版本JDK返回null
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return java.util.concurrent.ExecutorService
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService newPlatformExecutor(int threads) {
+        // 请求数由连接数间接限制：每个连接同时只有一个请求在处理
+        return new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), daemonThreadFactory("mySpring-worker"));
+    }
+
+    private static ThreadFactory daemonThreadFactory(final String prefix) {
+        final AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
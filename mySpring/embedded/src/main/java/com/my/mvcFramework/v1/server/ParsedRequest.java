@@ -0,0 +1,47 @@
+package com.my.mvcFramework.v1.server;
+
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * @ClassName ParsedRequest
+ * @Description 从连接的读缓冲区中解析出的一个完整请求：请求行、头和已解码（去掉chunked编码）的请求体
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+final class ParsedRequest {
+    final String method;
+
+    /** 请求行中的路径，不含查询串，未做百分号解码，与servlet容器的getRequestURI()一致 */
+    final String requestURI;
+
+    /** 没有查询串时为null */
+    final String queryString;
+
+    final String protocol;
+
+    /** 头名大小写不敏感，保留第一次出现时的写法 */
+    final TreeMap<String, List<String>> headers;
+
+    final byte[] body;
+
+    /** 按协议版本和Connection头，客户端是否希望保持连接 */
+    final boolean keepAlive;
+
+    ParsedRequest(String method, String requestURI, String queryString, String protocol,
+                  TreeMap<String, List<String>> headers, byte[] body, boolean keepAlive) {
+        this.method = method;
+        this.requestURI = requestURI;
+        this.queryString = queryString;
+        this.protocol = protocol;
+        this.headers = headers;
+        this.body = body;
+        this.keepAlive = keepAlive;
+    }
+
+    String getHeader(String name) {
+        List<String> values = headers.get(name);
+        return null == values ? null : values.get(0);
+    }
+}
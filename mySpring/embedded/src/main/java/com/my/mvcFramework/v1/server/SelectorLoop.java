@@ -0,0 +1,156 @@
+package com.my.mvcFramework.v1.server;
+
+import java.io.IOException;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @ClassName SelectorLoop
+ * @Description 一个selector线程，负责分到它上面的连接的读和可写通知。连接的注册、恢复读、等待可写都以任务的形式交给本线程执行，
+ *              SelectionKey只在本线程上修改。每秒检查一次空闲连接，超过server.idleTimeoutMillis的关闭
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+final class SelectorLoop implements Runnable {
+    private final NioHttpServer server;
+
+    private final Selector selector;
+
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    private final Thread thread;
+
+    private volatile boolean running = true;
+
+    SelectorLoop(NioHttpServer server, int index) throws IOException {
+        this.server = server;
+        this.selector = Selector.open();
+        this.thread = new Thread(this, "mySpring-selector-" + index);
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * 功能描述: 接收线程把新连接交给本线程注册
+     * @author ykq
+     * @date 2026/10/18
+     * @param channel 已设为非阻塞的连接
+     * @return void
+     */
+    void register(SocketChannel channel) throws IOException {
+        final HttpConnection connection = new HttpConnection(server, this, channel);
+        execute(() -> {
+            try {
+                connection.register(selector);
+            } catch (IOException e) {
+                connection.close();
+            }
+        });
+    }
+
+    /**
+     * 功能描述: 在selector线程上执行任务，并唤醒阻塞在select()上的线程
+     * @author ykq
+     * @date 2026/10/18
+     * @param task
+     * @return void
+     */
+    void execute(Runnable task) {
+        tasks.add(task);
+        if (Thread.currentThread() != thread) {
+            selector.wakeup();
+        }
+    }
+
+    @Override
+    public void run() {
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(server.getIdleTimeoutMillis());
+        long lastSweep = System.nanoTime();
+        try {
+            while (running) {
+                selector.select(1000L);
+                runTasks();
+                Iterator<SelectionKey> selected = selector.selectedKeys().iterator();
+                while (selected.hasNext()) {
+                    SelectionKey key = selected.next();
+                    selected.remove();
+                    HttpConnection connection = (HttpConnection) key.attachment();
+                    try {
+                        if (key.isValid() && key.isWritable()) {
+                            connection.onWritable();
+                        }
+                        if (key.isValid() && key.isReadable()) {
+                            connection.onReadable();
+                        }
+                    } catch (CancelledKeyException e) {
+                        // 连接已被其他线程关闭
+                        connection.close();
+                    }
+                }
+                long now = System.nanoTime();
+                if (now - lastSweep >= TimeUnit.SECONDS.toNanos(1)) {
+                    lastSweep = now;
+                    closeIdle(now, idleNanos);
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            if (running) {
+                server.getLogger().error("Selector loop " + thread.getName() + " stopped", e);
+            }
+        } finally {
+            closeAll();
+        }
+    }
+
+    void close() {
+        running = false;
+        selector.wakeup();
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while (null != (task = tasks.poll())) {
+            try {
+                task.run();
+            } catch (CancelledKeyException e) {
+                // 任务对应的连接已被其他线程关闭
+            }
+        }
+    }
+
+    private void closeIdle(long now, long idleNanos) {
+        for (SelectionKey key : selector.keys()) {
+            HttpConnection connection = (HttpConnection) key.attachment();
+            if (null != connection && connection.isIdle(now, idleNanos)) {
+                connection.close();
+            }
+        }
+    }
+
+    private void closeAll() {
+        try {
+            // 还没注册的连接先注册上，再和其他连接一起关闭
+            runTasks();
+            for (SelectionKey key : selector.keys()) {
+                HttpConnection connection = (HttpConnection) key.attachment();
+                if (null != connection) {
+                    connection.close();
+                }
+            }
+            selector.close();
+        } catch (IOException | ClosedSelectorException e) {
+            server.getLogger().error("Failed to close connections of " + thread.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.my.mvcFramework.v1.server;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @ClassName HttpRequestParserTest
+ * @Description 请求分多次到达、多个请求流水线式挤在同一个缓冲区、chunked请求体，以及同时带Transfer-Encoding和Content-Length时拒绝
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class HttpRequestParserTest {
+    private static final String POST = "POST /demo/json?name=a HTTP/1.1\r\n"
+            + "Host: localhost\r\n"
+            + "content-type: application/json\r\n"
+            + "Content-Length: 11\r\n"
+            + "\r\n"
+            + "{\"id\":\"42\"}";
+
+    private static final String CHUNKED = "POST /upload HTTP/1.1\r\n"
+            + "Transfer-Encoding: chunked\r\n"
+            + "\r\n"
+            + "5;ext=1\r\nhello\r\n"
+            + "1\r\n \r\n"
+            + "a\r\n0123456789\r\n"
+            + "0\r\n"
+            + "X-Trailer: ignored\r\n"
+            + "\r\n";
+
+    private final HttpRequestParser parser = new HttpRequestParser(8192, 1024);
+
+    @Test
+    public void parsesRequestArrivingOneByteAtATime() throws Exception {
+        byte[] data = bytes(POST);
+        for (int end = 0; end < data.length; end++) {
+            assertNull("complete at " + end, parser.parse(data, 0, end));
+        }
+        ParsedRequest request = parser.parse(data, 0, data.length);
+        assertEquals("POST", request.method);
+        assertEquals("/demo/json", request.requestURI);
+        assertEquals("name=a", request.queryString);
+        assertEquals("HTTP/1.1", request.protocol);
+        assertEquals("application/json", request.getHeader("Content-Type"));
+        assertEquals("{\"id\":\"42\"}", new String(request.body, StandardCharsets.ISO_8859_1));
+        assertTrue(request.keepAlive);
+        assertEquals(data.length, parser.getConsumed());
+    }
+
+    @Test
+    public void parsesPipelinedRequestsFromOneBuffer() throws Exception {
+        byte[] data = bytes("GET /a HTTP/1.1\r\nHost: x\r\n\r\n" + POST + "GET /c HTTP/1.0\r\n\r\nGET /d");
+        int start = 0;
+        ParsedRequest first = parser.parse(data, start, data.length);
+        assertEquals("/a", first.requestURI);
+        assertNull(first.queryString);
+        assertEquals(0, first.body.length);
+        start += parser.getConsumed();
+
+        ParsedRequest second = parser.parse(data, start, data.length);
+        assertEquals("/demo/json", second.requestURI);
+        assertEquals(11, second.body.length);
+        start += parser.getConsumed();
+
+        ParsedRequest third = parser.parse(data, start, data.length);
+        assertEquals("/c", third.requestURI);
+        assertFalse(third.keepAlive);
+        start += parser.getConsumed();
+
+        // 第四个请求只到了一部分
+        assertNull(parser.parse(data, start, data.length));
+    }
+
+    @Test
+    public void decodesChunkedBody() throws Exception {
+        byte[] data = bytes(CHUNKED + "GET /next HTTP/1.1\r\n\r\n");
+        int requestLength = bytes(CHUNKED).length;
+        for (int end = 0; end < requestLength; end++) {
+            assertNull("complete at " + end, parser.parse(data, 0, end));
+        }
+        ParsedRequest request = parser.parse(data, 0, data.length);
+        assertEquals("/upload", request.requestURI);
+        assertArrayEquals(bytes("hello 0123456789"), request.body);
+        assertEquals(requestLength, parser.getConsumed());
+        assertEquals("/next", parser.parse(data, requestLength, data.length).requestURI);
+    }
+
+    @Test
+    public void rejectsTransferEncodingWithContentLength() {
+        byte[] data = bytes("POST /upload HTTP/1.1\r\n"
+                + "Content-Length: 5\r\n"
+                + "Transfer-Encoding: chunked\r\n"
+                + "\r\n"
+                + "0\r\n\r\n");
+        assertStatus(400, data);
+    }
+
+    @Test
+    public void rejectsUnsupportedOrOversizedBodies() {
+        assertStatus(501, bytes("POST / HTTP/1.1\r\nTransfer-Encoding: gzip, chunked\r\n\r\n"));
+        assertStatus(400, bytes("POST / HTTP/1.1\r\nContent-Length: 5\r\nContent-Length: 6\r\n\r\n"));
+        assertStatus(413, bytes("POST / HTTP/1.1\r\nContent-Length: 1025\r\n\r\n"));
+        assertStatus(413, bytes("POST / HTTP/1.1\r\nTransfer-Encoding: chunked\r\n\r\n401\r\n"));
+        assertStatus(400, bytes("POST / HTTP/1.1\r\nTransfer-Encoding: chunked\r\n\r\n2\r\nabX\r\n0\r\n\r\n"));
+    }
+
+    private void assertStatus(int status, byte[] data) {
+        try {
+            new HttpRequestParser(8192, 1024).parse(data, 0, data.length);
+            fail("expected " + status);
+        } catch (HttpRequestParser.HttpParseException e) {
+            assertEquals(status, e.getStatus());
+        }
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.ISO_8859_1);
+    }
+}
@@ -1,14 +1,26 @@
 package com.my.demo.action;
 
 import com.my.demo.service.DemoService;
+import com.my.mvcFramework.annotation.MyAsync;
 import com.my.mvcFramework.annotation.MyAutowired;
+import com.my.mvcFramework.annotation.MyBulkhead;
+import com.my.mvcFramework.annotation.MyCacheable;
 import com.my.mvcFramework.annotation.MyController;
+import com.my.mvcFramework.annotation.MyPathVariable;
+import com.my.mvcFramework.annotation.MyRateLimit;
+import com.my.mvcFramework.annotation.MyRequestBody;
 import com.my.mvcFramework.annotation.MyRequestMapping;
 import com.my.mvcFramework.annotation.MyRequestParam;
+import com.my.mvcFramework.annotation.MyResponseBody;
+import com.my.mvcFramework.v1.response.MyResponse;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @ClassName DemoController
@@ -35,4 +47,68 @@ public class DemoAction {
             e.printStackTrace();
         }
     }
+
+    /**
+     * 响应按name缓存10秒。写出失败时异常交给框架记录错误日志并返回500，不会缓存不完整的响应
+     * http://localhost:8080/mySpring_war_exploded/demo/query/1
+     */
+    @MyCacheable(ttlMillis = 10000)
+    @MyRequestMapping("/query/{name}")
+    public void queryByPath(HttpServletResponse httpServletResponse, @MyPathVariable("name") String name) throws IOException {
+        httpServletResponse.getWriter().write(demoService.get(name));
+    }
+
+    /**
+     * 逐行流式输出，不在内存中拼接整个响应；客户端支持时gzip压缩。大响应占用工作线程的时间长，限制并发数和速率
+     * http://localhost:8080/mySpring_war_exploded/demo/stream?name=1&count=1000
+     */
+    @MyBulkhead(8)
+    @MyRateLimit(value = 20, burst = 40)
+    @MyRequestMapping("/stream")
+    public MyResponse stream(@MyRequestParam("name") final String name, @MyRequestParam("count") final int count) {
+        return MyResponse.stream(out -> {
+            for (int i = 0; i < count; i++) {
+                out.write(demoService.get(name));
+                out.write("\n");
+            }
+        });
+    }
+
+    /**
+     * 在异步线程池中执行，返回值由框架写回
+     * http://localhost:8080/mySpring_war_exploded/demo/asyncQuery?name=1
+     */
+    @MyAsync
+    @MyRequestMapping("/asyncQuery")
+    public CompletableFuture<String> asyncQuery(@MyRequestParam("name") String name) {
+        return CompletableFuture.completedFuture(demoService.get(name));
+    }
+
+    /**
+     * 返回值序列化为JSON
+     * http://localhost:8080/mySpring_war_exploded/demo/json?name=1
+     */
+    @MyResponseBody
+    @MyRequestMapping("/json")
+    public Map<String, Object> json(@MyRequestParam("name") String name) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("name", name);
+        result.put("result", demoService.get(name));
+        return result;
+    }
+
+    /**
+     * 请求体为JSON数组，一次批量查询后以JSON返回
+     * curl -d '["1","2"]' http://localhost:8080/mySpring_war_exploded/demo/queryAll
+     */
+    @MyResponseBody
+    @MyRequestMapping("/queryAll")
+    public Map<String, String> queryAll(@MyRequestBody List<String> names) {
+        List<String> values = demoService.get(names);
+        Map<String, String> result = new LinkedHashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            result.put(names.get(i), values.get(i));
+        }
+        return result;
+    }
 }
@@ -0,0 +1,39 @@
+package com.my.demo.aspect;
+
+import com.my.mvcFramework.annotation.MyAround;
+import com.my.mvcFramework.annotation.MyAspect;
+import com.my.mvcFramework.annotation.MyAutowired;
+import com.my.mvcFramework.annotation.MyService;
+import com.my.mvcFramework.v1.aop.MyJoinPoint;
+import com.my.mvcFramework.v1.log.MyLogger;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @ClassName TimingAspect
+ * @Description 记录service方法的耗时，超过阈值时写入框架的日志（error.log中type为info的行）
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+@MyService
+@MyAspect
+public class TimingAspect {
+    private static final long SLOW_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @MyAutowired
+    private MyLogger myLogger;
+
+    @MyAround("execution(com.my.demo.service..*.*)")
+    public Object time(MyJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            if (elapsed > SLOW_NANOS) {
+                myLogger.info("Slow call " + joinPoint + " took " + TimeUnit.NANOSECONDS.toMillis(elapsed) + "ms");
+            }
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.my.demo.service;
 
+import java.util.List;
+
 /**
  * @ClassName DemoService
  * @Description TODO
@@ -9,4 +11,9 @@ package com.my.demo.service;
  */
 public interface DemoService {
     public String get(String name);
+
+    /**
+     * get(String)的批量变体，结果与names按下标对应。批量请求中各子请求对get(String)的调用会合并成一次调用
+     */
+    public List<String> get(List<String> names);
 }
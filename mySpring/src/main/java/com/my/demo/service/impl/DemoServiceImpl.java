@@ -2,6 +2,10 @@ package com.my.demo.service.impl;
 
 import com.my.demo.service.DemoService;
 import com.my.mvcFramework.annotation.MyService;
+import com.my.mvcFramework.annotation.MyValue;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * @ClassName DemoServiceImpl
@@ -12,8 +16,21 @@ import com.my.mvcFramework.annotation.MyService;
  */
 @MyService
 public class DemoServiceImpl implements DemoService {
+    /** 修改配置文件中的demo.greeting后不需要重启 */
+    @MyValue("${demo.greeting:My name is }")
+    private volatile String greeting;
+
     @Override
     public String get(String name) {
-        return "My name is " + name;
+        return greeting + name;
+    }
+
+    @Override
+    public List<String> get(List<String> names) {
+        List<String> results = new ArrayList<>(names.size());
+        for (String name : names) {
+            results.add(get(name));
+        }
+        return results;
     }
 }
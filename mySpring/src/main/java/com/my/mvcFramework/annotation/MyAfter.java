@@ -0,0 +1,18 @@
+package com.my.mvcFramework.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 功能描述：后置通知，目标方法返回或抛出异常后都会执行。方法可以无参，或接收一个MyJoinPoint参数
+ * @author ykq
+ * @date 2026/10/18
+ * @param
+ * @return
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface MyAfter {
+    /** 切点表达式，语法同@MyAround */
+    String value();
+}
@@ -0,0 +1,18 @@
+package com.my.mvcFramework.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 功能描述：环绕通知。方法签名为Object name(MyJoinPoint joinPoint)，通过joinPoint.proceed()调用目标方法，可以多次调用（如重试）。
+ *          value为切点表达式，如execution(com.my.demo.service..*.get*)、@annotation(com.my.demo.Timed)，可以用&&、||、!组合
+ * @author ykq
+ * @date 2026/10/18
+ * @param
+ * @return
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface MyAround {
+    String value();
+}
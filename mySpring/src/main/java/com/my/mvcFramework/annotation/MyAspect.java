@@ -0,0 +1,19 @@
+package com.my.mvcFramework.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 功能描述：切面类，其中的@MyAround、@MyBefore、@MyAfter方法按切点表达式织入@MyController和@MyService的方法。
+ *          切面类本身需要同时标注@MyService才会被扫描，切面不会被织入
+ * @author ykq
+ * @date 2026/10/18
+ * @param
+ * @return
+ */
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface MyAspect {
+    /** 多个切面作用于同一方法时，order小的在外层。order相同的通知按切面bean的注册顺序、再按通知方法名排序 */
+    int order() default 0;
+}
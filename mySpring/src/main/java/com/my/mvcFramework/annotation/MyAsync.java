@@ -0,0 +1,17 @@
+package com.my.mvcFramework.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 功能描述：Handler方法在异步线程池中执行，不占用容器的工作线程。
+ *          返回CompletableFuture（CompletionStage）的方法不需要此注解，也会在结果完成时通过AsyncContext写回
+ * @author ykq
+ * @date 2026/10/18
+ * @param
+ * @return
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface MyAsync {
+}
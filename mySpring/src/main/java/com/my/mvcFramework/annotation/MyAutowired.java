@@ -9,7 +9,7 @@ import java.lang.annotation.*;
  * @param
  * @return
  */
-@Target({ElementType.FIELD})
+@Target({ElementType.FIELD, ElementType.CONSTRUCTOR, ElementType.PARAMETER})    //构造器上标注表示构造器注入，参数上可指定beanName
 @Retention(RetentionPolicy.RUNTIME)
 @Documented
 public @interface MyAutowired {
@@ -0,0 +1,18 @@
+package com.my.mvcFramework.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 功能描述：前置通知，在目标方法之前执行。方法可以无参，或接收一个MyJoinPoint参数；抛出异常时目标方法不再执行
+ * @author ykq
+ * @date 2026/10/18
+ * @param
+ * @return
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface MyBefore {
+    /** 切点表达式，语法同@MyAround */
+    String value();
+}
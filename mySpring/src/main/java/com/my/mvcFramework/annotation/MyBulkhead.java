@@ -0,0 +1,20 @@
+package com.my.mvcFramework.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 功能描述：舱壁隔离，限制路由同时处理的请求数，避免一个慢接口占满容器的工作线程。
+ *          标注在@MyRequestMapping方法上或Controller类上，方法上的优先。超出的请求在绑定参数之前直接返回503。
+ *          异步Handler从分发开始算到结果写回。application.properties中的limit.route.{url模板}.maxConcurrent会覆盖注解
+ * @author ykq
+ * @date 2026/10/18
+ * @param
+ * @return
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface MyBulkhead {
+    /** 最大并发数，小于等于0表示不限 */
+    int value();
+}
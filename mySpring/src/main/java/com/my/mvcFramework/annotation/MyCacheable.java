@@ -0,0 +1,26 @@
+package com.my.mvcFramework.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 功能描述：缓存方法的结果。
+ *          标注在@MyRequestMapping方法上时，以路由和@MyRequestParam、@MyPathVariable绑定的参数值为key，缓存写出的响应体；
+ *          标注在@MyService的方法上时，以方法参数为key缓存返回值，该service需要通过接口注入
+ * @author ykq
+ * @date 2026/10/18
+ * @param
+ * @return
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface MyCacheable {
+    /** 缓存名，用于失效缓存，默认为route:url或全类名#方法名(参数类型,...)，如com.my.demo.service.impl.DemoServiceImpl#get(java.lang.String) */
+    String value() default "";
+
+    /** 过期时间，小于等于0表示不过期 */
+    long ttlMillis() default 60000;
+
+    /** 最多缓存的条目数，超出后淘汰最久未访问的 */
+    int maxSize() default 1024;
+}
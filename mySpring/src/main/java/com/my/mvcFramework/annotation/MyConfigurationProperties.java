@@ -0,0 +1,19 @@
+package com.my.mvcFramework.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 功能描述：按前缀把一组配置绑定到bean的属性上，属性名即key的后半段，如@MyConfigurationProperties("demo")的属性greeting
+ *          绑定demo.greeting；配置中没有的key保留属性的初始值。支持的类型和更新方式与@MyValue相同
+ * @author ykq
+ * @date 2026/10/18
+ * @param
+ * @return
+ */
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface MyConfigurationProperties {
+    /** key的前缀，不含末尾的. */
+    String value();
+}
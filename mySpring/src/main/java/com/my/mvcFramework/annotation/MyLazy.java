@@ -0,0 +1,17 @@
+package com.my.mvcFramework.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 功能描述：延迟创建的单例bean，启动时不实例化，第一次被使用时才创建。
+ *          通过接口注入时注入的是代理，调用方法时才真正创建；通过类注入时在注入那一刻创建
+ * @author ykq
+ * @date 2026/10/18
+ * @param
+ * @return
+ */
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface MyLazy {
+}
@@ -0,0 +1,17 @@
+package com.my.mvcFramework.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 功能描述：绑定url中{name}形式的路径变量，如@MyRequestMapping("/order/{id}")
+ * @author ykq
+ * @date 2026/10/18
+ * @param
+ * @return
+ */
+@Target({ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface MyPathVariable {
+    String value() default "";
+}
@@ -0,0 +1,23 @@
+package com.my.mvcFramework.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 功能描述：令牌桶限流。标注在@MyRequestMapping方法上时限制该路由，标注在Controller类上时类中每个路由各自按此限流，
+ *          方法上的优先。超出速率的请求在绑定参数之前直接返回429。
+ *          application.properties中的limit.route.{url模板}.permitsPerSecond/burst会覆盖注解
+ * @author ykq
+ * @date 2026/10/18
+ * @param
+ * @return
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface MyRateLimit {
+    /** 每秒放行的请求数，小于等于0表示不限 */
+    double value();
+
+    /** 桶的容量，即空闲后允许的突发请求数，小于等于0时取每秒请求数（至少为1） */
+    int burst() default 0;
+}
@@ -0,0 +1,18 @@
+package com.my.mvcFramework.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 功能描述：把JSON格式的请求体反序列化后绑定到形参
+ * @author ykq
+ * @date 2026/10/18
+ * @param
+ * @return
+ */
+@Target({ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface MyRequestBody {
+    /** 请求体为空时是否报错 */
+    boolean required() default true;
+}
@@ -0,0 +1,26 @@
+package com.my.mvcFramework.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 功能描述：bean的作用域，默认singleton。
+ *          singleton   整个容器只有一个实例
+ *          prototype   每个注入点各自创建一个新实例
+ *          request     每个http请求一个实例，只能通过接口注入（注入的是代理）
+ * @author ykq
+ * @date 2026/10/18
+ * @param
+ * @return
+ */
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface MyScope {
+    String SINGLETON = "singleton";
+
+    String PROTOTYPE = "prototype";
+
+    String REQUEST = "request";
+
+    String value() default SINGLETON;
+}
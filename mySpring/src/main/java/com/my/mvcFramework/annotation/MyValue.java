@@ -0,0 +1,20 @@
+package com.my.mvcFramework.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 功能描述：把配置注入到bean的属性，如@MyValue("${batch.threads:16}")，:后为缺省值；不以${开头时为字面值。
+ *          支持String、String[]（按,分隔）、int、long、double、boolean及其包装类型和枚举。
+ *          在构造器和@MyAutowired注入之后赋值，构造器中还拿不到。
+ *          单例bean的属性在配置文件重新加载后随之更新，多线程读取的属性应声明为volatile
+ * @author ykq
+ * @date 2026/10/18
+ * @param
+ * @return
+ */
+@Target({ElementType.FIELD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface MyValue {
+    String value();
+}
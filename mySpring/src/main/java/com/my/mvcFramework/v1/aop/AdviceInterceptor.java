@@ -0,0 +1,108 @@
+package com.my.mvcFramework.v1.aop;
+
+import com.my.mvcFramework.v1.context.BeanDefinition;
+import com.my.mvcFramework.v1.context.MyBeanFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+/**
+ * @ClassName AdviceInterceptor
+ * @Description 把切面中的一个通知方法适配成MethodInterceptor。通知方法的MethodHandle在初始化时生成，
+ *              切面实例在第一次调用时从容器中取出并保存，之后不再查容器
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+final class AdviceInterceptor implements MethodInterceptor {
+    enum Kind {
+        AROUND, BEFORE, AFTER
+    }
+
+    private final Kind kind;
+
+    private final Method adviceMethod;
+
+    /** (Object aspect, MyJoinPoint)Object，无参的通知方法忽略MyJoinPoint */
+    private final MethodHandle advice;
+
+    private final int order;
+
+    private final Pointcut pointcut;
+
+    private final MyBeanFactory beanFactory;
+
+    private final BeanDefinition aspectDefinition;
+
+    private volatile Object aspect;
+
+    AdviceInterceptor(Kind kind, Method adviceMethod, int order, Pointcut pointcut,
+                      MyBeanFactory beanFactory, BeanDefinition aspectDefinition) {
+        this.kind = kind;
+        this.adviceMethod = adviceMethod;
+        this.order = order;
+        this.pointcut = pointcut;
+        this.beanFactory = beanFactory;
+        this.aspectDefinition = aspectDefinition;
+        this.advice = adapt(kind, adviceMethod);
+    }
+
+    private static MethodHandle adapt(Kind kind, Method method) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        boolean takesJoinPoint = 1 == parameterTypes.length && MyJoinPoint.class == parameterTypes[0];
+        if (Kind.AROUND == kind ? !takesJoinPoint : !(takesJoinPoint || 0 == parameterTypes.length)) {
+            throw new IllegalStateException("Advice " + method + (Kind.AROUND == kind
+                    ? " must take a single MyJoinPoint parameter" : " must take no parameter or a single MyJoinPoint"));
+        }
+        try {
+            method.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            if (!takesJoinPoint) {
+                handle = MethodHandles.dropArguments(handle, 1, MyJoinPoint.class);
+            }
+            if (void.class == method.getReturnType()) {
+                // void的环绕通知没有返回值，目标方法的返回值丢弃为null
+                handle = MethodHandles.filterReturnValue(handle, MethodHandles.constant(Object.class, null));
+            }
+            return handle.asType(MethodType.methodType(Object.class, Object.class, MyJoinPoint.class));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot access advice " + method, e);
+        }
+    }
+
+    @Override
+    public Object invoke(MyJoinPoint joinPoint) throws Throwable {
+        Object aspect = this.aspect;
+        if (null == aspect) {
+            aspect = beanFactory.getBean(aspectDefinition);
+            this.aspect = aspect;
+        }
+        if (Kind.AROUND == kind) {
+            return (Object) advice.invokeExact(aspect, joinPoint);
+        }
+        if (Kind.BEFORE == kind) {
+            Object ignored = (Object) advice.invokeExact(aspect, joinPoint);
+            return joinPoint.proceed();
+        }
+        try {
+            return joinPoint.proceed();
+        } finally {
+            Object ignored = (Object) advice.invokeExact(aspect, joinPoint);
+        }
+    }
+
+    boolean matches(Class<?> targetClass, Method method) {
+        return pointcut.matches(targetClass, method);
+    }
+
+    int getOrder() {
+        return order;
+    }
+
+    @Override
+    public String toString() {
+        return kind + " " + adviceMethod;
+    }
+}
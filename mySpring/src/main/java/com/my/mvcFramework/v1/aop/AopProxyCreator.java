@@ -0,0 +1,200 @@
+package com.my.mvcFramework.v1.aop;
+
+import com.my.mvcFramework.annotation.MyAfter;
+import com.my.mvcFramework.annotation.MyAround;
+import com.my.mvcFramework.annotation.MyAspect;
+import com.my.mvcFramework.annotation.MyBefore;
+import com.my.mvcFramework.annotation.MyController;
+import com.my.mvcFramework.annotation.MyService;
+import com.my.mvcFramework.v1.context.BeanDefinition;
+import com.my.mvcFramework.v1.context.MyBeanFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @ClassName AopProxyCreator
+ * @Description 在bean定义注册完、实例创建之前织入切面：收集@MyAspect中的通知并编译切点，逐个匹配@MyController和@MyService
+ *              类的public方法，为有匹配的类生成代理子类，并让容器改用子类的构造器实例化。
+ *              bean本身就是代理子类的实例，属性注入、Handler的调用都直接作用在它上面，不需要额外的目标对象
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class AopProxyCreator {
+    private static final String PROXY_SUFFIX = "$$MyAop";
+
+    private static final MethodType CHAIN_TARGET_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private final MyBeanFactory beanFactory;
+
+    /** 收集好的通知，第一次织入时收集，之后重新加载的类复用 */
+    private List<AdviceInterceptor> advisors;
+
+    public AopProxyCreator(MyBeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    /**
+     * 功能描述: 织入所有切面
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return java.util.Map<java.lang.String,java.lang.Integer> beanName -> 被织入的方法数
+     */
+    public Map<String, Integer> apply() {
+        Map<String, Integer> woven = new LinkedHashMap<>();
+        for (BeanDefinition definition : beanFactory.getBeanDefinitions()) {
+            int methods = weave(definition);
+            if (methods > 0) {
+                woven.put(definition.getBeanName(), methods);
+            }
+        }
+        return woven;
+    }
+
+    /**
+     * 功能描述: 为一个bean定义织入切面，如热加载时新建的Controller定义。需在创建实例之前调用
+     * @author ykq
+     * @date 2026/10/18
+     * @param definition
+     * @return int 被织入的方法数，0表示没有匹配的通知，定义保持不变
+     */
+    public int weave(BeanDefinition definition) {
+        if (null == advisors) {
+            advisors = collectAdvisors();
+        }
+        Class<?> beanClass = definition.getBeanClass();
+        if (advisors.isEmpty() || beanClass.isAnnotationPresent(MyAspect.class)
+                || !(beanClass.isAnnotationPresent(MyController.class) || beanClass.isAnnotationPresent(MyService.class))) {
+            return 0;
+        }
+        Map<Method, MethodInterceptor[]> advised = match(beanClass, advisors);
+        if (advised.isEmpty()) {
+            return 0;
+        }
+        definition.useSubclass(defineProxy(definition, advised));
+        return advised.size();
+    }
+
+    /**
+     * 功能描述: 收集切面类中的通知，按@MyAspect的order排序。order相同时先按切面bean的注册顺序，
+     *          同一切面内按通知方法名排序，不是源码中的声明顺序
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return java.util.List<com.my.mvcFramework.v1.aop.AdviceInterceptor>
+     */
+    private List<AdviceInterceptor> collectAdvisors() {
+        List<AdviceInterceptor> advisors = new ArrayList<>();
+        for (BeanDefinition definition : beanFactory.getBeanDefinitions()) {
+            Class<?> aspectClass = definition.getBeanClass();
+            MyAspect aspect = aspectClass.getAnnotation(MyAspect.class);
+            if (null == aspect) {
+                continue;
+            }
+            // getDeclaredMethods的顺序不固定，按方法名排序保证多次启动的织入顺序一致
+            Method[] methods = aspectClass.getDeclaredMethods();
+            Arrays.sort(methods, Comparator.comparing(Method::getName));
+            for (Method method : methods) {
+                if (method.isAnnotationPresent(MyAround.class)) {
+                    advisors.add(new AdviceInterceptor(AdviceInterceptor.Kind.AROUND, method, aspect.order(),
+                            Pointcuts.compile(method.getAnnotation(MyAround.class).value()), beanFactory, definition));
+                }
+                if (method.isAnnotationPresent(MyBefore.class)) {
+                    advisors.add(new AdviceInterceptor(AdviceInterceptor.Kind.BEFORE, method, aspect.order(),
+                            Pointcuts.compile(method.getAnnotation(MyBefore.class).value()), beanFactory, definition));
+                }
+                if (method.isAnnotationPresent(MyAfter.class)) {
+                    advisors.add(new AdviceInterceptor(AdviceInterceptor.Kind.AFTER, method, aspect.order(),
+                            Pointcuts.compile(method.getAnnotation(MyAfter.class).value()), beanFactory, definition));
+                }
+            }
+        }
+        advisors.sort(Comparator.comparingInt(AdviceInterceptor::getOrder));
+        return advisors;
+    }
+
+    /**
+     * 功能描述: 为类的每个可覆盖的public方法匹配通知，得到展开好的拦截器数组。没有匹配的方法不出现在结果中
+     * @author ykq
+     * @date 2026/10/18
+     * @param beanClass
+     * @param advisors
+     * @return java.util.Map<java.lang.reflect.Method,com.my.mvcFramework.v1.aop.MethodInterceptor[]>
+     */
+    private static Map<Method, MethodInterceptor[]> match(Class<?> beanClass, List<AdviceInterceptor> advisors) {
+        Map<Method, MethodInterceptor[]> advised = new LinkedHashMap<>();
+        for (Method method : beanClass.getMethods()) {
+            int modifiers = method.getModifiers();
+            if (Object.class == method.getDeclaringClass() || Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers)
+                    || method.isBridge() || method.isSynthetic()) {
+                continue;
+            }
+            List<MethodInterceptor> interceptors = new ArrayList<>();
+            for (AdviceInterceptor advisor : advisors) {
+                if (advisor.matches(beanClass, method)) {
+                    interceptors.add(advisor);
+                }
+            }
+            if (!interceptors.isEmpty()) {
+                advised.put(method, interceptors.toArray(new MethodInterceptor[interceptors.size()]));
+            }
+        }
+        return advised;
+    }
+
+    private static Class<?> defineProxy(BeanDefinition definition, Map<Method, MethodInterceptor[]> advised) {
+        Class<?> beanClass = definition.getBeanClass();
+        Constructor<?> constructor = definition.getConstructor();
+        // 代理类由子ClassLoader定义，与bean类不在同一个运行时包中，只能继承public类、调用public/protected构造器
+        if (!Modifier.isPublic(beanClass.getModifiers()) || Modifier.isFinal(beanClass.getModifiers())
+                || (beanClass.isMemberClass() && !Modifier.isStatic(beanClass.getModifiers()))
+                || !(Modifier.isPublic(constructor.getModifiers()) || Modifier.isProtected(constructor.getModifiers()))) {
+            throw new IllegalStateException("Cannot weave aspects into " + beanClass.getName()
+                    + ": the class must be public and non-final with a public or protected constructor");
+        }
+
+        List<Method> methods = new ArrayList<>(advised.keySet());
+        String proxyName = beanClass.getName() + PROXY_SUFFIX;
+        byte[] bytecode = ProxyClassGenerator.generate(proxyName, beanClass, constructor, methods);
+        Class<?> proxyClass = new ProxyClassLoader(beanClass.getClassLoader()).define(proxyName, bytecode);
+
+        InterceptorChain[] chains = new InterceptorChain[methods.size()];
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            for (int i = 0; i < chains.length; i++) {
+                Method method = methods.get(i);
+                MethodHandle superMethod = lookup.findVirtual(proxyClass, method.getName() + ProxyClassGenerator.SUPER_SUFFIX,
+                        MethodType.methodType(method.getReturnType(), method.getParameterTypes()));
+                MethodHandle target = superMethod.asSpreader(Object[].class, method.getParameterCount()).asType(CHAIN_TARGET_TYPE);
+                chains[i] = new InterceptorChain(method, advised.get(method), target);
+            }
+            proxyClass.getField(ProxyClassGenerator.CHAINS_FIELD).set(null, chains);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create AOP proxy for " + beanClass.getName(), e);
+        }
+        return proxyClass;
+    }
+
+    /** 每个代理类一个加载器，父加载器是bean类的加载器 */
+    private static final class ProxyClassLoader extends ClassLoader {
+        ProxyClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        Class<?> define(String name, byte[] bytecode) {
+            return defineClass(name, bytecode, 0, bytecode.length);
+        }
+    }
+}
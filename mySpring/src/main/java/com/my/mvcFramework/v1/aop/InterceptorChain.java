@@ -0,0 +1,52 @@
+package com.my.mvcFramework.v1.aop;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
+
+/**
+ * @ClassName InterceptorChain
+ * @Description 一个被织入方法的拦截器链，切点匹配在初始化时完成，这里只有展开好的拦截器数组。
+ *              生成的代理子类在被覆盖的方法中调用invoke()，最后通过代理类中的xxx$super方法调用父类的原方法。
+ *              没有匹配到通知的方法不会被覆盖，调用时没有任何额外开销
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public final class InterceptorChain {
+    private final Method method;
+
+    private final MethodInterceptor[] interceptors;
+
+    /** (Object, Object[])Object，调用代理类中直达父类方法的xxx$super */
+    private final MethodHandle targetInvoker;
+
+    InterceptorChain(Method method, MethodInterceptor[] interceptors, MethodHandle targetInvoker) {
+        this.method = method;
+        this.interceptors = interceptors;
+        this.targetInvoker = targetInvoker;
+    }
+
+    /**
+     * 功能描述: 代理类的入口，参数已装箱为数组
+     * @author ykq
+     * @date 2026/10/18
+     * @param target 代理对象本身
+     * @param args
+     * @return java.lang.Object
+     */
+    public Object invoke(Object target, Object[] args) throws Throwable {
+        return new MyJoinPoint(this, target, args).proceed();
+    }
+
+    Object invokeTarget(Object target, Object[] args) throws Throwable {
+        return (Object) targetInvoker.invokeExact(target, args);
+    }
+
+    Method getMethod() {
+        return method;
+    }
+
+    MethodInterceptor[] getInterceptors() {
+        return interceptors;
+    }
+}
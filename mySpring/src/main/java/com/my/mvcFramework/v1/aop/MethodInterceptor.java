@@ -0,0 +1,12 @@
+package com.my.mvcFramework.v1.aop;
+
+/**
+ * @ClassName MethodInterceptor
+ * @Description 拦截器链中的一环。@MyAround、@MyBefore、@MyAfter通知在初始化时都适配成这个接口
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public interface MethodInterceptor {
+    Object invoke(MyJoinPoint joinPoint) throws Throwable;
+}
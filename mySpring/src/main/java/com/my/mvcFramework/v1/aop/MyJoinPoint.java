@@ -0,0 +1,81 @@
+package com.my.mvcFramework.v1.aop;
+
+import java.lang.reflect.Method;
+
+/**
+ * @ClassName MyJoinPoint
+ * @Description 一次被拦截的方法调用，传给通知方法。proceed()调用下一个通知，最后调用目标方法；
+ *              环绕通知可以多次调用proceed()，每次都从下一个通知重新开始
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public final class MyJoinPoint {
+    private final InterceptorChain chain;
+
+    private final Object target;
+
+    private Object[] args;
+
+    /** 下一个要执行的通知下标 */
+    private int index;
+
+    MyJoinPoint(InterceptorChain chain, Object target, Object[] args) {
+        this.chain = chain;
+        this.target = target;
+        this.args = args;
+    }
+
+    /**
+     * 功能描述: 执行后续的通知和目标方法
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return java.lang.Object 目标方法的返回值，基本类型为包装类，void为null
+     */
+    public Object proceed() throws Throwable {
+        int current = index;
+        MethodInterceptor[] interceptors = chain.getInterceptors();
+        if (current == interceptors.length) {
+            return chain.invokeTarget(target, args);
+        }
+        index = current + 1;
+        try {
+            return interceptors[current].invoke(this);
+        } finally {
+            // 恢复下标，外层通知再次proceed()时从同一位置开始
+            index = current;
+        }
+    }
+
+    /**
+     * 功能描述: 用替换后的参数执行后续的通知和目标方法
+     * @author ykq
+     * @date 2026/10/18
+     * @param args 个数和类型要与目标方法的形参一致
+     * @return java.lang.Object
+     */
+    public Object proceed(Object[] args) throws Throwable {
+        this.args = args;
+        return proceed();
+    }
+
+    /** 被代理的对象，即bean本身 */
+    public Object getTarget() {
+        return target;
+    }
+
+    /** 目标方法，取自bean的原始类，可以读取上面的注解 */
+    public Method getMethod() {
+        return chain.getMethod();
+    }
+
+    public Object[] getArgs() {
+        return args;
+    }
+
+    @Override
+    public String toString() {
+        return chain.getMethod().toString();
+    }
+}
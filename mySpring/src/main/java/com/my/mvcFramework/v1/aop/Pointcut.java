@@ -0,0 +1,22 @@
+package com.my.mvcFramework.v1.aop;
+
+import java.lang.reflect.Method;
+
+/**
+ * @ClassName Pointcut
+ * @Description 编译好的切点表达式，只在初始化时为每个bean的每个方法判断一次
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public interface Pointcut {
+    /**
+     * 功能描述: 判断方法是否匹配
+     * @author ykq
+     * @date 2026/10/18
+     * @param targetClass bean的原始类
+     * @param method targetClass的public方法
+     * @return boolean
+     */
+    boolean matches(Class<?> targetClass, Method method);
+}
@@ -0,0 +1,219 @@
+package com.my.mvcFramework.v1.aop;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * @ClassName Pointcuts
+ * @Description 切点表达式的解析。支持：
+ *              execution(类型模式.方法名模式)：如execution(com.my.demo.service..*Service.get*)，
+ *              *匹配一段名字中的任意字符，..匹配任意层包；类型模式对bean类及其父类、接口都做匹配；
+ *              within(类型模式)：类型中的所有方法；
+ *              @annotation(注解全类名)：方法（或接口中对应的方法）上有该注解；
+ *              @within(注解全类名)：bean类上有该注解。
+ *              可以用&&、||、!和括号组合，&&优先于||
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public final class Pointcuts {
+    private final String expression;
+
+    private int position;
+
+    private Pointcuts(String expression) {
+        this.expression = expression;
+    }
+
+    /**
+     * 功能描述: 编译切点表达式，语法错误时抛出IllegalArgumentException
+     * @author ykq
+     * @date 2026/10/18
+     * @param expression
+     * @return com.my.mvcFramework.v1.aop.Pointcut
+     */
+    public static Pointcut compile(String expression) {
+        Pointcuts parser = new Pointcuts(expression);
+        Pointcut pointcut = parser.or();
+        parser.skipSpaces();
+        if (parser.position != expression.length()) {
+            throw parser.error("unexpected '" + expression.charAt(parser.position) + "'");
+        }
+        return pointcut;
+    }
+
+    private Pointcut or() {
+        final Pointcut left = and();
+        if (!consume("||")) {
+            return left;
+        }
+        final Pointcut right = or();
+        return (targetClass, method) -> left.matches(targetClass, method) || right.matches(targetClass, method);
+    }
+
+    private Pointcut and() {
+        final Pointcut left = not();
+        if (!consume("&&")) {
+            return left;
+        }
+        final Pointcut right = and();
+        return (targetClass, method) -> left.matches(targetClass, method) && right.matches(targetClass, method);
+    }
+
+    private Pointcut not() {
+        if (consume("!")) {
+            final Pointcut operand = not();
+            return (targetClass, method) -> !operand.matches(targetClass, method);
+        }
+        if (consume("(")) {
+            Pointcut inner = or();
+            expect(")");
+            return inner;
+        }
+        return primitive();
+    }
+
+    private Pointcut primitive() {
+        if (consume("execution(")) {
+            String pattern = argument();
+            int dot = pattern.lastIndexOf('.');
+            if (dot <= 0 || pattern.endsWith("..")) {
+                throw error("execution() needs a type pattern and a method name pattern");
+            }
+            final Pattern typePattern = glob(pattern.charAt(dot - 1) == '.' ? pattern.substring(0, dot + 1) + "*" : pattern.substring(0, dot));
+            final Pattern methodPattern = glob(pattern.substring(dot + 1));
+            return (targetClass, method) -> methodPattern.matcher(method.getName()).matches()
+                    && matchesType(typePattern, targetClass);
+        }
+        if (consume("within(")) {
+            final Pattern typePattern = glob(argument());
+            return (targetClass, method) -> matchesType(typePattern, targetClass);
+        }
+        if (consume("@annotation(")) {
+            final String annotation = argument();
+            return (targetClass, method) -> hasMethodAnnotation(targetClass, method, annotation);
+        }
+        if (consume("@within(")) {
+            final String annotation = argument();
+            return (targetClass, method) -> hasAnnotation(targetClass.getAnnotations(), annotation);
+        }
+        throw error("expected execution(), within(), @annotation() or @within()");
+    }
+
+    /**
+     * 功能描述: 把类型模式转成正则：..匹配任意层包，*匹配一段名字中的任意字符
+     * @author ykq
+     * @date 2026/10/18
+     * @param glob
+     * @return java.util.regex.Pattern
+     */
+    static Pattern glob(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if ('.' == c && i + 1 < glob.length() && '.' == glob.charAt(i + 1)) {
+                regex.append("(\\.[^.]+)*\\.");
+                i++;
+            } else if ('*' == c) {
+                regex.append("[^.]*");
+            } else if (Character.isLetterOrDigit(c) || '_' == c) {
+                regex.append(c);
+            } else {
+                regex.append('\\').append(c);
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    private static boolean matchesType(Pattern typePattern, Class<?> targetClass) {
+        for (Class<?> type : hierarchy(targetClass)) {
+            if (typePattern.matcher(type.getName()).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Set<Class<?>> hierarchy(Class<?> type) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        List<Class<?>> pending = new ArrayList<>();
+        pending.add(type);
+        while (!pending.isEmpty()) {
+            Class<?> current = pending.remove(pending.size() - 1);
+            if (null == current || Object.class == current || !types.add(current)) {
+                continue;
+            }
+            pending.add(current.getSuperclass());
+            for (Class<?> i : current.getInterfaces()) {
+                pending.add(i);
+            }
+        }
+        return types;
+    }
+
+    private static boolean hasMethodAnnotation(Class<?> targetClass, Method method, String annotation) {
+        for (Class<?> type : hierarchy(targetClass)) {
+            try {
+                Method declared = type.getDeclaredMethod(method.getName(), method.getParameterTypes());
+                if (hasAnnotation(declared.getAnnotations(), annotation)) {
+                    return true;
+                }
+            } catch (NoSuchMethodException ignored) {
+            }
+        }
+        return false;
+    }
+
+    /** 按全类名比较，切点表达式中的注解类不需要能被加载 */
+    private static boolean hasAnnotation(Annotation[] annotations, String annotation) {
+        for (Annotation candidate : annotations) {
+            if (candidate.annotationType().getName().equals(annotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String argument() {
+        int end = expression.indexOf(')', position);
+        if (end < 0) {
+            throw error("missing ')'");
+        }
+        String argument = expression.substring(position, end).trim();
+        if (argument.isEmpty()) {
+            throw error("empty argument");
+        }
+        position = end + 1;
+        return argument;
+    }
+
+    private boolean consume(String token) {
+        skipSpaces();
+        if (expression.startsWith(token, position)) {
+            position += token.length();
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String token) {
+        if (!consume(token)) {
+            throw error("expected '" + token + "'");
+        }
+    }
+
+    private void skipSpaces() {
+        while (position < expression.length() && Character.isWhitespace(expression.charAt(position))) {
+            position++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Bad pointcut \"" + expression + "\" at " + position + ": " + message);
+    }
+}
@@ -0,0 +1,408 @@
+package com.my.mvcFramework.v1.aop;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @ClassName ProxyClassGenerator
+ * @Description 直接生成代理子类的字节码（class文件版本52，方法体没有分支，不需要StackMapTable）。对每个被织入的方法m生成：
+ *              覆盖的m：参数装箱为数组，调用静态字段$chains[i].invoke(this, args)，再把返回值拆箱；
+ *              m$super：invokespecial调用父类的m，作为拦截器链的终点。
+ *              另外生成一个与bean所用构造器参数相同的构造器。没有被织入的方法不覆盖，直接继承父类的实现
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+final class ProxyClassGenerator {
+    static final String CHAINS_FIELD = "$chains";
+
+    static final String SUPER_SUFFIX = "$super";
+
+    private static final String CHAIN_CLASS = InterceptorChain.class.getName().replace('.', '/');
+
+    private static final int ACC_PUBLIC = 0x0001;
+
+    private static final int ACC_STATIC = 0x0008;
+
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final int ACC_SYNTHETIC = 0x1000;
+
+    private final ConstantPool pool = new ConstantPool();
+
+    private final String superName;
+
+    private ProxyClassGenerator(Class<?> superclass) {
+        this.superName = internalName(superclass);
+    }
+
+    /**
+     * 功能描述: 生成代理子类的class文件
+     * @author ykq
+     * @date 2026/10/18
+     * @param proxyName 代理类的全类名
+     * @param superclass bean的原始类
+     * @param constructor bean实例化使用的构造器
+     * @param methods 被织入的方法，下标与$chains一致
+     * @return byte[]
+     */
+    static byte[] generate(String proxyName, Class<?> superclass, Constructor<?> constructor, List<Method> methods) {
+        ProxyClassGenerator generator = new ProxyClassGenerator(superclass);
+        try {
+            return generator.write(proxyName.replace('.', '/'), constructor, methods);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private byte[] write(String proxyName, Constructor<?> constructor, List<Method> methods) throws IOException {
+        int thisClass = pool.classRef(proxyName);
+        int superClass = pool.classRef(superName);
+        String chainsDescriptor = "[L" + CHAIN_CLASS + ";";
+        int chainsField = pool.fieldRef(proxyName, CHAINS_FIELD, chainsDescriptor);
+
+        // 先生成方法，常量池随之填满
+        ByteArrayOutputStream methodBytes = new ByteArrayOutputStream();
+        DataOutputStream methodOut = new DataOutputStream(methodBytes);
+        int methodCount = 0;
+        writeConstructor(methodOut, constructor.getParameterTypes());
+        methodCount++;
+        for (int i = 0; i < methods.size(); i++) {
+            writeOverride(methodOut, methods.get(i), i, chainsField);
+            writeSuperBridge(methodOut, methods.get(i));
+            methodCount += 2;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0xCAFEBABE);
+        out.writeShort(0);
+        out.writeShort(52);
+        int fieldName = pool.utf8(CHAINS_FIELD);
+        int fieldDescriptor = pool.utf8(chainsDescriptor);
+        pool.writeTo(out);
+        out.writeShort(ACC_PUBLIC | ACC_SUPER | ACC_SYNTHETIC);
+        out.writeShort(thisClass);
+        out.writeShort(superClass);
+        out.writeShort(0);
+        // public static InterceptorChain[] $chains;
+        out.writeShort(1);
+        out.writeShort(ACC_PUBLIC | ACC_STATIC | ACC_SYNTHETIC);
+        out.writeShort(fieldName);
+        out.writeShort(fieldDescriptor);
+        out.writeShort(0);
+        out.writeShort(methodCount);
+        methodBytes.writeTo(out);
+        out.writeShort(0);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private void writeConstructor(DataOutputStream out, Class<?>[] parameterTypes) throws IOException {
+        String descriptor = methodDescriptor(void.class, parameterTypes);
+        Code code = new Code();
+        code.op(0x2a);
+        int slots = code.loadParameters(parameterTypes);
+        code.op(0xb7);
+        code.u2(pool.methodRef(superName, "<init>", descriptor));
+        code.op(0xb1);
+        writeMethod(out, ACC_PUBLIC, "<init>", descriptor, code, 1 + slots, 1 + slots);
+    }
+
+    private void writeOverride(DataOutputStream out, Method method, int index, int chainsField) throws IOException {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        Code code = new Code();
+        // $chains[index]
+        code.op(0xb2);
+        code.u2(chainsField);
+        code.pushInt(index);
+        code.op(0x32);
+        // this
+        code.op(0x2a);
+        // new Object[]{装箱后的参数}
+        code.pushInt(parameterTypes.length);
+        code.op(0xbd);
+        code.u2(pool.classRef("java/lang/Object"));
+        int slot = 1;
+        for (int i = 0; i < parameterTypes.length; i++) {
+            code.op(0x59);
+            code.pushInt(i);
+            slot += code.load(parameterTypes[i], slot);
+            box(code, parameterTypes[i]);
+            code.op(0x53);
+        }
+        code.op(0xb6);
+        code.u2(pool.methodRef(CHAIN_CLASS, "invoke", "(Ljava/lang/Object;[Ljava/lang/Object;)Ljava/lang/Object;"));
+        unboxAndReturn(code, method.getReturnType());
+        writeMethod(out, ACC_PUBLIC, method.getName(), methodDescriptor(method.getReturnType(), parameterTypes), code, 8, slot);
+    }
+
+    private void writeSuperBridge(DataOutputStream out, Method method) throws IOException {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        String descriptor = methodDescriptor(method.getReturnType(), parameterTypes);
+        Code code = new Code();
+        code.op(0x2a);
+        int slots = code.loadParameters(parameterTypes);
+        code.op(0xb7);
+        code.u2(pool.methodRef(superName, method.getName(), descriptor));
+        code.op(returnOpcode(method.getReturnType()));
+        writeMethod(out, ACC_PUBLIC | ACC_SYNTHETIC, method.getName() + SUPER_SUFFIX, descriptor, code,
+                Math.max(1 + slots, 2), 1 + slots);
+    }
+
+    private void writeMethod(DataOutputStream out, int access, String name, String descriptor, Code code,
+                             int maxStack, int maxLocals) throws IOException {
+        out.writeShort(access);
+        out.writeShort(pool.utf8(name));
+        out.writeShort(pool.utf8(descriptor));
+        out.writeShort(1);
+        out.writeShort(pool.utf8("Code"));
+        byte[] bytecode = code.toByteArray();
+        out.writeInt(12 + bytecode.length);
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(bytecode.length);
+        out.write(bytecode);
+        out.writeShort(0);
+        out.writeShort(0);
+    }
+
+    private void box(Code code, Class<?> type) {
+        if (!type.isPrimitive()) {
+            return;
+        }
+        String wrapper = internalName(wrapperOf(type));
+        code.op(0xb8);
+        code.u2(pool.methodRef(wrapper, "valueOf", "(" + descriptor(type) + ")L" + wrapper + ";"));
+    }
+
+    private void unboxAndReturn(Code code, Class<?> type) {
+        if (void.class == type) {
+            code.op(0x57);
+        } else if (type.isPrimitive()) {
+            String wrapper = internalName(wrapperOf(type));
+            code.op(0xc0);
+            code.u2(pool.classRef(wrapper));
+            code.op(0xb6);
+            code.u2(pool.methodRef(wrapper, type.getName() + "Value", "()" + descriptor(type)));
+        } else if (Object.class != type) {
+            code.op(0xc0);
+            code.u2(pool.classRef(internalName(type)));
+        }
+        code.op(returnOpcode(type));
+    }
+
+    private static int returnOpcode(Class<?> type) {
+        if (void.class == type) {
+            return 0xb1;
+        }
+        if (long.class == type) {
+            return 0xad;
+        }
+        if (float.class == type) {
+            return 0xae;
+        }
+        if (double.class == type) {
+            return 0xaf;
+        }
+        return type.isPrimitive() ? 0xac : 0xb0;
+    }
+
+    private static Class<?> wrapperOf(Class<?> type) {
+        if (int.class == type) {
+            return Integer.class;
+        }
+        if (long.class == type) {
+            return Long.class;
+        }
+        if (boolean.class == type) {
+            return Boolean.class;
+        }
+        if (double.class == type) {
+            return Double.class;
+        }
+        if (float.class == type) {
+            return Float.class;
+        }
+        if (short.class == type) {
+            return Short.class;
+        }
+        if (byte.class == type) {
+            return Byte.class;
+        }
+        return Character.class;
+    }
+
+    /** 数组的类名是它的描述符，其他类是/分隔的全类名 */
+    static String internalName(Class<?> type) {
+        return type.isArray() ? descriptor(type) : type.getName().replace('.', '/');
+    }
+
+    static String descriptor(Class<?> type) {
+        if (type.isArray()) {
+            return type.getName().replace('.', '/');
+        }
+        if (!type.isPrimitive()) {
+            return "L" + type.getName().replace('.', '/') + ";";
+        }
+        if (int.class == type) {
+            return "I";
+        }
+        if (long.class == type) {
+            return "J";
+        }
+        if (boolean.class == type) {
+            return "Z";
+        }
+        if (double.class == type) {
+            return "D";
+        }
+        if (float.class == type) {
+            return "F";
+        }
+        if (short.class == type) {
+            return "S";
+        }
+        if (byte.class == type) {
+            return "B";
+        }
+        if (char.class == type) {
+            return "C";
+        }
+        return "V";
+    }
+
+    static String methodDescriptor(Class<?> returnType, Class<?>[] parameterTypes) {
+        StringBuilder descriptor = new StringBuilder("(");
+        for (Class<?> parameterType : parameterTypes) {
+            descriptor.append(descriptor(parameterType));
+        }
+        return descriptor.append(')').append(descriptor(returnType)).toString();
+    }
+
+    /** 一个方法的字节码 */
+    private static final class Code extends ByteArrayOutputStream {
+        void op(int opcode) {
+            write(opcode);
+        }
+
+        void u2(int value) {
+            write(value >>> 8);
+            write(value);
+        }
+
+        void pushInt(int value) {
+            if (value <= 5) {
+                op(0x03 + value);
+            } else if (value < 128) {
+                op(0x10);
+                op(value);
+            } else {
+                op(0x11);
+                u2(value);
+            }
+        }
+
+        /** 从slot 1开始依次加载全部参数，返回占用的slot数 */
+        int loadParameters(Class<?>[] parameterTypes) {
+            int slot = 1;
+            for (Class<?> parameterType : parameterTypes) {
+                slot += load(parameterType, slot);
+            }
+            return slot - 1;
+        }
+
+        /** 加载一个局部变量，返回它占用的slot数 */
+        int load(Class<?> type, int slot) {
+            if (long.class == type) {
+                op(0x16);
+            } else if (double.class == type) {
+                op(0x18);
+            } else if (float.class == type) {
+                op(0x17);
+            } else if (type.isPrimitive()) {
+                op(0x15);
+            } else {
+                op(0x19);
+            }
+            op(slot);
+            return long.class == type || double.class == type ? 2 : 1;
+        }
+    }
+
+    /** 常量池，相同的常量只写一次 */
+    private static final class ConstantPool {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        private final DataOutputStream out = new DataOutputStream(bytes);
+
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        private int next = 1;
+
+        int utf8(String value) {
+            Integer index = indexes.get("U" + value);
+            if (null != index) {
+                return index;
+            }
+            try {
+                out.writeByte(1);
+                out.writeUTF(value);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return register("U" + value);
+        }
+
+        int classRef(String internalName) {
+            return entry("C" + internalName, 7, utf8(internalName), -1);
+        }
+
+        int fieldRef(String owner, String name, String descriptor) {
+            return entry("F" + owner + "." + name + descriptor, 9, classRef(owner), nameAndType(name, descriptor));
+        }
+
+        int methodRef(String owner, String name, String descriptor) {
+            return entry("M" + owner + "." + name + descriptor, 10, classRef(owner), nameAndType(name, descriptor));
+        }
+
+        private int nameAndType(String name, String descriptor) {
+            return entry("N" + name + descriptor, 12, utf8(name), utf8(descriptor));
+        }
+
+        private int entry(String key, int tag, int first, int second) {
+            Integer index = indexes.get(key);
+            if (null != index) {
+                return index;
+            }
+            try {
+                out.writeByte(tag);
+                out.writeShort(first);
+                if (second >= 0) {
+                    out.writeShort(second);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return register(key);
+        }
+
+        private int register(String key) {
+            int index = next++;
+            indexes.put(key, index);
+            return index;
+        }
+
+        void writeTo(DataOutputStream target) throws IOException {
+            out.flush();
+            target.writeShort(next);
+            bytes.writeTo(target);
+        }
+    }
+}
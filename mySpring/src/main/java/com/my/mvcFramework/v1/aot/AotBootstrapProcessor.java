@@ -0,0 +1,584 @@
+package com.my.mvcFramework.v1.aot;
+
+import com.my.mvcFramework.annotation.MyAutowired;
+import com.my.mvcFramework.annotation.MyController;
+import com.my.mvcFramework.annotation.MyLazy;
+import com.my.mvcFramework.annotation.MyRequestMapping;
+import com.my.mvcFramework.annotation.MyScope;
+import com.my.mvcFramework.annotation.MyService;
+import com.my.mvcFramework.v1.router.PathPatterns;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * @ClassName AotBootstrapProcessor
+ * @Description 编译期注解处理器，为每个@MyController、@MyService类在同一个包中生成{类名}$$MyAot（MyAotComponent的子类），
+ *              再生成MyAotBootstrap.CLASS_NAME列出所有组件。生成的代码直接new实例、给非private属性赋值、调用Handler方法，
+ *              启动时不再扫描、Class.forName、遍历属性和方法，也不再为每个Handler创建MethodHandle。
+ *              有组件无法生成时（private内部类、private构造器等）只给出警告、不生成启动类，启动时整体退回反射
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+@SupportedAnnotationTypes({
+        "com.my.mvcFramework.annotation.MyController",
+        "com.my.mvcFramework.annotation.MyService"
+})
+public class AotBootstrapProcessor extends AbstractProcessor {
+    /** 生成类的后缀，与AOP代理子类的$$MyAop对应 */
+    static final String SUFFIX = "$$MyAot";
+
+    /** 启动类中每个方法列出的组件数，避免单个方法超过64KB的字节码上限 */
+    private static final int COMPONENTS_PER_METHOD = 500;
+
+    private static final String BEAN_DEFINITION = "com.my.mvcFramework.v1.context.BeanDefinition";
+
+    private static final String INJECTION_POINT = "com.my.mvcFramework.v1.context.InjectionPoint";
+
+    /** 组件的全类名 -> 生成类的全类名，按组件全类名排序 */
+    private final Map<String, String> generated = new TreeMap<>();
+
+    /** 有组件无法生成时为false，不再生成启动类 */
+    private boolean supported = true;
+
+    private boolean bootstrapWritten;
+
+    private Elements elements;
+
+    private Types types;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        elements = processingEnv.getElementUtils();
+        types = processingEnv.getTypeUtils();
+        Set<TypeElement> found = new LinkedHashSet<>();
+        collect(found, roundEnv.getElementsAnnotatedWith(MyController.class));
+        collect(found, roundEnv.getElementsAnnotatedWith(MyService.class));
+        for (TypeElement type : found) {
+            if (!supported) {
+                break;
+            }
+            String className = elements.getBinaryName(type).toString();
+            if (generated.containsKey(className)) {
+                continue;
+            }
+            String reason = unsupportedReason(type);
+            if (null != reason) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        "AOT bootstrap disabled, " + className + " " + reason + "; startup falls back to reflection", type);
+                supported = false;
+                break;
+            }
+            generated.put(className, writeComponent(type));
+        }
+        // 生成的组件类会触发下一轮处理，在那一轮（不再有新组件）写启动类，避免在最后一轮创建源文件
+        if (supported && !bootstrapWritten && !generated.isEmpty() && (found.isEmpty() || roundEnv.processingOver())) {
+            writeBootstrap();
+            bootstrapWritten = true;
+        }
+        return false;
+    }
+
+    private void collect(Set<TypeElement> found, Set<? extends Element> annotated) {
+        for (Element element : annotated) {
+            if (element instanceof TypeElement) {
+                found.add((TypeElement) element);
+            }
+        }
+    }
+
+    /**
+     * 功能描述: 生成的代码在组件的包中，访问不到的组件无法生成。返回null表示可以生成
+     * @author ykq
+     * @date 2026/10/18
+     * @param type
+     * @return java.lang.String 无法生成的原因
+     */
+    private String unsupportedReason(TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)) {
+            return "is not a concrete class";
+        }
+        if (elements.getPackageOf(type).isUnnamed()) {
+            return "is in the unnamed package";
+        }
+        for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            if (e.getModifiers().contains(Modifier.PRIVATE)) {
+                return "is a private class";
+            }
+            if (e.getEnclosingElement() instanceof TypeElement && !e.getModifiers().contains(Modifier.STATIC)) {
+                return "is an inner class";
+            }
+        }
+        ExecutableElement constructor = constructorOf(type);
+        if (null == constructor) {
+            return "needs a no-arg or a single @MyAutowired constructor";
+        }
+        if (constructor.getModifiers().contains(Modifier.PRIVATE)) {
+            return "has a private constructor";
+        }
+        if (!throwsOnlyExceptions(constructor)) {
+            return "has a constructor throwing Throwable";
+        }
+        PackageElement pkg = elements.getPackageOf(type);
+        for (VariableElement parameter : constructor.getParameters()) {
+            if (!isAccessible(parameter.asType(), pkg)) {
+                return "has a constructor argument of an inaccessible type";
+            }
+        }
+        for (ExecutableElement method : routeMethods(type)) {
+            for (VariableElement parameter : method.getParameters()) {
+                if (!isAccessible(parameter.asType(), pkg)) {
+                    return "has a handler method " + method.getSimpleName() + " with an inaccessible parameter type";
+                }
+            }
+        }
+        return null;
+    }
+
+    /** 与BeanDefinition一致：唯一一个被@MyAutowired修饰的构造器，否则为无参构造器；都没有时返回null */
+    private ExecutableElement constructorOf(TypeElement type) {
+        ExecutableElement autowired = null;
+        ExecutableElement noArg = null;
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (null != constructor.getAnnotation(MyAutowired.class)) {
+                if (null != autowired) {
+                    return null;
+                }
+                autowired = constructor;
+            } else if (constructor.getParameters().isEmpty()) {
+                noArg = constructor;
+            }
+        }
+        return null != autowired ? autowired : noArg;
+    }
+
+    /** 与MyDispatcherServlet一致：Class.getMethods()中被@MyRequestMapping修饰的public方法 */
+    private List<ExecutableElement> routeMethods(TypeElement type) {
+        List<ExecutableElement> methods = new ArrayList<>();
+        if (null == type.getAnnotation(MyController.class)) {
+            return methods;
+        }
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+            if (method.getModifiers().contains(Modifier.PUBLIC) && null != method.getAnnotation(MyRequestMapping.class)) {
+                methods.add(method);
+            }
+        }
+        return methods;
+    }
+
+    /**
+     * 功能描述: 生成一个组件的注册代码
+     * @author ykq
+     * @date 2026/10/18
+     * @param type
+     * @return java.lang.String 生成类的全类名
+     */
+    private String writeComponent(TypeElement type) {
+        PackageElement pkg = elements.getPackageOf(type);
+        String packageName = pkg.getQualifiedName().toString();
+        String className = elements.getBinaryName(type).toString();
+        String simpleName = className.substring(packageName.length() + 1) + SUFFIX;
+        String generatedName = packageName + "." + simpleName;
+        String beanType = type.getQualifiedName().toString();
+        boolean controller = null != type.getAnnotation(MyController.class);
+
+        StringBuilder src = new StringBuilder();
+        src.append("package ").append(packageName).append(";\n\n");
+        src.append("/**\n * 由").append(getClass().getSimpleName()).append("根据").append(className).append("生成，不要手工修改\n */\n");
+        src.append("@SuppressWarnings({\"unchecked\", \"rawtypes\", \"deprecation\", \"static-access\"})\n");
+        src.append("public final class ").append(simpleName).append(" extends ").append(MyAotComponent.class.getName()).append(" {\n");
+
+        // bean定义：beanName、作用域、注入点都在这里算好
+        ExecutableElement constructor = constructorOf(type);
+        List<VariableElement> fields = autowiredFields(type);
+        src.append("    @Override\n");
+        src.append("    public void registerBeans(com.my.mvcFramework.v1.context.MyBeanFactory beanFactory) {\n");
+        src.append("        definition = new ").append(BEAN_DEFINITION).append("(").append(literal(beanName(type)))
+                .append(", ").append(beanType).append(".class, ").append(literal(scopeOf(type))).append(", ")
+                .append(null != type.getAnnotation(MyLazy.class)).append(", this,\n");
+        List<? extends VariableElement> parameters = constructor.getParameters();
+        List<String> arguments = new ArrayList<>();
+        for (int i = 0; i < parameters.size(); i++) {
+            VariableElement parameter = parameters.get(i);
+            arguments.add("argument(" + literal(dependencyName(parameter)) + ", " + sourceName(parameter.asType())
+                    + ".class, " + literal(className + ".<init> argument " + i) + ")");
+        }
+        List<String> injections = new ArrayList<>();
+        List<VariableElement> directFields = new ArrayList<>();
+        for (VariableElement field : fields) {
+            if (isDirectlyAssignable(field, pkg)) {
+                injections.add("field(" + literal(dependencyName(field)) + ", " + sourceName(field.asType()) + ".class, "
+                        + directFields.size() + ", " + literal(className + "." + field.getSimpleName()) + ")");
+                directFields.add(field);
+            } else {
+                injections.add("reflectiveField(" + literal(dependencyName(field)) + ", " + beanType + ".class, "
+                        + literal(field.getSimpleName().toString()) + ")");
+            }
+        }
+        appendArray(src, arguments);
+        src.append(",\n");
+        appendArray(src, injections);
+        src.append(");\n");
+        src.append("        beanFactory.registerBeanDefinition(definition);\n");
+        if (!controller) {
+            // 与doInstance一致，Service直接实现的接口注册为别名
+            for (TypeMirror anInterface : type.getInterfaces()) {
+                src.append("        beanFactory.registerAlias(").append(literal(runtimeName(anInterface))).append(", definition);\n");
+            }
+        }
+        src.append("    }\n\n");
+
+        // 实例化
+        src.append("    @Override\n");
+        src.append("    public Object instantiate(Object[] args) throws Exception {\n");
+        src.append("        return new ").append(beanType).append("(").append(arguments(parameters)).append(");\n");
+        src.append("    }\n");
+
+        // 非private、非final的属性直接赋值
+        if (!directFields.isEmpty()) {
+            src.append("\n    @Override\n");
+            src.append("    public void inject(Object bean, int slot, Object value) {\n");
+            src.append("        switch (slot) {\n");
+            for (int i = 0; i < directFields.size(); i++) {
+                VariableElement field = directFields.get(i);
+                src.append("            case ").append(i).append(":\n");
+                src.append("                ((").append(beanType).append(") bean).").append(field.getSimpleName())
+                        .append(" = (").append(castName(field.asType())).append(") value;\n");
+                src.append("                return;\n");
+            }
+            src.append("            default:\n");
+            src.append("                super.inject(bean, slot, value);\n");
+            src.append("        }\n");
+            src.append("    }\n");
+        }
+
+        List<ExecutableElement> routes = routeMethods(type);
+        if (!routes.isEmpty()) {
+            writeRoutes(src, type, beanType, routes);
+        }
+        src.append("}\n");
+        writeSource(generatedName, src, type);
+        return generatedName;
+    }
+
+    /**
+     * 功能描述: 生成registerRoutes()和直接调用Handler方法的invoke()
+     * @author ykq
+     * @date 2026/10/18
+     * @param src
+     * @param type Controller类
+     * @param beanType Controller类的规范名
+     * @param routes 被@MyRequestMapping修饰的public方法
+     * @return void
+     */
+    private void writeRoutes(StringBuilder src, TypeElement type, String beanType, List<ExecutableElement> routes) {
+        MyRequestMapping classMapping = type.getAnnotation(MyRequestMapping.class);
+        String baseUrl = null == classMapping ? "" : classMapping.value();
+
+        src.append("\n    @Override\n");
+        src.append("    public void registerRoutes(").append(MyAotRouteRegistrar.class.getName())
+                .append(" registrar) throws NoSuchMethodException {\n");
+        src.append("        ").append(beanType).append(" controller = (").append(beanType).append(") registrar.controller(definition);\n");
+        List<ExecutableElement> invoked = new ArrayList<>();
+        for (ExecutableElement method : routes) {
+            String url = PathPatterns.normalize(baseUrl, method.getAnnotation(MyRequestMapping.class).value());
+            src.append("        registrar.route(definition, ").append(beanType).append(".class.getMethod(")
+                    .append(literal(method.getSimpleName().toString()));
+            for (VariableElement parameter : method.getParameters()) {
+                src.append(", ").append(sourceName(parameter.asType())).append(".class");
+            }
+            src.append("), ").append(literal(url)).append(", ");
+            // 声明抛出Throwable的方法无法在invoke() throws Exception中直接调用，由MyDispatcherServlet按配置创建调用器
+            if (throwsOnlyExceptions(method)) {
+                src.append("invoker(controller, ").append(invoked.size()).append(")");
+                invoked.add(method);
+            } else {
+                src.append("null");
+            }
+            src.append(");\n");
+        }
+        src.append("    }\n");
+        if (invoked.isEmpty()) {
+            return;
+        }
+
+        src.append("\n    @Override\n");
+        src.append("    public Object invoke(Object target, int index, Object[] args) throws Exception {\n");
+        src.append("        ").append(beanType).append(" controller = (").append(beanType).append(") target;\n");
+        src.append("        switch (index) {\n");
+        for (int i = 0; i < invoked.size(); i++) {
+            ExecutableElement method = invoked.get(i);
+            String call = "controller." + method.getSimpleName() + "(" + arguments(method.getParameters()) + ")";
+            src.append("            case ").append(i).append(":\n");
+            if (method.getReturnType().getKind() == TypeKind.VOID) {
+                src.append("                ").append(call).append(";\n");
+                src.append("                return null;\n");
+            } else {
+                src.append("                return ").append(call).append(";\n");
+            }
+        }
+        src.append("            default:\n");
+        src.append("                return super.invoke(target, index, args);\n");
+        src.append("        }\n");
+        src.append("    }\n");
+    }
+
+    /**
+     * 功能描述: 生成启动类，按scanPackage过滤后再创建组件，scanPackage之外的类不会被加载
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return void
+     */
+    private void writeBootstrap() {
+        String name = MyAotBootstrap.CLASS_NAME;
+        int dot = name.lastIndexOf('.');
+        List<Map.Entry<String, String>> components = new ArrayList<>(generated.entrySet());
+        StringBuilder src = new StringBuilder();
+        src.append("package ").append(name, 0, dot).append(";\n\n");
+        src.append("/**\n * 由").append(getClass().getSimpleName()).append("生成，列出编译期生成的所有组件，不要手工修改\n */\n");
+        src.append("public final class ").append(name.substring(dot + 1)).append(" implements ")
+                .append(MyAotBootstrap.class.getName()).append(" {\n");
+        src.append("    @Override\n");
+        src.append("    public java.util.List<").append(MyAotComponent.class.getName()).append("> components(String scanPackage) {\n");
+        src.append("        String prefix = scanPackage + \".\";\n");
+        src.append("        java.util.List<").append(MyAotComponent.class.getName()).append("> components = new java.util.ArrayList<>(")
+                .append(components.size()).append(");\n");
+        int chunks = (components.size() + COMPONENTS_PER_METHOD - 1) / COMPONENTS_PER_METHOD;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            src.append("        components").append(chunk).append("(prefix, components);\n");
+        }
+        src.append("        return components;\n");
+        src.append("    }\n");
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            src.append("\n    private static void components").append(chunk).append("(String prefix, java.util.List<")
+                    .append(MyAotComponent.class.getName()).append("> components) {\n");
+            int end = Math.min(components.size(), (chunk + 1) * COMPONENTS_PER_METHOD);
+            for (Map.Entry<String, String> component : components.subList(chunk * COMPONENTS_PER_METHOD, end)) {
+                src.append("        if (").append(literal(component.getKey())).append(".startsWith(prefix)) {\n");
+                src.append("            components.add(new ").append(component.getValue()).append("());\n");
+                src.append("        }\n");
+            }
+            src.append("    }\n");
+        }
+        src.append("}\n");
+        writeSource(name, src, null);
+    }
+
+    /** 注入点数组，每个元素一行 */
+    private static void appendArray(StringBuilder src, List<String> items) {
+        src.append("                new ").append(INJECTION_POINT).append("[]{");
+        for (int i = 0; i < items.size(); i++) {
+            src.append(i > 0 ? "," : "").append("\n                        ").append(items.get(i));
+        }
+        src.append(items.isEmpty() ? "}" : "\n                }");
+    }
+
+    private void writeSource(String name, CharSequence source, Element originating) {
+        try {
+            JavaFileObject file = null == originating ? processingEnv.getFiler().createSourceFile(name)
+                    : processingEnv.getFiler().createSourceFile(name, originating);
+            try (Writer writer = file.openWriter()) {
+                writer.append(source);
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Cannot write " + name + ": " + e);
+        }
+    }
+
+    /** 与doInstance一致：Controller取首字母小写的类名，Service优先取注解的value */
+    private String beanName(TypeElement type) {
+        MyService service = type.getAnnotation(MyService.class);
+        if (null == type.getAnnotation(MyController.class) && !"".equals(service.value().trim())) {
+            return service.value();
+        }
+        char[] a = type.getSimpleName().toString().toCharArray();
+        a[0] += 32;
+        return String.valueOf(a);
+    }
+
+    private String scopeOf(TypeElement type) {
+        MyScope scope = type.getAnnotation(MyScope.class);
+        return null == scope ? MyScope.SINGLETON : scope.value();
+    }
+
+    /** 被@MyAutowired修饰的属性，只看本类声明的，与getDeclaredFields一致 */
+    private List<VariableElement> autowiredFields(TypeElement type) {
+        List<VariableElement> fields = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (null != field.getAnnotation(MyAutowired.class)) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    /** 注入点的beanName：注解的value，没有时为类型的全类名 */
+    private String dependencyName(VariableElement element) {
+        MyAutowired autowired = element.getAnnotation(MyAutowired.class);
+        String beanName = null == autowired ? "" : autowired.value().trim();
+        return "".equals(beanName) ? runtimeName(element.asType()) : beanName;
+    }
+
+    /** 同一个包中的生成代码能直接赋值：非private、非final，且属性类型可访问 */
+    private boolean isDirectlyAssignable(VariableElement field, PackageElement pkg) {
+        Set<Modifier> modifiers = field.getModifiers();
+        return !modifiers.contains(Modifier.PRIVATE) && !modifiers.contains(Modifier.FINAL) && isAccessible(field.asType(), pkg);
+    }
+
+    /** 生成代码中能否写出该类型的类字面量和强制转换 */
+    private boolean isAccessible(TypeMirror type, PackageElement pkg) {
+        TypeMirror erased = types.erasure(type);
+        if (erased.getKind() == TypeKind.ARRAY) {
+            return isAccessible(((ArrayType) erased).getComponentType(), pkg);
+        }
+        if (erased.getKind() != TypeKind.DECLARED) {
+            return erased.getKind().isPrimitive();
+        }
+        for (Element e = ((DeclaredType) erased).asElement(); e instanceof TypeElement; e = e.getEnclosingElement()) {
+            Set<Modifier> modifiers = e.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            if (!modifiers.contains(Modifier.PUBLIC) && !elements.getPackageOf(e).equals(pkg)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean throwsOnlyExceptions(ExecutableElement executable) {
+        TypeMirror exception = elements.getTypeElement(Exception.class.getName()).asType();
+        TypeMirror error = elements.getTypeElement(Error.class.getName()).asType();
+        for (TypeMirror thrown : executable.getThrownTypes()) {
+            if (!types.isAssignable(thrown, exception) && !types.isAssignable(thrown, error)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** 按形参类型强制转换的实参列表：(T0) args[0], (T1) args[1] */
+    private String arguments(List<? extends VariableElement> parameters) {
+        StringBuilder arguments = new StringBuilder();
+        for (int i = 0; i < parameters.size(); i++) {
+            arguments.append(i > 0 ? ", " : "").append("(").append(castName(parameters.get(i).asType())).append(") args[").append(i).append("]");
+        }
+        return arguments.toString();
+    }
+
+    /** 源码中的类型名，擦除泛型 */
+    private String sourceName(TypeMirror type) {
+        return types.erasure(type).toString();
+    }
+
+    /** 从Object强制转换用的类型名，基本类型转成包装类型再自动拆箱 */
+    private String castName(TypeMirror type) {
+        TypeMirror erased = types.erasure(type);
+        if (erased.getKind().isPrimitive()) {
+            return types.boxedClass((PrimitiveType) erased).getQualifiedName().toString();
+        }
+        return erased.toString();
+    }
+
+    /** 与Class.getName()一致的类型名，用作默认的beanName */
+    private String runtimeName(TypeMirror type) {
+        TypeMirror erased = types.erasure(type);
+        switch (erased.getKind()) {
+            case DECLARED:
+                return elements.getBinaryName((TypeElement) ((DeclaredType) erased).asElement()).toString();
+            case ARRAY:
+                return "[" + descriptor(((ArrayType) erased).getComponentType());
+            default:
+                return erased.toString();
+        }
+    }
+
+    private String descriptor(TypeMirror type) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return "Z";
+            case BYTE:
+                return "B";
+            case CHAR:
+                return "C";
+            case SHORT:
+                return "S";
+            case INT:
+                return "I";
+            case LONG:
+                return "J";
+            case FLOAT:
+                return "F";
+            case DOUBLE:
+                return "D";
+            case ARRAY:
+                return "[" + descriptor(((ArrayType) type).getComponentType());
+            default:
+                return "L" + runtimeName(type) + ";";
+        }
+    }
+
+    private static String literal(String value) {
+        StringBuilder literal = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    literal.append("\\\"");
+                    break;
+                case '\\':
+                    literal.append("\\\\");
+                    break;
+                case '\n':
+                    literal.append("\\n");
+                    break;
+                case '\r':
+                    literal.append("\\r");
+                    break;
+                case '\t':
+                    literal.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        literal.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        literal.append(c);
+                    }
+            }
+        }
+        return literal.append('"').toString();
+    }
+}
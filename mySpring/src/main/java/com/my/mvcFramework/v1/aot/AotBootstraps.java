@@ -0,0 +1,38 @@
+package com.my.mvcFramework.v1.aot;
+
+import java.util.List;
+
+/**
+ * @ClassName AotBootstraps
+ * @Description 查找编译期生成的启动类
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public final class AotBootstraps {
+    private AotBootstraps() {
+    }
+
+    /**
+     * 功能描述: 加载生成的启动类，取出scanPackage下的组件
+     * @author ykq
+     * @date 2026/10/18
+     * @param classLoader
+     * @param scanPackage
+     * @return java.util.List<com.my.mvcFramework.v1.aot.MyAotComponent> 没有生成的启动类时返回null，调用方应退回扫描和反射
+     */
+    public static List<MyAotComponent> load(ClassLoader classLoader, String scanPackage) {
+        Class<?> bootstrapClass;
+        try {
+            bootstrapClass = Class.forName(MyAotBootstrap.CLASS_NAME, true, classLoader);
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+        try {
+            MyAotBootstrap bootstrap = (MyAotBootstrap) bootstrapClass.getDeclaredConstructor().newInstance();
+            return bootstrap.components(scanPackage);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create " + MyAotBootstrap.CLASS_NAME, e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.my.mvcFramework.v1.aot;
+
+import java.util.List;
+
+/**
+ * @ClassName MyAotBootstrap
+ * @Description 编译期生成的启动类的接口。AotBootstrapProcessor为每个@MyController、@MyService类生成一个MyAotComponent，
+ *              再生成一个固定类名的启动类把它们列出来；MyDispatcherServlet初始化时有这个类就直接用，否则退回扫描和反射
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public interface MyAotBootstrap {
+    /** 生成的启动类的全类名 */
+    String CLASS_NAME = "com.my.mvcFramework.generated.MyGeneratedBootstrap";
+
+    /**
+     * 功能描述: scanPackage下的组件，按全类名排序，与组件索引的顺序一致
+     * @author ykq
+     * @date 2026/10/18
+     * @param scanPackage
+     * @return java.util.List<com.my.mvcFramework.v1.aot.MyAotComponent>
+     */
+    List<MyAotComponent> components(String scanPackage);
+}
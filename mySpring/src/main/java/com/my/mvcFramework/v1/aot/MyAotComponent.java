@@ -0,0 +1,144 @@
+package com.my.mvcFramework.v1.aot;
+
+import com.my.mvcFramework.v1.context.BeanDefinition;
+import com.my.mvcFramework.v1.context.BeanInstantiator;
+import com.my.mvcFramework.v1.context.FieldInjector;
+import com.my.mvcFramework.v1.context.InjectionPoint;
+import com.my.mvcFramework.v1.context.MyBeanFactory;
+import com.my.mvcFramework.v1.handler.HandlerInvoker;
+
+import java.lang.reflect.Field;
+
+/**
+ * @ClassName MyAotComponent
+ * @Description 一个组件在编译期生成的注册代码的基类，子类与组件在同一个包中，类名为组件类名加$$MyAot。
+ *              子类直接new出bean定义并注册，直接new实例，非private的属性直接赋值，Controller的路由直接调用方法。
+ *              一个组件只生成这一个类，Handler的调用器共用Invoker，按编号进入子类的invoke()，不再为每个Controller多加载一个类；
+ *              private和final属性只能反射赋值，按属性名取一次Field，不再遍历类的所有属性
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public abstract class MyAotComponent implements BeanInstantiator, FieldInjector {
+    /** registerBeans()中创建的定义，注册路由时使用 */
+    protected BeanDefinition definition;
+
+    /**
+     * 功能描述: 注册bean定义和别名
+     * @author ykq
+     * @date 2026/10/18
+     * @param beanFactory
+     * @return void
+     */
+    public abstract void registerBeans(MyBeanFactory beanFactory);
+
+    /**
+     * 功能描述: 注册Controller中被@MyRequestMapping修饰的方法，Service没有路由
+     * @author ykq
+     * @date 2026/10/18
+     * @param registrar
+     * @return void
+     */
+    public void registerRoutes(MyAotRouteRegistrar registrar) throws NoSuchMethodException {
+    }
+
+    public BeanDefinition getDefinition() {
+        return definition;
+    }
+
+    @Override
+    public void inject(Object bean, int slot, Object value) {
+        throw new IllegalArgumentException("No field injection " + slot + " in " + getClass().getName());
+    }
+
+    /**
+     * 功能描述: 直接调用Controller的第index个Handler方法，由子类生成
+     * @author ykq
+     * @date 2026/10/18
+     * @param controller
+     * @param index registerRoutes()中的编号
+     * @param args 按形参顺序排列好的实参
+     * @return java.lang.Object 方法的返回值，void方法返回null
+     */
+    public Object invoke(Object controller, int index, Object[] args) throws Exception {
+        throw new IllegalArgumentException("No handler method " + index + " in " + getClass().getName());
+    }
+
+    /**
+     * 功能描述: 绑定好Controller实例和方法编号的调用器
+     * @author ykq
+     * @date 2026/10/18
+     * @param controller
+     * @param index invoke()中的编号
+     * @return com.my.mvcFramework.v1.handler.HandlerInvoker
+     */
+    protected HandlerInvoker invoker(Object controller, int index) {
+        return new Invoker(this, controller, index);
+    }
+
+    /**
+     * 功能描述: 由inject()直接赋值的属性注入点
+     * @author ykq
+     * @date 2026/10/18
+     * @param beanName 依赖的beanName
+     * @param type 属性的类型
+     * @param slot inject()中的编号
+     * @param description 如com.my.demo.action.DemoAction.demoService
+     * @return com.my.mvcFramework.v1.context.InjectionPoint
+     */
+    protected InjectionPoint field(String beanName, Class<?> type, int slot, String description) {
+        return new InjectionPoint(beanName, type, this, slot, description);
+    }
+
+    /**
+     * 功能描述: 生成的代码无法直接赋值的属性（private或final），反射赋值
+     * @author ykq
+     * @date 2026/10/18
+     * @param beanName 依赖的beanName
+     * @param beanClass 声明属性的类
+     * @param fieldName
+     * @return com.my.mvcFramework.v1.context.InjectionPoint
+     */
+    protected static InjectionPoint reflectiveField(String beanName, Class<?> beanClass, String fieldName) {
+        try {
+            Field field = beanClass.getDeclaredField(fieldName);
+            field.setAccessible(true);
+            return new InjectionPoint(beanName, field.getType(), field, beanClass.getName() + "." + fieldName);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException("Generated code is out of date, recompile " + beanClass.getName(), e);
+        }
+    }
+
+    /**
+     * 功能描述: 构造器形参的注入点
+     * @author ykq
+     * @date 2026/10/18
+     * @param beanName 依赖的beanName
+     * @param type 形参的类型
+     * @param description 如com.my.demo.action.DemoAction.<init> argument 0
+     * @return com.my.mvcFramework.v1.context.InjectionPoint
+     */
+    protected static InjectionPoint argument(String beanName, Class<?> type, String description) {
+        return new InjectionPoint(beanName, type, null, description);
+    }
+
+    /** 所有生成的组件共用的调用器 */
+    private static final class Invoker implements HandlerInvoker {
+        private final MyAotComponent component;
+
+        private final Object controller;
+
+        private final int index;
+
+        Invoker(MyAotComponent component, Object controller, int index) {
+            this.component = component;
+            this.controller = controller;
+            this.index = index;
+        }
+
+        @Override
+        public Object invoke(Object[] args) throws Exception {
+            return component.invoke(controller, index, args);
+        }
+    }
+}
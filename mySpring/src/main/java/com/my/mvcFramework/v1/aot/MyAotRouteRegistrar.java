@@ -0,0 +1,37 @@
+package com.my.mvcFramework.v1.aot;
+
+import com.my.mvcFramework.v1.context.BeanDefinition;
+import com.my.mvcFramework.v1.handler.HandlerInvoker;
+
+import java.lang.reflect.Method;
+
+/**
+ * @ClassName MyAotRouteRegistrar
+ * @Description 生成的代码注册路由的入口，由MyDispatcherServlet实现，与反射注册走同一套缓存、限流的处理
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public interface MyAotRouteRegistrar {
+
+    /**
+     * 功能描述: 获取Controller实例，Controller只能是单例；延迟创建的Controller在这里被创建
+     * @author ykq
+     * @date 2026/10/18
+     * @param definition Controller的bean定义
+     * @return java.lang.Object
+     */
+    Object controller(BeanDefinition definition);
+
+    /**
+     * 功能描述: 注册一个Handler
+     * @author ykq
+     * @date 2026/10/18
+     * @param definition Controller的bean定义
+     * @param method 被@MyRequestMapping修饰的方法
+     * @param url 规范化后的url模板
+     * @param invoker 生成的调用器，为null或invokerMode=reflect时按配置创建
+     * @return void
+     */
+    void route(BeanDefinition definition, Method method, String url, HandlerInvoker invoker);
+}
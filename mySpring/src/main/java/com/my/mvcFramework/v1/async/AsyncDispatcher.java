@@ -0,0 +1,399 @@
+package com.my.mvcFramework.v1.async;
+
+import com.my.mvcFramework.v1.context.RequestContextHolder;
+import com.my.mvcFramework.v1.handler.Handler;
+import com.my.mvcFramework.v1.limit.RequestLimiter;
+import com.my.mvcFramework.v1.log.MyLogger;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Properties;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @ClassName AsyncDispatcher
+ * @Description 异步分发。Handler标注@MyAsync时在独立线程池中执行；返回CompletionStage时在结果完成后写回。
+ *              两种情况都通过Servlet 3.x的AsyncContext释放容器的工作线程。
+ *              同时挂起的请求数有上限，超过上限直接返回503，避免慢调用把内存和线程池拖垮。
+ *              Handler有舱壁时，并发名额由这里在写回、超时或出错后归还；异步请求的访问日志也在这里结束时记录
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class AsyncDispatcher {
+
+    /**
+     * 结果回写。由MyDispatcherServlet提供，同步和异步两条路径共用同一套写回逻辑
+     */
+    public interface ResultWriter {
+        /**
+         * 功能描述: 把Handler的执行结果写回response
+         * @author ykq
+         * @date 2026/10/18
+         * @param req
+         * @param resp
+         * @param handler
+         * @param result Handler的返回值，CompletionStage则为其完成值
+         * @param error 执行失败时的异常，成功时为null
+         * @return void
+         */
+        void write(HttpServletRequest req, HttpServletResponse resp, Handler handler, Object result, Throwable error) throws IOException;
+    }
+
+    private final ExecutorService executor;
+
+    private volatile long timeoutMillis;
+
+    private volatile int maxPending;
+
+    private final PendingLimit pending;
+
+    private final ResultWriter resultWriter;
+
+    private final MyLogger logger;
+
+    /**
+     * 功能描述: 读取application.properties中async.*的配置
+     *          async.threads            线程池大小，默认CPU核数*2
+     *          async.virtualThreads     JDK支持虚拟线程时是否使用，默认true
+     *          async.timeoutMillis      异步请求超时时间，默认30000
+     *          async.maxPending         同时挂起的异步请求上限，默认1000
+     * @author ykq
+     * @date 2026/10/18
+     * @param config
+     * @param resultWriter
+     * @param logger 写回失败时记录错误
+     * @return
+     */
+    public AsyncDispatcher(Properties config, ResultWriter resultWriter, MyLogger logger) {
+        int threads = Integer.parseInt(config.getProperty("async.threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors() * 2)).trim());
+        boolean virtualThreads = Boolean.parseBoolean(config.getProperty("async.virtualThreads", "true").trim());
+        this.timeoutMillis = Long.parseLong(config.getProperty("async.timeoutMillis", "30000").trim());
+        this.maxPending = Integer.parseInt(config.getProperty("async.maxPending", "1000").trim());
+        this.pending = new PendingLimit(maxPending);
+        this.resultWriter = resultWriter;
+        this.logger = logger;
+        ExecutorService virtual = virtualThreads ? newVirtualThreadExecutor() : null;
+        this.executor = null != virtual ? virtual : newPlatformExecutor(threads);
+    }
+
+    /**
+     * 功能描述: 配置重新加载后调整async.threads、async.timeoutMillis、async.maxPending，正在执行的请求不受影响。
+     *          虚拟线程没有池，async.threads只对平台线程池生效；async.virtualThreads需要重启
+     * @author ykq
+     * @date 2026/10/18
+     * @param config
+     * @return void
+     */
+    public synchronized void reconfigure(Properties config) {
+        // 先全部解析，有一个值不合法时什么都不改
+        int threads = Math.max(1, Integer.parseInt(config.getProperty("async.threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors() * 2)).trim()));
+        long timeout = Long.parseLong(config.getProperty("async.timeoutMillis", "30000").trim());
+        int max = Math.max(0, Integer.parseInt(config.getProperty("async.maxPending", "1000").trim()));
+        if (executor instanceof ThreadPoolExecutor) {
+            resize((ThreadPoolExecutor) executor, threads);
+        }
+        this.timeoutMillis = timeout;
+        pending.resize(max - maxPending);
+        this.maxPending = max;
+    }
+
+    /**
+     * 功能描述: 调整固定大小线程池的线程数，扩大时先调最大值，缩小时先调核心数，避免核心数大于最大值
+     * @author ykq
+     * @date 2026/10/18
+     * @param executor
+     * @param threads
+     * @return void
+     */
+    private static void resize(ThreadPoolExecutor executor, int threads) {
+        if (threads > executor.getMaximumPoolSize()) {
+            executor.setMaximumPoolSize(threads);
+            executor.setCorePoolSize(threads);
+        } else {
+            executor.setCorePoolSize(threads);
+            executor.setMaximumPoolSize(threads);
+        }
+    }
+
+    /**
+     * 功能描述: 异步执行Handler。调用前参数已经在容器线程上绑定好。
+     *          正常返回后Handler和全局的并发名额归异步流程所有，在请求结束（完成、超时或出错）时归还；抛出异常时名额仍由调用方归还
+     * @author ykq
+     * @date 2026/10/18
+     * @param req
+     * @param resp
+     * @param handler handler.isAsync()为true的Handler
+     * @param args
+     * @param requestStart 请求开始分发的System.nanoTime()，用于访问日志中的耗时
+     * @param global 已经取得名额的全局限流，没有时为null
+     * @return void
+     */
+    public void dispatch(HttpServletRequest req, HttpServletResponse resp, final Handler handler, final Object[] args,
+                         long requestStart, RequestLimiter global) throws Exception {
+        // 背压：挂起的请求太多时直接拒绝，不进入异步流程
+        if (!pending.tryAcquire()) {
+            releaseLimiters(handler, global);
+            handler.getMetrics().recordError();
+            resp.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Too many pending async requests");
+            return;
+        }
+
+        final AsyncContext asyncContext;
+        final Completion completion;
+        try {
+            asyncContext = req.startAsync(req, resp);
+            asyncContext.setTimeout(timeoutMillis);
+            completion = new Completion(asyncContext, handler, requestStart, global);
+            asyncContext.addListener(completion);
+        } catch (RuntimeException e) {
+            // 没有进入异步流程，挂起名额在这里归还，Handler的并发名额由调用方归还
+            pending.release();
+            throw e;
+        }
+
+        if (handler.isExecuteAsync()) {
+            try {
+                executor.execute(() -> {
+                    // request作用域的bean在执行线程上同样从绑定的请求中获取，线程归还给线程池前解除绑定
+                    RequestContextHolder.set(req);
+                    try {
+                        completion.onResult(handler.getInvoker().invoke(args));
+                    } catch (Throwable t) {
+                        completion.finish(null, t);
+                    } finally {
+                        RequestContextHolder.clear();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                completion.finish(null, e);
+            }
+        } else {
+            // 返回CompletionStage的方法在容器线程上调用，只是把写回推迟到结果完成时
+            try {
+                completion.onResult(handler.getInvoker().invoke(args));
+            } catch (Throwable t) {
+                completion.finish(null, t);
+            }
+        }
+    }
+
+    /**
+     * 功能描述: 请求不支持异步时（如批量请求中的子请求）在当前线程上调用Handler，返回CompletionStage时等待其完成，
+     *          最长等待async.timeoutMillis
+     * @author ykq
+     * @date 2026/10/18
+     * @param handler handler.isAsync()为true的Handler
+     * @param args
+     * @return java.lang.Object Handler的返回值，CompletionStage则为其完成值
+     */
+    public Object invokeAndWait(Handler handler, Object[] args) throws Exception {
+        Object result = handler.getInvoker().invoke(args);
+        if (!(result instanceof CompletionStage)) {
+            return result;
+        }
+        try {
+            return ((CompletionStage<?>) result).toCompletableFuture().get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = null == e.getCause() ? e : e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw new ExecutionException(cause);
+        }
+    }
+
+    private static void releaseLimiters(Handler handler, RequestLimiter global) {
+        if (null != handler.getLimiter()) {
+            handler.getLimiter().release();
+        }
+        if (null != global) {
+            global.release();
+        }
+    }
+
+    /**
+     * 功能描述: 当前挂起的异步请求数
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return int
+     */
+    public int getPendingCount() {
+        return maxPending - pending.availablePermits();
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * 功能描述: JDK 21+通过反射创建虚拟线程执行器，低版本JDK返回null
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return java.util.concurrent.ExecutorService
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService newPlatformExecutor(int threads) {
+        final AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = r -> {
+            Thread thread = new Thread(r, "my-async-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        // 队列长度由pending信号量间接限制，这里不再设上限
+        return new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), threadFactory);
+    }
+
+    /**
+     * 挂起请求数的上限，可以在运行时调整。缩小时已挂起的请求照常完成，许可数变为负数，归还到正数之前不接收新的请求
+     */
+    private static final class PendingLimit extends Semaphore {
+        PendingLimit(int permits) {
+            super(permits);
+        }
+
+        void resize(int delta) {
+            if (delta > 0) {
+                release(delta);
+            } else if (delta < 0) {
+                reducePermits(-delta);
+            }
+        }
+    }
+
+    /**
+     * 一次异步请求的收尾。结果、异常、超时三者只有第一个生效
+     */
+    private final class Completion implements AsyncListener {
+        private final AsyncContext asyncContext;
+
+        private final Handler handler;
+
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        /** 分发开始的时间，结束时记为Handler的调用耗时 */
+        private final long startNanos = System.nanoTime();
+
+        private final long requestStart;
+
+        /** 请求取得名额的全局限流，没有时为null */
+        private final RequestLimiter global;
+
+        Completion(AsyncContext asyncContext, Handler handler, long requestStart, RequestLimiter global) {
+            this.asyncContext = asyncContext;
+            this.handler = handler;
+            this.requestStart = requestStart;
+            this.global = global;
+        }
+
+        /** 在complete()之前记录访问日志，之后request和response可能已被容器回收 */
+        private void logAccess() {
+            HttpServletResponse resp = (HttpServletResponse) asyncContext.getResponse();
+            logger.access((HttpServletRequest) asyncContext.getRequest(), resp.getStatus(), System.nanoTime() - requestStart,
+                    handler.getUrl(), handler.getAccessLogSampleRate(), -1L);
+        }
+
+        void onResult(Object result) {
+            if (result instanceof CompletionStage) {
+                ((CompletionStage<?>) result).whenComplete(this::finish);
+            } else {
+                finish(result, null);
+            }
+        }
+
+        void finish(Object result, Throwable error) {
+            if (!done.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                if (error instanceof CompletionException && null != error.getCause()) {
+                    error = error.getCause();
+                }
+                handler.getMetrics().recordInvocation(System.nanoTime() - startNanos);
+                if (null != error) {
+                    handler.getMetrics().recordError();
+                }
+                resultWriter.write((HttpServletRequest) asyncContext.getRequest(),
+                        (HttpServletResponse) asyncContext.getResponse(), handler, result, error);
+            } catch (Exception e) {
+                logger.error("Async result write failed: " + handler.getUrl(), e);
+            } finally {
+                pending.release();
+                releaseLimiters(handler, global);
+                logAccess();
+                asyncContext.complete();
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) throws IOException {
+            if (!done.compareAndSet(false, true)) {
+                return;
+            }
+            handler.getMetrics().recordInvocation(System.nanoTime() - startNanos);
+            handler.getMetrics().recordError();
+            try {
+                ((HttpServletResponse) asyncContext.getResponse()).sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+                        "Async request timed out after " + timeoutMillis + "ms");
+            } finally {
+                pending.release();
+                releaseLimiters(handler, global);
+                logAccess();
+                asyncContext.complete();
+            }
+        }
+
+        /** 容器在异步处理中遇到I/O错误（如客户端断开），与超时一样收尾，不再等结果 */
+        @Override
+        public void onError(AsyncEvent event) {
+            if (!done.compareAndSet(false, true)) {
+                return;
+            }
+            handler.getMetrics().recordInvocation(System.nanoTime() - startNanos);
+            handler.getMetrics().recordError();
+            try {
+                pending.release();
+                releaseLimiters(handler, global);
+                logAccess();
+            } finally {
+                asyncContext.complete();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
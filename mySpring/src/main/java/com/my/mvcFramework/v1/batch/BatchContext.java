@@ -0,0 +1,185 @@
+package com.my.mvcFramework.v1.batch;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @ClassName BatchContext
+ * @Description 一个批量请求内的service调用合并。子请求在执行线程上enter()后，对有批量变体的service方法的调用先登记参数并等待；
+ *              当正在执行的子请求全部在等待时，由最后一个到达的线程按方法把登记的参数合并成一次批量调用，再把结果分给各个调用方。
+ *              只有一个子请求在执行时（如batch.parallelism=1）立即调用单个方法，不会多等。
+ *              批量调用期间当前线程解除绑定，批量方法内部再调用service时直接执行，不会等待自己
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+final class BatchContext {
+    private static final ThreadLocal<BatchContext> CURRENT = new ThreadLocal<>();
+
+    /** 已enter()还没exit()的子请求数 */
+    private int running;
+
+    /** 登记了参数、还没有被取走合并的调用数 */
+    private int waiting;
+
+    /** 方法 -> 登记的调用，按登记顺序 */
+    private Map<BatchLoader, List<Call>> pending = new LinkedHashMap<>();
+
+    /** 当前线程所在的批量请求，不在批量请求中时为null */
+    static BatchContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 功能描述: 子请求开始执行，绑定到当前线程
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return void
+     */
+    void enter() {
+        synchronized (this) {
+            running++;
+        }
+        CURRENT.set(this);
+    }
+
+    /**
+     * 功能描述: 子请求执行完。其余子请求如果都在等待，由这里合并调用
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return void
+     */
+    void exit() {
+        CURRENT.remove();
+        Map<BatchLoader, List<Call>> ready;
+        synchronized (this) {
+            running--;
+            ready = takeIfStalled();
+        }
+        flush(ready);
+    }
+
+    /**
+     * 功能描述: 登记一次调用并等待合并调用的结果
+     * @author ykq
+     * @date 2026/10/18
+     * @param loader
+     * @param key 单个方法的参数
+     * @return java.lang.Object 单个方法的返回值
+     */
+    Object load(BatchLoader loader, Object key) throws Throwable {
+        Call call = new Call(key);
+        Map<BatchLoader, List<Call>> ready;
+        synchronized (this) {
+            List<Call> calls = pending.get(loader);
+            if (null == calls) {
+                calls = new ArrayList<>();
+                pending.put(loader, calls);
+            }
+            calls.add(call);
+            waiting++;
+            ready = takeIfStalled();
+        }
+        flush(ready);
+        synchronized (this) {
+            boolean interrupted = false;
+            while (!call.done) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    // 调用已经登记，必须等到结果，否则批量方法的结果无处交付
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (null != call.error) {
+            throw call.error;
+        }
+        return call.result;
+    }
+
+    /** 所有执行中的子请求都在等待时取走全部登记的调用，否则返回null */
+    private Map<BatchLoader, List<Call>> takeIfStalled() {
+        if (0 == waiting || waiting < running) {
+            return null;
+        }
+        Map<BatchLoader, List<Call>> ready = pending;
+        pending = new LinkedHashMap<>();
+        waiting = 0;
+        return ready;
+    }
+
+    /**
+     * 功能描述: 每个方法调用一次：只有一个不同的参数时调用单个方法，否则调用批量方法。异常交给该方法的所有调用方
+     * @author ykq
+     * @date 2026/10/18
+     * @param ready
+     * @return void
+     */
+    private void flush(Map<BatchLoader, List<Call>> ready) {
+        if (null == ready) {
+            return;
+        }
+        BatchContext bound = CURRENT.get();
+        CURRENT.remove();
+        try {
+            for (Map.Entry<BatchLoader, List<Call>> entry : ready.entrySet()) {
+                BatchLoader loader = entry.getKey();
+                // 相同的参数只传一次
+                Map<Object, List<Call>> byKey = new LinkedHashMap<>();
+                for (Call call : entry.getValue()) {
+                    List<Call> calls = byKey.get(call.key);
+                    if (null == calls) {
+                        calls = new ArrayList<>(1);
+                        byKey.put(call.key, calls);
+                    }
+                    calls.add(call);
+                }
+                List<Object> keys = new ArrayList<>(byKey.keySet());
+                Object[] results = null;
+                Throwable error = null;
+                try {
+                    results = 1 == keys.size() ? new Object[]{loader.invokeSingle(keys.get(0))} : loader.invokeBatch(keys);
+                } catch (Throwable t) {
+                    error = t;
+                }
+                synchronized (this) {
+                    for (int i = 0; i < keys.size(); i++) {
+                        for (Call call : byKey.get(keys.get(i))) {
+                            call.result = null == error ? results[i] : null;
+                            call.error = error;
+                            call.done = true;
+                        }
+                    }
+                    notifyAll();
+                }
+            }
+        } finally {
+            if (null != bound) {
+                CURRENT.set(bound);
+            }
+        }
+    }
+
+    /** 一次被合并的调用 */
+    private static final class Call {
+        private final Object key;
+
+        private Object result;
+
+        private Throwable error;
+
+        private boolean done;
+
+        Call(Object key) {
+            this.key = key;
+        }
+    }
+}
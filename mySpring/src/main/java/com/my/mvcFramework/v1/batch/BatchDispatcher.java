@@ -0,0 +1,322 @@
+package com.my.mvcFramework.v1.batch;
+
+import com.my.mvcFramework.v1.json.JsonCodec;
+import com.my.mvcFramework.v1.json.JsonType;
+import com.my.mvcFramework.v1.json.JsonWriter;
+import com.my.mvcFramework.v1.response.BodyOutput;
+import com.my.mvcFramework.v1.response.MyResponse;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @ClassName BatchDispatcher
+ * @Description 批量请求端点。请求体是子请求的JSON数组，每个子请求经过与普通请求相同的路由、限流、参数绑定和响应缓存，
+ *              结果按请求顺序写成JSON数组流式返回，先完成的前缀先发给客户端。
+ *              batch.parallelism大于1时子请求在有界线程池中并行执行，每个批量请求同时最多执行parallelism个；
+ *              线程池队列满时在当前线程上执行。同一批中对有批量变体的service方法的调用由BatchContext合并
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class BatchDispatcher {
+
+    /**
+     * 子请求分发。由MyDispatcherServlet提供，与普通请求走同一条分发路径
+     */
+    public interface ItemDispatcher {
+        /**
+         * 功能描述: 分发一个子请求，结果写到resp上。抛出的异常作为该子请求的500响应，不影响其他子请求；异常由实现方记入错误日志
+         * @author ykq
+         * @date 2026/10/18
+         * @param req 子请求
+         * @param resp 子请求的响应
+         * @return void
+         */
+        void dispatch(HttpServletRequest req, HttpServletResponse resp) throws Exception;
+    }
+
+    private static final JsonType ITEMS_TYPE = JsonCodec.DEFAULT.typeOf(BatchRequest[].class);
+
+    private final ItemDispatcher itemDispatcher;
+
+    private volatile int parallelism;
+
+    private volatile int maxItems;
+
+    private volatile long timeoutMillis;
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * 功能描述: 读取application.properties中batch.*的配置
+     *          batch.parallelism      一个批量请求同时执行的子请求数，默认8，1为在请求线程上逐个执行
+     *          batch.maxItems         一个批量请求中子请求的个数上限，默认100，超过时返回413
+     *          batch.timeoutMillis    整个批量请求的超时时间，超时后未完成的子请求返回504，默认30000
+     *          batch.threads          执行子请求的线程池大小，所有批量请求共用，默认CPU核数*2
+     *          batch.queueSize        线程池的队列长度，默认1024
+     * @author ykq
+     * @date 2026/10/18
+     * @param config
+     * @param itemDispatcher
+     * @return
+     */
+    public BatchDispatcher(Properties config, ItemDispatcher itemDispatcher) {
+        this.itemDispatcher = itemDispatcher;
+        this.parallelism = Math.max(1, Integer.parseInt(config.getProperty("batch.parallelism", "8").trim()));
+        this.maxItems = Integer.parseInt(config.getProperty("batch.maxItems", "100").trim());
+        this.timeoutMillis = Long.parseLong(config.getProperty("batch.timeoutMillis", "30000").trim());
+        int threads = Math.max(1, Integer.parseInt(config.getProperty("batch.threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors() * 2)).trim()));
+        int queueSize = Math.max(1, Integer.parseInt(config.getProperty("batch.queueSize", "1024").trim()));
+        final AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = r -> {
+            Thread thread = new Thread(r, "my-batch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(queueSize), threadFactory);
+    }
+
+    /**
+     * 功能描述: 批量端点的Handler方法。解析请求体后开始执行子请求，返回的响应体在写出时按顺序等待各个子请求
+     * @author ykq
+     * @date 2026/10/18
+     * @param req
+     * @param resp
+     * @return com.my.mvcFramework.v1.response.MyResponse
+     */
+    public MyResponse handle(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        if (req instanceof BatchSubRequest) {
+            return error(HttpServletResponse.SC_BAD_REQUEST, "Nested batch requests are not supported");
+        }
+        BatchRequest[] items;
+        try {
+            items = (BatchRequest[]) JsonCodec.DEFAULT.read(req.getInputStream(), ITEMS_TYPE);
+        } catch (IllegalArgumentException e) {
+            return error(HttpServletResponse.SC_BAD_REQUEST, "Bad batch request body: " + e.getMessage());
+        }
+        if (null == items) {
+            items = new BatchRequest[0];
+        }
+        int limit = maxItems;
+        if (items.length > limit) {
+            return error(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE,
+                    "Batch of " + items.length + " requests exceeds batch.maxItems=" + limit);
+        }
+        final Batch batch = new Batch(req, resp, items, parallelism, timeoutMillis);
+        if (batch.parallelism > 1 && items.length > 1) {
+            for (int i = Math.min(batch.parallelism, items.length); i > 0; i--) {
+                startNext(batch);
+            }
+        }
+        return MyResponse.stream(batch::writeTo).contentType(JsonCodec.CONTENT_TYPE);
+    }
+
+    private static MyResponse error(int status, String message) {
+        return MyResponse.bytes(message.getBytes(StandardCharsets.UTF_8)).status(status);
+    }
+
+    /**
+     * 功能描述: 把批量请求中下一个未开始的子请求交给线程池，执行完后再接着取下一个，保持同时执行parallelism个。
+     *          队列满时在当前线程上执行，直到交出去一个或全部执行完
+     * @author ykq
+     * @date 2026/10/18
+     * @param batch
+     * @return void
+     */
+    private void startNext(final Batch batch) {
+        int index;
+        while ((index = batch.next.getAndIncrement()) < batch.items.length) {
+            final int i = index;
+            try {
+                executor.execute(() -> {
+                    batch.run(i);
+                    startNext(batch);
+                });
+                return;
+            } catch (RejectedExecutionException e) {
+                batch.run(i);
+            }
+        }
+    }
+
+    /**
+     * 功能描述: 配置重新加载后调整batch.parallelism、batch.maxItems、batch.timeoutMillis和batch.threads，
+     *          只影响之后开始的批量请求；batch.queueSize需要重启
+     * @author ykq
+     * @date 2026/10/18
+     * @param config
+     * @return void
+     */
+    public synchronized void reconfigure(Properties config) {
+        // 先全部解析，有一个值不合法时什么都不改
+        int newParallelism = Math.max(1, Integer.parseInt(config.getProperty("batch.parallelism", "8").trim()));
+        int newMaxItems = Integer.parseInt(config.getProperty("batch.maxItems", "100").trim());
+        long newTimeoutMillis = Long.parseLong(config.getProperty("batch.timeoutMillis", "30000").trim());
+        int threads = Math.max(1, Integer.parseInt(config.getProperty("batch.threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors() * 2)).trim()));
+        // 扩大时先调最大值，缩小时先调核心数，避免核心数大于最大值
+        if (threads > executor.getMaximumPoolSize()) {
+            executor.setMaximumPoolSize(threads);
+            executor.setCorePoolSize(threads);
+        } else {
+            executor.setCorePoolSize(threads);
+            executor.setMaximumPoolSize(threads);
+        }
+        this.parallelism = newParallelism;
+        this.maxItems = newMaxItems;
+        this.timeoutMillis = newTimeoutMillis;
+    }
+
+    /**
+     * 功能描述: 线程池中排队和执行中的子请求数
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return int
+     */
+    public int getPendingCount() {
+        return executor.getQueue().size() + executor.getActiveCount();
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * 一个批量请求的执行状态
+     */
+    private final class Batch {
+        private final HttpServletRequest request;
+
+        private final HttpServletResponse response;
+
+        private final BatchRequest[] items;
+
+        /** 外层请求的副本，超时返回后仍在执行的子请求只读这里，不读可能已被容器回收的外层请求 */
+        private final BatchSubRequest.OuterRequest outer;
+
+        private final CompletableFuture<BatchItemResponse>[] results;
+
+        /** 下一个要开始的子请求下标 */
+        private final AtomicInteger next = new AtomicInteger();
+
+        private final BatchContext context = new BatchContext();
+
+        /** 开始时的配置，执行过程中重新加载配置不影响这个批量请求 */
+        private final int parallelism;
+
+        private final long timeoutMillis;
+
+        private final long deadline;
+
+        @SuppressWarnings("unchecked")
+        Batch(HttpServletRequest request, HttpServletResponse response, BatchRequest[] items, int parallelism, long timeoutMillis) {
+            this.request = request;
+            this.response = response;
+            this.items = items;
+            this.outer = BatchSubRequest.OuterRequest.copyOf(request);
+            this.parallelism = parallelism;
+            this.timeoutMillis = timeoutMillis;
+            this.deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            this.results = (CompletableFuture<BatchItemResponse>[]) new CompletableFuture<?>[items.length];
+            for (int i = 0; i < items.length; i++) {
+                results[i] = new CompletableFuture<>();
+            }
+        }
+
+        /**
+         * 功能描述: 执行第index个子请求
+         * @author ykq
+         * @date 2026/10/18
+         * @param index
+         * @return void
+         */
+        void run(int index) {
+            BatchRequest item = items[index];
+            BatchItemResponse itemResponse;
+            if (null == item || null == item.getPath() || !item.getPath().startsWith("/")) {
+                itemResponse = BatchItemResponse.error(response, HttpServletResponse.SC_BAD_REQUEST,
+                        "Batch item requires a path starting with /");
+            } else if (System.nanoTime() - deadline > 0) {
+                itemResponse = timedOut();
+            } else {
+                itemResponse = new BatchItemResponse(response);
+                context.enter();
+                try {
+                    itemDispatcher.dispatch(new BatchSubRequest(request, outer, item), itemResponse);
+                } catch (Exception e) {
+                    // 异常已由itemDispatcher记入错误日志，这里不向客户端暴露异常信息
+                    itemResponse = BatchItemResponse.error(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                            "500 Exception!");
+                } finally {
+                    context.exit();
+                }
+            }
+            results[index].complete(itemResponse);
+        }
+
+        private BatchItemResponse timedOut() {
+            return BatchItemResponse.error(response, HttpServletResponse.SC_GATEWAY_TIMEOUT,
+                    "Batch request timed out after " + timeoutMillis + "ms");
+        }
+
+        /**
+         * 功能描述: 按顺序写出各子请求的结果。要等待的结果还没完成时先把已写的内容推给客户端；
+         *          串行执行时在这里逐个执行。写出失败（如客户端断开）时不再开始新的子请求
+         * @author ykq
+         * @date 2026/10/18
+         * @param out
+         * @return void
+         */
+        void writeTo(BodyOutput out) throws IOException {
+            JsonWriter json = new JsonWriter(out, new byte[4096]);
+            try {
+                json.writeByte('[');
+                for (int i = 0; i < items.length; i++) {
+                    if (i > 0) {
+                        json.writeByte(',');
+                    }
+                    if (!results[i].isDone()) {
+                        json.flush();
+                        if (parallelism <= 1 || items.length <= 1) {
+                            run(i);
+                        }
+                    }
+                    await(results[i]).writeTo(json);
+                }
+                json.writeByte(']');
+                json.flush();
+            } finally {
+                next.set(items.length);
+            }
+        }
+
+        private BatchItemResponse await(CompletableFuture<BatchItemResponse> result) {
+            try {
+                return result.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                return timedOut();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return timedOut();
+            } catch (ExecutionException e) {
+                return BatchItemResponse.error(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, e.getCause().toString());
+            }
+        }
+    }
+}
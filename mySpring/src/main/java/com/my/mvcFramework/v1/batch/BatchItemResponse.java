@@ -0,0 +1,307 @@
+package com.my.mvcFramework.v1.batch;
+
+import com.my.mvcFramework.v1.json.JsonWriter;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * @ClassName BatchItemResponse
+ * @Description 子请求的响应。状态码、Content-Type、响应头和响应体都只记录在这里，不写到外层的response上，
+ *              子请求结束后由BatchDispatcher按顺序写成批量响应中的一项：{"status":200,"contentType":"...","body":...}
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+final class BatchItemResponse extends HttpServletResponseWrapper {
+    private static final byte[] STATUS = "{\"status\":".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] CONTENT_TYPE = ",\"contentType\":".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] BODY = ",\"body\":".getBytes(StandardCharsets.UTF_8);
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+
+    private final Map<String, String> headers = new LinkedHashMap<>();
+
+    private PrintWriter writer;
+
+    private ServletOutputStream outputStream;
+
+    private int status = SC_OK;
+
+    private String contentType;
+
+    private String characterEncoding = StandardCharsets.UTF_8.name();
+
+    BatchItemResponse(HttpServletResponse response) {
+        super(response);
+    }
+
+    /**
+     * 功能描述: 没有分发就失败的子请求，如缺少path、超时
+     * @author ykq
+     * @date 2026/10/18
+     * @param response 外层的response
+     * @param status
+     * @param message 作为响应体
+     * @return com.my.mvcFramework.v1.batch.BatchItemResponse
+     */
+    static BatchItemResponse error(HttpServletResponse response, int status, String message) {
+        BatchItemResponse item = new BatchItemResponse(response);
+        item.sendError(status, message);
+        return item;
+    }
+
+    /**
+     * 功能描述: 写成批量响应中的一项。Content-Type为JSON的响应体原样嵌入，其余按字符串写出
+     * @author ykq
+     * @date 2026/10/18
+     * @param json
+     * @return void
+     */
+    void writeTo(JsonWriter json) throws IOException {
+        flushBuffer();
+        json.writeRaw(STATUS);
+        json.writeLong(status);
+        if (null != contentType) {
+            json.writeRaw(CONTENT_TYPE);
+            json.writeString(contentType);
+        }
+        json.writeRaw(BODY);
+        byte[] body = buffer.toByteArray();
+        if (0 == body.length) {
+            json.writeNull();
+        } else if (null != contentType && contentType.toLowerCase(Locale.ROOT).contains("json")) {
+            json.writeRaw(body);
+        } else {
+            json.writeString(new String(body, charset()));
+        }
+        json.writeByte('}');
+    }
+
+    private Charset charset() {
+        try {
+            return Charset.forName(characterEncoding);
+        } catch (RuntimeException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    @Override
+    public PrintWriter getWriter() {
+        if (null == writer) {
+            writer = new PrintWriter(new OutputStreamWriter(buffer, charset()));
+        }
+        return writer;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (null == outputStream) {
+            outputStream = new ServletOutputStream() {
+                @Override
+                public void write(int b) {
+                    buffer.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    buffer.write(b, off, len);
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener writeListener) {
+                    // 子请求的响应体收集在内存中，子请求也不支持异步，没有非阻塞写
+                    throw new IllegalStateException("Non-blocking output is not supported for a batch item");
+                }
+            };
+        }
+        return outputStream;
+    }
+
+    @Override
+    public void flushBuffer() {
+        if (null != writer) {
+            writer.flush();
+        }
+    }
+
+    @Override
+    public boolean isCommitted() {
+        return false;
+    }
+
+    @Override
+    public void reset() {
+        resetBuffer();
+        headers.clear();
+        status = SC_OK;
+        contentType = null;
+    }
+
+    @Override
+    public void resetBuffer() {
+        flushBuffer();
+        buffer.reset();
+    }
+
+    @Override
+    public void setBufferSize(int size) {
+    }
+
+    @Override
+    public int getBufferSize() {
+        return buffer.size();
+    }
+
+    @Override
+    public void setStatus(int sc) {
+        status = sc;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public void setStatus(int sc, String sm) {
+        status = sc;
+    }
+
+    @Override
+    public int getStatus() {
+        return status;
+    }
+
+    @Override
+    public void sendError(int sc) {
+        sendError(sc, null);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) {
+        resetBuffer();
+        status = sc;
+        if (null != msg) {
+            contentType = "text/plain;charset=UTF-8";
+            characterEncoding = StandardCharsets.UTF_8.name();
+            getWriter().write(msg);
+        }
+    }
+
+    @Override
+    public void sendRedirect(String location) {
+        resetBuffer();
+        status = SC_FOUND;
+        headers.put("Location", location);
+    }
+
+    @Override
+    public void setContentType(String type) {
+        contentType = type;
+        if (null == type) {
+            return;
+        }
+        int charset = type.toLowerCase(Locale.ROOT).indexOf("charset=");
+        if (charset >= 0) {
+            String encoding = type.substring(charset + 8).trim();
+            int end = encoding.indexOf(';');
+            characterEncoding = end < 0 ? encoding : encoding.substring(0, end).trim();
+        }
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public void setCharacterEncoding(String charset) {
+        characterEncoding = charset;
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return characterEncoding;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if ("Content-Type".equalsIgnoreCase(name)) {
+            setContentType(value);
+        } else {
+            headers.put(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        String existing = headers.get(name);
+        setHeader(name, null == existing ? value : existing + ", " + value);
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        setHeader(name, String.valueOf(value));
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        addHeader(name, String.valueOf(value));
+    }
+
+    @Override
+    public void setDateHeader(String name, long date) {
+        setHeader(name, String.valueOf(date));
+    }
+
+    @Override
+    public void addDateHeader(String name, long date) {
+        addHeader(name, String.valueOf(date));
+    }
+
+    @Override
+    public boolean containsHeader(String name) {
+        return headers.containsKey(name);
+    }
+
+    @Override
+    public String getHeader(String name) {
+        return headers.get(name);
+    }
+
+    @Override
+    public Collection<String> getHeaders(String name) {
+        String value = headers.get(name);
+        return null == value ? Collections.<String>emptyList() : Collections.singletonList(value);
+    }
+
+    @Override
+    public Collection<String> getHeaderNames() {
+        return headers.keySet();
+    }
+}
@@ -0,0 +1,87 @@
+package com.my.mvcFramework.v1.batch;
+
+import com.my.mvcFramework.v1.handler.HandlerInvoker;
+import com.my.mvcFramework.v1.handler.HandlerInvokers;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @ClassName BatchLoader
+ * @Description service上一对单个/批量方法，如get(String)和get(List<String>)。批量方法返回List时按下标与参数对应，
+ *              返回Map时按参数取值。由BatchingBeanPostProcessor在创建代理时找好，两个方法的调用器也在这时绑定
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+final class BatchLoader {
+    private final HandlerInvoker single;
+
+    private final HandlerInvoker batched;
+
+    private final Method batchedMethod;
+
+    private final boolean returnsMap;
+
+    BatchLoader(Object bean, Method single, Method batched) {
+        this.single = HandlerInvokers.create(null, bean, single);
+        this.batched = HandlerInvokers.create(null, bean, batched);
+        this.batchedMethod = batched;
+        this.returnsMap = Map.class.isAssignableFrom(batched.getReturnType());
+    }
+
+    Object invokeSingle(Object key) throws Throwable {
+        return invoke(single, new Object[]{key});
+    }
+
+    /**
+     * 功能描述: 调用一次批量方法
+     * @author ykq
+     * @date 2026/10/18
+     * @param keys 去重后的参数
+     * @return java.lang.Object[] 与keys按下标对应的结果
+     */
+    Object[] invokeBatch(List<Object> keys) throws Throwable {
+        Object result = invoke(batched, new Object[]{keys});
+        Object[] values = new Object[keys.size()];
+        if (null == result) {
+            throw new IllegalStateException(batchedMethod + " returned null");
+        }
+        if (returnsMap) {
+            Map<?, ?> map = (Map<?, ?>) result;
+            for (int i = 0; i < values.length; i++) {
+                values[i] = map.get(keys.get(i));
+            }
+            return values;
+        }
+        List<?> list = (List<?>) result;
+        if (list.size() != values.length) {
+            throw new IllegalStateException(batchedMethod + " returned " + list.size() + " results for " + values.length + " arguments");
+        }
+        return list.toArray(values);
+    }
+
+    /**
+     * 功能描述: 通过预先绑定的调用器调用，抛出目标方法的原始异常
+     * @author ykq
+     * @date 2026/10/18
+     * @param invoker
+     * @param args
+     * @return java.lang.Object
+     */
+    static Object invoke(HandlerInvoker invoker, Object[] args) throws Throwable {
+        try {
+            return invoker.invoke(args);
+        } catch (InvocationTargetException e) {
+            // 反射模式的调用器不拆开异常
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return batchedMethod.toString();
+    }
+}
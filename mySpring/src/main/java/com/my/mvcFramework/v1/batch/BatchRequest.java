@@ -0,0 +1,44 @@
+package com.my.mvcFramework.v1.batch;
+
+import java.util.Map;
+
+/**
+ * @ClassName BatchRequest
+ * @Description 批量请求体中的一个子请求，如{"path":"/demo/query","params":{"name":"1"}}。
+ *              path是去掉项目名后的url，可以带查询串；params的值可以是字符串、数字或数组（同名参数多个值）；
+ *              body是任意JSON值，作为子请求的请求体交给@MyRequestBody
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class BatchRequest {
+    private String path;
+
+    private Map<String, Object> params;
+
+    private Object body;
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public Map<String, Object> getParams() {
+        return params;
+    }
+
+    public void setParams(Map<String, Object> params) {
+        this.params = params;
+    }
+
+    public Object getBody() {
+        return body;
+    }
+
+    public void setBody(Object body) {
+        this.body = body;
+    }
+}
@@ -0,0 +1,414 @@
+package com.my.mvcFramework.v1.batch;
+
+import com.my.mvcFramework.v1.json.JsonCodec;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @ClassName BatchSubRequest
+ * @Description 批量请求中的一个子请求。url、参数和请求体来自BatchRequest，attribute各自独立（request作用域的bean不在子请求间共享），
+ *              请求头、项目名、协议、主机和客户端地址在批量请求开始时从外层请求复制，批量请求超时返回后仍在执行的子请求
+ *              不会读到已被容器回收的外层请求；session等其余信息仍取自外层请求。
+ *              不支持异步，@MyAsync和返回CompletionStage的Handler在当前线程上等待结果；
+ *              没有Accept-Encoding，子请求的响应体不压缩，整个批量响应按外层请求协商
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+final class BatchSubRequest extends HttpServletRequestWrapper {
+    private static final String ACCEPT_ENCODING = "Accept-Encoding";
+
+    private final String path;
+
+    private final String queryString;
+
+    private final Map<String, String[]> parameters;
+
+    /** 请求体，没有时为空数组 */
+    private final byte[] body;
+
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+
+    /** 创建批量请求时从外层请求复制的信息 */
+    private final OuterRequest outer;
+
+    /**
+     * 功能描述: 创建子请求。子请求在批量线程上创建，这时只能读取outer中的副本，不能再读外层请求
+     * @author ykq
+     * @date 2026/10/18
+     * @param request 外层请求
+     * @param outer OuterRequest.copyOf(request)的结果，同一个批量请求中的子请求共用
+     * @param item
+     * @return
+     */
+    BatchSubRequest(HttpServletRequest request, OuterRequest outer, BatchRequest item) {
+        super(request);
+        this.outer = outer;
+        String path = item.getPath();
+        int query = path.indexOf('?');
+        this.path = query < 0 ? path : path.substring(0, query);
+        this.queryString = query < 0 ? null : path.substring(query + 1);
+        this.parameters = Collections.unmodifiableMap(parseParameters(queryString, item.getParams()));
+        this.body = encodeBody(item.getBody());
+    }
+
+    /**
+     * 功能描述: 查询串中的参数在前，params中的同名参数追加在后
+     * @author ykq
+     * @date 2026/10/18
+     * @param queryString
+     * @param params
+     * @return java.util.Map<java.lang.String,java.lang.String[]>
+     */
+    private static Map<String, String[]> parseParameters(String queryString, Map<String, Object> params) {
+        Map<String, List<String>> values = new LinkedHashMap<>();
+        if (null != queryString) {
+            for (String pair : queryString.split("&")) {
+                if ("".equals(pair)) {
+                    continue;
+                }
+                int eq = pair.indexOf('=');
+                String name = decode(eq < 0 ? pair : pair.substring(0, eq));
+                add(values, name, eq < 0 ? "" : decode(pair.substring(eq + 1)));
+            }
+        }
+        if (null != params) {
+            for (Map.Entry<String, Object> param : params.entrySet()) {
+                Object value = param.getValue();
+                if (value instanceof Iterable) {
+                    for (Object element : (Iterable<?>) value) {
+                        add(values, param.getKey(), element);
+                    }
+                } else {
+                    add(values, param.getKey(), value);
+                }
+            }
+        }
+        Map<String, String[]> parameters = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> entry : values.entrySet()) {
+            parameters.put(entry.getKey(), entry.getValue().toArray(new String[entry.getValue().size()]));
+        }
+        return parameters;
+    }
+
+    private static void add(Map<String, List<String>> values, String name, Object value) {
+        if (null == value) {
+            return;
+        }
+        List<String> list = values.get(name);
+        if (null == list) {
+            list = new ArrayList<>(1);
+            values.put(name, list);
+        }
+        list.add(String.valueOf(value));
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] encodeBody(Object body) {
+        if (null == body) {
+            return new byte[0];
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        try {
+            JsonCodec.DEFAULT.write(out, body);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public String getContextPath() {
+        return outer.contextPath;
+    }
+
+    @Override
+    public String getScheme() {
+        return outer.scheme;
+    }
+
+    @Override
+    public String getServerName() {
+        return outer.serverName;
+    }
+
+    @Override
+    public int getServerPort() {
+        return outer.serverPort;
+    }
+
+    @Override
+    public String getProtocol() {
+        return outer.protocol;
+    }
+
+    @Override
+    public String getRemoteAddr() {
+        return outer.remoteAddr;
+    }
+
+    @Override
+    public String getRequestURI() {
+        return getContextPath() + path;
+    }
+
+    @Override
+    public StringBuffer getRequestURL() {
+        StringBuffer url = new StringBuffer();
+        url.append(getScheme()).append("://").append(getServerName()).append(':').append(getServerPort()).append(getRequestURI());
+        return url;
+    }
+
+    @Override
+    public String getServletPath() {
+        return path;
+    }
+
+    @Override
+    public String getPathInfo() {
+        return null;
+    }
+
+    @Override
+    public String getQueryString() {
+        return queryString;
+    }
+
+    @Override
+    public String getMethod() {
+        return 0 == body.length ? "GET" : "POST";
+    }
+
+    @Override
+    public String getParameter(String name) {
+        String[] values = parameters.get(name);
+        return null == values ? null : values[0];
+    }
+
+    @Override
+    public String[] getParameterValues(String name) {
+        String[] values = parameters.get(name);
+        return null == values ? null : values.clone();
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        return parameters;
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+        return Collections.enumeration(parameters.keySet());
+    }
+
+    @Override
+    public String getHeader(String name) {
+        List<String> values = outer.headers.get(name);
+        return null == values || values.isEmpty() ? null : values.get(0);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        List<String> values = outer.headers.get(name);
+        return null == values ? Collections.<String>emptyEnumeration() : Collections.enumeration(values);
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+        return Collections.enumeration(outer.headers.keySet());
+    }
+
+    @Override
+    public long getDateHeader(String name) {
+        String value = getHeader(name);
+        if (null == value) {
+            return -1L;
+        }
+        try {
+            return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Header " + name + " is not a date: " + value, e);
+        }
+    }
+
+    @Override
+    public int getIntHeader(String name) {
+        String value = getHeader(name);
+        return null == value ? -1 : Integer.parseInt(value.trim());
+    }
+
+    @Override
+    public String getContentType() {
+        return 0 == body.length ? null : JsonCodec.CONTENT_TYPE;
+    }
+
+    @Override
+    public int getContentLength() {
+        return body.length;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return body.length;
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return StandardCharsets.UTF_8.name();
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        final ByteArrayInputStream in = new ByteArrayInputStream(body);
+        return new ServletInputStream() {
+            @Override
+            public int read() {
+                return in.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                return in.read(b, off, len);
+            }
+
+            @Override
+            public boolean isFinished() {
+                return 0 == in.available();
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                // 子请求的请求体已经在内存中，子请求也不支持异步，没有非阻塞读
+                throw new IllegalStateException("Non-blocking input is not supported for a batch item");
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return Collections.enumeration(attributes.keySet());
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (null == value) {
+            attributes.remove(name);
+        } else {
+            attributes.put(name, value);
+        }
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        attributes.remove(name);
+    }
+
+    @Override
+    public boolean isAsyncSupported() {
+        return false;
+    }
+
+    @Override
+    public boolean isAsyncStarted() {
+        return false;
+    }
+
+    @Override
+    public AsyncContext startAsync() {
+        throw new IllegalStateException("Batch sub-requests do not support async processing");
+    }
+
+    @Override
+    public AsyncContext startAsync(ServletRequest servletRequest, ServletResponse servletResponse) {
+        throw new IllegalStateException("Batch sub-requests do not support async processing");
+    }
+
+    /**
+     * 外层请求中子请求会读取的信息，在容器线程上创建批量请求时复制一次，所有子请求共用
+     */
+    static final class OuterRequest {
+        /** 请求头，名称不区分大小写；去掉了Accept-Encoding，子请求的响应体不压缩 */
+        private final Map<String, List<String>> headers;
+
+        private final String contextPath;
+
+        private final String scheme;
+
+        private final String serverName;
+
+        private final int serverPort;
+
+        private final String protocol;
+
+        private final String remoteAddr;
+
+        private OuterRequest(HttpServletRequest request) {
+            Map<String, List<String>> copy = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            Enumeration<String> names = request.getHeaderNames();
+            while (null != names && names.hasMoreElements()) {
+                String name = names.nextElement();
+                if (!ACCEPT_ENCODING.equalsIgnoreCase(name) && !copy.containsKey(name)) {
+                    copy.put(name, Collections.list(request.getHeaders(name)));
+                }
+            }
+            this.headers = Collections.unmodifiableMap(copy);
+            this.contextPath = request.getContextPath();
+            this.scheme = request.getScheme();
+            this.serverName = request.getServerName();
+            this.serverPort = request.getServerPort();
+            this.protocol = request.getProtocol();
+            this.remoteAddr = request.getRemoteAddr();
+        }
+
+        static OuterRequest copyOf(HttpServletRequest request) {
+            return new OuterRequest(request);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.my.mvcFramework.v1.batch;
+
+import com.my.mvcFramework.annotation.MyController;
+import com.my.mvcFramework.v1.context.BeanDefinition;
+import com.my.mvcFramework.v1.context.BeanPostProcessor;
+import com.my.mvcFramework.v1.handler.HandlerInvoker;
+import com.my.mvcFramework.v1.handler.HandlerInvokers;
+import com.my.mvcFramework.v1.log.MyLogger;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @ClassName BatchingBeanPostProcessor
+ * @Description 为有批量变体的service生成代理。接口中同名的两个方法m(T)和m(List<T>)（返回List时与参数按下标对应，
+ *              返回Map时以参数为key）被识别为一对；批量请求的子请求调用m(T)时交给BatchContext合并成一次m(List<T>)调用，
+ *              批量请求之外照常调用m(T)。和@MyCacheable一样只代理接口方法，注入时要用接口类型
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class BatchingBeanPostProcessor implements BeanPostProcessor {
+    private final MyLogger logger;
+
+    public BatchingBeanPostProcessor(MyLogger logger) {
+        this.logger = logger;
+    }
+
+    @Override
+    public Object postProcess(BeanDefinition definition, final Object bean) {
+        Class<?> beanClass = definition.getBeanClass();
+        if (beanClass.isAnnotationPresent(MyController.class)) {
+            return bean;
+        }
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (Class<?> c = beanClass; null != c; c = c.getSuperclass()) {
+            for (Class<?> i : c.getInterfaces()) {
+                interfaces.add(i);
+            }
+        }
+
+        // 接口的单个方法 -> 对应的批量方法
+        final Map<Method, BatchLoader> loaders = new HashMap<>();
+        for (Class<?> i : interfaces) {
+            for (Method method : i.getMethods()) {
+                Method batched = findBatched(i, method);
+                if (null != batched) {
+                    loaders.put(method, new BatchLoader(bean, method, batched));
+                }
+            }
+        }
+        if (loaders.isEmpty()) {
+            return bean;
+        }
+        // 每个接口方法的调用器在创建代理时绑定好，代理转发调用时不再走反射
+        final Map<Method, HandlerInvoker> invokers = new HashMap<>();
+        for (Class<?> i : interfaces) {
+            for (Method method : i.getMethods()) {
+                invokers.put(method, HandlerInvokers.create(null, bean, method));
+            }
+        }
+        logger.info("Batched methods of " + definition.getBeanName() + ": " + loaders.values());
+
+        return Proxy.newProxyInstance(beanClass.getClassLoader(), interfaces.toArray(new Class<?>[interfaces.size()]),
+                (proxy, method, args) -> {
+                    HandlerInvoker invoker = invokers.get(method);
+                    // equals、hashCode、toString不属于接口方法，没有预先绑定的调用器
+                    if (null == invoker) {
+                        return invoke(bean, method, args);
+                    }
+                    BatchLoader loader = loaders.get(method);
+                    BatchContext context = null == loader ? null : BatchContext.current();
+                    // 参数为null时不参与合并，批量方法的结果无法按null取值
+                    if (null == context || null == args[0]) {
+                        return BatchLoader.invoke(invoker, args);
+                    }
+                    return context.load(loader, args[0]);
+                });
+    }
+
+    private static Object invoke(Object bean, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(bean, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 功能描述: 查找单个方法的批量变体：同名、唯一的参数能接收List<T>，返回List或Map
+     * @author ykq
+     * @date 2026/10/18
+     * @param owner
+     * @param single
+     * @return java.lang.reflect.Method 没有时返回null
+     */
+    private static Method findBatched(Class<?> owner, Method single) {
+        if (1 != single.getParameterCount() || void.class == single.getReturnType()) {
+            return null;
+        }
+        Class<?> keyType = box(single.getParameterTypes()[0]);
+        if (Collection.class.isAssignableFrom(keyType) || Map.class.isAssignableFrom(keyType)) {
+            return null;
+        }
+        for (Method candidate : owner.getMethods()) {
+            if (!candidate.getName().equals(single.getName()) || 1 != candidate.getParameterCount()
+                    || !candidate.getParameterTypes()[0].isAssignableFrom(ArrayList.class)) {
+                continue;
+            }
+            Class<?> returnType = candidate.getReturnType();
+            if (!List.class.isAssignableFrom(returnType) && !Map.class.isAssignableFrom(returnType)) {
+                continue;
+            }
+            Class<?> elementType = elementType(candidate.getGenericParameterTypes()[0]);
+            if (null == elementType || elementType.isAssignableFrom(keyType)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /** List<T>的元素类型，原始类型或类型变量时返回null */
+    private static Class<?> elementType(Type type) {
+        if (!(type instanceof ParameterizedType)) {
+            return null;
+        }
+        Type argument = ((ParameterizedType) type).getActualTypeArguments()[0];
+        if (argument instanceof WildcardType) {
+            argument = ((WildcardType) argument).getUpperBounds()[0];
+        }
+        if (argument instanceof ParameterizedType) {
+            argument = ((ParameterizedType) argument).getRawType();
+        }
+        return argument instanceof Class ? (Class<?>) argument : null;
+    }
+
+    private static Class<?> box(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        if (int.class == type) {
+            return Integer.class;
+        }
+        if (long.class == type) {
+            return Long.class;
+        }
+        if (boolean.class == type) {
+            return Boolean.class;
+        }
+        if (double.class == type) {
+            return Double.class;
+        }
+        if (float.class == type) {
+            return Float.class;
+        }
+        if (char.class == type) {
+            return Character.class;
+        }
+        if (short.class == type) {
+            return Short.class;
+        }
+        return Byte.class;
+    }
+}
@@ -0,0 +1,262 @@
+package com.my.mvcFramework.v1.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @ClassName BoundedCache
+ * @Description 有界的并发缓存。按key的哈希分段，每段是一个按访问顺序排列的LinkedHashMap，超出容量时淘汰最久未访问的条目（LRU），
+ *              条目过期后在下次访问时移除。每段各自加锁，命中、未命中、淘汰、过期都用LongAdder计数。
+ *              容量和过期时间可以在运行时调整，容量跨过分段的阈值时重建分段
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class BoundedCache<K, V> {
+    private final String name;
+
+    private volatile long ttlNanos;
+
+    private volatile int maxSize;
+
+    /** 只在reconfigure()中整体替换；替换期间写进旧分段的条目会丢失，对缓存来说只是多一次未命中 */
+    private volatile Segment<K, V>[] segments;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final LongAdder expirations = new LongAdder();
+
+    public BoundedCache(String name, long ttlMillis, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize of cache " + name + " must be positive");
+        }
+        this.name = name;
+        this.ttlNanos = ttlMillis <= 0 ? 0 : ttlMillis * 1000000L;
+        this.maxSize = maxSize;
+        this.segments = newSegments(maxSize);
+    }
+
+    /** 容量太小时分段反而让LRU不准确，只用一段；分段时每段的容量至少为16 */
+    private static int segmentCount(int maxSize) {
+        return maxSize >= 256 ? 16 : 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Segment<K, V>[] newSegments(int maxSize) {
+        int segmentCount = segmentCount(maxSize);
+        Segment<K, V>[] created = (Segment<K, V>[]) new Segment<?, ?>[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            created[i] = new Segment<>(segmentCapacity(maxSize, segmentCount, i), evictions);
+        }
+        return created;
+    }
+
+    /**
+     * 功能描述: 取缓存，没有或已过期时返回null
+     * @author ykq
+     * @date 2026/10/18
+     * @param key
+     * @return V
+     */
+    public V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            Entry<V> entry = segment.get(key);
+            if (null == entry) {
+                misses.increment();
+                return null;
+            }
+            if (entry.expiresAt != 0 && System.nanoTime() - entry.expiresAt >= 0) {
+                segment.remove(key);
+                expirations.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value;
+        }
+    }
+
+    public void put(K key, V value) {
+        long ttl = ttlNanos;
+        long expiresAt = ttl == 0 ? 0 : System.nanoTime() + ttl;
+        // 0表示不过期，极少数情况下计算结果恰好为0时错开1纳秒
+        if (ttl != 0 && expiresAt == 0) {
+            expiresAt = 1;
+        }
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.put(key, new Entry<>(value, expiresAt));
+        }
+    }
+
+    public void invalidate(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * 功能描述: 调整容量和过期时间。缩小时立即淘汰超出的最久未访问条目；已缓存条目的过期时刻不变
+     * @author ykq
+     * @date 2026/10/18
+     * @param ttlMillis 小于等于0表示不过期
+     * @param maxSize
+     * @return void
+     */
+    public synchronized void reconfigure(long ttlMillis, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize of cache " + name + " must be positive");
+        }
+        this.ttlNanos = ttlMillis <= 0 ? 0 : ttlMillis * 1000000L;
+        this.maxSize = maxSize;
+        Segment<K, V>[] current = segments;
+        if (segmentCount(maxSize) != current.length) {
+            // 分段数变了（如16段缩到256以下），按新的分段重新放入已有条目，否则部分段的容量会是0
+            Segment<K, V>[] resized = newSegments(maxSize);
+            for (Segment<K, V> segment : current) {
+                synchronized (segment) {
+                    for (Map.Entry<K, Entry<V>> entry : segment.entrySet()) {
+                        Segment<K, V> target = segmentFor(resized, entry.getKey());
+                        target.put(entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+            segments = resized;
+            return;
+        }
+        for (int i = 0; i < current.length; i++) {
+            Segment<K, V> segment = current[i];
+            synchronized (segment) {
+                segment.resize(segmentCapacity(maxSize, current.length, i));
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getTtlMillis() {
+        return ttlNanos / 1000000L;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getExpirations() {
+        return expirations.sum();
+    }
+
+    @Override
+    public String toString() {
+        return name + "{size=" + size() + ", hits=" + getHits() + ", misses=" + getMisses()
+                + ", evictions=" + getEvictions() + ", expirations=" + getExpirations() + "}";
+    }
+
+    /**
+     * 功能描述: 第index段的容量。余数分给前maxSize % segmentCount段，各段容量之和恰好是maxSize
+     * @author ykq
+     * @date 2026/10/18
+     * @param maxSize
+     * @param segmentCount
+     * @param index
+     * @return int
+     */
+    private static int segmentCapacity(int maxSize, int segmentCount, int index) {
+        return maxSize / segmentCount + (index < maxSize % segmentCount ? 1 : 0);
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        return segmentFor(segments, key);
+    }
+
+    private static <K, V> Segment<K, V> segmentFor(Segment<K, V>[] segments, K key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        return segments[h & (segments.length - 1)];
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+
+        /** System.nanoTime()的过期时刻，0表示不过期 */
+        private final long expiresAt;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static final class Segment<K, V> extends LinkedHashMap<K, Entry<V>> {
+        private int capacity;
+
+        private final LongAdder evictions;
+
+        Segment(int capacity, LongAdder evictions) {
+            // accessOrder=true，get也会把条目移到队尾，队头就是最久未访问的
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+            this.evictions = evictions;
+        }
+
+        /** 调用方持有本段的锁 */
+        void resize(int newCapacity) {
+            this.capacity = newCapacity;
+            Iterator<Map.Entry<K, Entry<V>>> eldest = entrySet().iterator();
+            while (size() > capacity && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.my.mvcFramework.v1.cache;
+
+import java.util.Arrays;
+
+/**
+ * @ClassName CacheKey
+ * @Description 由多个参数值组成的缓存key，哈希值在创建时算好
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public final class CacheKey {
+    private final Object[] parts;
+
+    private final int hash;
+
+    public CacheKey(Object... parts) {
+        this.parts = null == parts ? new Object[0] : parts;
+        this.hash = Arrays.deepHashCode(this.parts);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CacheKey)) {
+            return false;
+        }
+        CacheKey other = (CacheKey) o;
+        return hash == other.hash && Arrays.deepEquals(parts, other.parts);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.deepToString(parts);
+    }
+}
@@ -0,0 +1,62 @@
+package com.my.mvcFramework.v1.cache;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @ClassName CachedResponse
+ * @Description 缓存的响应：编码好的响应体字节、Content-Type和Handler设置的响应头，命中时重放响应头后直接写入输出流
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class CachedResponse {
+    private final byte[] body;
+
+    private final String contentType;
+
+    private final String characterEncoding;
+
+    /** 响应头的名称和值，同名的多个值依次addHeader */
+    private final String[] headerNames;
+
+    private final String[][] headerValues;
+
+    public CachedResponse(byte[] body, String contentType, String characterEncoding, Map<String, List<String>> headers) {
+        this.body = body;
+        this.contentType = contentType;
+        this.characterEncoding = characterEncoding;
+        this.headerNames = new String[headers.size()];
+        this.headerValues = new String[headers.size()][];
+        int i = 0;
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            headerNames[i] = header.getKey();
+            headerValues[i] = header.getValue().toArray(new String[0]);
+            i++;
+        }
+    }
+
+    public void writeTo(HttpServletResponse resp) throws IOException {
+        for (int i = 0; i < headerNames.length; i++) {
+            String[] values = headerValues[i];
+            resp.setHeader(headerNames[i], values[0]);
+            for (int j = 1; j < values.length; j++) {
+                resp.addHeader(headerNames[i], values[j]);
+            }
+        }
+        if (null != characterEncoding) {
+            resp.setCharacterEncoding(characterEncoding);
+        }
+        if (null != contentType) {
+            resp.setContentType(contentType);
+        }
+        resp.setContentLength(body.length);
+        resp.getOutputStream().write(body);
+    }
+
+    public int size() {
+        return body.length;
+    }
+}
@@ -0,0 +1,154 @@
+package com.my.mvcFramework.v1.cache;
+
+import com.my.mvcFramework.annotation.MyCacheable;
+import com.my.mvcFramework.annotation.MyController;
+import com.my.mvcFramework.v1.context.BeanDefinition;
+import com.my.mvcFramework.v1.context.BeanPostProcessor;
+import com.my.mvcFramework.v1.handler.HandlerInvoker;
+import com.my.mvcFramework.v1.handler.HandlerInvokers;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @ClassName CachingBeanPostProcessor
+ * @Description 为有@MyCacheable方法的service生成代理，以方法参数为key缓存返回值。
+ *              方法和缓存的对应关系在创建代理时算好，每个接口方法的调用器（绑定了bean的MethodHandle）也在这时创建，
+ *              代理转发调用时不再走反射
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class CachingBeanPostProcessor implements BeanPostProcessor {
+    /** 返回值为null时缓存的占位对象 */
+    private static final Object NULL = new Object();
+
+    private final MyCacheManager cacheManager;
+
+    public CachingBeanPostProcessor(MyCacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public Object postProcess(BeanDefinition definition, final Object bean) {
+        // bean可能是AOP生成的代理子类，注解从原始类上读取
+        Class<?> beanClass = definition.getBeanClass();
+        // Controller上的@MyCacheable缓存的是响应，由MyDispatcherServlet处理
+        if (beanClass.isAnnotationPresent(MyController.class)) {
+            return bean;
+        }
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (Class<?> c = beanClass; null != c; c = c.getSuperclass()) {
+            for (Class<?> i : c.getInterfaces()) {
+                interfaces.add(i);
+            }
+        }
+
+        // 接口方法 -> 实现类方法上@MyCacheable对应的缓存
+        final Map<Method, BoundedCache<Object, Object>> caches = new HashMap<>();
+        final Map<Method, HandlerInvoker> invokers = new HashMap<>();
+        for (Class<?> i : interfaces) {
+            for (Method method : i.getMethods()) {
+                invokers.put(method, HandlerInvokers.create(null, bean, method));
+                MyCacheable cacheable = findCacheable(beanClass, method);
+                if (null == cacheable) {
+                    continue;
+                }
+                String name = cacheable.value().trim();
+                if ("".equals(name)) {
+                    name = defaultName(beanClass, method);
+                }
+                caches.put(method, cacheManager.getOrCreate(name, cacheable.ttlMillis(), cacheable.maxSize()));
+            }
+        }
+        if (caches.isEmpty()) {
+            if (hasCacheable(beanClass)) {
+                throw new IllegalStateException("@MyCacheable methods of " + beanClass.getName()
+                        + " must be declared by an interface");
+            }
+            return bean;
+        }
+
+        return Proxy.newProxyInstance(beanClass.getClassLoader(), interfaces.toArray(new Class<?>[interfaces.size()]),
+                (proxy, method, args) -> {
+                    HandlerInvoker invoker = invokers.get(method);
+                    // equals、hashCode、toString不属于接口方法，没有预先绑定的调用器
+                    if (null == invoker) {
+                        return invoke(bean, method, args);
+                    }
+                    BoundedCache<Object, Object> cache = caches.get(method);
+                    if (null == cache) {
+                        return invoke(invoker, args);
+                    }
+                    CacheKey key = new CacheKey(args);
+                    Object value = cache.get(key);
+                    if (null == value) {
+                        value = invoke(invoker, args);
+                        cache.put(key, null == value ? NULL : value);
+                        return value;
+                    }
+                    return value == NULL ? null : value;
+                });
+    }
+
+    /**
+     * 功能描述: 默认缓存名，带上参数类型，重载的方法各用各的缓存，如com.my.demo.service.impl.DemoServiceImpl#get(java.lang.String)
+     * @author ykq
+     * @date 2026/10/18
+     * @param beanClass
+     * @param method
+     * @return java.lang.String
+     */
+    static String defaultName(Class<?> beanClass, Method method) {
+        StringBuilder name = new StringBuilder(beanClass.getName()).append('#').append(method.getName()).append('(');
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (i > 0) {
+                name.append(',');
+            }
+            name.append(parameterTypes[i].getTypeName());
+        }
+        return name.append(')').toString();
+    }
+
+    private static Object invoke(Object bean, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(bean, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Object invoke(HandlerInvoker invoker, Object[] args) throws Throwable {
+        try {
+            return invoker.invoke(args);
+        } catch (InvocationTargetException e) {
+            // 反射模式的调用器不拆开异常，代理要抛出原始异常
+            throw e.getCause();
+        }
+    }
+
+    private static MyCacheable findCacheable(Class<?> beanClass, Method interfaceMethod) {
+        try {
+            Method implementation = beanClass.getMethod(interfaceMethod.getName(), interfaceMethod.getParameterTypes());
+            MyCacheable cacheable = implementation.getAnnotation(MyCacheable.class);
+            return null != cacheable ? cacheable : interfaceMethod.getAnnotation(MyCacheable.class);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static boolean hasCacheable(Class<?> beanClass) {
+        for (Method method : beanClass.getMethods()) {
+            if (method.isAnnotationPresent(MyCacheable.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
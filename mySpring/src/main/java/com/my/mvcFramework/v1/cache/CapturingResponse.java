@@ -0,0 +1,213 @@
+package com.my.mvcFramework.v1.cache;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * @ClassName CapturingResponse
+ * @Description 把Handler写出的响应体先收集到内存中，用于生成缓存。响应头照常写到被包装的response上，
+ *              同时记录下来，命中缓存时原样重放，命中和未命中的响应完全一致。
+ *              只有状态码为200且没有调用sendError、sendRedirect时才允许缓存
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class CapturingResponse extends HttpServletResponseWrapper {
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+
+    private PrintWriter writer;
+
+    private ServletOutputStream outputStream;
+
+    private int status = SC_OK;
+
+    /** Handler调用了sendError或sendRedirect，被包装的response已经提交，收集到的响应体不能再写出 */
+    private boolean sent;
+
+    /** Handler设置的响应头，名称不区分大小写。Content-Type和Content-Length在写出缓存时重新设置，不在这里记录 */
+    private final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    /** Handler显式设置的字符编码，没有设置时为null */
+    private String characterEncoding;
+
+    public CapturingResponse(HttpServletResponse response) {
+        super(response);
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (null == writer) {
+            // 和容器的getWriter()使用同样的编码，缓存的字节与直接写出的完全一致
+            writer = new PrintWriter(new OutputStreamWriter(buffer, getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (null == outputStream) {
+            outputStream = new ServletOutputStream() {
+                @Override
+                public void write(int b) {
+                    buffer.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    buffer.write(b, off, len);
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener writeListener) {
+                    throw new IllegalStateException("Non-blocking output is not supported for a cached response");
+                }
+            };
+        }
+        return outputStream;
+    }
+
+    @Override
+    public void flushBuffer() {
+        if (null != writer) {
+            writer.flush();
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        super.setHeader(name, value);
+        captureHeader(name, value, false);
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        super.addHeader(name, value);
+        captureHeader(name, value, true);
+    }
+
+    @Override
+    public void setDateHeader(String name, long date) {
+        super.setDateHeader(name, date);
+        captureHeader(name, formatDate(date), false);
+    }
+
+    @Override
+    public void addDateHeader(String name, long date) {
+        super.addDateHeader(name, date);
+        captureHeader(name, formatDate(date), true);
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        super.setIntHeader(name, value);
+        captureHeader(name, String.valueOf(value), false);
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        super.addIntHeader(name, value);
+        captureHeader(name, String.valueOf(value), true);
+    }
+
+    @Override
+    public void setCharacterEncoding(String charset) {
+        super.setCharacterEncoding(charset);
+        characterEncoding = charset;
+    }
+
+    /**
+     * 功能描述: 记录一个响应头。set时替换同名的值，值为null时去掉该响应头
+     * @author ykq
+     * @date 2026/10/18
+     * @param name
+     * @param value
+     * @param add true为addHeader，false为setHeader
+     * @return void
+     */
+    private void captureHeader(String name, String value, boolean add) {
+        if (null == name || "Content-Type".equalsIgnoreCase(name) || "Content-Length".equalsIgnoreCase(name)) {
+            return;
+        }
+        if (!add) {
+            headers.remove(name);
+        }
+        if (null == value) {
+            return;
+        }
+        List<String> values = headers.get(name);
+        if (null == values) {
+            values = new ArrayList<>(1);
+            headers.put(name, values);
+        }
+        values.add(value);
+    }
+
+    private static String formatDate(long date) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(date).atOffset(ZoneOffset.UTC));
+    }
+
+    @Override
+    public void setStatus(int sc) {
+        status = sc;
+        super.setStatus(sc);
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        status = sc;
+        sent = true;
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        status = sc;
+        sent = true;
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        status = SC_FOUND;
+        sent = true;
+        super.sendRedirect(location);
+    }
+
+    public boolean isCacheable() {
+        return status == SC_OK && !sent;
+    }
+
+    public boolean isSent() {
+        return sent;
+    }
+
+    /**
+     * 功能描述: 收集到的响应体、Content-Type、字符编码和响应头
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return com.my.mvcFramework.v1.cache.CachedResponse
+     */
+    public CachedResponse toCachedResponse() {
+        flushBuffer();
+        return new CachedResponse(buffer.toByteArray(), getContentType(), characterEncoding, headers);
+    }
+}
@@ -0,0 +1,155 @@
+package com.my.mvcFramework.v1.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * @ClassName MyCacheManager
+ * @Description 所有@MyCacheable缓存的注册表。容器会把它注册为名为myCacheManager的bean，
+ *              业务代码可以@MyAutowired注入后按缓存名失效缓存。
+ *              cache.{缓存名}.maxSize、cache.{缓存名}.ttlMillis覆盖@MyCacheable中的值，配置重新加载后随之调整
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class MyCacheManager {
+    public static final String BEAN_NAME = "myCacheManager";
+
+    /** Handler响应缓存的缓存名前缀，后面接url模板 */
+    public static final String ROUTE_PREFIX = "route:";
+
+    private final ConcurrentMap<String, BoundedCache<Object, Object>> caches = new ConcurrentHashMap<>();
+
+    /** 创建时@MyCacheable中的ttlMillis和maxSize，配置中去掉覆盖时恢复 */
+    private final ConcurrentMap<String, long[]> declared = new ConcurrentHashMap<>();
+
+    /** 为null时不读取覆盖的配置 */
+    private volatile Properties config;
+
+    /**
+     * 功能描述: 设置配置，之后创建的缓存按cache.*覆盖容量和过期时间
+     * @author ykq
+     * @date 2026/10/18
+     * @param config
+     * @return void
+     */
+    public void setConfig(Properties config) {
+        this.config = config;
+    }
+
+    /**
+     * 功能描述: 配置重新加载后按cache.*重新调整所有缓存。先全部解析，有一个值不合法时什么都不改
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return void
+     */
+    public synchronized void reconfigure() {
+        Map<BoundedCache<Object, Object>, long[]> settings = new HashMap<>();
+        for (BoundedCache<Object, Object> cache : caches.values()) {
+            long[] defaults = declared.get(cache.getName());
+            settings.put(cache, resolve(cache.getName(), defaults[0], (int) defaults[1]));
+        }
+        for (Map.Entry<BoundedCache<Object, Object>, long[]> entry : settings.entrySet()) {
+            entry.getKey().reconfigure(entry.getValue()[0], (int) entry.getValue()[1]);
+        }
+    }
+
+    /**
+     * 功能描述: 注解中的值被配置覆盖后的ttlMillis和maxSize
+     * @author ykq
+     * @date 2026/10/18
+     * @param name 缓存名，配置中的:需要转义，如cache.route\:/demo/query.maxSize
+     * @param ttlMillis
+     * @param maxSize
+     * @return long[]
+     */
+    private long[] resolve(String name, long ttlMillis, int maxSize) {
+        Properties current = config;
+        if (null == current) {
+            return new long[]{ttlMillis, maxSize};
+        }
+        String ttl = current.getProperty("cache." + name + ".ttlMillis");
+        String size = current.getProperty("cache." + name + ".maxSize");
+        return new long[]{null == ttl ? ttlMillis : Long.parseLong(ttl.trim()),
+                null == size ? maxSize : Integer.parseInt(size.trim())};
+    }
+
+    /**
+     * 功能描述: 创建缓存，同名缓存已存在时直接返回已有的
+     * @author ykq
+     * @date 2026/10/18
+     * @param name
+     * @param ttlMillis
+     * @param maxSize
+     * @return com.my.mvcFramework.v1.cache.BoundedCache<java.lang.Object,java.lang.Object>
+     */
+    public BoundedCache<Object, Object> getOrCreate(String name, long ttlMillis, int maxSize) {
+        BoundedCache<Object, Object> cache = caches.get(name);
+        if (null != cache) {
+            return cache;
+        }
+        long[] settings = resolve(name, ttlMillis, maxSize);
+        BoundedCache<Object, Object> created = new BoundedCache<>(name, settings[0], (int) settings[1]);
+        declared.putIfAbsent(name, new long[]{ttlMillis, maxSize});
+        cache = caches.putIfAbsent(name, created);
+        return null == cache ? created : cache;
+    }
+
+    public BoundedCache<Object, Object> getCache(String name) {
+        return caches.get(name);
+    }
+
+    public Collection<BoundedCache<Object, Object>> getCaches() {
+        return caches.values();
+    }
+
+    /**
+     * 功能描述: 失效一个缓存中的所有条目
+     * @author ykq
+     * @date 2026/10/18
+     * @param name 缓存名，Handler的缓存名为route:url模板，如route:/demo/query
+     * @return boolean 缓存是否存在
+     */
+    public boolean invalidate(String name) {
+        BoundedCache<Object, Object> cache = caches.get(name);
+        if (null == cache) {
+            return false;
+        }
+        cache.invalidateAll();
+        return true;
+    }
+
+    /**
+     * 功能描述: 失效一个缓存中的一个条目
+     * @author ykq
+     * @date 2026/10/18
+     * @param name 缓存名
+     * @param keyParts 与方法参数（Handler为绑定的请求参数）顺序一致的值
+     * @return boolean 缓存是否存在
+     */
+    public boolean invalidate(String name, Object... keyParts) {
+        BoundedCache<Object, Object> cache = caches.get(name);
+        if (null == cache) {
+            return false;
+        }
+        cache.invalidate(new CacheKey(keyParts));
+        return true;
+    }
+
+    public void invalidateAll() {
+        for (BoundedCache<Object, Object> cache : caches.values()) {
+            cache.invalidateAll();
+        }
+    }
+
+    public List<String> getCacheNames() {
+        return new ArrayList<>(caches.keySet());
+    }
+}
@@ -0,0 +1,142 @@
+package com.my.mvcFramework.v1.config;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @ClassName ConfigFileWatcher
+ * @Description 用NIO的WatchService监听配置文件所在的目录，配置文件有变化时回调。
+ *              编辑器保存时可能先删除再创建、或连续写几次，最后一次变化之后静默quietMillis才回调
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class ConfigFileWatcher {
+    private final long quietMillis;
+
+    private final Runnable listener;
+
+    private final WatchService watchService;
+
+    /** 注册过的目录和其中要监听的文件名 */
+    private final Map<WatchKey, Set<Path>> watchedFiles = new HashMap<>();
+
+    private final Thread thread;
+
+    /**
+     * 功能描述: 注册配置文件所在的目录，监听线程在start()后运行
+     * @author ykq
+     * @date 2026/10/18
+     * @param files 要监听的配置文件，不存在的文件在创建后也会触发；所在目录不存在的不监听
+     * @param quietMillis 最后一次变化后静默多久再回调
+     * @param listener
+     * @return
+     */
+    public ConfigFileWatcher(List<Path> files, long quietMillis, Runnable listener) throws IOException {
+        this.quietMillis = quietMillis;
+        this.listener = listener;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        Map<Path, WatchKey> keys = new HashMap<>();
+        for (Path file : files) {
+            Path directory = file.toAbsolutePath().getParent();
+            if (null == directory || !Files.isDirectory(directory)) {
+                continue;
+            }
+            WatchKey key = keys.get(directory);
+            if (null == key) {
+                key = directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+                keys.put(directory, key);
+                watchedFiles.put(key, new HashSet<Path>());
+            }
+            watchedFiles.get(key).add(file.getFileName());
+        }
+        this.thread = new Thread(this::run, "mySpring-config-reload");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * 功能描述: 是否有可以监听的文件
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return boolean
+     */
+    public boolean isEmpty() {
+        return watchedFiles.isEmpty();
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * 功能描述: 停止监听，关闭WatchService后监听线程随之退出
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return void
+     */
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    /**
+     * 功能描述: 监听线程：等到第一个相关事件后，持续收集到静默quietMillis为止，再回调一次
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return void
+     */
+    private void run() {
+        try {
+            while (true) {
+                if (!collect(watchService.take())) {
+                    continue;
+                }
+                WatchKey key;
+                while (null != (key = watchService.poll(quietMillis, TimeUnit.MILLISECONDS))) {
+                    collect(key);
+                }
+                listener.run();
+            }
+        } catch (ClosedWatchServiceException e) {
+            // close()
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 功能描述: 取出一个WatchKey上的事件并重新激活
+     * @author ykq
+     * @date 2026/10/18
+     * @param key
+     * @return boolean 事件中是否有要监听的配置文件
+     */
+    private boolean collect(WatchKey key) {
+        Set<Path> names = watchedFiles.get(key);
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            // OVERFLOW时不知道哪个文件变了，按变化处理
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || (null != names && names.contains((Path) event.context()))) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+}
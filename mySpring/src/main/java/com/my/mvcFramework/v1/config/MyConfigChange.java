@@ -0,0 +1,62 @@
+package com.my.mvcFramework.v1.config;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @ClassName MyConfigChange
+ * @Description 一次重新加载中生效值发生变化的配置。被系统属性、环境变量覆盖的key在文件中改动不算变化
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class MyConfigChange {
+    /** 变化前的生效值，新增的key为null */
+    private final Map<String, String> previous;
+
+    /** 变化后的生效值，删除的key为null */
+    private final Map<String, String> current;
+
+    MyConfigChange(Map<String, String> previous, Map<String, String> current) {
+        this.previous = Collections.unmodifiableMap(previous);
+        this.current = Collections.unmodifiableMap(current);
+    }
+
+    public Set<String> getKeys() {
+        return current.keySet();
+    }
+
+    public boolean isEmpty() {
+        return current.isEmpty();
+    }
+
+    public String getPreviousValue(String key) {
+        return previous.get(key);
+    }
+
+    public String getValue(String key) {
+        return current.get(key);
+    }
+
+    /**
+     * 功能描述: 是否有以prefix开头的key发生了变化，如async.
+     * @author ykq
+     * @date 2026/10/18
+     * @param prefix
+     * @return boolean
+     */
+    public boolean hasPrefix(String prefix) {
+        for (String key : current.keySet()) {
+            if (key.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return current.keySet().toString();
+    }
+}
@@ -0,0 +1,22 @@
+package com.my.mvcFramework.v1.config;
+
+/**
+ * @ClassName MyConfigListener
+ * @Description 配置重新加载的回调。实现了该接口的单例bean会自动注册，也可以通过MyEnvironment.addListener()注册
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public interface MyConfigListener {
+
+    /**
+     * 功能描述: 配置文件重新加载后调用，此时environment中已经是新的配置。
+     *          同一次重新加载中所有监听器看到的是同一份配置，重新加载之间串行执行
+     * @author ykq
+     * @date 2026/10/18
+     * @param change 变化的key及新旧值
+     * @param environment
+     * @return void
+     */
+    void onConfigChange(MyConfigChange change, MyEnvironment environment);
+}
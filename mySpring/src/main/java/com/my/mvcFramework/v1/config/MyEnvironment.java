@@ -0,0 +1,243 @@
+package com.my.mvcFramework.v1.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * @ClassName MyEnvironment
+ * @Description 分层的配置，优先级从高到低：系统属性（-Dbatch.threads=32）、环境变量（BATCH_THREADS=32）、
+ *              config.location指定的外部文件、classpath中的配置文件。
+ *              继承Properties，框架中读取配置的代码不需要改动就能拿到覆盖后的值。
+ *              文件中的配置保存在一个不可变的快照里，重新加载时整体替换，读取方不会看到改了一半的配置，
+ *              替换后把生效值变化了的key通知给监听器。容器会把它注册为名为myEnvironment的bean
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class MyEnvironment extends Properties {
+    public static final String BEAN_NAME = "myEnvironment";
+
+    /** 外部配置文件的路径，可以在系统属性、环境变量（CONFIG_LOCATION）或classpath的配置文件中指定 */
+    public static final String CONFIG_LOCATION = "config.location";
+
+    /** classpath中的配置文件 */
+    private final URL classpathResource;
+
+    /** 外部配置文件，没有配置时为null */
+    private final Path externalFile;
+
+    private final Map<String, String> systemEnv;
+
+    /** 文件中的配置，外部文件覆盖classpath中的。只整体替换，不修改 */
+    private volatile Map<String, String> fileValues = Collections.emptyMap();
+
+    private final List<MyConfigListener> listeners = new CopyOnWriteArrayList<>();
+
+    private MyEnvironment(URL classpathResource, Path externalFile, Map<String, String> systemEnv) {
+        this.classpathResource = classpathResource;
+        this.externalFile = externalFile;
+        this.systemEnv = systemEnv;
+    }
+
+    /**
+     * 功能描述: 读取classpath中的配置文件和config.location指定的外部文件
+     * @author ykq
+     * @date 2026/10/18
+     * @param classLoader
+     * @param location 配置文件在classpath中的位置，如application.properties
+     * @return com.my.mvcFramework.v1.config.MyEnvironment
+     */
+    public static MyEnvironment load(ClassLoader classLoader, String location) throws IOException {
+        return load(classLoader, location, System.getenv());
+    }
+
+    /** 环境变量由调用方提供，测试中无法修改进程的环境变量 */
+    static MyEnvironment load(ClassLoader classLoader, String location, Map<String, String> systemEnv) throws IOException {
+        URL resource = classLoader.getResource(location);
+        if (null == resource) {
+            throw new IOException("Config file not found in classpath: " + location);
+        }
+        Map<String, String> classpathValues = read(resource);
+        // 外部文件的位置本身也按系统属性、环境变量、classpath配置的顺序查找
+        String external = System.getProperty(CONFIG_LOCATION);
+        if (null == external) {
+            external = systemEnv.get(toEnvName(CONFIG_LOCATION));
+        }
+        if (null == external) {
+            external = classpathValues.get(CONFIG_LOCATION);
+        }
+        Path externalFile = null == external || "".equals(external.trim()) ? null : Paths.get(external.trim()).toAbsolutePath();
+        MyEnvironment environment = new MyEnvironment(resource, externalFile, systemEnv);
+        environment.apply(environment.readFiles());
+        return environment;
+    }
+
+    private static Map<String, String> read(URL resource) throws IOException {
+        try (InputStream is = resource.openStream()) {
+            return read(is);
+        }
+    }
+
+    private static Map<String, String> read(InputStream is) throws IOException {
+        Properties properties = new Properties();
+        properties.load(is);
+        Map<String, String> values = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            values.put(name, properties.getProperty(name));
+        }
+        return values;
+    }
+
+    /**
+     * 功能描述: 读取两个配置文件并合并。外部文件不存在时只用classpath中的配置
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return java.util.Map<java.lang.String,java.lang.String>
+     */
+    private Map<String, String> readFiles() throws IOException {
+        Map<String, String> values = read(classpathResource);
+        if (null != externalFile && Files.isRegularFile(externalFile)) {
+            try (InputStream is = Files.newInputStream(externalFile)) {
+                values.putAll(read(is));
+            }
+        }
+        return values;
+    }
+
+    /** 替换快照，父类中的内容保持一致，供遍历key等用途 */
+    private synchronized void apply(Map<String, String> values) {
+        fileValues = Collections.unmodifiableMap(values);
+        super.clear();
+        super.putAll(values);
+    }
+
+    /**
+     * 功能描述: 环境变量名：非字母数字的字符换成_，再转大写，如batch.threads对应BATCH_THREADS
+     * @author ykq
+     * @date 2026/10/18
+     * @param key
+     * @return java.lang.String
+     */
+    static String toEnvName(String key) {
+        char[] chars = key.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            char c = chars[i];
+            chars[i] = Character.isLetterOrDigit(c) ? Character.toUpperCase(c) : '_';
+        }
+        return new String(chars);
+    }
+
+    @Override
+    public String getProperty(String key) {
+        String value = overrideOf(key);
+        return null != value ? value : fileValues.get(key);
+    }
+
+    @Override
+    public String getProperty(String key, String defaultValue) {
+        String value = getProperty(key);
+        return null == value ? defaultValue : value;
+    }
+
+    /** 系统属性或环境变量中的值，没有覆盖时为null */
+    private String overrideOf(String key) {
+        String value = System.getProperty(key);
+        return null != value ? value : systemEnv.get(toEnvName(key));
+    }
+
+    /**
+     * 功能描述: 可以监听变化的配置文件：外部文件，以及在文件系统中（而不是jar中）的classpath配置文件
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return java.util.List<java.nio.file.Path>
+     */
+    public List<Path> getWatchableFiles() {
+        List<Path> files = new ArrayList<>();
+        if ("file".equals(classpathResource.getProtocol())) {
+            try {
+                files.add(Paths.get(classpathResource.toURI()));
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                // 无法转成路径时不监听
+            }
+        }
+        if (null != externalFile) {
+            files.add(externalFile);
+        }
+        return files;
+    }
+
+    public void addListener(MyConfigListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(MyConfigListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * 功能描述: 重新读取配置文件。生效值有变化时先整体替换快照，再依次通知监听器；一个监听器失败不影响其他监听器，
+     *          所有监听器通知完后抛出第一个失败，其余的附在suppressed中。多次重新加载串行执行
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return com.my.mvcFramework.v1.config.MyConfigChange 生效值的变化，没有变化时为空
+     */
+    public synchronized MyConfigChange reload() throws IOException {
+        Map<String, String> values = readFiles();
+        Map<String, String> before = fileValues;
+        Map<String, String> previous = new HashMap<>();
+        Map<String, String> current = new HashMap<>();
+        Set<String> keys = new HashSet<>(before.keySet());
+        keys.addAll(values.keySet());
+        for (String key : keys) {
+            String oldValue = before.get(key);
+            String newValue = values.get(key);
+            if (null == oldValue ? null == newValue : oldValue.equals(newValue)) {
+                continue;
+            }
+            // 被系统属性或环境变量覆盖的key，文件中的改动不影响生效值
+            if (null != overrideOf(key)) {
+                continue;
+            }
+            previous.put(key, oldValue);
+            current.put(key, newValue);
+        }
+        MyConfigChange change = new MyConfigChange(previous, current);
+        apply(values);
+        if (change.isEmpty()) {
+            return change;
+        }
+        RuntimeException failure = null;
+        for (MyConfigListener listener : listeners) {
+            try {
+                listener.onConfigChange(change, this);
+            } catch (RuntimeException e) {
+                if (null == failure) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (null != failure) {
+            throw failure;
+        }
+        return change;
+    }
+}
@@ -0,0 +1,226 @@
+package com.my.mvcFramework.v1.config;
+
+import com.my.mvcFramework.annotation.MyAutowired;
+import com.my.mvcFramework.annotation.MyConfigurationProperties;
+import com.my.mvcFramework.annotation.MyValue;
+import com.my.mvcFramework.v1.context.BeanDefinition;
+import com.my.mvcFramework.v1.context.BeanPostProcessor;
+import com.my.mvcFramework.v1.handler.ArgumentConverter;
+import com.my.mvcFramework.v1.handler.ArgumentConverters;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * @ClassName ValueBindingBeanPostProcessor
+ * @Description 为@MyValue和@MyConfigurationProperties的属性赋值。每个类的绑定计划只解析一次。
+ *              单例bean记录下来，配置重新加载后更新key有变化的属性：同一个bean的新值全部转换成功后才赋值，
+ *              有一个转换失败时这个bean保持原值；之后再通知实现了MyConfigListener的bean
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class ValueBindingBeanPostProcessor implements BeanPostProcessor, MyConfigListener {
+    private final MyEnvironment environment;
+
+    private final ConcurrentMap<Class<?>, Binding[]> plans = new ConcurrentHashMap<>();
+
+    /** 有绑定的单例。持有原始实例的是容器中的bean或代理，热加载替换掉的Controller可以被回收 */
+    private final List<BoundBean> singletons = new CopyOnWriteArrayList<>();
+
+    public ValueBindingBeanPostProcessor(MyEnvironment environment) {
+        this.environment = environment;
+        environment.addListener(this);
+    }
+
+    @Override
+    public Object postProcess(BeanDefinition definition, Object bean) {
+        Binding[] bindings = plans.computeIfAbsent(definition.getBeanClass(), ValueBindingBeanPostProcessor::resolve);
+        if (bindings.length > 0) {
+            assign(bean, bindings, resolveValues(bindings, null));
+            if (definition.isSingleton()) {
+                singletons.add(new BoundBean(bean, bindings));
+            }
+        }
+        // 在本处理器之后注册，重新加载时属性已经是新值
+        if (bean instanceof MyConfigListener && definition.isSingleton()) {
+            environment.addListener((MyConfigListener) bean);
+        }
+        return bean;
+    }
+
+    @Override
+    public void onConfigChange(MyConfigChange change, MyEnvironment environment) {
+        RuntimeException failure = null;
+        for (BoundBean bound : singletons) {
+            Object bean = bound.bean.get();
+            if (null == bean) {
+                singletons.remove(bound);
+                continue;
+            }
+            try {
+                Object[] values = resolveValues(bound.bindings, change);
+                assign(bean, bound.bindings, values);
+            } catch (RuntimeException e) {
+                if (null == failure) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (null != failure) {
+            throw failure;
+        }
+    }
+
+    /**
+     * 功能描述: 解析一个类（含父类）中的绑定：@MyValue的属性，以及@MyConfigurationProperties类中支持类型的属性
+     * @author ykq
+     * @date 2026/10/18
+     * @param beanClass
+     * @return com.my.mvcFramework.v1.config.ValueBindingBeanPostProcessor.Binding[]
+     */
+    private static Binding[] resolve(Class<?> beanClass) {
+        List<Binding> bindings = new ArrayList<>();
+        MyConfigurationProperties properties = beanClass.getAnnotation(MyConfigurationProperties.class);
+        for (Class<?> c = beanClass; null != c && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) {
+                    continue;
+                }
+                ArgumentConverter converter = ArgumentConverters.forType(field.getType());
+                String description = c.getName() + "." + field.getName();
+                if (field.isAnnotationPresent(MyValue.class)) {
+                    if (null == converter) {
+                        throw new IllegalStateException("Unsupported @MyValue type " + field.getType().getName() + " of " + description);
+                    }
+                    field.setAccessible(true);
+                    bindings.add(Binding.parse(field, converter, field.getAnnotation(MyValue.class).value(), description));
+                } else if (null != properties && null != converter && !field.isAnnotationPresent(MyAutowired.class)) {
+                    // 前缀绑定的属性，配置中没有时保留初始值
+                    field.setAccessible(true);
+                    bindings.add(new Binding(field, converter, properties.value().trim() + "." + field.getName(), null, true, description));
+                }
+            }
+        }
+        return bindings.toArray(new Binding[bindings.size()]);
+    }
+
+    /**
+     * 功能描述: 先把要赋值的属性全部转换好
+     * @author ykq
+     * @date 2026/10/18
+     * @param bindings
+     * @param change 为null时解析所有绑定，否则只解析key有变化的
+     * @return java.lang.Object[] 与bindings一一对应，不需要赋值的位置为bindings本身（作为标记）
+     */
+    private Object[] resolveValues(Binding[] bindings, MyConfigChange change) {
+        Object[] values = new Object[bindings.length];
+        for (int i = 0; i < bindings.length; i++) {
+            Binding binding = bindings[i];
+            if (null != change && (null == binding.key || !change.getKeys().contains(binding.key))) {
+                values[i] = bindings;
+                continue;
+            }
+            String raw = null == binding.key ? binding.defaultValue : environment.getProperty(binding.key, binding.defaultValue);
+            if (null == raw) {
+                if (binding.optional) {
+                    values[i] = bindings;
+                    continue;
+                }
+                throw new IllegalStateException("Missing config " + binding.key + " for " + binding.description);
+            }
+            try {
+                values[i] = binding.converter.convert(binding.field.getType() == String[].class
+                        ? raw.trim().split("\\s*,\\s*") : new String[]{raw});
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("Bad config " + binding.key + "=" + raw + " for " + binding.description, e);
+            }
+        }
+        return values;
+    }
+
+    private static void assign(Object bean, Binding[] bindings, Object[] values) {
+        for (int i = 0; i < bindings.length; i++) {
+            if (values[i] == bindings) {
+                continue;
+            }
+            try {
+                bindings[i].field.set(bean, values[i]);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot set " + bindings[i].description, e);
+            }
+        }
+    }
+
+    /**
+     * 一个被绑定的属性
+     */
+    private static final class Binding {
+        private final Field field;
+
+        private final ArgumentConverter converter;
+
+        /** 配置的key，字面值时为null */
+        private final String key;
+
+        /** 缺省值或字面值，没有缺省值时为null */
+        private final String defaultValue;
+
+        /** 配置中没有时是否保留初始值 */
+        private final boolean optional;
+
+        private final String description;
+
+        Binding(Field field, ArgumentConverter converter, String key, String defaultValue, boolean optional, String description) {
+            this.field = field;
+            this.converter = converter;
+            this.key = key;
+            this.defaultValue = defaultValue;
+            this.optional = optional;
+            this.description = description;
+        }
+
+        /**
+         * 功能描述: 解析${key:default}，不以${开头时为字面值
+         * @author ykq
+         * @date 2026/10/18
+         * @param field
+         * @param converter
+         * @param expression
+         * @param description
+         * @return com.my.mvcFramework.v1.config.ValueBindingBeanPostProcessor.Binding
+         */
+        static Binding parse(Field field, ArgumentConverter converter, String expression, String description) {
+            String value = expression.trim();
+            if (!value.startsWith("${") || !value.endsWith("}")) {
+                return new Binding(field, converter, null, expression, false, description);
+            }
+            String body = value.substring(2, value.length() - 1);
+            int colon = body.indexOf(':');
+            String key = (colon < 0 ? body : body.substring(0, colon)).trim();
+            if ("".equals(key)) {
+                throw new IllegalStateException("Empty config key in @MyValue(\"" + expression + "\") of " + description);
+            }
+            return new Binding(field, converter, key, colon < 0 ? null : body.substring(colon + 1), false, description);
+        }
+    }
+
+    private static final class BoundBean {
+        private final WeakReference<Object> bean;
+
+        private final Binding[] bindings;
+
+        BoundBean(Object bean, Binding[] bindings) {
+            this.bean = new WeakReference<>(bean);
+            this.bindings = bindings;
+        }
+    }
+}
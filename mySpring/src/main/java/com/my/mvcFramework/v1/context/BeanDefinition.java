@@ -0,0 +1,283 @@
+package com.my.mvcFramework.v1.context;
+
+import com.my.mvcFramework.annotation.MyAutowired;
+import com.my.mvcFramework.annotation.MyScope;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @ClassName BeanDefinition
+ * @Description bean的定义：类、作用域、是否延迟创建，以及构造器和属性上的注入点。
+ *              注入点在注册时解析一次，之后建依赖图、创建实例都直接使用。单例的实例也挂在定义上，延迟单例的创建只锁自己这一个定义。
+ *              编译期生成的定义直接给出注入点和BeanInstantiator，不再反射解析构造器和属性
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class BeanDefinition {
+    private final String beanName;
+
+    private final Class<?> beanClass;
+
+    private final String scope;
+
+    private final boolean lazy;
+
+    /** 被@MyAutowired修饰的构造器，没有则为无参构造器。织入切面后换成代理子类中参数相同的构造器；生成的定义用到时才反射获取 */
+    private volatile Constructor<?> constructor;
+
+    /** 编译期生成的实例化代码，没有或织入切面后为null，改用constructor */
+    private volatile BeanInstantiator instantiator;
+
+    private final InjectionPoint[] constructorArguments;
+
+    private final InjectionPoint[] fieldInjections;
+
+    /** 单例实例。volatile保证延迟创建后其他线程无锁可见 */
+    private volatile Object singleton;
+
+    /** 实际创建过的实例数，用于观察哪些bean真正被用到了 */
+    private final AtomicLong instantiations = new AtomicLong();
+
+    public BeanDefinition(String beanName, Class<?> beanClass, String scope, boolean lazy) {
+        this.beanName = beanName;
+        this.beanClass = beanClass;
+        this.scope = scope;
+        this.lazy = lazy;
+        this.constructor = resolveConstructor(beanClass);
+        this.constructorArguments = resolveConstructorArguments(constructor);
+        this.fieldInjections = resolveFieldInjections(beanClass);
+    }
+
+    /**
+     * 功能描述: 编译期生成的定义：注入点已经在编译期解析好，实例由instantiator直接创建
+     * @author ykq
+     * @date 2026/10/18
+     * @param beanName
+     * @param beanClass
+     * @param scope
+     * @param lazy
+     * @param instantiator
+     * @param constructorArguments 构造器形参的注入点，无参构造器为空数组
+     * @param fieldInjections 被@MyAutowired修饰的属性的注入点
+     * @return
+     */
+    public BeanDefinition(String beanName, Class<?> beanClass, String scope, boolean lazy, BeanInstantiator instantiator,
+                          InjectionPoint[] constructorArguments, InjectionPoint[] fieldInjections) {
+        this.beanName = beanName;
+        this.beanClass = beanClass;
+        this.scope = scope;
+        this.lazy = lazy;
+        this.instantiator = instantiator;
+        this.constructorArguments = constructorArguments;
+        this.fieldInjections = fieldInjections;
+    }
+
+    /**
+     * 功能描述: 选择构造器：唯一一个被@MyAutowired修饰的构造器，否则使用无参构造器
+     * @author ykq
+     * @date 2026/10/18
+     * @param beanClass
+     * @return java.lang.reflect.Constructor<?>
+     */
+    private static Constructor<?> resolveConstructor(Class<?> beanClass) {
+        Constructor<?> autowired = null;
+        for (Constructor<?> candidate : beanClass.getDeclaredConstructors()) {
+            if (!candidate.isAnnotationPresent(MyAutowired.class)) {
+                continue;
+            }
+            if (null != autowired) {
+                throw new IllegalStateException("Only one constructor of " + beanClass.getName() + " can be @MyAutowired");
+            }
+            autowired = candidate;
+        }
+        try {
+            Constructor<?> constructor = null != autowired ? autowired : beanClass.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(beanClass.getName() + " needs a no-arg or @MyAutowired constructor", e);
+        }
+    }
+
+    private static InjectionPoint[] resolveConstructorArguments(Constructor<?> constructor) {
+        Class<?>[] types = constructor.getParameterTypes();
+        Annotation[][] annotations = constructor.getParameterAnnotations();
+        InjectionPoint[] points = new InjectionPoint[types.length];
+        for (int i = 0; i < types.length; i++) {
+            String beanName = "";
+            for (Annotation annotation : annotations[i]) {
+                if (annotation instanceof MyAutowired) {
+                    beanName = ((MyAutowired) annotation).value().trim();
+                }
+            }
+            if ("".equals(beanName)) {
+                beanName = types[i].getName();
+            }
+            points[i] = new InjectionPoint(beanName, types[i], null,
+                    constructor.getDeclaringClass().getName() + ".<init> argument " + i);
+        }
+        return points;
+    }
+
+    private static InjectionPoint[] resolveFieldInjections(Class<?> beanClass) {
+        List<InjectionPoint> points = new ArrayList<>();
+        // 获取实例中所有被public、protected、private修饰的属性。注意getDeclaredFields与getDeclaredField的不同
+        // getDeclaredFields忽略字段的修饰符
+        for (Field field : beanClass.getDeclaredFields()) {
+            if (!field.isAnnotationPresent(MyAutowired.class)) {
+                continue;
+            }
+            // 如果没有自定义beanName，则默认根据类名称注入
+            String beanName = field.getAnnotation(MyAutowired.class).value().trim();
+            if ("".equals(beanName)) {
+                beanName = field.getType().getName();
+            }
+            // 如果不是public，但被@MyAutowired注解的属性，则强制赋值
+            field.setAccessible(true);
+            points.add(new InjectionPoint(beanName, field.getType(), field, beanClass.getName() + "." + field.getName()));
+        }
+        return points.toArray(new InjectionPoint[points.size()]);
+    }
+
+    public String getBeanName() {
+        return beanName;
+    }
+
+    public Class<?> getBeanClass() {
+        return beanClass;
+    }
+
+    public String getScope() {
+        return scope;
+    }
+
+    public boolean isSingleton() {
+        return MyScope.SINGLETON.equals(scope);
+    }
+
+    public boolean isPrototype() {
+        return MyScope.PROTOTYPE.equals(scope);
+    }
+
+    public boolean isRequestScoped() {
+        return MyScope.REQUEST.equals(scope);
+    }
+
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    /**
+     * 功能描述: 启动时就要创建的bean：非延迟的单例
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return boolean
+     */
+    public boolean isEager() {
+        return isSingleton() && !lazy;
+    }
+
+    /**
+     * 功能描述: 实例化使用的构造器。生成的定义在第一次用到时（如织入切面）按构造器注入点的类型反射获取
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return java.lang.reflect.Constructor<?>
+     */
+    public Constructor<?> getConstructor() {
+        Constructor<?> current = constructor;
+        if (null != current) {
+            return current;
+        }
+        // 并发时可能重复获取，结果相同，不需要加锁
+        try {
+            current = beanClass.getDeclaredConstructor(constructorParameterTypes());
+            current.setAccessible(true);
+            constructor = current;
+            return current;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(beanClass.getName() + " has no constructor matching " + beanName, e);
+        }
+    }
+
+    private Class<?>[] constructorParameterTypes() {
+        Class<?>[] types = new Class<?>[constructorArguments.length];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = constructorArguments[i].getType();
+        }
+        return types;
+    }
+
+    /**
+     * 功能描述: 改用子类实例化，如AOP生成的代理子类。注入点仍按原始类解析，子类需要有参数相同的构造器；需在创建实例之前调用
+     * @author ykq
+     * @date 2026/10/18
+     * @param subclass
+     * @return void
+     */
+    public void useSubclass(Class<?> subclass) {
+        if (!beanClass.isAssignableFrom(subclass)) {
+            throw new IllegalArgumentException(subclass.getName() + " is not a subclass of " + beanClass.getName());
+        }
+        try {
+            Constructor<?> subclassConstructor = subclass.getDeclaredConstructor(constructorParameterTypes());
+            subclassConstructor.setAccessible(true);
+            this.constructor = subclassConstructor;
+            // 生成的代码只会new原始类
+            this.instantiator = null;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(subclass.getName() + " has no constructor matching " + beanName, e);
+        }
+    }
+
+    /**
+     * 功能描述: 创建实例，有生成的实例化代码时直接调用，否则反射调用构造器。构造器抛出的异常统一包装成InvocationTargetException
+     * @author ykq
+     * @date 2026/10/18
+     * @param args 按构造器形参顺序解析好的依赖
+     * @return java.lang.Object
+     */
+    Object newInstance(Object[] args) throws ReflectiveOperationException {
+        BeanInstantiator current = instantiator;
+        if (null == current) {
+            return getConstructor().newInstance(args);
+        }
+        try {
+            return current.instantiate(args);
+        } catch (Exception e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    public InjectionPoint[] getConstructorArguments() {
+        return constructorArguments;
+    }
+
+    public InjectionPoint[] getFieldInjections() {
+        return fieldInjections;
+    }
+
+    Object getSingleton() {
+        return singleton;
+    }
+
+    void setSingleton(Object singleton) {
+        this.singleton = singleton;
+    }
+
+    void markInstantiated() {
+        instantiations.incrementAndGet();
+    }
+
+    public long getInstantiations() {
+        return instantiations.get();
+    }
+}
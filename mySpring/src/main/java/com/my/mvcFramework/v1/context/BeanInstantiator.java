@@ -0,0 +1,20 @@
+package com.my.mvcFramework.v1.context;
+
+/**
+ * @ClassName BeanInstantiator
+ * @Description 不经过反射创建bean实例，由编译期生成的代码直接new。没有时容器使用反射得到的构造器
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public interface BeanInstantiator {
+
+    /**
+     * 功能描述: 创建实例
+     * @author ykq
+     * @date 2026/10/18
+     * @param args 按构造器形参顺序解析好的依赖
+     * @return java.lang.Object
+     */
+    Object instantiate(Object[] args) throws Exception;
+}
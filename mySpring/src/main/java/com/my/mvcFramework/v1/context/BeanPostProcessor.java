@@ -0,0 +1,21 @@
+package com.my.mvcFramework.v1.context;
+
+/**
+ * @ClassName BeanPostProcessor
+ * @Description bean创建并注入完成后的扩展点，可以返回包装后的对象（如代理）替代原始实例
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public interface BeanPostProcessor {
+
+    /**
+     * 功能描述: 处理刚创建好的bean
+     * @author ykq
+     * @date 2026/10/18
+     * @param definition
+     * @param bean 已完成注入的实例
+     * @return java.lang.Object 放入容器、注入给其他bean的对象
+     */
+    Object postProcess(BeanDefinition definition, Object bean);
+}
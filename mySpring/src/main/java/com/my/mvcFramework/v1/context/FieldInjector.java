@@ -0,0 +1,22 @@
+package com.my.mvcFramework.v1.context;
+
+/**
+ * @ClassName FieldInjector
+ * @Description 不经过反射给被@MyAutowired修饰的属性赋值，由编译期生成的代码直接赋值。一个bean的所有属性共用一个，按slot区分
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public interface FieldInjector {
+
+    /**
+     * 功能描述: 给属性赋值
+     * @author ykq
+     * @date 2026/10/18
+     * @param bean
+     * @param slot 注入点在生成代码中的编号
+     * @param value 解析好的依赖
+     * @return void
+     */
+    void inject(Object bean, int slot, Object value);
+}
@@ -0,0 +1,81 @@
+package com.my.mvcFramework.v1.context;
+
+import java.lang.reflect.Field;
+
+/**
+ * @ClassName InjectionPoint
+ * @Description 一个注入点：被@MyAutowired修饰的属性，或构造器注入的一个参数。
+ *              属性可以通过反射赋值，也可以交给编译期生成的FieldInjector直接赋值
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class InjectionPoint {
+    /** 依赖的beanName，没有自定义时为类型的全类名 */
+    private final String beanName;
+
+    private final Class<?> type;
+
+    /** 通过反射注入的属性，构造器参数和由injector赋值的属性为null */
+    private final Field field;
+
+    /** 编译期生成的赋值代码，没有时为null */
+    private final FieldInjector injector;
+
+    private final int slot;
+
+    /** 出错时提示用，如com.my.demo.action.DemoAction.demoService */
+    private final String description;
+
+    public InjectionPoint(String beanName, Class<?> type, Field field, String description) {
+        this.beanName = beanName;
+        this.type = type;
+        this.field = field;
+        this.injector = null;
+        this.slot = -1;
+        this.description = description;
+    }
+
+    public InjectionPoint(String beanName, Class<?> type, FieldInjector injector, int slot, String description) {
+        this.beanName = beanName;
+        this.type = type;
+        this.field = null;
+        this.injector = injector;
+        this.slot = slot;
+        this.description = description;
+    }
+
+    public String getBeanName() {
+        return beanName;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * 功能描述: 给bean的这个属性赋值，有生成的赋值代码时直接赋值，否则使用反射
+     * @author ykq
+     * @date 2026/10/18
+     * @param bean
+     * @param value
+     * @return void
+     */
+    public void inject(Object bean, Object value) throws IllegalAccessException {
+        if (null != injector) {
+            injector.inject(bean, slot, value);
+        } else {
+            // 使用反射给属性赋值，set(要被修改的对象，修改后的新实例)
+            field.set(bean, value);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+}
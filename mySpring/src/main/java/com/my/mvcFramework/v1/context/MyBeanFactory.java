@@ -0,0 +1,492 @@
+package com.my.mvcFramework.v1.context;
+
+import com.my.mvcFramework.annotation.MyScope;
+
+import javax.servlet.http.HttpServletRequest;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * @ClassName MyBeanFactory
+ * @Description IoC容器。保存bean定义，按作用域创建实例：
+ *              非延迟的单例在启动时按依赖图的拓扑顺序创建，同一层互不依赖的bean在ForkJoinPool中并行创建；
+ *              延迟单例在第一次使用时创建，只锁它自己的定义，创建后的读取无锁；
+ *              prototype每个注入点新建；request作用域的实例保存在当前请求的attribute中。
+ *              依赖缺失和循环依赖在启动时直接报错。
+ *              启动时单线程注册定义，初始化完成后freeze()：映射和列表换成只读的副本，通过volatile字段安全发布，之后不能再注册；
+ *              运行期间热加载替换定义时先复制再整体替换，正在创建bean的请求线程不会看到改了一半的映射
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class MyBeanFactory {
+    private static final String REQUEST_ATTRIBUTE_PREFIX = MyBeanFactory.class.getName() + ".";
+
+    /** beanName和接口全类名（别名）到bean定义的映射 */
+    private volatile Map<String, BeanDefinition> beanDefinitions = new HashMap<>();
+
+    /** 去重后的bean定义，按注册顺序 */
+    private volatile List<BeanDefinition> definitions = new ArrayList<>();
+
+    private volatile List<BeanPostProcessor> beanPostProcessors = new ArrayList<>();
+
+    /** freeze()之后为true，注册类方法直接报错 */
+    private volatile boolean frozen;
+
+    /**
+     * 功能描述: 注册bean定义，beanName重复时报错
+     * @author ykq
+     * @date 2026/10/18
+     * @param definition
+     * @return void
+     */
+    public void registerBeanDefinition(BeanDefinition definition) {
+        registerAlias(definition.getBeanName(), definition);
+        definitions.add(definition);
+    }
+
+    /**
+     * 功能描述: 为bean定义注册别名，如接口的全类名
+     * @author ykq
+     * @date 2026/10/18
+     * @param alias
+     * @param definition
+     * @return void
+     */
+    public void registerAlias(String alias, BeanDefinition definition) {
+        checkNotFrozen(alias);
+        if (beanDefinitions.containsKey(alias)) {
+            throw new IllegalStateException("The " + alias + " is exited!Please use alias!");
+        }
+        beanDefinitions.put(alias, definition);
+    }
+
+    /**
+     * 功能描述: 运行期间批量替换bean定义，如热加载后的Controller：先移除旧定义及其所有别名，再注册新定义。
+     *          映射和列表都是复制后修改、最后整体替换，名字冲突时直接报错，容器保持原样；读取的线程不加锁
+     * @author ykq
+     * @date 2026/10/18
+     * @param removed 要移除的定义
+     * @param added 要注册的定义，只注册beanName
+     * @return void
+     */
+    public synchronized void replaceBeanDefinitions(Collection<BeanDefinition> removed, Collection<BeanDefinition> added) {
+        Map<String, BeanDefinition> newBeanDefinitions = new HashMap<>(beanDefinitions);
+        newBeanDefinitions.values().removeIf(removed::contains);
+        List<BeanDefinition> newDefinitions = new ArrayList<>(definitions);
+        newDefinitions.removeAll(removed);
+        for (BeanDefinition definition : added) {
+            if (null != newBeanDefinitions.putIfAbsent(definition.getBeanName(), definition)) {
+                throw new IllegalStateException("The " + definition.getBeanName() + " is exited!Please use alias!");
+            }
+            newDefinitions.add(definition);
+        }
+        this.beanDefinitions = Collections.unmodifiableMap(newBeanDefinitions);
+        this.definitions = Collections.unmodifiableList(newDefinitions);
+    }
+
+    /**
+     * 功能描述: 初始化完成后冻结容器：bean定义的映射、列表和BeanPostProcessor换成只读的副本并通过volatile字段发布，
+     *          请求线程（创建prototype、request作用域的bean时）无锁读取。冻结后registerXxx和addBeanPostProcessor直接报错，
+     *          只能通过replaceBeanDefinitions()整体替换。重复调用无副作用
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return void
+     */
+    public synchronized void freeze() {
+        if (frozen) {
+            return;
+        }
+        beanDefinitions = Collections.unmodifiableMap(new HashMap<>(beanDefinitions));
+        definitions = Collections.unmodifiableList(new ArrayList<>(definitions));
+        beanPostProcessors = Collections.unmodifiableList(new ArrayList<>(beanPostProcessors));
+        frozen = true;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    private void checkNotFrozen(String name) {
+        if (frozen) {
+            throw new IllegalStateException("Bean factory is frozen, cannot register " + name);
+        }
+    }
+
+    /**
+     * 功能描述: 注册一个已经创建好的单例，如框架自身提供给业务代码使用的对象。按beanName和类的全类名都可以注入。
+     *          实例不由容器创建和注入，不要求无参构造器
+     * @author ykq
+     * @date 2026/10/18
+     * @param beanName
+     * @param singleton
+     * @return void
+     */
+    public void registerSingleton(String beanName, Object singleton) {
+        BeanDefinition definition = new BeanDefinition(beanName, singleton.getClass(), MyScope.SINGLETON, false, null,
+                new InjectionPoint[0], new InjectionPoint[0]);
+        definition.setSingleton(singleton);
+        registerBeanDefinition(definition);
+        registerAlias(singleton.getClass().getName(), definition);
+    }
+
+    /**
+     * 功能描述: 注册BeanPostProcessor，需在创建bean之前注册
+     * @author ykq
+     * @date 2026/10/18
+     * @param processor
+     * @return void
+     */
+    public void addBeanPostProcessor(BeanPostProcessor processor) {
+        checkNotFrozen(processor.getClass().getName());
+        beanPostProcessors.add(processor);
+    }
+
+    /**
+     * 功能描述: 根据注入点建立依赖图并拓扑排序。A依赖B时B排在A前面，按层返回，同一层的bean互不依赖。
+     *          注入点找不到bean、或存在循环依赖时直接抛出异常。通过接口注入延迟单例/request作用域bean时注入的是代理，
+     *          不需要先创建，这类依赖不参与排序
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return java.util.List<java.util.List<com.my.mvcFramework.v1.context.BeanDefinition>>
+     */
+    public List<List<BeanDefinition>> resolveDependencyOrder() {
+        // 入度和反向边：dependents.get(B)是所有依赖B的bean
+        Map<BeanDefinition, Integer> inDegree = new IdentityHashMap<>();
+        Map<BeanDefinition, List<BeanDefinition>> dependents = new IdentityHashMap<>();
+        for (BeanDefinition definition : definitions) {
+            inDegree.put(definition, 0);
+            dependents.put(definition, new ArrayList<BeanDefinition>());
+        }
+        List<String> missing = new ArrayList<>();
+        for (BeanDefinition definition : definitions) {
+            for (BeanDefinition dependency : dependenciesOf(definition, missing)) {
+                inDegree.put(definition, inDegree.get(definition) + 1);
+                dependents.get(dependency).add(definition);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Unsatisfied dependencies: " + missing);
+        }
+
+        // Kahn算法，每一轮入度为0的bean为一层
+        List<List<BeanDefinition>> levels = new ArrayList<>();
+        List<BeanDefinition> current = new ArrayList<>();
+        for (BeanDefinition definition : definitions) {
+            if (inDegree.get(definition) == 0) {
+                current.add(definition);
+            }
+        }
+        int sorted = 0;
+        while (!current.isEmpty()) {
+            levels.add(current);
+            sorted += current.size();
+            List<BeanDefinition> next = new ArrayList<>();
+            for (BeanDefinition definition : current) {
+                for (BeanDefinition dependent : dependents.get(definition)) {
+                    int degree = inDegree.get(dependent) - 1;
+                    inDegree.put(dependent, degree);
+                    if (degree == 0) {
+                        next.add(dependent);
+                    }
+                }
+            }
+            current = next;
+        }
+        if (sorted < definitions.size()) {
+            throw new IllegalStateException("Circular dependency: " + findCycle(inDegree));
+        }
+        return levels;
+    }
+
+    /**
+     * 功能描述: 按拓扑顺序逐层创建非延迟单例，构造器注入和属性注入在创建时一并完成。
+     *          同一层的bean互不依赖，交给ForkJoinPool并行创建；只有一个bean的层直接在当前线程创建。
+     *          ForkJoinPool的工作线程默认以系统类加载器为上下文类加载器，这里换成当前线程（容器中是webapp）的，
+     *          并行和串行创建的bean看到的是同一个
+     * @author ykq
+     * @date 2026/10/18
+     * @param levels resolveDependencyOrder()的结果
+     * @param parallelism 并行度，小于等于1时串行创建
+     * @return void
+     */
+    public void instantiateSingletons(List<List<BeanDefinition>> levels, int parallelism) {
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        ForkJoinPool pool = parallelism <= 1 ? null : new ForkJoinPool(parallelism, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setContextClassLoader(contextClassLoader);
+            return thread;
+        }, null, false);
+        try {
+            for (List<BeanDefinition> level : levels) {
+                List<ForkJoinTask<?>> tasks = new ArrayList<>();
+                for (final BeanDefinition definition : level) {
+                    if (!definition.isEager()) {
+                        continue;
+                    }
+                    if (null == pool) {
+                        getBean(definition);
+                    } else {
+                        tasks.add(pool.submit(() -> getBean(definition)));
+                    }
+                }
+                // 等这一层全部完成再进入下一层，join同时保证了这一层的实例对下一层可见
+                for (ForkJoinTask<?> task : tasks) {
+                    task.get();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while creating singletons", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause()
+                    : new IllegalStateException(e.getCause());
+        } finally {
+            if (null != pool) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * 功能描述: 按beanName或别名获取bean
+     * @author ykq
+     * @date 2026/10/18
+     * @param beanName
+     * @return java.lang.Object
+     */
+    public Object getBean(String beanName) {
+        BeanDefinition definition = beanDefinitions.get(beanName);
+        if (null == definition) {
+            throw new IllegalStateException("No bean named " + beanName);
+        }
+        return getBean(definition);
+    }
+
+    /**
+     * 功能描述: 按作用域获取bean。单例使用双重检查，锁粒度是单个bean定义，创建完成后只有一次volatile读
+     * @author ykq
+     * @date 2026/10/18
+     * @param definition
+     * @return java.lang.Object
+     */
+    public Object getBean(BeanDefinition definition) {
+        try {
+            if (definition.isPrototype()) {
+                return createBean(definition);
+            }
+            if (definition.isRequestScoped()) {
+                HttpServletRequest request = RequestContextHolder.get();
+                if (null == request) {
+                    throw new IllegalStateException("No request bound to current thread for request scoped bean "
+                            + definition.getBeanName());
+                }
+                String attribute = REQUEST_ATTRIBUTE_PREFIX + definition.getBeanName();
+                Object bean = request.getAttribute(attribute);
+                if (null == bean) {
+                    bean = createBean(definition);
+                    request.setAttribute(attribute, bean);
+                }
+                return bean;
+            }
+            Object singleton = definition.getSingleton();
+            if (null != singleton) {
+                return singleton;
+            }
+            synchronized (definition) {
+                singleton = definition.getSingleton();
+                if (null == singleton) {
+                    singleton = createBean(definition);
+                    definition.setSingleton(singleton);
+                }
+                return singleton;
+            }
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("Cannot create bean " + definition.getBeanName(), e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create bean " + definition.getBeanName(), e);
+        }
+    }
+
+    /**
+     * 功能描述: 已经创建的单例，不触发创建。延迟创建的bean还没被用到、或者不是单例时返回null
+     * @author ykq
+     * @date 2026/10/18
+     * @param definition
+     * @return java.lang.Object
+     */
+    public Object getSingletonIfCreated(BeanDefinition definition) {
+        return definition.isSingleton() ? definition.getSingleton() : null;
+    }
+
+    /**
+     * 功能描述: 去重后的bean定义，按注册顺序
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return java.util.List<com.my.mvcFramework.v1.context.BeanDefinition>
+     */
+    public List<BeanDefinition> getBeanDefinitions() {
+        return Collections.unmodifiableList(definitions);
+    }
+
+    public boolean isEmpty() {
+        return definitions.isEmpty();
+    }
+
+    /**
+     * 功能描述: 每个bean实际创建过的实例数，0表示延迟创建的bean还没被用到
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return java.util.Map<java.lang.String,java.lang.Long>
+     */
+    public Map<String, Long> getInstantiationCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (BeanDefinition definition : definitions) {
+            counts.put(definition.getBeanName(), definition.getInstantiations());
+        }
+        return counts;
+    }
+
+    /**
+     * 功能描述: 创建bean：先解析构造器参数并实例化，再为被@MyAutowired修饰的属性赋值，最后交给BeanPostProcessor处理
+     * @author ykq
+     * @date 2026/10/18
+     * @param definition
+     * @return java.lang.Object
+     */
+    private Object createBean(BeanDefinition definition) throws ReflectiveOperationException {
+        InjectionPoint[] arguments = definition.getConstructorArguments();
+        Object[] values = new Object[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            values[i] = resolveDependency(arguments[i]);
+        }
+        Object bean = definition.newInstance(values);
+        definition.markInstantiated();
+
+        for (InjectionPoint injection : definition.getFieldInjections()) {
+            injection.inject(bean, resolveDependency(injection));
+        }
+        for (BeanPostProcessor processor : beanPostProcessors) {
+            bean = processor.postProcess(definition, bean);
+        }
+        return bean;
+    }
+
+    /**
+     * 功能描述: 解析注入点的值。单例直接注入实例；prototype注入新实例；
+     *          延迟单例和request作用域通过接口注入时注入代理，每次调用时再取真正的实例
+     * @author ykq
+     * @date 2026/10/18
+     * @param injection
+     * @return java.lang.Object
+     */
+    private Object resolveDependency(InjectionPoint injection) {
+        final BeanDefinition definition = beanDefinitions.get(injection.getBeanName());
+        if (null == definition) {
+            throw new IllegalStateException("No bean named " + injection.getBeanName() + " for " + injection);
+        }
+        if (isDeferred(definition, injection)) {
+            return Proxy.newProxyInstance(injection.getType().getClassLoader(), new Class<?>[]{injection.getType()},
+                    (proxy, method, args) -> {
+                        try {
+                            return method.invoke(getBean(definition), args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+        if (definition.isRequestScoped()) {
+            throw new IllegalStateException("Request scoped bean " + injection.getBeanName()
+                    + " must be injected through an interface: " + injection);
+        }
+        // 延迟单例通过类注入时无法代理，只能在注入时创建
+        return getBean(definition);
+    }
+
+    /**
+     * 功能描述: 注入点是否注入代理、推迟到调用时才取实例
+     * @author ykq
+     * @date 2026/10/18
+     * @param definition 被依赖的bean
+     * @param injection
+     * @return boolean
+     */
+    private static boolean isDeferred(BeanDefinition definition, InjectionPoint injection) {
+        boolean lazySingleton = definition.isSingleton() && definition.isLazy();
+        return (lazySingleton || definition.isRequestScoped()) && injection.getType().isInterface();
+    }
+
+    /**
+     * 功能描述: 需要在definition之前创建好的bean。找不到的依赖记录到missing
+     * @author ykq
+     * @date 2026/10/18
+     * @param definition
+     * @param missing
+     * @return java.util.List<com.my.mvcFramework.v1.context.BeanDefinition>
+     */
+    private List<BeanDefinition> dependenciesOf(BeanDefinition definition, List<String> missing) {
+        List<BeanDefinition> dependencies = new ArrayList<>();
+        List<InjectionPoint> injections = new ArrayList<>();
+        Collections.addAll(injections, definition.getConstructorArguments());
+        Collections.addAll(injections, definition.getFieldInjections());
+        for (InjectionPoint injection : injections) {
+            BeanDefinition dependency = beanDefinitions.get(injection.getBeanName());
+            if (null == dependency) {
+                missing.add(injection + " -> " + injection.getBeanName());
+            } else if (!isDeferred(dependency, injection) && !dependencies.contains(dependency)) {
+                dependencies.add(dependency);
+            }
+        }
+        return dependencies;
+    }
+
+    /**
+     * 功能描述: 拓扑排序后剩下的bean都在环上或依赖环，从中找出一个环用于报错，如a -> b -> a
+     * @author ykq
+     * @date 2026/10/18
+     * @param inDegree 排序结束后的入度，大于0的即剩下的bean
+     * @return java.lang.String
+     */
+    private String findCycle(Map<BeanDefinition, Integer> inDegree) {
+        BeanDefinition start = null;
+        for (BeanDefinition definition : definitions) {
+            if (inDegree.get(definition) > 0) {
+                start = definition;
+                break;
+            }
+        }
+        // 沿着未排序的依赖一直走，必然会回到走过的节点
+        List<BeanDefinition> path = new ArrayList<>();
+        BeanDefinition current = start;
+        while (!path.contains(current)) {
+            path.add(current);
+            for (BeanDefinition dependency : dependenciesOf(current, new ArrayList<String>())) {
+                if (inDegree.get(dependency) > 0) {
+                    current = dependency;
+                    break;
+                }
+            }
+        }
+        StringBuilder cycle = new StringBuilder();
+        for (BeanDefinition definition : path.subList(path.indexOf(current), path.size())) {
+            cycle.append(definition.getBeanName()).append(" -> ");
+        }
+        return cycle.append(current.getBeanName()).toString();
+    }
+}
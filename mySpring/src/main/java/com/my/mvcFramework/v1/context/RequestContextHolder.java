@@ -0,0 +1,29 @@
+package com.my.mvcFramework.v1.context;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * @ClassName RequestContextHolder
+ * @Description 把当前请求绑定到处理线程上，request作用域的bean保存在请求的attribute中
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public final class RequestContextHolder {
+    private static final ThreadLocal<HttpServletRequest> CURRENT = new ThreadLocal<>();
+
+    private RequestContextHolder() {
+    }
+
+    public static void set(HttpServletRequest request) {
+        CURRENT.set(request);
+    }
+
+    public static HttpServletRequest get() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,20 @@
+package com.my.mvcFramework.v1.handler;
+
+/**
+ * @ClassName ArgumentConverter
+ * @Description 把请求参数的原始值String[]转换成形参类型
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public interface ArgumentConverter {
+
+    /**
+     * 功能描述: 转换请求参数
+     * @author ykq
+     * @date 2026/10/18
+     * @param values request.getParameterMap()中的值，请求中没有该参数时为null
+     * @return java.lang.Object
+     */
+    Object convert(String[] values);
+}
@@ -0,0 +1,185 @@
+package com.my.mvcFramework.v1.handler;
+
+/**
+ * @ClassName ArgumentConverters
+ * @Description 内置的参数转换器：String、String[]、int/Integer、long/Long、double/Double、boolean/Boolean、枚举。
+ *              转换器都是无状态的，初始化时按形参类型选好，请求时不再做类型判断
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public final class ArgumentConverters {
+
+    /** 多个值用,拼接；只有一个值时直接返回，不产生新的String */
+    public static final ArgumentConverter STRING = new ArgumentConverter() {
+        @Override
+        public Object convert(String[] values) {
+            if (null == values || values.length == 0) {
+                return null;
+            }
+            if (values.length == 1) {
+                return values[0];
+            }
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                sb.append(values[i]);
+            }
+            return sb.toString();
+        }
+    };
+
+    /** getParameterMap()中的数组本身就是String[]，直接返回 */
+    public static final ArgumentConverter STRING_ARRAY = new ArgumentConverter() {
+        @Override
+        public Object convert(String[] values) {
+            return values;
+        }
+    };
+
+    private ArgumentConverters() {
+    }
+
+    /**
+     * 功能描述: 按形参类型选择转换器
+     * @author ykq
+     * @date 2026/10/18
+     * @param type 形参类型
+     * @return com.my.mvcFramework.v1.handler.ArgumentConverter 不支持的类型返回null
+     */
+    public static ArgumentConverter forType(Class<?> type) {
+        if (type == String.class) {
+            return STRING;
+        }
+        if (type == String[].class) {
+            return STRING_ARRAY;
+        }
+        if (type == int.class || type == Integer.class) {
+            return new IntConverter(type.isPrimitive());
+        }
+        if (type == long.class || type == Long.class) {
+            return new LongConverter(type.isPrimitive());
+        }
+        if (type == double.class || type == Double.class) {
+            return new DoubleConverter(type.isPrimitive());
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return new BooleanConverter(type.isPrimitive());
+        }
+        if (type.isEnum()) {
+            return new EnumConverter(type);
+        }
+        return null;
+    }
+
+    /**
+     * 功能描述: 取第一个非空值，没有则返回null
+     * @author ykq
+     * @date 2026/10/18
+     * @param values
+     * @return java.lang.String
+     */
+    private static String first(String[] values) {
+        if (null == values || values.length == 0) {
+            return null;
+        }
+        String value = values[0].trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static final class IntConverter implements ArgumentConverter {
+        /** 基本类型缺省时给0，避免拆箱null */
+        private final boolean primitive;
+
+        IntConverter(boolean primitive) {
+            this.primitive = primitive;
+        }
+
+        @Override
+        public Object convert(String[] values) {
+            String value = first(values);
+            if (null == value) {
+                return primitive ? Integer.valueOf(0) : null;
+            }
+            return Integer.valueOf(Integer.parseInt(value));
+        }
+    }
+
+    private static final class LongConverter implements ArgumentConverter {
+        private final boolean primitive;
+
+        LongConverter(boolean primitive) {
+            this.primitive = primitive;
+        }
+
+        @Override
+        public Object convert(String[] values) {
+            String value = first(values);
+            if (null == value) {
+                return primitive ? Long.valueOf(0L) : null;
+            }
+            return Long.valueOf(Long.parseLong(value));
+        }
+    }
+
+    private static final class DoubleConverter implements ArgumentConverter {
+        private final boolean primitive;
+
+        DoubleConverter(boolean primitive) {
+            this.primitive = primitive;
+        }
+
+        @Override
+        public Object convert(String[] values) {
+            String value = first(values);
+            if (null == value) {
+                return primitive ? Double.valueOf(0.0) : null;
+            }
+            return Double.valueOf(Double.parseDouble(value));
+        }
+    }
+
+    private static final class BooleanConverter implements ArgumentConverter {
+        private final boolean primitive;
+
+        BooleanConverter(boolean primitive) {
+            this.primitive = primitive;
+        }
+
+        @Override
+        public Object convert(String[] values) {
+            String value = first(values);
+            if (null == value) {
+                return primitive ? Boolean.FALSE : null;
+            }
+            // 兼容页面上checkbox常见的on/1
+            if ("true".equalsIgnoreCase(value) || "on".equalsIgnoreCase(value) || "1".equals(value)) {
+                return Boolean.TRUE;
+            }
+            if ("false".equalsIgnoreCase(value) || "off".equalsIgnoreCase(value) || "0".equals(value)) {
+                return Boolean.FALSE;
+            }
+            throw new IllegalArgumentException("Cannot convert '" + value + "' to boolean");
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final class EnumConverter implements ArgumentConverter {
+        private final Class enumType;
+
+        EnumConverter(Class enumType) {
+            this.enumType = enumType;
+        }
+
+        @Override
+        public Object convert(String[] values) {
+            String value = first(values);
+            if (null == value) {
+                return null;
+            }
+            return Enum.valueOf(enumType, value);
+        }
+    }
+}
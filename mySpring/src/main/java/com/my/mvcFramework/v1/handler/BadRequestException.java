@@ -0,0 +1,21 @@
+package com.my.mvcFramework.v1.handler;
+
+/**
+ * @ClassName BadRequestException
+ * @Description 请求中的值无法绑定到Handler的形参：参数、路径变量无法转换，请求体不是合法的JSON或缺失。
+ *              这是客户端的错误，分发时返回400，不记错误日志
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class BadRequestException extends IllegalArgumentException {
+    private static final long serialVersionUID = 1L;
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+
+    public BadRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,213 @@
+package com.my.mvcFramework.v1.handler;
+
+import com.my.mvcFramework.annotation.MyAsync;
+import com.my.mvcFramework.annotation.MyResponseBody;
+import com.my.mvcFramework.v1.cache.BoundedCache;
+import com.my.mvcFramework.v1.cache.CacheKey;
+import com.my.mvcFramework.v1.json.JsonCodec;
+import com.my.mvcFramework.v1.json.JsonType;
+import com.my.mvcFramework.v1.limit.RequestLimiter;
+import com.my.mvcFramework.v1.metrics.HandlerMetrics;
+import com.my.mvcFramework.v1.router.PathPatterns;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * @ClassName Handler
+ * @Description 一个url对应的处理器。目标bean和调用器都在doInitHandlerMapping时确定，请求时不再查IoC容器
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class Handler {
+    private final String url;
+
+    private final Object controller;
+
+    private final Method method;
+
+    private final HandlerInvoker invoker;
+
+    /** url模板中的路径变量名，按出现顺序 */
+    private final String[] pathVariableNames;
+
+    /** 形参绑定计划，下标与形参列表一一对应 */
+    private final ParameterBinder[] binders;
+
+    /** 标注了@MyAsync，需要在异步线程池中执行 */
+    private final boolean executeAsync;
+
+    /** 需要走AsyncContext：标注了@MyAsync，或返回CompletionStage */
+    private final boolean async;
+
+    /** 有形参绑定请求体 */
+    private final boolean readsRequestBody;
+
+    /** 返回值的JsonType，方法或Controller类标注了@MyResponseBody时才有 */
+    private final JsonType responseBodyType;
+
+    /** 参与缓存key的形参下标：@MyRequestParam和@MyPathVariable绑定的形参 */
+    private final int[] cacheKeyIndexes;
+
+    /** 响应缓存，方法标注@MyCacheable时才有 */
+    private BoundedCache<Object, Object> responseCache;
+
+    /** 限流和舱壁，路由配置了@MyRateLimit、@MyBulkhead或limit.route.*时才有 */
+    private RequestLimiter limiter;
+
+    /** 访问日志的采样率，由log.access.sampleRate和log.access.route.*配置 */
+    private volatile double accessLogSampleRate = 1.0;
+
+    /** 请求数、异常数和各阶段延迟，常开 */
+    private final HandlerMetrics metrics = new HandlerMetrics();
+
+    public Handler(String url, Object controller, Method method, HandlerInvoker invoker) {
+        this.url = url;
+        this.controller = controller;
+        this.method = method;
+        this.invoker = invoker;
+        this.pathVariableNames = PathPatterns.variableNames(url);
+        this.binders = ParameterBinders.resolve(method, pathVariableNames);
+        this.executeAsync = method.isAnnotationPresent(MyAsync.class);
+        this.async = executeAsync || CompletionStage.class.isAssignableFrom(method.getReturnType());
+        boolean readsBody = false;
+        List<Integer> keyIndexes = new ArrayList<>();
+        for (int i = 0; i < binders.length; i++) {
+            if (ParameterBinders.isRequestValue(binders[i])) {
+                keyIndexes.add(i);
+            }
+            readsBody |= ParameterBinders.isRequestBody(binders[i]);
+        }
+        this.readsRequestBody = readsBody;
+        boolean responseBody = method.isAnnotationPresent(MyResponseBody.class)
+                || method.getDeclaringClass().isAnnotationPresent(MyResponseBody.class);
+        this.responseBodyType = responseBody ? JsonCodec.DEFAULT.typeOf(bodyType(method)) : null;
+        this.cacheKeyIndexes = new int[keyIndexes.size()];
+        for (int i = 0; i < cacheKeyIndexes.length; i++) {
+            cacheKeyIndexes[i] = keyIndexes.get(i);
+        }
+    }
+
+    /**
+     * 功能描述: 用绑定好的请求参数生成缓存key，路由由缓存本身区分
+     * @author ykq
+     * @date 2026/10/18
+     * @param args resolveArguments()的结果
+     * @return com.my.mvcFramework.v1.cache.CacheKey
+     */
+    public CacheKey cacheKey(Object[] args) {
+        Object[] parts = new Object[cacheKeyIndexes.length];
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = args[cacheKeyIndexes[i]];
+        }
+        return new CacheKey(parts);
+    }
+
+    /**
+     * 功能描述: 要序列化的返回值类型，返回CompletionStage时取其泛型参数
+     * @author ykq
+     * @date 2026/10/18
+     * @param method
+     * @return java.lang.reflect.Type
+     */
+    private static Type bodyType(Method method) {
+        Type type = method.getGenericReturnType();
+        if (CompletionStage.class.isAssignableFrom(method.getReturnType())) {
+            return type instanceof ParameterizedType ? ((ParameterizedType) type).getActualTypeArguments()[0] : Object.class;
+        }
+        return type;
+    }
+
+    /**
+     * 功能描述: 按绑定计划从请求中取出实参
+     * @author ykq
+     * @date 2026/10/18
+     * @param req
+     * @param resp
+     * @param pathVariables 路由匹配到的路径变量值
+     * @return java.lang.Object[]
+     */
+    public Object[] resolveArguments(HttpServletRequest req, HttpServletResponse resp, String[] pathVariables) {
+        Object[] args = new Object[binders.length];
+        for (int i = 0; i < binders.length; i++) {
+            args[i] = binders[i].bind(req, resp, pathVariables);
+        }
+        return args;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public Object getController() {
+        return controller;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public String[] getPathVariableNames() {
+        return pathVariableNames;
+    }
+
+    public HandlerInvoker getInvoker() {
+        return invoker;
+    }
+
+    public boolean isExecuteAsync() {
+        return executeAsync;
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    public boolean isReadsRequestBody() {
+        return readsRequestBody;
+    }
+
+    public JsonType getResponseBodyType() {
+        return responseBodyType;
+    }
+
+    public BoundedCache<Object, Object> getResponseCache() {
+        return responseCache;
+    }
+
+    public void setResponseCache(BoundedCache<Object, Object> responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    public RequestLimiter getLimiter() {
+        return limiter;
+    }
+
+    public void setLimiter(RequestLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    public double getAccessLogSampleRate() {
+        return accessLogSampleRate;
+    }
+
+    public void setAccessLogSampleRate(double accessLogSampleRate) {
+        this.accessLogSampleRate = accessLogSampleRate;
+    }
+
+    public HandlerMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public String toString() {
+        return url + "," + method;
+    }
+}
@@ -0,0 +1,20 @@
+package com.my.mvcFramework.v1.handler;
+
+/**
+ * @ClassName HandlerInvoker
+ * @Description 预编译好的Handler调用器。目标bean在初始化时就已经绑定，请求时只需传入实参数组
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public interface HandlerInvoker {
+
+    /**
+     * 功能描述: 调用绑定好的目标方法
+     * @author ykq
+     * @date 2026/10/18
+     * @param args 按形参顺序排列好的实参
+     * @return java.lang.Object 目标方法的返回值，void方法返回null
+     */
+    Object invoke(Object[] args) throws Exception;
+}
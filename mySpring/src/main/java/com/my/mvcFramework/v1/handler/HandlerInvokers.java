@@ -0,0 +1,43 @@
+package com.my.mvcFramework.v1.handler;
+
+import java.lang.reflect.Method;
+
+/**
+ * @ClassName HandlerInvokers
+ * @Description 按配置的调用模式创建HandlerInvoker
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public final class HandlerInvokers {
+    /** 预编译的MethodHandle调用，默认模式 */
+    public static final String MODE_METHOD_HANDLE = "methodHandle";
+
+    /** 原始的反射调用 */
+    public static final String MODE_REFLECT = "reflect";
+
+    private HandlerInvokers() {
+    }
+
+    /**
+     * 功能描述: 创建调用器。MethodHandle模式下如果方法不可访问（如类不是public），则退回反射模式
+     * @author ykq
+     * @date 2026/10/18
+     * @param mode application.properties中的invokerMode，为空时取默认模式
+     * @return com.my.mvcFramework.v1.handler.HandlerInvoker
+     */
+    public static HandlerInvoker create(String mode, Object bean, Method method) {
+        mode = null == mode ? "" : mode.trim();
+        if (MODE_REFLECT.equalsIgnoreCase(mode)) {
+            return new ReflectiveInvoker(bean, method);
+        }
+        if (!"".equals(mode) && !MODE_METHOD_HANDLE.equalsIgnoreCase(mode)) {
+            throw new IllegalArgumentException("Unknown invokerMode: " + mode);
+        }
+        try {
+            return new MethodHandleInvoker(bean, method);
+        } catch (IllegalAccessException e) {
+            return new ReflectiveInvoker(bean, method);
+        }
+    }
+}
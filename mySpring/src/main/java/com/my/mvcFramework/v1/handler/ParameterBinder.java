@@ -0,0 +1,26 @@
+package com.my.mvcFramework.v1.handler;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * @ClassName ParameterBinder
+ * @Description 形参绑定器。每个Handler的每个形参在初始化时都会解析出一个绑定器，请求时按下标直接取值
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public interface ParameterBinder {
+
+    /**
+     * 功能描述: 从当前请求中取出该形参的实参
+     * @author ykq
+     * @date 2026/10/18
+     * @param req
+     * @param resp
+     * @param pathVariables 路由匹配到的路径变量值，顺序与url模板中{name}出现的顺序一致
+     * @return java.lang.Object
+     * @throws BadRequestException 请求中的值无法转换成形参的类型
+     */
+    Object bind(HttpServletRequest req, HttpServletResponse resp, String[] pathVariables);
+}
@@ -0,0 +1,249 @@
+package com.my.mvcFramework.v1.handler;
+
+import com.my.mvcFramework.annotation.MyPathVariable;
+import com.my.mvcFramework.annotation.MyRequestBody;
+import com.my.mvcFramework.annotation.MyRequestParam;
+import com.my.mvcFramework.v1.json.JsonCodec;
+import com.my.mvcFramework.v1.json.JsonType;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+
+/**
+ * @ClassName ParameterBinders
+ * @Description 初始化时为Handler的形参列表生成绑定计划。形参类型、注解只在这里扫描一次
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public final class ParameterBinders {
+
+    public static final ParameterBinder REQUEST = new ParameterBinder() {
+        @Override
+        public Object bind(HttpServletRequest req, HttpServletResponse resp, String[] pathVariables) {
+            return req;
+        }
+    };
+
+    public static final ParameterBinder RESPONSE = new ParameterBinder() {
+        @Override
+        public Object bind(HttpServletRequest req, HttpServletResponse resp, String[] pathVariables) {
+            return resp;
+        }
+    };
+
+    private ParameterBinders() {
+    }
+
+    /**
+     * 功能描述: 解析方法的形参列表，按下标生成绑定器
+     * @author ykq
+     * @date 2026/10/18
+     * @param method 被@MyRequestMapping修饰的方法
+     * @param pathVariableNames url模板中的路径变量名，按出现顺序
+     * @return com.my.mvcFramework.v1.handler.ParameterBinder[]
+     */
+    public static ParameterBinder[] resolve(Method method, String[] pathVariableNames) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        // 因为参数前可以添加多个注解，所以是二维数组，下标和形参列表一一对应
+        Annotation[][] annotations = method.getParameterAnnotations();
+        ParameterBinder[] binders = new ParameterBinder[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            Class<?> parameterType = parameterTypes[i];
+            MyRequestBody requestBody = findRequestBody(annotations[i]);
+            if (parameterType == HttpServletRequest.class) {
+                binders[i] = REQUEST;
+            } else if (parameterType == HttpServletResponse.class) {
+                binders[i] = RESPONSE;
+            } else if (null != requestBody) {
+                // 请求体的JsonType在这里就生成好
+                binders[i] = new RequestBodyBinder(JsonCodec.DEFAULT.typeOf(method.getGenericParameterTypes()[i]),
+                        requestBody.required(), parameterType);
+            } else {
+                binders[i] = resolveAnnotated(method, i, parameterType, annotations[i], pathVariableNames);
+            }
+        }
+        return binders;
+    }
+
+    /**
+     * 功能描述: 被@MyRequestParam修饰的形参按参数名取值，被@MyPathVariable修饰的形参按变量在模板中的位置取值，并转换类型；
+     *          其他形参绑定为null或基本类型的默认值
+     * @author ykq
+     * @date 2026/10/18
+     * @param method
+     * @param index 形参下标
+     * @param parameterType
+     * @param annotations 当前形参上的注解
+     * @param pathVariableNames
+     * @return com.my.mvcFramework.v1.handler.ParameterBinder
+     */
+    private static ParameterBinder resolveAnnotated(Method method, int index, Class<?> parameterType,
+                                                    Annotation[] annotations, String[] pathVariableNames) {
+        ArgumentConverter converter = ArgumentConverters.forType(parameterType);
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof MyPathVariable) {
+                String variableName = ((MyPathVariable) annotation).value().trim();
+                int position = indexOf(pathVariableNames, variableName);
+                if (position < 0) {
+                    throw new IllegalStateException("No path variable {" + variableName + "} for parameter at index "
+                            + index + " of " + method);
+                }
+                return new PathVariableBinder(variableName, position, checkConverter(converter, parameterType, index, method));
+            }
+            if (!(annotation instanceof MyRequestParam)) {
+                continue;
+            }
+            String paramName = ((MyRequestParam) annotation).value().trim();
+            if ("".equals(paramName)) {
+                break;
+            }
+            return new RequestParamBinder(paramName, checkConverter(converter, parameterType, index, method));
+        }
+        // 没有可绑定的值，基本类型用转换器给出的默认值，否则为null
+        final Object defaultValue = null != converter && parameterType.isPrimitive() ? converter.convert(null) : null;
+        return new ParameterBinder() {
+            @Override
+            public Object bind(HttpServletRequest req, HttpServletResponse resp, String[] pathVariables) {
+                return defaultValue;
+            }
+        };
+    }
+
+    /**
+     * 功能描述: 绑定器取的是否是请求中的值（请求参数或路径变量），这些值决定了Handler的输出，可以作为缓存key
+     * @author ykq
+     * @date 2026/10/18
+     * @param binder
+     * @return boolean
+     */
+    public static boolean isRequestValue(ParameterBinder binder) {
+        return binder instanceof RequestParamBinder || binder instanceof PathVariableBinder;
+    }
+
+    /**
+     * 功能描述: 绑定器是否读取请求体。请求体不参与缓存key，读取请求体的Handler不做响应缓存
+     * @author ykq
+     * @date 2026/10/18
+     * @param binder
+     * @return boolean
+     */
+    public static boolean isRequestBody(ParameterBinder binder) {
+        return binder instanceof RequestBodyBinder;
+    }
+
+    private static ArgumentConverter checkConverter(ArgumentConverter converter, Class<?> parameterType, int index, Method method) {
+        if (null == converter) {
+            throw new IllegalStateException("Unsupported parameter type " + parameterType.getName()
+                    + " at index " + index + " of " + method);
+        }
+        return converter;
+    }
+
+    private static MyRequestBody findRequestBody(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof MyRequestBody) {
+                return (MyRequestBody) annotation;
+            }
+        }
+        return null;
+    }
+
+    private static int indexOf(String[] names, String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static final class PathVariableBinder implements ParameterBinder {
+        private final String name;
+
+        private final int position;
+
+        private final ArgumentConverter converter;
+
+        PathVariableBinder(String name, int position, ArgumentConverter converter) {
+            this.name = name;
+            this.position = position;
+            this.converter = converter;
+        }
+
+        @Override
+        public Object bind(HttpServletRequest req, HttpServletResponse resp, String[] pathVariables) {
+            try {
+                return converter.convert(new String[]{pathVariables[position]});
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Bad value for path variable '" + name + "'", e);
+            }
+        }
+    }
+
+    private static final class RequestParamBinder implements ParameterBinder {
+        private final String name;
+
+        private final ArgumentConverter converter;
+
+        RequestParamBinder(String name, ArgumentConverter converter) {
+            this.name = name;
+            this.converter = converter;
+        }
+
+        @Override
+        public Object bind(HttpServletRequest req, HttpServletResponse resp, String[] pathVariables) {
+            try {
+                return converter.convert(req.getParameterValues(name));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Bad value for request parameter '" + name + "'", e);
+            }
+        }
+    }
+
+    private static final class RequestBodyBinder implements ParameterBinder {
+        private final JsonType type;
+
+        private final boolean required;
+
+        /** 请求体为空且非必需时的值，基本类型为默认值 */
+        private final Object emptyValue;
+
+        RequestBodyBinder(JsonType type, boolean required, Class<?> parameterType) {
+            this.type = type;
+            this.required = required;
+            ArgumentConverter converter = ArgumentConverters.forType(parameterType);
+            this.emptyValue = null != converter && parameterType.isPrimitive() ? converter.convert(null) : null;
+        }
+
+        @Override
+        public Object bind(HttpServletRequest req, HttpServletResponse resp, String[] pathVariables) {
+            Object value;
+            try {
+                // 预读一个字节判断请求体是否为空，Content-Length不一定有
+                PushbackInputStream in = new PushbackInputStream(req.getInputStream(), 1);
+                int first = in.read();
+                if (-1 == first) {
+                    value = null;
+                } else {
+                    in.unread(first);
+                    value = JsonCodec.DEFAULT.read((InputStream) in, type);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Bad request body: " + e.getMessage(), e);
+            }
+            if (null == value && required) {
+                throw new BadRequestException("Required request body is missing");
+            }
+            return null == value ? emptyValue : value;
+        }
+    }
+}
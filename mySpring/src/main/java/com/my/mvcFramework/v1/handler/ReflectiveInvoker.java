@@ -0,0 +1,28 @@
+package com.my.mvcFramework.v1.handler;
+
+import java.lang.reflect.Method;
+
+/**
+ * @ClassName ReflectiveInvoker
+ * @Description 兜底的反射调用器，即原来的method.invoke(bean, args)
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class ReflectiveInvoker implements HandlerInvoker {
+    private final Object bean;
+
+    private final Method method;
+
+    public ReflectiveInvoker(Object bean, Method method) {
+        this.bean = bean;
+        this.method = method;
+        // 非public的类或方法也允许调用
+        this.method.setAccessible(true);
+    }
+
+    @Override
+    public Object invoke(Object[] args) throws Exception {
+        return method.invoke(bean, args);
+    }
+}
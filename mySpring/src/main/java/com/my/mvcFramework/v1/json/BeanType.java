@@ -0,0 +1,300 @@
+package com.my.mvcFramework.v1.json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * @ClassName BeanType
+ * @Description 普通Java对象的JsonType。生成时遍历类及父类的非static、非transient字段，为每个字段准备好
+ *              读写的MethodHandle（有public的getter/setter时用它们，否则直接访问字段）和编码好的"name":字节，
+ *              读写时不再做反射查找
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+final class BeanType implements JsonType {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final JsonCodec codec;
+
+    private final Class<?> type;
+
+    private final Property[] properties;
+
+    private final Map<String, Property> propertiesByName;
+
+    private final Supplier<Object> constructor;
+
+    BeanType(JsonCodec codec, Class<?> type) {
+        this.codec = codec;
+        this.type = type;
+
+        // 父类字段在前，子类中的同名字段覆盖父类的
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> c = type; null != c && Object.class != c; c = c.getSuperclass()) {
+            hierarchy.add(0, c);
+        }
+        Map<String, Field> fields = new LinkedHashMap<>();
+        for (Class<?> c : hierarchy) {
+            for (Field field : c.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !field.isSynthetic()) {
+                    fields.remove(field.getName());
+                    fields.put(field.getName(), field);
+                }
+            }
+        }
+
+        this.properties = new Property[fields.size()];
+        this.propertiesByName = new HashMap<>();
+        int i = 0;
+        for (Field field : fields.values()) {
+            Property property = new Property(codec, field, i == 0);
+            properties[i++] = property;
+            propertiesByName.put(property.name, property);
+        }
+        this.constructor = hasNoArgConstructor(type) ? constructorOf(type) : null;
+    }
+
+    /**
+     * 功能描述: 解析各属性的JsonType。在BeanType放入缓存后调用，这样自引用的类型能拿到自己
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return void
+     */
+    void resolve() {
+        for (Property property : properties) {
+            property.jsonType();
+        }
+    }
+
+    @Override
+    public void write(JsonWriter out, Object value) throws IOException {
+        if (value.getClass() != type) {
+            // 声明类型是父类，按实际类型写出
+            codec.typeOf(value.getClass()).write(out, value);
+            return;
+        }
+        out.enter();
+        out.writeByte('{');
+        for (Property property : properties) {
+            out.writeRaw(property.prefix);
+            JsonTypes.writeNullable(out, property.jsonType(), property.get(value));
+        }
+        out.writeByte('}');
+        out.exit();
+    }
+
+    @Override
+    public Object read(JsonReader in) throws IOException {
+        if (in.nextNull()) {
+            return null;
+        }
+        if (null == constructor) {
+            throw new IllegalStateException(type.getName() + " has no no-arg constructor, cannot be read from JSON");
+        }
+        Object bean = constructor.get();
+        in.enter();
+        in.expect('{');
+        if (!in.consumeIf('}')) {
+            do {
+                String name = in.nextString();
+                in.expect(':');
+                Property property = propertiesByName.get(name);
+                if (null == property) {
+                    in.skipValue();
+                } else {
+                    property.set(bean, property.jsonType().read(in));
+                }
+            } while (in.consumeIf(','));
+            in.expect('}');
+        }
+        in.exit();
+        return bean;
+    }
+
+    /**
+     * 功能描述: 无参构造器的调用方式，非public的构造器也可以
+     * @author ykq
+     * @date 2026/10/18
+     * @param type
+     * @return java.util.function.Supplier<java.lang.Object>
+     */
+    static Supplier<Object> constructorOf(Class<?> type) {
+        final MethodHandle handle;
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            handle = MethodHandles.lookup().unreflectConstructor(constructor)
+                    .asType(MethodType.methodType(Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException(type.getName() + " has no accessible no-arg constructor", e);
+        }
+        return () -> {
+            try {
+                return (Object) handle.invokeExact();
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        };
+    }
+
+    private static boolean hasNoArgConstructor(Class<?> type) {
+        if (Modifier.isAbstract(type.getModifiers()) || (type.isMemberClass() && !Modifier.isStatic(type.getModifiers()))) {
+            return false;
+        }
+        try {
+            type.getDeclaredConstructor();
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable e) {
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        return new IllegalStateException(e);
+    }
+
+    /** 一个属性：编码好的名字、取值和赋值的MethodHandle、延迟解析的JsonType */
+    private static final class Property {
+        private final JsonCodec codec;
+
+        private final String name;
+
+        /** 第一个属性为"name":，其余为,"name": */
+        private final byte[] prefix;
+
+        private final Type genericType;
+
+        private final MethodHandle getter;
+
+        private final MethodHandle setter;
+
+        private JsonType jsonType;
+
+        Property(JsonCodec codec, Field field, boolean first) {
+            this.codec = codec;
+            this.name = field.getName();
+            this.genericType = field.getGenericType();
+            this.prefix = encodePrefix(name, first);
+            this.getter = getterOf(field);
+            this.setter = setterOf(field);
+        }
+
+        JsonType jsonType() {
+            // 并发时可能重复解析，但结果都来自codec的缓存，是同一个对象
+            JsonType type = this.jsonType;
+            if (null == type) {
+                type = codec.typeOf(genericType);
+                this.jsonType = type;
+            }
+            return type;
+        }
+
+        Object get(Object bean) {
+            try {
+                return (Object) getter.invokeExact(bean);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        void set(Object bean, Object value) {
+            if (null == setter) {
+                return;
+            }
+            try {
+                setter.invokeExact(bean, value);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        private static MethodHandle getterOf(Field field) {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            String suffix = Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+            try {
+                Method method = findPublic(field.getDeclaringClass(), "get" + suffix);
+                if (null == method && (boolean.class == field.getType() || Boolean.class == field.getType())) {
+                    method = findPublic(field.getDeclaringClass(), "is" + suffix);
+                }
+                if (null != method && method.getReturnType() == field.getType()) {
+                    return lookup.unreflect(method).asType(GETTER_TYPE);
+                }
+                field.setAccessible(true);
+                return lookup.unreflectGetter(field).asType(GETTER_TYPE);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot access " + field, e);
+            }
+        }
+
+        /** final字段读取时忽略 */
+        private static MethodHandle setterOf(Field field) {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            String suffix = Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+            try {
+                Method method = findPublic(field.getDeclaringClass(), "set" + suffix, field.getType());
+                if (null != method && void.class == method.getReturnType()) {
+                    return lookup.unreflect(method).asType(SETTER_TYPE);
+                }
+                if (Modifier.isFinal(field.getModifiers())) {
+                    return null;
+                }
+                field.setAccessible(true);
+                return lookup.unreflectSetter(field).asType(SETTER_TYPE);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot access " + field, e);
+            }
+        }
+
+        private static Method findPublic(Class<?> type, String name, Class<?>... parameterTypes) {
+            try {
+                Method method = type.getMethod(name, parameterTypes);
+                return Modifier.isStatic(method.getModifiers()) || !Modifier.isPublic(method.getDeclaringClass().getModifiers())
+                        ? null : method;
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+
+        /** 用JsonWriter的转义规则编码属性名 */
+        private static byte[] encodePrefix(String name, boolean first) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(name.length() + 4);
+            try {
+                JsonWriter writer = new JsonWriter(bytes, new byte[64]);
+                if (!first) {
+                    writer.writeByte(',');
+                }
+                writer.writeString(name);
+                writer.writeByte(':');
+                writer.flush();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return bytes.toByteArray();
+        }
+    }
+}
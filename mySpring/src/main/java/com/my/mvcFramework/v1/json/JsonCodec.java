@@ -0,0 +1,249 @@
+package com.my.mvcFramework.v1.json;
+
+import com.my.mvcFramework.v1.response.BufferPool;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @ClassName JsonCodec
+ * @Description 框架内置的JSON序列化。每个类型的JsonType只生成一次并缓存，Handler在初始化时就取好返回值和
+ *              @MyRequestBody参数的JsonType；读写时从池中借缓冲区，直接在字节流上编解码，不经过String和树结构。
+ *              例：JsonCodec.DEFAULT.write(out, order)；Order order = (Order) JsonCodec.DEFAULT.read(in, Order.class)
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class JsonCodec {
+    public static final String CONTENT_TYPE = "application/json;charset=UTF-8";
+
+    public static final JsonCodec DEFAULT = new JsonCodec(new BufferPool(8192, 256));
+
+    private final ConcurrentHashMap<Type, JsonType> types = new ConcurrentHashMap<>();
+
+    private final JsonType dynamicType = new JsonTypes.DynamicType(this);
+
+    private final BufferPool bufferPool;
+
+    public JsonCodec(BufferPool bufferPool) {
+        this.bufferPool = bufferPool;
+    }
+
+    /**
+     * 功能描述: 取得类型对应的JsonType，第一次时生成
+     * @author ykq
+     * @date 2026/10/18
+     * @param type 可以是带泛型的类型，如List<Order>
+     * @return com.my.mvcFramework.v1.json.JsonType
+     */
+    public JsonType typeOf(Type type) {
+        JsonType jsonType = types.get(type);
+        if (null != jsonType) {
+            return jsonType;
+        }
+        // 不用computeIfAbsent：生成BeanType时会递归地取属性的类型
+        jsonType = create(type);
+        JsonType existing = types.putIfAbsent(type, jsonType);
+        if (null != existing) {
+            return existing;
+        }
+        if (jsonType instanceof BeanType) {
+            ((BeanType) jsonType).resolve();
+        }
+        return jsonType;
+    }
+
+    public void write(OutputStream out, Object value) throws IOException {
+        write(out, value, null == value ? dynamicType : typeOf(value.getClass()));
+    }
+
+    /**
+     * 功能描述: 用事先取好的JsonType写出，不再查找缓存
+     * @author ykq
+     * @date 2026/10/18
+     * @param out
+     * @param value
+     * @param type
+     * @return void
+     */
+    public void write(OutputStream out, Object value, JsonType type) throws IOException {
+        byte[] buffer = bufferPool.acquire();
+        try {
+            JsonWriter writer = new JsonWriter(out, buffer);
+            JsonTypes.writeNullable(writer, type, value);
+            writer.flush();
+        } finally {
+            bufferPool.release(buffer);
+        }
+    }
+
+    public Object read(InputStream in, Type type) throws IOException {
+        return read(in, typeOf(type));
+    }
+
+    /**
+     * 功能描述: 读取整个输入流，内容必须恰好是一个JSON值。格式错误时抛出IllegalArgumentException
+     * @author ykq
+     * @date 2026/10/18
+     * @param in
+     * @param type
+     * @return java.lang.Object
+     */
+    public Object read(InputStream in, JsonType type) throws IOException {
+        byte[] buffer = bufferPool.acquire();
+        try {
+            JsonReader reader = new JsonReader(in, buffer);
+            if (-1 == reader.peek()) {
+                throw reader.error("empty body");
+            }
+            Object value = type.read(reader);
+            reader.expectEnd();
+            return value;
+        } finally {
+            bufferPool.release(buffer);
+        }
+    }
+
+    private JsonType create(Type type) {
+        if (type instanceof Class) {
+            return create((Class<?>) type);
+        }
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterized = (ParameterizedType) type;
+            Class<?> raw = (Class<?>) parameterized.getRawType();
+            Type[] arguments = parameterized.getActualTypeArguments();
+            if (Collection.class.isAssignableFrom(raw)) {
+                return new JsonTypes.CollectionType(JsonTypes.CollectionType.factoryOf(raw), typeOf(arguments[0]));
+            }
+            if (Map.class.isAssignableFrom(raw)) {
+                return new JsonTypes.MapType(JsonTypes.MapType.factoryOf(raw), typeOf(arguments[1]));
+            }
+            return typeOf(raw);
+        }
+        if (type instanceof GenericArrayType) {
+            Type component = ((GenericArrayType) type).getGenericComponentType();
+            return new JsonTypes.ArrayType(rawClass(component), typeOf(component));
+        }
+        if (type instanceof WildcardType) {
+            return typeOf(((WildcardType) type).getUpperBounds()[0]);
+        }
+        // 类型变量在运行时才知道实际类型
+        return dynamicType;
+    }
+
+    private JsonType create(Class<?> type) {
+        JsonType simple = JsonTypes.simpleTypeOf(type);
+        if (null != simple) {
+            return simple;
+        }
+        if (Enum.class.isAssignableFrom(type) && Enum.class != type) {
+            // 带方法体的枚举常量是枚举的匿名子类
+            return new JsonTypes.EnumType(type.isEnum() ? type : type.getSuperclass());
+        }
+        if (type.isArray()) {
+            return new JsonTypes.ArrayType(type.getComponentType(), typeOf(type.getComponentType()));
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            return new JsonTypes.CollectionType(JsonTypes.CollectionType.factoryOf(type), dynamicType);
+        }
+        if (Map.class.isAssignableFrom(type)) {
+            return new JsonTypes.MapType(JsonTypes.MapType.factoryOf(type), dynamicType);
+        }
+        if (Object.class == type || type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            return dynamicType;
+        }
+        String name = type.getName();
+        if (name.startsWith("java.") || name.startsWith("javax.")) {
+            // UUID、LocalDate等JDK值类型按字符串读写
+            return new TextType(type);
+        }
+        return new BeanType(this, type);
+    }
+
+    private static Class<?> rawClass(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        if (type instanceof GenericArrayType) {
+            return java.lang.reflect.Array.newInstance(rawClass(((GenericArrayType) type).getGenericComponentType()), 0).getClass();
+        }
+        if (type instanceof WildcardType) {
+            return rawClass(((WildcardType) type).getUpperBounds()[0]);
+        }
+        if (type instanceof TypeVariable) {
+            return rawClass(((TypeVariable<?>) type).getBounds()[0]);
+        }
+        return Object.class;
+    }
+
+    /** 按toString()写出，读取时依次尝试静态的parse(CharSequence)、valueOf(String)、fromString(String)和String参数的构造器 */
+    private static final class TextType implements JsonType {
+        private final Class<?> type;
+
+        private final MethodHandle parser;
+
+        TextType(Class<?> type) {
+            this.type = type;
+            this.parser = findParser(type);
+        }
+
+        @Override
+        public void write(JsonWriter out, Object value) throws IOException {
+            out.writeString(value.toString());
+        }
+
+        @Override
+        public Object read(JsonReader in) throws IOException {
+            if (in.nextNull()) {
+                return null;
+            }
+            if (null == parser) {
+                throw new IllegalStateException(type.getName() + " cannot be read from JSON");
+            }
+            String text = in.nextString();
+            try {
+                return (Object) parser.invokeExact(text);
+            } catch (RuntimeException e) {
+                throw in.error("invalid " + type.getSimpleName() + ": " + text);
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private static MethodHandle findParser(Class<?> type) {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            MethodType target = MethodType.methodType(Object.class, String.class);
+            try {
+                return lookup.findStatic(type, "parse", MethodType.methodType(type, CharSequence.class)).asType(target);
+            } catch (NoSuchMethodException | IllegalAccessException ignored) {
+            }
+            for (String name : new String[]{"valueOf", "fromString"}) {
+                try {
+                    return lookup.findStatic(type, name, MethodType.methodType(type, String.class)).asType(target);
+                } catch (NoSuchMethodException | IllegalAccessException ignored) {
+                }
+            }
+            try {
+                return lookup.findConstructor(type, MethodType.methodType(void.class, String.class)).asType(target);
+            } catch (NoSuchMethodException | IllegalAccessException ignored) {
+            }
+            return null;
+        }
+    }
+}
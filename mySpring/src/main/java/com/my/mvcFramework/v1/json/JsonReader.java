@@ -0,0 +1,356 @@
+package com.my.mvcFramework.v1.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+
+/**
+ * @ClassName JsonReader
+ * @Description 从UTF-8字节流中按需读取JSON记号，不构造中间的树结构。字符串和数字借用同一个可复用的StringBuilder，
+ *              整数不经过String直接解析。格式错误或嵌套超过MAX_DEPTH层时抛出IllegalArgumentException，带出错位置
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class JsonReader {
+    /** 对象和数组的嵌套层数上限，读取是递归的，不限制时一个很深的[[[...]]]就能让线程栈溢出 */
+    static final int MAX_DEPTH = 256;
+
+    private final InputStream in;
+
+    private final byte[] buffer;
+
+    private int position;
+
+    private int limit;
+
+    /** 已经消费掉的字节数，用于报错 */
+    private long consumed;
+
+    private final StringBuilder scratch = new StringBuilder(64);
+
+    /** 当前所在的对象、数组层数 */
+    private int depth;
+
+    public JsonReader(InputStream in, byte[] buffer) {
+        this.in = in;
+        this.buffer = buffer;
+    }
+
+    /**
+     * 功能描述: 跳过空白，返回下一个字节但不消费，已到末尾时返回-1
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return int
+     */
+    public int peek() throws IOException {
+        while (true) {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            byte b = buffer[position];
+            if (b == ' ' || b == '\n' || b == '\r' || b == '\t') {
+                position++;
+            } else {
+                return b;
+            }
+        }
+    }
+
+    public void expect(char c) throws IOException {
+        if (peek() != c) {
+            throw error("expected '" + c + "'");
+        }
+        position++;
+    }
+
+    /**
+     * 功能描述: 下一个字符是c时消费掉并返回true
+     * @author ykq
+     * @date 2026/10/18
+     * @param c
+     * @return boolean
+     */
+    public boolean consumeIf(char c) throws IOException {
+        if (peek() == c) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    public boolean nextNull() throws IOException {
+        if (peek() != 'n') {
+            return false;
+        }
+        literal("null");
+        return true;
+    }
+
+    public boolean nextBoolean() throws IOException {
+        int c = peek();
+        if ('t' == c) {
+            literal("true");
+            return true;
+        }
+        if ('f' == c) {
+            literal("false");
+            return false;
+        }
+        throw error("expected a boolean");
+    }
+
+    public String nextString() throws IOException {
+        expect('"');
+        scratch.setLength(0);
+        while (true) {
+            int b = read();
+            if ('"' == b) {
+                return scratch.toString();
+            }
+            if ('\\' == b) {
+                unescape();
+            } else if (b < 0x80) {
+                if (b < 0x20) {
+                    throw error("control character in string");
+                }
+                scratch.append((char) b);
+            } else if ((b & 0xe0) == 0xc0) {
+                scratch.append((char) (((b & 0x1f) << 6) | continuation()));
+            } else if ((b & 0xf0) == 0xe0) {
+                scratch.append((char) (((b & 0x0f) << 12) | (continuation() << 6) | continuation()));
+            } else if ((b & 0xf8) == 0xf0) {
+                int codePoint = ((b & 0x07) << 18) | (continuation() << 12) | (continuation() << 6) | continuation();
+                scratch.appendCodePoint(codePoint);
+            } else {
+                throw error("invalid UTF-8");
+            }
+        }
+    }
+
+    public long nextLong() throws IOException {
+        if (nextNumber()) {
+            // 18位以内不会溢出，直接逐位累加
+            int length = scratch.length();
+            boolean negative = '-' == scratch.charAt(0);
+            int digits = length - (negative ? 1 : 0);
+            if (digits > 0 && digits <= 18) {
+                long value = 0;
+                for (int i = negative ? 1 : 0; i < length; i++) {
+                    char c = scratch.charAt(i);
+                    if (c < '0' || c > '9') {
+                        throw error("invalid number: " + scratch);
+                    }
+                    value = value * 10 + (c - '0');
+                }
+                return negative ? -value : value;
+            }
+        }
+        try {
+            return new BigDecimal(scratch.toString()).longValueExact();
+        } catch (ArithmeticException | NumberFormatException e) {
+            throw error("not a long: " + scratch);
+        }
+    }
+
+    public double nextDouble() throws IOException {
+        nextNumber();
+        try {
+            return Double.parseDouble(scratch.toString());
+        } catch (NumberFormatException e) {
+            throw error("invalid number: " + scratch);
+        }
+    }
+
+    /**
+     * 功能描述: 读出数字的原始文本，用于BigDecimal等
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return java.lang.String
+     */
+    public String nextNumberText() throws IOException {
+        nextNumber();
+        return scratch.toString();
+    }
+
+    /**
+     * 功能描述: 跳过下一个值，用于类中没有对应属性的字段
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return void
+     */
+    public void skipValue() throws IOException {
+        int c = peek();
+        if ('{' == c) {
+            enter();
+            position++;
+            if (!consumeIf('}')) {
+                do {
+                    nextString();
+                    expect(':');
+                    skipValue();
+                } while (consumeIf(','));
+                expect('}');
+            }
+            exit();
+        } else if ('[' == c) {
+            enter();
+            position++;
+            if (!consumeIf(']')) {
+                do {
+                    skipValue();
+                } while (consumeIf(','));
+                expect(']');
+            }
+            exit();
+        } else if ('"' == c) {
+            nextString();
+        } else if ('t' == c || 'f' == c) {
+            nextBoolean();
+        } else if ('n' == c) {
+            nextNull();
+        } else {
+            nextNumber();
+        }
+    }
+
+    /**
+     * 功能描述: 确认后面只剩空白
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return void
+     */
+    public void expectEnd() throws IOException {
+        if (-1 != peek()) {
+            throw error("unexpected content after the JSON value");
+        }
+    }
+
+    /**
+     * 功能描述: 进入一层对象或数组，超过MAX_DEPTH时按格式错误处理
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return void
+     */
+    void enter() {
+        if (++depth > MAX_DEPTH) {
+            throw error("nesting too deep, the limit is " + MAX_DEPTH);
+        }
+    }
+
+    void exit() {
+        depth--;
+    }
+
+    IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Malformed JSON at byte " + (consumed + position) + ": " + message);
+    }
+
+    /**
+     * 功能描述: 把数字读进scratch
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return boolean 是否为不带小数和指数的整数
+     */
+    private boolean nextNumber() throws IOException {
+        int c = peek();
+        if (c != '-' && (c < '0' || c > '9')) {
+            throw error("expected a number");
+        }
+        scratch.setLength(0);
+        boolean integral = true;
+        while (position < limit || fill()) {
+            byte b = buffer[position];
+            if ((b >= '0' && b <= '9') || '-' == b) {
+                scratch.append((char) b);
+            } else if ('.' == b || 'e' == b || 'E' == b || '+' == b) {
+                integral = false;
+                scratch.append((char) b);
+            } else {
+                break;
+            }
+            position++;
+        }
+        return integral;
+    }
+
+    private void unescape() throws IOException {
+        int c = read();
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                scratch.append((char) c);
+                break;
+            case 'n':
+                scratch.append('\n');
+                break;
+            case 'r':
+                scratch.append('\r');
+                break;
+            case 't':
+                scratch.append('\t');
+                break;
+            case 'b':
+                scratch.append('\b');
+                break;
+            case 'f':
+                scratch.append('\f');
+                break;
+            case 'u':
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(read(), 16);
+                    if (digit < 0) {
+                        throw error("invalid \\u escape");
+                    }
+                    value = (value << 4) | digit;
+                }
+                scratch.append((char) value);
+                break;
+            default:
+                throw error("invalid escape");
+        }
+    }
+
+    private int continuation() throws IOException {
+        int b = read();
+        if ((b & 0xc0) != 0x80) {
+            throw error("invalid UTF-8");
+        }
+        return b & 0x3f;
+    }
+
+    private void literal(String literal) throws IOException {
+        for (int i = 0; i < literal.length(); i++) {
+            if (read() != literal.charAt(i)) {
+                throw error("expected " + literal);
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            throw error("unexpected end of input");
+        }
+        return buffer[position++] & 0xff;
+    }
+
+    private boolean fill() throws IOException {
+        consumed += limit;
+        position = 0;
+        limit = 0;
+        int n = in.read(buffer, 0, buffer.length);
+        if (n <= 0) {
+            return false;
+        }
+        limit = n;
+        return true;
+    }
+}
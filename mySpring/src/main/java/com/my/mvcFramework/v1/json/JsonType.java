@@ -0,0 +1,17 @@
+package com.my.mvcFramework.v1.json;
+
+import java.io.IOException;
+
+/**
+ * @ClassName JsonType
+ * @Description 一个Java类型的JSON读写方式，由JsonCodec按类型生成一次后缓存。value为null的情况由调用方处理
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public interface JsonType {
+    void write(JsonWriter out, Object value) throws IOException;
+
+    /** 读到null时返回null，基本类型返回默认值 */
+    Object read(JsonReader in) throws IOException;
+}
@@ -0,0 +1,635 @@
+package com.my.mvcFramework.v1.json;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+/**
+ * @ClassName JsonTypes
+ * @Description 内置的JsonType：字符串、数字、布尔、枚举、数组、集合、Map，以及按运行时类型分派的Object。
+ *              数字类型读取时也接受带引号的写法，如"10"
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+final class JsonTypes {
+    private JsonTypes() {
+    }
+
+    static final JsonType STRING = new JsonType() {
+        @Override
+        public void write(JsonWriter out, Object value) throws IOException {
+            out.writeString((CharSequence) value);
+        }
+
+        @Override
+        public Object read(JsonReader in) throws IOException {
+            if (in.nextNull()) {
+                return null;
+            }
+            int c = in.peek();
+            if ('"' == c) {
+                return in.nextString();
+            }
+            if ('t' == c || 'f' == c) {
+                return String.valueOf(in.nextBoolean());
+            }
+            return in.nextNumberText();
+        }
+    };
+
+    static final JsonType CHAR = new JsonType() {
+        @Override
+        public void write(JsonWriter out, Object value) throws IOException {
+            out.writeString(String.valueOf(value));
+        }
+
+        @Override
+        public Object read(JsonReader in) throws IOException {
+            if (in.nextNull()) {
+                return null;
+            }
+            String value = in.nextString();
+            if (value.length() != 1) {
+                throw in.error("expected a single character");
+            }
+            return value.charAt(0);
+        }
+    };
+
+    static final JsonType BOOLEAN = new JsonType() {
+        @Override
+        public void write(JsonWriter out, Object value) throws IOException {
+            out.writeBoolean((Boolean) value);
+        }
+
+        @Override
+        public Object read(JsonReader in) throws IOException {
+            if (in.nextNull()) {
+                return null;
+            }
+            if ('"' == in.peek()) {
+                return Boolean.valueOf(in.nextString());
+            }
+            return in.nextBoolean();
+        }
+    };
+
+    /** 整数类型共用写法，读取时按目标类型收窄并检查范围 */
+    static final class IntegralType implements JsonType {
+        private final Class<?> type;
+
+        private final long min;
+
+        private final long max;
+
+        IntegralType(Class<?> type, long min, long max) {
+            this.type = type;
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public void write(JsonWriter out, Object value) throws IOException {
+            out.writeLong(((Number) value).longValue());
+        }
+
+        @Override
+        public Object read(JsonReader in) throws IOException {
+            if (in.nextNull()) {
+                return null;
+            }
+            long value;
+            if ('"' == in.peek()) {
+                try {
+                    value = Long.parseLong(in.nextString().trim());
+                } catch (NumberFormatException e) {
+                    throw in.error("expected " + type.getSimpleName());
+                }
+            } else {
+                value = in.nextLong();
+            }
+            if (value < min || value > max) {
+                throw in.error(value + " out of range for " + type.getSimpleName());
+            }
+            if (Integer.class == type) {
+                return (int) value;
+            }
+            if (Long.class == type) {
+                return value;
+            }
+            if (Short.class == type) {
+                return (short) value;
+            }
+            return (byte) value;
+        }
+    }
+
+    static final JsonType INT = new IntegralType(Integer.class, Integer.MIN_VALUE, Integer.MAX_VALUE);
+
+    static final JsonType LONG = new IntegralType(Long.class, Long.MIN_VALUE, Long.MAX_VALUE);
+
+    static final JsonType SHORT = new IntegralType(Short.class, Short.MIN_VALUE, Short.MAX_VALUE);
+
+    static final JsonType BYTE = new IntegralType(Byte.class, Byte.MIN_VALUE, Byte.MAX_VALUE);
+
+    static final JsonType DOUBLE = new JsonType() {
+        @Override
+        public void write(JsonWriter out, Object value) throws IOException {
+            out.writeDouble(((Number) value).doubleValue());
+        }
+
+        @Override
+        public Object read(JsonReader in) throws IOException {
+            if (in.nextNull()) {
+                return null;
+            }
+            return '"' == in.peek() ? parseDouble(in) : in.nextDouble();
+        }
+    };
+
+    static final JsonType FLOAT = new JsonType() {
+        @Override
+        public void write(JsonWriter out, Object value) throws IOException {
+            float f = (Float) value;
+            if (Float.isNaN(f) || Float.isInfinite(f)) {
+                out.writeNull();
+            } else {
+                // 按float的最短表示输出，避免0.1f写成0.10000000149011612
+                out.writeAscii(Float.toString(f));
+            }
+        }
+
+        @Override
+        public Object read(JsonReader in) throws IOException {
+            if (in.nextNull()) {
+                return null;
+            }
+            return (float) ('"' == in.peek() ? parseDouble(in) : in.nextDouble());
+        }
+    };
+
+    static final JsonType BIG_DECIMAL = new JsonType() {
+        @Override
+        public void write(JsonWriter out, Object value) throws IOException {
+            out.writeAscii(((BigDecimal) value).toString());
+        }
+
+        @Override
+        public Object read(JsonReader in) throws IOException {
+            if (in.nextNull()) {
+                return null;
+            }
+            String text = '"' == in.peek() ? in.nextString().trim() : in.nextNumberText();
+            try {
+                return new BigDecimal(text);
+            } catch (NumberFormatException e) {
+                throw in.error("expected a decimal");
+            }
+        }
+    };
+
+    static final JsonType BIG_INTEGER = new JsonType() {
+        @Override
+        public void write(JsonWriter out, Object value) throws IOException {
+            out.writeAscii(value.toString());
+        }
+
+        @Override
+        public Object read(JsonReader in) throws IOException {
+            if (in.nextNull()) {
+                return null;
+            }
+            String text = '"' == in.peek() ? in.nextString().trim() : in.nextNumberText();
+            try {
+                return new BigInteger(text);
+            } catch (NumberFormatException e) {
+                throw in.error("expected an integer");
+            }
+        }
+    };
+
+    private static double parseDouble(JsonReader in) throws IOException {
+        try {
+            return Double.parseDouble(in.nextString().trim());
+        } catch (NumberFormatException e) {
+            throw in.error("expected a number");
+        }
+    }
+
+    /** 基本类型读到null时给默认值，与反射对基本类型字段的处理一致 */
+    static final class PrimitiveType implements JsonType {
+        private final JsonType boxed;
+
+        private final Object defaultValue;
+
+        PrimitiveType(JsonType boxed, Object defaultValue) {
+            this.boxed = boxed;
+            this.defaultValue = defaultValue;
+        }
+
+        @Override
+        public void write(JsonWriter out, Object value) throws IOException {
+            boxed.write(out, value);
+        }
+
+        @Override
+        public Object read(JsonReader in) throws IOException {
+            Object value = boxed.read(in);
+            return null == value ? defaultValue : value;
+        }
+    }
+
+    /** 枚举按name()读写，名字预先编码好 */
+    static final class EnumType implements JsonType {
+        private final Class<?> type;
+
+        private final byte[][] names;
+
+        private final Map<String, Object> constants = new LinkedHashMap<>();
+
+        EnumType(Class<?> type) {
+            this.type = type;
+            Object[] values = type.getEnumConstants();
+            this.names = new byte[values.length][];
+            for (int i = 0; i < values.length; i++) {
+                String name = ((Enum<?>) values[i]).name();
+                names[i] = ('"' + name + '"').getBytes(java.nio.charset.StandardCharsets.UTF_8);
+                constants.put(name, values[i]);
+            }
+        }
+
+        @Override
+        public void write(JsonWriter out, Object value) throws IOException {
+            out.writeRaw(names[((Enum<?>) value).ordinal()]);
+        }
+
+        @Override
+        public Object read(JsonReader in) throws IOException {
+            if (in.nextNull()) {
+                return null;
+            }
+            String name = in.nextString();
+            Object value = constants.get(name);
+            if (null == value) {
+                throw in.error("no constant " + name + " in " + type.getName());
+            }
+            return value;
+        }
+    }
+
+    /** byte[]也按数组写出，不做base64，与其他数组保持一致 */
+    static final class ArrayType implements JsonType {
+        private final Class<?> componentType;
+
+        private final JsonType element;
+
+        ArrayType(Class<?> componentType, JsonType element) {
+            this.componentType = componentType;
+            this.element = element;
+        }
+
+        @Override
+        public void write(JsonWriter out, Object value) throws IOException {
+            out.enter();
+            out.writeByte('[');
+            int length = Array.getLength(value);
+            if (componentType.isPrimitive()) {
+                for (int i = 0; i < length; i++) {
+                    if (i > 0) {
+                        out.writeByte(',');
+                    }
+                    element.write(out, Array.get(value, i));
+                }
+            } else {
+                Object[] array = (Object[]) value;
+                for (int i = 0; i < length; i++) {
+                    if (i > 0) {
+                        out.writeByte(',');
+                    }
+                    writeNullable(out, element, array[i]);
+                }
+            }
+            out.writeByte(']');
+            out.exit();
+        }
+
+        @Override
+        public Object read(JsonReader in) throws IOException {
+            if (in.nextNull()) {
+                return null;
+            }
+            List<Object> values = readElements(in, element);
+            Object array = Array.newInstance(componentType, values.size());
+            for (int i = 0; i < values.size(); i++) {
+                Array.set(array, i, values.get(i));
+            }
+            return array;
+        }
+    }
+
+    static final class CollectionType implements JsonType {
+        private final Supplier<Collection<Object>> factory;
+
+        private final JsonType element;
+
+        CollectionType(Supplier<Collection<Object>> factory, JsonType element) {
+            this.factory = factory;
+            this.element = element;
+        }
+
+        @Override
+        public void write(JsonWriter out, Object value) throws IOException {
+            out.enter();
+            out.writeByte('[');
+            boolean first = true;
+            if (value instanceof List && value instanceof java.util.RandomAccess) {
+                List<?> list = (List<?>) value;
+                for (int i = 0, size = list.size(); i < size; i++) {
+                    if (i > 0) {
+                        out.writeByte(',');
+                    }
+                    writeNullable(out, element, list.get(i));
+                }
+            } else {
+                for (Object item : (Collection<?>) value) {
+                    if (!first) {
+                        out.writeByte(',');
+                    }
+                    first = false;
+                    writeNullable(out, element, item);
+                }
+            }
+            out.writeByte(']');
+            out.exit();
+        }
+
+        @Override
+        public Object read(JsonReader in) throws IOException {
+            if (in.nextNull()) {
+                return null;
+            }
+            Collection<Object> collection = factory.get();
+            collection.addAll(readElements(in, element));
+            return collection;
+        }
+
+        /** 接口、抽象类和没有public无参构造器的实现类（如Arrays.asList()的结果）读成常用的实现 */
+        @SuppressWarnings("unchecked")
+        static Supplier<Collection<Object>> factoryOf(Class<?> raw) {
+            if (!hasPublicNoArgConstructor(raw)) {
+                if (java.util.SortedSet.class.isAssignableFrom(raw)) {
+                    return TreeSet::new;
+                }
+                if (Set.class.isAssignableFrom(raw)) {
+                    return LinkedHashSet::new;
+                }
+                return ArrayList::new;
+            }
+            Supplier<Object> constructor = BeanType.constructorOf(raw);
+            return () -> (Collection<Object>) constructor.get();
+        }
+    }
+
+    /** 只支持字符串键，其他键按String.valueOf()写出 */
+    static final class MapType implements JsonType {
+        private final Supplier<Object> factory;
+
+        private final JsonType value;
+
+        MapType(Supplier<Object> factory, JsonType value) {
+            this.factory = factory;
+            this.value = value;
+        }
+
+        @Override
+        public void write(JsonWriter out, Object map) throws IOException {
+            out.enter();
+            out.writeByte('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) map).entrySet()) {
+                if (!first) {
+                    out.writeByte(',');
+                }
+                first = false;
+                Object key = entry.getKey();
+                out.writeString(key instanceof CharSequence ? (CharSequence) key : String.valueOf(key));
+                out.writeByte(':');
+                writeNullable(out, value, entry.getValue());
+            }
+            out.writeByte('}');
+            out.exit();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object read(JsonReader in) throws IOException {
+            if (in.nextNull()) {
+                return null;
+            }
+            Map<String, Object> map = (Map<String, Object>) factory.get();
+            in.enter();
+            in.expect('{');
+            if (!in.consumeIf('}')) {
+                do {
+                    String key = in.nextString();
+                    in.expect(':');
+                    map.put(key, value.read(in));
+                } while (in.consumeIf(','));
+                in.expect('}');
+            }
+            in.exit();
+            return map;
+        }
+
+        static Supplier<Object> factoryOf(Class<?> raw) {
+            if (!hasPublicNoArgConstructor(raw)) {
+                if (java.util.SortedMap.class.isAssignableFrom(raw)) {
+                    return java.util.TreeMap::new;
+                }
+                return LinkedHashMap::new;
+            }
+            return BeanType.constructorOf(raw);
+        }
+    }
+
+    /**
+     * 声明类型为Object或接口时使用：写出时按运行时类型查找JsonType，
+     * 读取时对象读成LinkedHashMap，数组读成ArrayList，整数读成Long，小数读成Double
+     */
+    static final class DynamicType implements JsonType {
+        private final JsonCodec codec;
+
+        DynamicType(JsonCodec codec) {
+            this.codec = codec;
+        }
+
+        @Override
+        public void write(JsonWriter out, Object value) throws IOException {
+            JsonType type = codec.typeOf(value.getClass());
+            if (type == this) {
+                // Object本身没有属性
+                out.writeByte('{');
+                out.writeByte('}');
+            } else {
+                type.write(out, value);
+            }
+        }
+
+        @Override
+        public Object read(JsonReader in) throws IOException {
+            int c = in.peek();
+            if ('{' == c) {
+                Map<String, Object> map = new LinkedHashMap<>();
+                in.enter();
+                in.expect('{');
+                if (!in.consumeIf('}')) {
+                    do {
+                        String key = in.nextString();
+                        in.expect(':');
+                        map.put(key, read(in));
+                    } while (in.consumeIf(','));
+                    in.expect('}');
+                }
+                in.exit();
+                return map;
+            }
+            if ('[' == c) {
+                return readElements(in, this);
+            }
+            if ('"' == c) {
+                return in.nextString();
+            }
+            if ('t' == c || 'f' == c) {
+                return in.nextBoolean();
+            }
+            if ('n' == c) {
+                in.nextNull();
+                return null;
+            }
+            String text = in.nextNumberText();
+            try {
+                if (text.indexOf('.') < 0 && text.indexOf('e') < 0 && text.indexOf('E') < 0) {
+                    return text.length() < 19 ? (Object) Long.parseLong(text) : new BigInteger(text);
+                }
+                return Double.parseDouble(text);
+            } catch (NumberFormatException e) {
+                throw in.error("invalid number: " + text);
+            }
+        }
+    }
+
+    private static boolean hasPublicNoArgConstructor(Class<?> type) {
+        if (type.isInterface() || java.lang.reflect.Modifier.isAbstract(type.getModifiers())
+                || !java.lang.reflect.Modifier.isPublic(type.getModifiers())) {
+            return false;
+        }
+        try {
+            type.getConstructor();
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    static void writeNullable(JsonWriter out, JsonType type, Object value) throws IOException {
+        if (null == value) {
+            out.writeNull();
+        } else {
+            type.write(out, value);
+        }
+    }
+
+    private static List<Object> readElements(JsonReader in, JsonType element) throws IOException {
+        List<Object> values = new ArrayList<>();
+        in.enter();
+        in.expect('[');
+        if (!in.consumeIf(']')) {
+            do {
+                values.add(element.read(in));
+            } while (in.consumeIf(','));
+            in.expect(']');
+        }
+        in.exit();
+        return values;
+    }
+
+    /**
+     * 功能描述: 基本类型和常用值类型对应的JsonType，不是这些类型时返回null
+     * @author ykq
+     * @date 2026/10/18
+     * @param type
+     * @return com.my.mvcFramework.v1.json.JsonType
+     */
+    static JsonType simpleTypeOf(Type type) {
+        if (String.class == type || CharSequence.class == type) {
+            return STRING;
+        }
+        if (int.class == type) {
+            return new PrimitiveType(INT, 0);
+        }
+        if (long.class == type) {
+            return new PrimitiveType(LONG, 0L);
+        }
+        if (boolean.class == type) {
+            return new PrimitiveType(BOOLEAN, false);
+        }
+        if (double.class == type) {
+            return new PrimitiveType(DOUBLE, 0d);
+        }
+        if (float.class == type) {
+            return new PrimitiveType(FLOAT, 0f);
+        }
+        if (short.class == type) {
+            return new PrimitiveType(SHORT, (short) 0);
+        }
+        if (byte.class == type) {
+            return new PrimitiveType(BYTE, (byte) 0);
+        }
+        if (char.class == type) {
+            return new PrimitiveType(CHAR, '\0');
+        }
+        if (Integer.class == type) {
+            return INT;
+        }
+        if (Long.class == type) {
+            return LONG;
+        }
+        if (Boolean.class == type) {
+            return BOOLEAN;
+        }
+        if (Double.class == type) {
+            return DOUBLE;
+        }
+        if (Float.class == type) {
+            return FLOAT;
+        }
+        if (Short.class == type) {
+            return SHORT;
+        }
+        if (Byte.class == type) {
+            return BYTE;
+        }
+        if (Character.class == type) {
+            return CHAR;
+        }
+        if (BigDecimal.class == type) {
+            return BIG_DECIMAL;
+        }
+        if (BigInteger.class == type) {
+            return BIG_INTEGER;
+        }
+        return null;
+    }
+}
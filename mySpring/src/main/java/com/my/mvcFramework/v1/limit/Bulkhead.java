@@ -0,0 +1,62 @@
+package com.my.mvcFramework.v1.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @ClassName Bulkhead
+ * @Description 并发数上限。用AtomicInteger的CAS计数，满了立即拒绝，不排队也不阻塞调用线程，
+ *              与Semaphore.tryAcquire()的语义相同，但没有AQS的队列和公平性开销
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class Bulkhead {
+    private final int maxConcurrent;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final LongAdder rejected = new LongAdder();
+
+    public Bulkhead(int maxConcurrent) {
+        if (maxConcurrent <= 0) {
+            throw new IllegalArgumentException("maxConcurrent must be positive: " + maxConcurrent);
+        }
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    /**
+     * 功能描述: 占用一个并发名额，已满时立即返回false。返回true时调用方必须在处理结束后release()
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return boolean
+     */
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= maxConcurrent) {
+                rejected.increment();
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
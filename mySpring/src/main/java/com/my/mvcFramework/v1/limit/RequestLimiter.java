@@ -0,0 +1,117 @@
+package com.my.mvcFramework.v1.limit;
+
+import com.my.mvcFramework.annotation.MyBulkhead;
+import com.my.mvcFramework.annotation.MyRateLimit;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @ClassName RequestLimiter
+ * @Description 一个路由（或全局）的限流和舱壁。先占并发名额再取令牌，取不到令牌时归还名额，被拒绝的请求不占用任何资源。
+ *              超出速率返回429并带Retry-After，并发已满返回503。没有配置任何限制的路由不创建RequestLimiter，请求路径上没有额外开销
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class RequestLimiter {
+    public static final int SC_TOO_MANY_REQUESTS = 429;
+
+    /** 指标中的名字：路由的url模板，或global */
+    private final String name;
+
+    /** 限流，不限速率时为null */
+    private final TokenBucket rateLimit;
+
+    /** 舱壁，不限并发时为null */
+    private final Bulkhead bulkhead;
+
+    public RequestLimiter(String name, TokenBucket rateLimit, Bulkhead bulkhead) {
+        this.name = name;
+        this.rateLimit = rateLimit;
+        this.bulkhead = bulkhead;
+    }
+
+    /**
+     * 功能描述: 按配置和注解创建，配置优先。配置项为prefix加permitsPerSecond、burst、maxConcurrent
+     * @author ykq
+     * @date 2026/10/18
+     * @param name 指标中的名字
+     * @param config application.properties
+     * @param prefix 配置项前缀，如limit.或limit.route./demo/query.
+     * @param rate 注解，可以为null
+     * @param concurrency 注解，可以为null
+     * @return com.my.mvcFramework.v1.limit.RequestLimiter 没有任何限制时返回null
+     */
+    public static RequestLimiter create(String name, Properties config, String prefix, MyRateLimit rate, MyBulkhead concurrency) {
+        double permitsPerSecond = Double.parseDouble(config.getProperty(prefix + "permitsPerSecond",
+                null == rate ? "0" : String.valueOf(rate.value())).trim());
+        int burst = Integer.parseInt(config.getProperty(prefix + "burst",
+                null == rate ? "0" : String.valueOf(rate.burst())).trim());
+        int maxConcurrent = Integer.parseInt(config.getProperty(prefix + "maxConcurrent",
+                null == concurrency ? "0" : String.valueOf(concurrency.value())).trim());
+        if (permitsPerSecond <= 0 && maxConcurrent <= 0) {
+            return null;
+        }
+        return new RequestLimiter(name, permitsPerSecond > 0 ? new TokenBucket(permitsPerSecond, burst) : null,
+                maxConcurrent > 0 ? new Bulkhead(maxConcurrent) : null);
+    }
+
+    /**
+     * 功能描述: 尝试放行一个请求。被拒绝时直接写出429或503，调用方直接返回即可；放行时调用方必须在处理结束后release()
+     * @author ykq
+     * @date 2026/10/18
+     * @param resp
+     * @return boolean 是否放行
+     */
+    public boolean tryAcquire(HttpServletResponse resp) throws IOException {
+        if (null != bulkhead && !bulkhead.tryAcquire()) {
+            resp.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Too many concurrent requests for " + name);
+            return false;
+        }
+        if (null != rateLimit && !rateLimit.tryAcquire()) {
+            if (null != bulkhead) {
+                bulkhead.release();
+            }
+            // Retry-After以秒为单位，向上取整
+            long waitSeconds = Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(rateLimit.getWaitNanos() + 999999999L));
+            resp.setHeader("Retry-After", String.valueOf(waitSeconds));
+            resp.sendError(SC_TOO_MANY_REQUESTS, "Rate limit exceeded for " + name);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 功能描述: 归还并发名额，与放行的tryAcquire()一一对应
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return void
+     */
+    public void release() {
+        if (null != bulkhead) {
+            bulkhead.release();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public TokenBucket getRateLimit() {
+        return rateLimit;
+    }
+
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+    @Override
+    public String toString() {
+        return name + "{rate=" + (null == rateLimit ? "unlimited" : rateLimit.getPermitsPerSecond() + "/s burst " + rateLimit.getBurst())
+                + ", maxConcurrent=" + (null == bulkhead ? "unlimited" : String.valueOf(bulkhead.getMaxConcurrent())) + "}";
+    }
+}
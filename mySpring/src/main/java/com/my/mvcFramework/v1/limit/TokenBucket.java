@@ -0,0 +1,105 @@
+package com.my.mvcFramework.v1.limit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @ClassName TokenBucket
+ * @Description 无锁的令牌桶。不单独存令牌数和上次补充的时间，而是按GCRA只存一个“理论到达时间”：
+ *              每放行一个请求向后推一个发放间隔，推到超出桶容量对应的时长时拒绝。
+ *              整个状态是一个AtomicLong，放行就是一次CAS，不需要定时补充令牌的线程，也不需要锁
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class TokenBucket {
+    private final double permitsPerSecond;
+
+    private final int burst;
+
+    /** 发放一个令牌的间隔，纳秒 */
+    private final long intervalNanos;
+
+    /** 桶满时可以连续放行的时长，即burst个间隔 */
+    private final long capacityNanos;
+
+    /** 理论到达时间：按当前速率，下一个请求最早在这之后不会被限，System.nanoTime()口径 */
+    private final AtomicLong theoreticalArrival;
+
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param permitsPerSecond 每秒放行的请求数，大于0
+     * @param burst 桶的容量，小于等于0时取每秒请求数（至少为1）
+     */
+    public TokenBucket(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive: " + permitsPerSecond);
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst > 0 ? burst : (int) Math.max(1, Math.ceil(permitsPerSecond));
+        this.intervalNanos = Math.max(1L, (long) (1e9 / permitsPerSecond));
+        this.capacityNanos = intervalNanos * this.burst;
+        // 初始时桶是满的
+        this.theoreticalArrival = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * 功能描述: 取一个令牌，取不到时立即返回false，不等待
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return boolean
+     */
+    public boolean tryAcquire() {
+        long now = System.nanoTime();
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            // nanoTime可能溢出，只比较差值
+            long next = (arrival - now > 0 ? arrival : now) + intervalNanos;
+            if (next - now > capacityNanos) {
+                rejected.increment();
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 功能描述: 当前桶中剩余的令牌数
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return long
+     */
+    public long getAvailableTokens() {
+        long backlog = Math.max(0L, theoreticalArrival.get() - System.nanoTime());
+        return (capacityNanos - backlog) / intervalNanos;
+    }
+
+    /**
+     * 功能描述: 距离下一个令牌可用还要等多久，桶中有令牌时为0
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return long 纳秒
+     */
+    public long getWaitNanos() {
+        long backlog = Math.max(0L, theoreticalArrival.get() - System.nanoTime());
+        return Math.max(0L, backlog + intervalNanos - capacityNanos);
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,65 @@
+package com.my.mvcFramework.v1.log;
+
+/**
+ * @ClassName LogEvent
+ * @Description 环形缓冲区中的一个槽位，启动时一次性分配，反复复用。请求线程只填入已有对象的引用和数值，
+ *              格式化、写文件都由后台线程完成，写完后清空引用
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+final class LogEvent {
+    static final int ACCESS = 0;
+
+    static final int ERROR = 1;
+
+    static final int INFO = 2;
+
+    /** 槽位状态，由LogRingBuffer维护：等于序号时可写，等于序号+1时可读 */
+    volatile long sequence;
+
+    int type;
+
+    long timeMillis;
+
+    /** 错误事件的编号，访问事件中为关联的错误编号，没有时为-1 */
+    long id;
+
+    String thread;
+
+    // 访问事件
+    String method;
+
+    String uri;
+
+    String query;
+
+    String route;
+
+    String remote;
+
+    int status;
+
+    long durationNanos;
+
+    // 错误事件、信息事件
+    String message;
+
+    Throwable error;
+
+    LogEvent(long sequence) {
+        this.sequence = sequence;
+    }
+
+    /** 释放引用，槽位在缓冲区中长期存在，不能让请求对象和异常因此无法回收 */
+    void clear() {
+        thread = null;
+        method = null;
+        uri = null;
+        query = null;
+        route = null;
+        remote = null;
+        message = null;
+        error = null;
+    }
+}
@@ -0,0 +1,109 @@
+package com.my.mvcFramework.v1.log;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @ClassName LogRingBuffer
+ * @Description 多生产者、单消费者的有界无锁环形缓冲区，槽位预先分配。生产者用CAS认领序号，填好事件后发布；
+ *              缓冲区满时不等待，直接丢弃并计数，请求线程永远不会被日志阻塞。
+ *              每个槽位的sequence表示状态：等于待认领的序号时空闲，等于序号+1时已发布，消费后加上容量进入下一圈
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+final class LogRingBuffer {
+    private final LogEvent[] slots;
+
+    private final int mask;
+
+    /** 下一个要认领的序号 */
+    private final AtomicLong tail = new AtomicLong();
+
+    /** 下一个要消费的序号，只有消费线程读写 */
+    private long head;
+
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * 功能描述: 创建缓冲区
+     * @author ykq
+     * @date 2026/10/18
+     * @param capacity 向上取到2的幂
+     * @return
+     */
+    LogRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.slots = new LogEvent[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            slots[i] = new LogEvent(i);
+        }
+    }
+
+    /**
+     * 功能描述: 认领一个空闲槽位，填好后必须调用publish()
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return com.my.mvcFramework.v1.log.LogEvent 缓冲区满时返回null，事件计入丢弃数
+     */
+    LogEvent claim() {
+        while (true) {
+            long position = tail.get();
+            LogEvent event = slots[(int) position & mask];
+            long difference = event.sequence - position;
+            if (0 == difference) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    return event;
+                }
+            } else if (difference < 0) {
+                // 槽位还是上一圈的事件，消费者没跟上
+                dropped.increment();
+                return null;
+            }
+            // 其他生产者已认领了这个序号，重新读取
+        }
+    }
+
+    /**
+     * 功能描述: 认领到的事件的序号，从0开始全局递增，可以作为错误编号
+     * @author ykq
+     * @date 2026/10/18
+     * @param event claim()返回的、尚未发布的事件
+     * @return long
+     */
+    static long positionOf(LogEvent event) {
+        return event.sequence;
+    }
+
+    void publish(LogEvent event) {
+        event.sequence = event.sequence + 1;
+    }
+
+    /**
+     * 功能描述: 取出下一个已发布的事件，消费线程专用。处理完后调用release()
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return com.my.mvcFramework.v1.log.LogEvent 没有已发布的事件时返回null
+     */
+    LogEvent poll() {
+        LogEvent event = slots[(int) head & mask];
+        return event.sequence == head + 1 ? event : null;
+    }
+
+    void release(LogEvent event) {
+        event.clear();
+        event.sequence = head + slots.length;
+        head++;
+    }
+
+    long getDropped() {
+        return dropped.sum();
+    }
+
+    int getCapacity() {
+        return slots.length;
+    }
+}
@@ -0,0 +1,458 @@
+package com.my.mvcFramework.v1.log;
+
+import com.my.mvcFramework.v1.json.JsonWriter;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * @ClassName MyLogger
+ * @Description 访问日志和错误日志。请求线程只在预分配的无锁环形缓冲区中认领一个槽位、填入引用后发布，不格式化、不做I/O；
+ *              后台线程成批取出事件，每个事件写成一行JSON，一批写完后才写文件，文件按大小滚动（access.log、error.log）。
+ *              访问日志可以按路由采样，异常和5xx的请求总是记录。框架启动、热加载等运行信息以type为info的行写在error.log中。
+ *              容器会把它注册为名为myLogger的bean，业务代码也可以注入后记录错误
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class MyLogger implements Closeable {
+    public static final String BEAN_NAME = "myLogger";
+
+    /** 一次最多连续写出的事件数，之后检查一次是否需要写文件 */
+    private static final int MAX_BATCH = 1024;
+
+    /** 异常链的最大深度 */
+    private static final int MAX_CAUSES = 16;
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
+
+    private static final byte[] TIME = bytes("{\"time\":");
+
+    private static final byte[] ACCESS = bytes(",\"type\":\"access\"");
+
+    private static final byte[] ERROR = bytes(",\"type\":\"error\"");
+
+    private static final byte[] INFO = bytes(",\"type\":\"info\"");
+
+    private static final byte[] METHOD = bytes(",\"method\":");
+
+    private static final byte[] URI = bytes(",\"uri\":");
+
+    private static final byte[] QUERY = bytes(",\"query\":");
+
+    private static final byte[] STATUS = bytes(",\"status\":");
+
+    private static final byte[] DURATION = bytes(",\"durationMs\":");
+
+    private static final byte[] ROUTE = bytes(",\"route\":");
+
+    private static final byte[] REMOTE = bytes(",\"remote\":");
+
+    private static final byte[] ERROR_ID = bytes(",\"errorId\":");
+
+    private static final byte[] ID = bytes(",\"id\":");
+
+    private static final byte[] THREAD = bytes(",\"thread\":");
+
+    private static final byte[] MESSAGE = bytes(",\"message\":");
+
+    private static final byte[] EXCEPTION = bytes(",\"exception\":");
+
+    private static final byte[] STACK = bytes(",\"stack\":[");
+
+    private final LogRingBuffer ring;
+
+    private final Properties config;
+
+    private volatile boolean accessEnabled;
+
+    private volatile double accessSampleRate;
+
+    private final long flushIntervalNanos;
+
+    private final RollingLogOutput accessOutput;
+
+    private final RollingLogOutput errorOutput;
+
+    private final JsonWriter accessJson;
+
+    private final JsonWriter errorJson;
+
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private final Thread writer;
+
+    private volatile boolean running = true;
+
+    /** 已写出的事件数，只由后台线程更新 */
+    private volatile long written;
+
+    /** 被采样略过的访问事件数 */
+    private final LongAdder sampledOut = new LongAdder();
+
+    /**
+     * 功能描述: 读取application.properties中log.*的配置，启动后台线程
+     *          log.dir                    日志目录，为空时写到控制台（访问日志到标准输出，错误日志到标准错误）
+     *          log.bufferSize             环形缓冲区的事件个数，向上取到2的幂，默认8192
+     *          log.flushIntervalMillis    后台线程没有事件时的休眠间隔，也是日志落盘的最大延迟，默认10
+     *          log.maxFileSize            单个日志文件的大小上限（字节），默认104857600，0为不滚动
+     *          log.maxFiles               保留的历史文件个数，默认10
+     *          log.access.enabled         是否记录访问日志，默认true
+     *          log.access.sampleRate      访问日志的采样率（0~1），默认1
+     *          log.access.route.{url}.sampleRate  按路由覆盖采样率，url为路由的url模板
+     * @author ykq
+     * @date 2026/10/18
+     * @param config
+     * @return
+     */
+    public MyLogger(Properties config) {
+        this.config = config;
+        this.ring = new LogRingBuffer(Integer.parseInt(config.getProperty("log.bufferSize", "8192").trim()));
+        this.accessEnabled = Boolean.parseBoolean(config.getProperty("log.access.enabled", "true").trim());
+        this.accessSampleRate = Double.parseDouble(config.getProperty("log.access.sampleRate", "1").trim());
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(
+                Math.max(1L, Long.parseLong(config.getProperty("log.flushIntervalMillis", "10").trim())));
+
+        String dir = config.getProperty("log.dir", "").trim();
+        RollingLogOutput access = RollingLogOutput.console(System.out);
+        RollingLogOutput error = RollingLogOutput.console(System.err);
+        if (!"".equals(dir)) {
+            long maxFileSize = Long.parseLong(config.getProperty("log.maxFileSize", "104857600").trim());
+            int maxFiles = Integer.parseInt(config.getProperty("log.maxFiles", "10").trim());
+            try {
+                access = RollingLogOutput.file(Paths.get(dir), "access.log", maxFileSize, maxFiles);
+                error = RollingLogOutput.file(Paths.get(dir), "error.log", maxFileSize, maxFiles);
+            } catch (IOException e) {
+                // 日志目录不可写时不影响启动，退回控制台
+                System.err.println("Cannot open log files in " + dir + ", logging to console: " + e);
+            }
+        }
+        this.accessOutput = access;
+        this.errorOutput = error;
+        this.accessJson = new JsonWriter(accessOutput, new byte[8192]);
+        this.errorJson = new JsonWriter(errorOutput, new byte[8192]);
+
+        this.writer = new Thread(this::drainLoop, "my-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 功能描述: 配置重新加载后重新读取log.access.enabled和log.access.sampleRate。按路由的采样率保存在Handler上，由调用方重新设置；
+     *          其他log.*配置需要重启
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return void
+     */
+    public void reconfigure() {
+        boolean enabled = Boolean.parseBoolean(config.getProperty("log.access.enabled", "true").trim());
+        double sampleRate = Double.parseDouble(config.getProperty("log.access.sampleRate", "1").trim());
+        this.accessEnabled = enabled;
+        this.accessSampleRate = sampleRate;
+    }
+
+    /**
+     * 功能描述: 路由的访问日志采样率，log.access.route.{url}.sampleRate优先于log.access.sampleRate
+     * @author ykq
+     * @date 2026/10/18
+     * @param route url模板
+     * @return double
+     */
+    public double getAccessSampleRate(String route) {
+        String rate = null == route ? null : config.getProperty("log.access.route." + route + ".sampleRate");
+        return null == rate ? accessSampleRate : Double.parseDouble(rate.trim());
+    }
+
+    /**
+     * 功能描述: 记录一次请求。没有被采样时直接返回；异常、5xx的请求不采样
+     * @author ykq
+     * @date 2026/10/18
+     * @param req
+     * @param status
+     * @param durationNanos
+     * @param route 匹配到的url模板，没有匹配时为null
+     * @param sampleRate 该路由的采样率，见getAccessSampleRate()
+     * @param errorId 处理请求时记录的错误编号，没有时为-1
+     * @return void
+     */
+    public void access(HttpServletRequest req, int status, long durationNanos, String route, double sampleRate, long errorId) {
+        if (!accessEnabled) {
+            return;
+        }
+        if (status < 500 && errorId < 0 && sampleRate < 1.0
+                && (sampleRate <= 0.0 || ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            sampledOut.increment();
+            return;
+        }
+        LogEvent event = ring.claim();
+        if (null == event) {
+            return;
+        }
+        try {
+            event.type = LogEvent.ACCESS;
+            event.timeMillis = System.currentTimeMillis();
+            event.id = errorId;
+            event.method = req.getMethod();
+            event.uri = req.getRequestURI();
+            event.query = req.getQueryString();
+            event.remote = req.getRemoteAddr();
+            event.route = route;
+            event.status = status;
+            event.durationNanos = durationNanos;
+        } finally {
+            ring.publish(event);
+        }
+    }
+
+    /**
+     * 功能描述: 记录一个错误，堆栈由后台线程展开
+     * @author ykq
+     * @date 2026/10/18
+     * @param message
+     * @param error 可以为null
+     * @return long 错误编号，可以返回给客户端用于在error.log中查找；缓冲区满被丢弃时为-1
+     */
+    public long error(String message, Throwable error) {
+        LogEvent event = ring.claim();
+        if (null == event) {
+            return -1L;
+        }
+        long id = LogRingBuffer.positionOf(event);
+        try {
+            event.type = LogEvent.ERROR;
+            event.timeMillis = System.currentTimeMillis();
+            event.id = id;
+            event.thread = Thread.currentThread().getName();
+            event.message = message;
+            event.error = error;
+        } finally {
+            ring.publish(event);
+        }
+        return id;
+    }
+
+    /**
+     * 功能描述: 记录一条运行信息，如启动耗时、热加载结果，和错误写在同一个文件中
+     * @author ykq
+     * @date 2026/10/18
+     * @param message
+     * @return void
+     */
+    public void info(String message) {
+        LogEvent event = ring.claim();
+        if (null == event) {
+            return;
+        }
+        try {
+            event.type = LogEvent.INFO;
+            event.timeMillis = System.currentTimeMillis();
+            event.id = -1L;
+            event.thread = Thread.currentThread().getName();
+            event.message = message;
+        } finally {
+            ring.publish(event);
+        }
+    }
+
+    /** 缓冲区满被丢弃的事件数 */
+    public long getDropped() {
+        return ring.getDropped();
+    }
+
+    public long getWritten() {
+        return written;
+    }
+
+    public long getSampledOut() {
+        return sampledOut.sum();
+    }
+
+    /**
+     * 功能描述: 写出已发布的事件后停止后台线程，最多等待5秒
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return void
+     */
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(5000L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 功能描述: 后台线程：取空缓冲区后写文件并休眠；停止前把停止之前发布的事件全部写完
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return void
+     */
+    private void drainLoop() {
+        while (true) {
+            boolean stopping = !running;
+            int count = 0;
+            LogEvent event;
+            while (count < MAX_BATCH && null != (event = ring.poll())) {
+                try {
+                    write(event);
+                } catch (IOException | RuntimeException e) {
+                    System.err.println("Failed to write log event: " + e);
+                } finally {
+                    ring.release(event);
+                }
+                count++;
+            }
+            written += count;
+            if (count < MAX_BATCH) {
+                sync();
+                if (stopping) {
+                    break;
+                }
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+        }
+        try {
+            accessOutput.close();
+            errorOutput.close();
+        } catch (IOException e) {
+            System.err.println("Failed to close log files: " + e);
+        }
+    }
+
+    private void sync() {
+        try {
+            accessOutput.sync();
+            errorOutput.sync();
+        } catch (IOException e) {
+            System.err.println("Failed to write log files: " + e);
+        }
+    }
+
+    private void write(LogEvent event) throws IOException {
+        if (LogEvent.ACCESS == event.type) {
+            writeAccess(accessJson, event);
+            accessOutput.rollIfNeeded();
+        } else {
+            writeError(errorJson, event);
+            errorOutput.rollIfNeeded();
+        }
+    }
+
+    private void writeAccess(JsonWriter json, LogEvent event) throws IOException {
+        json.writeRaw(TIME);
+        json.writeString(TIME_FORMAT.format(Instant.ofEpochMilli(event.timeMillis).atZone(zone)));
+        json.writeRaw(ACCESS);
+        json.writeRaw(METHOD);
+        writeNullable(json, event.method);
+        json.writeRaw(URI);
+        writeNullable(json, event.uri);
+        if (null != event.query) {
+            json.writeRaw(QUERY);
+            json.writeString(event.query);
+        }
+        json.writeRaw(STATUS);
+        json.writeLong(event.status);
+        json.writeRaw(DURATION);
+        json.writeDouble(event.durationNanos / 1000000.0);
+        if (null != event.route) {
+            json.writeRaw(ROUTE);
+            json.writeString(event.route);
+        }
+        json.writeRaw(REMOTE);
+        writeNullable(json, event.remote);
+        if (event.id >= 0) {
+            json.writeRaw(ERROR_ID);
+            json.writeLong(event.id);
+        }
+        json.writeByte('}');
+        json.writeByte('\n');
+        json.flush();
+    }
+
+    private void writeError(JsonWriter json, LogEvent event) throws IOException {
+        json.writeRaw(TIME);
+        json.writeString(TIME_FORMAT.format(Instant.ofEpochMilli(event.timeMillis).atZone(zone)));
+        if (LogEvent.INFO == event.type) {
+            json.writeRaw(INFO);
+        } else {
+            json.writeRaw(ERROR);
+            json.writeRaw(ID);
+            json.writeLong(event.id);
+        }
+        json.writeRaw(THREAD);
+        writeNullable(json, event.thread);
+        json.writeRaw(MESSAGE);
+        writeNullable(json, event.message);
+        if (null != event.error) {
+            json.writeRaw(EXCEPTION);
+            json.writeString(event.error.toString());
+            json.writeRaw(STACK);
+            writeStackTrace(json, event.error);
+            json.writeByte(']');
+        }
+        json.writeByte('}');
+        json.writeByte('\n');
+        json.flush();
+    }
+
+    /**
+     * 功能描述: 每个栈帧一个字符串，cause以"Caused by: "开头接在后面
+     * @author ykq
+     * @date 2026/10/18
+     * @param json
+     * @param error
+     * @return void
+     */
+    private static void writeStackTrace(JsonWriter json, Throwable error) throws IOException {
+        Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<Throwable, Boolean>());
+        boolean first = true;
+        for (Throwable t = error; null != t && seen.size() < MAX_CAUSES && seen.add(t); t = t.getCause()) {
+            if (t != error) {
+                json.writeByte(',');
+                json.writeString("Caused by: " + t);
+            }
+            for (StackTraceElement element : t.getStackTrace()) {
+                if (!first || t != error) {
+                    json.writeByte(',');
+                }
+                first = false;
+                json.writeString("at " + element);
+            }
+        }
+    }
+
+    private static void writeNullable(JsonWriter json, String value) throws IOException {
+        if (null == value) {
+            json.writeNull();
+        } else {
+            json.writeString(value);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.my.mvcFramework.v1.log;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * @ClassName RollingLogOutput
+ * @Description 日志文件的输出流，只由日志的后台线程使用。写入先进缓冲区，sync()时才真正写文件；
+ *              文件超过大小上限后按access.log -> access.log.1 -> access.log.2的顺序滚动，只保留maxFiles个历史文件。
+ *              没有配置日志目录时写到控制台，不滚动
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+final class RollingLogOutput extends OutputStream {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** 控制台输出时为null */
+    private final Path file;
+
+    private final long maxFileSize;
+
+    private final int maxFiles;
+
+    private OutputStream out;
+
+    private long size;
+
+    private RollingLogOutput(Path file, long maxFileSize, int maxFiles, OutputStream out, long size) {
+        this.file = file;
+        this.maxFileSize = maxFileSize;
+        this.maxFiles = maxFiles;
+        this.out = out;
+        this.size = size;
+    }
+
+    /**
+     * 功能描述: 追加写入日志目录下的文件，目录不存在时创建
+     * @author ykq
+     * @date 2026/10/18
+     * @param dir
+     * @param name 文件名，如access.log
+     * @param maxFileSize 单个文件的大小上限，小于等于0时不滚动
+     * @param maxFiles 保留的历史文件个数
+     * @return com.my.mvcFramework.v1.log.RollingLogOutput
+     */
+    static RollingLogOutput file(Path dir, String name, long maxFileSize, int maxFiles) throws IOException {
+        Files.createDirectories(dir);
+        Path file = dir.resolve(name);
+        long size = Files.exists(file) ? Files.size(file) : 0L;
+        return new RollingLogOutput(file, maxFileSize, maxFiles, open(file), size);
+    }
+
+    static RollingLogOutput console(OutputStream console) {
+        return new RollingLogOutput(null, 0L, 0, new BufferedOutputStream(console, BUFFER_SIZE), 0L);
+    }
+
+    private static OutputStream open(Path file) throws IOException {
+        return new BufferedOutputStream(new FileOutputStream(file.toFile(), true), BUFFER_SIZE);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        size++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        size += len;
+    }
+
+    /** 不写文件，由后台线程在一批事件写完后调用sync() */
+    @Override
+    public void flush() {
+    }
+
+    /**
+     * 功能描述: 把缓冲区中的内容写入文件
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return void
+     */
+    void sync() throws IOException {
+        out.flush();
+    }
+
+    /**
+     * 功能描述: 超过大小上限时滚动，在整行写完后调用，一行不会被拆到两个文件中
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return void
+     */
+    void rollIfNeeded() throws IOException {
+        if (null == file || maxFileSize <= 0 || size < maxFileSize) {
+            return;
+        }
+        out.close();
+        String name = file.getFileName().toString();
+        Files.deleteIfExists(file.resolveSibling(name + "." + maxFiles));
+        for (int i = maxFiles - 1; i >= 1; i--) {
+            Path older = file.resolveSibling(name + "." + i);
+            if (Files.exists(older)) {
+                Files.move(older, file.resolveSibling(name + "." + (i + 1)), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (maxFiles > 0) {
+            Files.move(file, file.resolveSibling(name + ".1"), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.deleteIfExists(file);
+        }
+        out = open(file);
+        size = 0L;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (null == file) {
+            // 不关闭System.out/System.err
+            out.flush();
+        } else {
+            out.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return null == file ? "console" : file.toString();
+    }
+}
@@ -0,0 +1,78 @@
+package com.my.mvcFramework.v1.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @ClassName HandlerMetrics
+ * @Description 一个Handler的请求数、异常数，以及路由、参数绑定、调用三个阶段的延迟直方图。
+ *              直方图的桶数组在第一次记录时才分配；异步Handler的调用阶段从分发开始算到结果写回
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class HandlerMetrics {
+    private final LongAdder requests = new LongAdder();
+
+    private final LongAdder errors = new LongAdder();
+
+    private final LatencyHistogram routing = new LatencyHistogram();
+
+    private final LatencyHistogram binding = new LatencyHistogram();
+
+    private final LatencyHistogram invocation = new LatencyHistogram();
+
+    /**
+     * 功能描述: 请求路由到了当前Handler，请求数加一
+     * @author ykq
+     * @date 2026/10/18
+     * @param nanos 路由耗时
+     * @return void
+     */
+    public void recordRouting(long nanos) {
+        requests.increment();
+        routing.record(nanos);
+    }
+
+    public void recordBinding(long nanos) {
+        binding.record(nanos);
+    }
+
+    public void recordInvocation(long nanos) {
+        invocation.record(nanos);
+    }
+
+    public void recordError() {
+        errors.increment();
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public LatencyHistogram getRouting() {
+        return routing;
+    }
+
+    public LatencyHistogram getBinding() {
+        return binding;
+    }
+
+    public LatencyHistogram getInvocation() {
+        return invocation;
+    }
+
+    /**
+     * 功能描述: 直方图桶数组占用的字节数，不含几个计数器本身
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return long
+     */
+    public long getBucketBytes() {
+        return routing.getBucketBytes() + binding.getBucketBytes() + invocation.getBucketBytes();
+    }
+}
@@ -0,0 +1,142 @@
+package com.my.mvcFramework.v1.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @ClassName LatencyHistogram
+ * @Description HDR风格的延迟直方图，单位纳秒。每个2的幂区间再等分成32个子桶，分位数的相对误差不超过1/32。
+ *              记录只有几次无锁的原子累加；桶数组在第一次记录时才分配，没有请求的路由只占几个计数器。统计值从启动开始累计
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /** 超过2^37纳秒（约137秒，远大于异步超时）的值都记到最后一个桶 */
+    private static final int MAX_EXPONENT = 36;
+
+    static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+    private static final AtomicReferenceFieldUpdater<LatencyHistogram, AtomicLongArray> BUCKETS =
+            AtomicReferenceFieldUpdater.newUpdater(LatencyHistogram.class, AtomicLongArray.class, "buckets");
+
+    private volatile AtomicLongArray buckets;
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder sum = new LongAdder();
+
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        buckets().incrementAndGet(indexOf(nanos));
+        count.increment();
+        sum.add(nanos);
+        max.accumulate(nanos);
+    }
+
+    /**
+     * 功能描述: 计算分位数，返回所在桶的上界，且不超过记录过的最大值
+     * @author ykq
+     * @date 2026/10/18
+     * @param quantiles 升序排列的分位，如0.5、0.99
+     * @return long[] 与quantiles一一对应的纳秒值，没有记录时全为0
+     */
+    public long[] percentiles(double... quantiles) {
+        long[] values = new long[quantiles.length];
+        AtomicLongArray current = buckets;
+        if (null == current) {
+            return values;
+        }
+        long[] snapshot = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = current.get(i);
+            total += snapshot[i];
+        }
+        if (0 == total) {
+            return values;
+        }
+        long maxNanos = max.get();
+        long cumulative = 0;
+        int bucket = -1;
+        for (int q = 0; q < quantiles.length; q++) {
+            long target = Math.max(1, (long) Math.ceil(quantiles[q] * total));
+            while (cumulative < target && bucket < BUCKET_COUNT - 1) {
+                cumulative += snapshot[++bucket];
+            }
+            values[q] = Math.min(highestValueOf(bucket), maxNanos);
+        }
+        return values;
+    }
+
+    /**
+     * 功能描述: 桶数组占用的字节数，还没有记录过时为0
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return long
+     */
+    public long getBucketBytes() {
+        return null == buckets ? 0 : (long) BUCKET_COUNT * Long.BYTES;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSumNanos() {
+        return sum.sum();
+    }
+
+    public long getMaxNanos() {
+        return max.get();
+    }
+
+    /**
+     * 功能描述: 取桶数组，第一次记录时分配。并发的首次记录用CAS选出同一个数组，落选的数组直接丢弃
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return java.util.concurrent.atomic.AtomicLongArray
+     */
+    private AtomicLongArray buckets() {
+        AtomicLongArray current = buckets;
+        if (null != current) {
+            return current;
+        }
+        BUCKETS.compareAndSet(this, null, new AtomicLongArray(BUCKET_COUNT));
+        return buckets;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int shift = exponent - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKET_COUNT + (int) ((value >>> shift) - SUB_BUCKET_COUNT);
+    }
+
+    static long highestValueOf(int index) {
+        int bucket = index >>> SUB_BUCKET_BITS;
+        int subBucket = index & (SUB_BUCKET_COUNT - 1);
+        if (0 == bucket) {
+            return subBucket;
+        }
+        int shift = bucket - 1;
+        return ((long) (SUB_BUCKET_COUNT + subBucket) << shift) + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,267 @@
+package com.my.mvcFramework.v1.metrics;
+
+import com.my.mvcFramework.v1.async.AsyncDispatcher;
+import com.my.mvcFramework.v1.cache.BoundedCache;
+import com.my.mvcFramework.v1.cache.MyCacheManager;
+import com.my.mvcFramework.v1.handler.Handler;
+import com.my.mvcFramework.v1.limit.Bulkhead;
+import com.my.mvcFramework.v1.limit.RequestLimiter;
+import com.my.mvcFramework.v1.limit.TokenBucket;
+import com.my.mvcFramework.v1.log.MyLogger;
+import com.my.mvcFramework.v1.router.Router;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * @ClassName MetricsRegistry
+ * @Description 汇总所有Handler、响应缓存和异步分发器的指标，以Prometheus文本格式输出。
+ *              配置了metrics.path时自身作为一个Handler注册到路由上，默认不注册
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class MetricsRegistry {
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private static final String[] QUANTILE_LABELS = {"0.5", "0.9", "0.99", "0.999"};
+
+    /** 当前的路由表。热加载会整体替换路由表，每次输出时重新取 */
+    private final Supplier<Router> router;
+
+    private final MyCacheManager cacheManager;
+
+    private final AsyncDispatcher asyncDispatcher;
+
+    /** 全局限流，没有配置时为null */
+    private final RequestLimiter globalLimiter;
+
+    /** 访问日志和错误日志，为null时不输出日志指标 */
+    private final MyLogger logger;
+
+    /** 没有匹配到Handler的请求数 */
+    private final LongAdder unmatched = new LongAdder();
+
+    public MetricsRegistry(Supplier<Router> router, MyCacheManager cacheManager, AsyncDispatcher asyncDispatcher,
+                           RequestLimiter globalLimiter, MyLogger logger) {
+        this.router = router;
+        this.cacheManager = cacheManager;
+        this.asyncDispatcher = asyncDispatcher;
+        this.globalLimiter = globalLimiter;
+        this.logger = logger;
+    }
+
+    public void recordUnmatched() {
+        unmatched.increment();
+    }
+
+    /**
+     * 功能描述: 指标端点，供Prometheus抓取
+     * @author ykq
+     * @date 2026/10/18
+     * @param resp
+     * @return void
+     */
+    public void scrape(HttpServletResponse resp) throws IOException {
+        byte[] body = format().getBytes("UTF-8");
+        resp.setContentType(CONTENT_TYPE);
+        resp.setContentLength(body.length);
+        resp.getOutputStream().write(body);
+    }
+
+    /**
+     * 功能描述: 生成Prometheus文本格式的全部指标
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return java.lang.String
+     */
+    public String format() {
+        StringBuilder out = new StringBuilder(4096);
+        List<Handler> handlers = router.get().getHandlers();
+
+        header(out, "myspring_requests_total", "counter", "Requests routed to a handler.");
+        for (Handler handler : handlers) {
+            sample(out, "myspring_requests_total", "route", handler.getUrl(), handler.getMetrics().getRequests());
+        }
+        header(out, "myspring_request_errors_total", "counter", "Requests whose handler threw an exception or timed out.");
+        for (Handler handler : handlers) {
+            sample(out, "myspring_request_errors_total", "route", handler.getUrl(), handler.getMetrics().getErrors());
+        }
+        header(out, "myspring_requests_unmatched_total", "counter", "Requests that matched no handler.");
+        out.append("myspring_requests_unmatched_total ").append(unmatched.sum()).append('\n');
+
+        header(out, "myspring_request_phase_seconds", "summary", "Latency of routing, argument binding and handler invocation.");
+        for (Handler handler : handlers) {
+            HandlerMetrics metrics = handler.getMetrics();
+            summary(out, handler.getUrl(), "routing", metrics.getRouting());
+            summary(out, handler.getUrl(), "binding", metrics.getBinding());
+            summary(out, handler.getUrl(), "invocation", metrics.getInvocation());
+        }
+        header(out, "myspring_request_phase_max_seconds", "gauge", "Maximum latency of each phase since startup.");
+        for (Handler handler : handlers) {
+            HandlerMetrics metrics = handler.getMetrics();
+            max(out, handler.getUrl(), "routing", metrics.getRouting());
+            max(out, handler.getUrl(), "binding", metrics.getBinding());
+            max(out, handler.getUrl(), "invocation", metrics.getInvocation());
+        }
+
+        if (null != cacheManager && !cacheManager.getCaches().isEmpty()) {
+            header(out, "myspring_cache_hits_total", "counter", "Cache hits.");
+            for (BoundedCache<Object, Object> cache : cacheManager.getCaches()) {
+                sample(out, "myspring_cache_hits_total", "cache", cache.getName(), cache.getHits());
+            }
+            header(out, "myspring_cache_misses_total", "counter", "Cache misses.");
+            for (BoundedCache<Object, Object> cache : cacheManager.getCaches()) {
+                sample(out, "myspring_cache_misses_total", "cache", cache.getName(), cache.getMisses());
+            }
+            header(out, "myspring_cache_evictions_total", "counter", "Entries evicted because the cache was full.");
+            for (BoundedCache<Object, Object> cache : cacheManager.getCaches()) {
+                sample(out, "myspring_cache_evictions_total", "cache", cache.getName(), cache.getEvictions());
+            }
+            header(out, "myspring_cache_size", "gauge", "Entries currently cached.");
+            for (BoundedCache<Object, Object> cache : cacheManager.getCaches()) {
+                sample(out, "myspring_cache_size", "cache", cache.getName(), cache.size());
+            }
+        }
+
+        formatLimiters(out, handlers);
+
+        if (null != asyncDispatcher) {
+            header(out, "myspring_async_pending", "gauge", "Async requests waiting for completion.");
+            out.append("myspring_async_pending ").append(asyncDispatcher.getPendingCount()).append('\n');
+        }
+
+        if (null != logger) {
+            header(out, "myspring_log_written_total", "counter", "Log events written by the background writer.");
+            out.append("myspring_log_written_total ").append(logger.getWritten()).append('\n');
+            header(out, "myspring_log_dropped_total", "counter", "Log events dropped because the ring buffer was full.");
+            out.append("myspring_log_dropped_total ").append(logger.getDropped()).append('\n');
+            header(out, "myspring_log_sampled_out_total", "counter", "Access log events skipped by sampling.");
+            out.append("myspring_log_sampled_out_total ").append(logger.getSampledOut()).append('\n');
+        }
+        return out.toString();
+    }
+
+    /**
+     * 功能描述: 限流和舱壁的状态，标签limiter为路由的url模板或global。没有任何限制时不输出
+     * @author ykq
+     * @date 2026/10/18
+     * @param out
+     * @param handlers
+     * @return void
+     */
+    private void formatLimiters(StringBuilder out, List<Handler> handlers) {
+        List<RequestLimiter> limiters = new ArrayList<>();
+        if (null != globalLimiter) {
+            limiters.add(globalLimiter);
+        }
+        for (Handler handler : handlers) {
+            if (null != handler.getLimiter()) {
+                limiters.add(handler.getLimiter());
+            }
+        }
+        List<RequestLimiter> rateLimited = new ArrayList<>();
+        List<RequestLimiter> bulkheads = new ArrayList<>();
+        for (RequestLimiter limiter : limiters) {
+            if (null != limiter.getRateLimit()) {
+                rateLimited.add(limiter);
+            }
+            if (null != limiter.getBulkhead()) {
+                bulkheads.add(limiter);
+            }
+        }
+        if (!rateLimited.isEmpty()) {
+            header(out, "myspring_ratelimit_rejected_total", "counter", "Requests rejected with 429 by the token bucket.");
+            for (RequestLimiter limiter : rateLimited) {
+                sample(out, "myspring_ratelimit_rejected_total", "limiter", limiter.getName(), limiter.getRateLimit().getRejected());
+            }
+            header(out, "myspring_ratelimit_available_tokens", "gauge", "Tokens currently left in the bucket.");
+            for (RequestLimiter limiter : rateLimited) {
+                TokenBucket bucket = limiter.getRateLimit();
+                sample(out, "myspring_ratelimit_available_tokens", "limiter", limiter.getName(), bucket.getAvailableTokens());
+            }
+        }
+        if (!bulkheads.isEmpty()) {
+            header(out, "myspring_bulkhead_rejected_total", "counter", "Requests rejected with 503 because the bulkhead was full.");
+            for (RequestLimiter limiter : bulkheads) {
+                sample(out, "myspring_bulkhead_rejected_total", "limiter", limiter.getName(), limiter.getBulkhead().getRejected());
+            }
+            header(out, "myspring_bulkhead_in_flight", "gauge", "Requests currently holding a bulkhead permit.");
+            for (RequestLimiter limiter : bulkheads) {
+                sample(out, "myspring_bulkhead_in_flight", "limiter", limiter.getName(), limiter.getBulkhead().getInFlight());
+            }
+            header(out, "myspring_bulkhead_max_concurrent", "gauge", "Configured bulkhead size.");
+            for (RequestLimiter limiter : bulkheads) {
+                Bulkhead bulkhead = limiter.getBulkhead();
+                sample(out, "myspring_bulkhead_max_concurrent", "limiter", limiter.getName(), bulkhead.getMaxConcurrent());
+            }
+        }
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String label, String labelValue, long value) {
+        out.append(name).append('{').append(label).append("=\"");
+        escape(out, labelValue);
+        out.append("\"} ").append(value).append('\n');
+    }
+
+    private static void summary(StringBuilder out, String route, String phase, LatencyHistogram histogram) {
+        long[] values = histogram.percentiles(QUANTILES);
+        for (int i = 0; i < QUANTILES.length; i++) {
+            phaseLabels(out.append("myspring_request_phase_seconds"), route, phase)
+                    .append(",quantile=\"").append(QUANTILE_LABELS[i]).append("\"} ")
+                    .append(seconds(values[i])).append('\n');
+        }
+        phaseLabels(out.append("myspring_request_phase_seconds_sum"), route, phase)
+                .append("} ").append(seconds(histogram.getSumNanos())).append('\n');
+        phaseLabels(out.append("myspring_request_phase_seconds_count"), route, phase)
+                .append("} ").append(histogram.getCount()).append('\n');
+    }
+
+    private static void max(StringBuilder out, String route, String phase, LatencyHistogram histogram) {
+        phaseLabels(out.append("myspring_request_phase_max_seconds"), route, phase)
+                .append("} ").append(seconds(histogram.getMaxNanos())).append('\n');
+    }
+
+    private static StringBuilder phaseLabels(StringBuilder out, String route, String phase) {
+        out.append("{route=\"");
+        escape(out, route);
+        return out.append("\",phase=\"").append(phase).append('"');
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / 1e9;
+    }
+
+    /**
+     * 功能描述: 按Prometheus文本格式转义标签值中的\、"和换行
+     * @author ykq
+     * @date 2026/10/18
+     * @param out
+     * @param value
+     * @return void
+     */
+    private static void escape(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ('\\' == c || '"' == c) {
+                out.append('\\').append(c);
+            } else if ('\n' == c) {
+                out.append("\\n");
+            } else {
+                out.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.my.mvcFramework.v1.reload;
+
+import com.my.mvcFramework.v1.log.MyLogger;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * @ClassName ClassFileWatcher
+ * @Description 用NIO的WatchService监听扫描包在classpath中的目录（含子目录），把一批class文件的变化合并后回调。
+ *              编译器一次会写出多个class文件，最后一次变化之后静默quietMillis才回调，一次编译只触发一次重新加载。
+ *              内部类的变化归到外部类上，回调拿到的都是顶层类的全类名。jar包中的类不监听
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class ClassFileWatcher {
+    private static final String CLASS_SUFFIX = ".class";
+
+    private final String scanPackage;
+
+    /** 扫描包在各个classpath根下对应的目录 */
+    private final List<Path> packageDirectories;
+
+    private final long quietMillis;
+
+    private final Consumer<Set<String>> listener;
+
+    private final MyLogger logger;
+
+    private final WatchService watchService;
+
+    /** 注册过的WatchKey对应的目录，事件中的文件名是相对这个目录的 */
+    private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+
+    private final Thread thread;
+
+    /**
+     * 功能描述: 找到扫描包对应的目录并注册监听，监听线程在start()后运行
+     * @author ykq
+     * @date 2026/10/18
+     * @param classLoader
+     * @param scanPackage 如com.my.demo
+     * @param quietMillis 最后一次变化后静默多久再回调
+     * @param listener 参数为有变化的顶层类的全类名，包括被删除的类
+     * @param logger 记录监听线程中的错误
+     * @return
+     */
+    public ClassFileWatcher(ClassLoader classLoader, String scanPackage, long quietMillis, Consumer<Set<String>> listener,
+                            MyLogger logger) throws IOException {
+        this.scanPackage = scanPackage;
+        this.quietMillis = quietMillis;
+        this.listener = listener;
+        this.logger = logger;
+        this.packageDirectories = findPackageDirectories(classLoader, scanPackage);
+        this.watchService = FileSystems.getDefault().newWatchService();
+        for (Path directory : packageDirectories) {
+            registerTree(directory);
+        }
+        this.thread = new Thread(this::run, "mySpring-reload");
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * 功能描述: 停止监听，关闭WatchService后监听线程随之退出
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return void
+     */
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.error("Failed to close the class file watcher", e);
+        }
+    }
+
+    /**
+     * 功能描述: 是否有可以监听的目录。扫描包只在jar中时没有
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return boolean
+     */
+    public boolean isEmpty() {
+        return packageDirectories.isEmpty();
+    }
+
+    public List<Path> getPackageDirectories() {
+        return packageDirectories;
+    }
+
+    /**
+     * 功能描述: 类在监听目录中对应的class文件
+     * @author ykq
+     * @date 2026/10/18
+     * @param className 全类名，内部类用$分隔
+     * @return java.nio.file.Path 文件不存在或类不在扫描包下时返回null
+     */
+    public Path classFile(String className) {
+        if (!className.startsWith(scanPackage + ".")) {
+            return null;
+        }
+        String relative = className.substring(scanPackage.length() + 1).replace('.', File.separatorChar) + CLASS_SUFFIX;
+        for (Path directory : packageDirectories) {
+            Path file = directory.resolve(relative);
+            if (Files.isRegularFile(file)) {
+                return file;
+            }
+        }
+        return null;
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                // 阻塞等到第一个事件，之后每次最多等quietMillis，等不到新事件说明这一批写完了
+                Set<String> changed = new TreeSet<>();
+                WatchKey key = watchService.take();
+                while (null != key) {
+                    collect(key, changed);
+                    key = watchService.poll(quietMillis, TimeUnit.MILLISECONDS);
+                }
+                if (changed.isEmpty()) {
+                    continue;
+                }
+                try {
+                    listener.accept(changed);
+                } catch (RuntimeException e) {
+                    // 回调失败不能让监听线程退出，下次修改还要能重新加载
+                    logger.error("Hot reload of " + changed + " failed", e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // close()之后正常退出
+        }
+    }
+
+    /**
+     * 功能描述: 取出一个WatchKey上的事件。新建的子目录要补注册，class文件换算成顶层类的全类名。
+     *          事件太多溢出（OVERFLOW）时不知道哪些文件变了，把这个目录下的类全部算作有变化
+     * @author ykq
+     * @date 2026/10/18
+     * @param key
+     * @param changed
+     * @return void
+     */
+    private void collect(WatchKey key, Set<String> changed) {
+        Path directory = watchedDirectories.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (null == directory) {
+                continue;
+            }
+            if (StandardWatchEventKinds.OVERFLOW == event.kind()) {
+                rescan(directory, changed);
+                continue;
+            }
+            Path path = directory.resolve((Path) event.context());
+            if (StandardWatchEventKinds.ENTRY_CREATE == event.kind() && Files.isDirectory(path)) {
+                // 注册之前已经写进新目录的文件不会再产生事件，这里补上
+                rescan(path, changed);
+                continue;
+            }
+            addClassName(path, changed);
+        }
+        if (!key.reset()) {
+            watchedDirectories.remove(key);
+        }
+    }
+
+    /**
+     * 功能描述: 注册目录树中还没有监听的子目录，并把其中所有的class文件算作有变化。
+     *          溢出期间被删除的类无法发现，它们的路由保留到下次重启
+     * @author ykq
+     * @date 2026/10/18
+     * @param root
+     * @param changed
+     * @return void
+     */
+    private void rescan(Path root, Set<String> changed) {
+        try {
+            registerTree(root);
+            try (Stream<Path> files = Files.walk(root)) {
+                files.forEach(file -> addClassName(file, changed));
+            }
+        } catch (IOException e) {
+            logger.error("Failed to rescan " + root, e);
+        }
+    }
+
+    private void addClassName(Path file, Set<String> changed) {
+        String fileName = file.getFileName().toString();
+        if (!fileName.endsWith(CLASS_SUFFIX)) {
+            return;
+        }
+        for (Path directory : packageDirectories) {
+            if (!file.startsWith(directory)) {
+                continue;
+            }
+            String relative = directory.relativize(file).toString();
+            String className = scanPackage + "." + relative.substring(0, relative.length() - CLASS_SUFFIX.length())
+                    .replace(File.separatorChar, '.');
+            int nested = className.indexOf('$');
+            changed.add(nested < 0 ? className : className.substring(0, nested));
+            return;
+        }
+    }
+
+    private void registerTree(Path root) throws IOException {
+        List<Path> directories = new ArrayList<>();
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.filter(Files::isDirectory).forEach(directories::add);
+        }
+        for (Path directory : directories) {
+            WatchKey key = directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            watchedDirectories.put(key, directory);
+        }
+    }
+
+    private static List<Path> findPackageDirectories(ClassLoader classLoader, String scanPackage) throws IOException {
+        List<Path> directories = new ArrayList<>();
+        Enumeration<URL> roots = classLoader.getResources(scanPackage.replace('.', '/'));
+        while (roots.hasMoreElements()) {
+            URL root = roots.nextElement();
+            if (!"file".equals(root.getProtocol())) {
+                continue;
+            }
+            try {
+                directories.add(Paths.get(root.toURI()));
+            } catch (URISyntaxException e) {
+                directories.add(Paths.get(root.getPath()));
+            }
+        }
+        return directories;
+    }
+}
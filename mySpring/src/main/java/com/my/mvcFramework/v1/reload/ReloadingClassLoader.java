@@ -0,0 +1,73 @@
+package com.my.mvcFramework.v1.reload;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * @ClassName ReloadingClassLoader
+ * @Description 一次重新加载用一个加载器。只有这次改动的类和它们的内部类从class文件重新定义（子优先），
+ *              其他类都委派给父加载器，所以重新加载的Controller和没改动的service、框架类型用的是同一份Class。
+ *              旧的加载器随着旧的Handler和bean定义一起被回收
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class ReloadingClassLoader extends ClassLoader {
+    static {
+        ClassLoader.registerAsParallelCapable();
+    }
+
+    private final Set<String> reloadedClasses;
+
+    private final Function<String, Path> classFiles;
+
+    /**
+     * @param parent 应用原来的类加载器
+     * @param reloadedClasses 要重新定义的顶层类的全类名
+     * @param classFiles 全类名到class文件的映射，如ClassFileWatcher::classFile
+     */
+    public ReloadingClassLoader(ClassLoader parent, Set<String> reloadedClasses, Function<String, Path> classFiles) {
+        super(parent);
+        this.reloadedClasses = reloadedClasses;
+        this.classFiles = classFiles;
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        if (!isReloaded(name)) {
+            return super.loadClass(name, resolve);
+        }
+        synchronized (getClassLoadingLock(name)) {
+            Class<?> loaded = findLoadedClass(name);
+            if (null == loaded) {
+                loaded = findClass(name);
+            }
+            if (resolve) {
+                resolveClass(loaded);
+            }
+            return loaded;
+        }
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+        Path file = classFiles.apply(name);
+        if (null == file) {
+            throw new ClassNotFoundException(name);
+        }
+        try {
+            byte[] bytecode = Files.readAllBytes(file);
+            return defineClass(name, bytecode, 0, bytecode.length);
+        } catch (IOException e) {
+            throw new ClassNotFoundException(name, e);
+        }
+    }
+
+    private boolean isReloaded(String name) {
+        int nested = name.indexOf('$');
+        return reloadedClasses.contains(nested < 0 ? name : name.substring(0, nested));
+    }
+}
@@ -0,0 +1,38 @@
+package com.my.mvcFramework.v1.resource;
+
+/**
+ * @ClassName CachedBody
+ * @Description 小文件缓存在内存中的内容，以及预先压缩好的gzip版本。文件的大小或修改时间变了就作废
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class CachedBody {
+    private final long size;
+
+    private final long lastModified;
+
+    private final byte[] identity;
+
+    /** 压缩后没有明显变小，或者类型不适合压缩时为null */
+    private final byte[] gzip;
+
+    public CachedBody(long size, long lastModified, byte[] identity, byte[] gzip) {
+        this.size = size;
+        this.lastModified = lastModified;
+        this.identity = identity;
+        this.gzip = gzip;
+    }
+
+    public boolean isFresh(StaticResource resource) {
+        return size == resource.getSize() && lastModified == resource.getLastModified();
+    }
+
+    public byte[] getIdentity() {
+        return identity;
+    }
+
+    public byte[] getGzip() {
+        return gzip;
+    }
+}
@@ -0,0 +1,66 @@
+package com.my.mvcFramework.v1.resource;
+
+import java.net.URL;
+import java.nio.file.Path;
+
+/**
+ * @ClassName StaticResource
+ * @Description 一次请求解析到的静态资源：文件系统中的文件（file不为null），或jar包中的条目（url不为null）
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class StaticResource {
+    /** 缓存key，也用于推断Content-Type */
+    private final String name;
+
+    private final Path file;
+
+    private final URL url;
+
+    private final long size;
+
+    /** 最后修改时间，截断到秒，与HTTP日期的精度一致 */
+    private final long lastModified;
+
+    private final String etag;
+
+    public StaticResource(String name, Path file, URL url, long size, long lastModified) {
+        this.name = name;
+        this.file = file;
+        this.url = url;
+        this.size = size;
+        this.lastModified = lastModified / 1000 * 1000;
+        this.etag = "\"" + Long.toHexString(size) + "-" + Long.toHexString(this.lastModified) + "\"";
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public URL getUrl() {
+        return url;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /** 原始内容的强ETag */
+    public String getEtag() {
+        return etag;
+    }
+
+    /** gzip压缩后内容的ETag，与原始内容区分 */
+    public String getGzipEtag() {
+        return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+}
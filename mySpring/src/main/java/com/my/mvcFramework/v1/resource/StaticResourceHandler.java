@@ -0,0 +1,515 @@
+package com.my.mvcFramework.v1.resource;
+
+import com.my.mvcFramework.v1.cache.BoundedCache;
+import com.my.mvcFramework.v1.cache.MyCacheManager;
+import com.my.mvcFramework.v1.response.ResponseWriter;
+
+import javax.servlet.ServletContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLDecoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * @ClassName StaticResourceHandler
+ * @Description 没有匹配到Handler的GET/HEAD请求，按static.locations依次在webapp目录和classpath中查找静态文件。
+ *              支持ETag/Last-Modified条件请求和单段Range请求。大文件用FileChannel.transferTo写出，
+ *              输出流本身是WritableByteChannel时（如内嵌服务器的socket通道）由内核直接传输；
+ *              小文件连同预先压缩的gzip版本缓存在名为static的BoundedCache中
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class StaticResourceHandler {
+    public static final String CACHE_NAME = "static";
+
+    private static final String CLASSPATH_PREFIX = "classpath:";
+
+    /** 压缩后至少要小这么多才保存gzip版本 */
+    private static final double GZIP_MIN_RATIO = 0.9;
+
+    private static final Map<String, String> MIME_TYPES = new HashMap<>();
+
+    static {
+        MIME_TYPES.put("html", "text/html;charset=UTF-8");
+        MIME_TYPES.put("htm", "text/html;charset=UTF-8");
+        MIME_TYPES.put("css", "text/css;charset=UTF-8");
+        MIME_TYPES.put("js", "application/javascript;charset=UTF-8");
+        MIME_TYPES.put("json", "application/json;charset=UTF-8");
+        MIME_TYPES.put("map", "application/json;charset=UTF-8");
+        MIME_TYPES.put("txt", "text/plain;charset=UTF-8");
+        MIME_TYPES.put("xml", "application/xml;charset=UTF-8");
+        MIME_TYPES.put("svg", "image/svg+xml");
+        MIME_TYPES.put("png", "image/png");
+        MIME_TYPES.put("jpg", "image/jpeg");
+        MIME_TYPES.put("jpeg", "image/jpeg");
+        MIME_TYPES.put("gif", "image/gif");
+        MIME_TYPES.put("ico", "image/x-icon");
+        MIME_TYPES.put("webp", "image/webp");
+        MIME_TYPES.put("woff", "font/woff");
+        MIME_TYPES.put("woff2", "font/woff2");
+        MIME_TYPES.put("pdf", "application/pdf");
+    }
+
+    /** webapp中的目录 */
+    private final List<Path> directories = new ArrayList<>();
+
+    /** classpath中的目录前缀，以/结尾，不以/开头 */
+    private final List<String> classpathPrefixes = new ArrayList<>();
+
+    private final ServletContext servletContext;
+
+    private final ClassLoader classLoader;
+
+    private final BoundedCache<Object, Object> cache;
+
+    /** jar包中已找到的资源 */
+    private final ConcurrentMap<String, StaticResource> jarResources = new ConcurrentHashMap<>();
+
+    private final int cacheMaxFileSize;
+
+    public StaticResourceHandler(Properties config, ServletContext servletContext, ClassLoader classLoader, MyCacheManager cacheManager) {
+        this.servletContext = servletContext;
+        this.classLoader = classLoader;
+        this.cacheMaxFileSize = Integer.parseInt(config.getProperty("static.cacheMaxFileSize", "65536").trim());
+        int cacheMaxEntries = Integer.parseInt(config.getProperty("static.cacheMaxEntries", "256").trim());
+        this.cache = cacheManager.getOrCreate(CACHE_NAME, 0, cacheMaxEntries);
+
+        for (String location : config.getProperty("static.locations", "/static/,classpath:/static/").split(",")) {
+            location = location.trim();
+            if ("".equals(location)) {
+                continue;
+            }
+            if (location.startsWith(CLASSPATH_PREFIX)) {
+                String prefix = location.substring(CLASSPATH_PREFIX.length());
+                while (prefix.startsWith("/")) {
+                    prefix = prefix.substring(1);
+                }
+                classpathPrefixes.add(prefix.endsWith("/") || "".equals(prefix) ? prefix : prefix + "/");
+            } else if (null != servletContext) {
+                String realPath = servletContext.getRealPath(location);
+                if (null != realPath && Files.isDirectory(Paths.get(realPath))) {
+                    directories.add(Paths.get(realPath).toAbsolutePath().normalize());
+                }
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return directories.isEmpty() && classpathPrefixes.isEmpty();
+    }
+
+    /**
+     * 功能描述: 尝试以静态资源响应请求
+     * @author ykq
+     * @date 2026/10/18
+     * @param req
+     * @param resp
+     * @return boolean 找到了资源并已写出响应时返回true
+     */
+    public boolean serve(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        String method = req.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return false;
+        }
+        String path = relativePath(req);
+        if (null == path) {
+            return false;
+        }
+        StaticResource resource = resolve(path);
+        if (null == resource) {
+            return false;
+        }
+        write(req, resp, resource, "HEAD".equals(method));
+        return true;
+    }
+
+    private void write(HttpServletRequest req, HttpServletResponse resp, StaticResource resource, boolean head) throws IOException {
+        CachedBody body = cachedBody(resource);
+        boolean gzip = null != body && null != body.getGzip();
+        resp.setContentType(contentType(resource.getName()));
+        resp.setHeader("Accept-Ranges", "bytes");
+        resp.setDateHeader("Last-Modified", resource.getLastModified());
+        if (gzip) {
+            resp.setHeader("Vary", "Accept-Encoding");
+        }
+
+        if (isNotModified(req, resource)) {
+            resp.setHeader("ETag", gzip && ResponseWriter.acceptsGzip(req) ? resource.getGzipEtag() : resource.getEtag());
+            resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        // Range只作用于原始内容，不对gzip版本分段
+        String range = req.getHeader("Range");
+        if (null != range && isIfRangeSatisfied(req, resource)) {
+            long[] bounds = parseRange(range, resource.getSize());
+            if (null != bounds && bounds.length == 0) {
+                resp.setHeader("ETag", resource.getEtag());
+                resp.setHeader("Content-Range", "bytes */" + resource.getSize());
+                resp.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (null != bounds) {
+                long length = bounds[1] - bounds[0] + 1;
+                resp.setHeader("ETag", resource.getEtag());
+                resp.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                resp.setHeader("Content-Range", "bytes " + bounds[0] + "-" + bounds[1] + "/" + resource.getSize());
+                setContentLength(resp, length);
+                if (!head) {
+                    writeBody(resp, resource, body, bounds[0], length);
+                }
+                return;
+            }
+        }
+
+        if (gzip && ResponseWriter.acceptsGzip(req)) {
+            resp.setHeader("ETag", resource.getGzipEtag());
+            resp.setHeader("Content-Encoding", "gzip");
+            resp.setContentLength(body.getGzip().length);
+            if (!head) {
+                resp.getOutputStream().write(body.getGzip());
+            }
+            return;
+        }
+        resp.setHeader("ETag", resource.getEtag());
+        setContentLength(resp, resource.getSize());
+        if (!head) {
+            writeBody(resp, resource, body, 0, resource.getSize());
+        }
+    }
+
+    private void writeBody(HttpServletResponse resp, StaticResource resource, CachedBody body, long position, long length) throws IOException {
+        ServletOutputStream out = resp.getOutputStream();
+        if (null != body) {
+            out.write(body.getIdentity(), (int) position, (int) length);
+            return;
+        }
+        if (null != resource.getFile()) {
+            WritableByteChannel target = out instanceof WritableByteChannel ? (WritableByteChannel) out : Channels.newChannel(out);
+            try (FileChannel channel = FileChannel.open(resource.getFile(), StandardOpenOption.READ)) {
+                while (length > 0) {
+                    long transferred = channel.transferTo(position, length, target);
+                    if (transferred <= 0) {
+                        break;
+                    }
+                    position += transferred;
+                    length -= transferred;
+                }
+            }
+            return;
+        }
+        // jar包中的大文件只能按流读取
+        try (InputStream in = openStream(resource.getUrl())) {
+            skipFully(in, position);
+            byte[] buffer = new byte[8192];
+            while (length > 0) {
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, length));
+                if (read < 0) {
+                    break;
+                }
+                out.write(buffer, 0, read);
+                length -= read;
+            }
+        }
+    }
+
+    /**
+     * 功能描述: 取小文件的缓存内容，不存在或已过期时读取并压缩。大文件返回null
+     * @author ykq
+     * @date 2026/10/18
+     * @param resource
+     * @return com.my.mvcFramework.v1.resource.CachedBody
+     */
+    private CachedBody cachedBody(StaticResource resource) throws IOException {
+        if (resource.getSize() > cacheMaxFileSize) {
+            return null;
+        }
+        CachedBody body = (CachedBody) cache.get(resource.getName());
+        if (null != body && body.isFresh(resource)) {
+            return body;
+        }
+        byte[] identity;
+        if (null != resource.getFile()) {
+            identity = Files.readAllBytes(resource.getFile());
+        } else {
+            try (InputStream in = openStream(resource.getUrl())) {
+                identity = readAll(in);
+            }
+        }
+        // 读取期间文件可能被修改，内容和大小对不上时不缓存
+        if (identity.length != resource.getSize()) {
+            return null;
+        }
+        byte[] gzip = ResponseWriter.isCompressible(contentType(resource.getName())) ? gzip(identity) : null;
+        if (null != gzip && gzip.length > identity.length * GZIP_MIN_RATIO) {
+            gzip = null;
+        }
+        body = new CachedBody(resource.getSize(), resource.getLastModified(), identity, gzip);
+        cache.put(resource.getName(), body);
+        return body;
+    }
+
+    /**
+     * 功能描述: 依次在webapp目录和classpath中查找
+     * @author ykq
+     * @date 2026/10/18
+     * @param path 不以/开头的相对路径
+     * @return com.my.mvcFramework.v1.resource.StaticResource
+     */
+    private StaticResource resolve(String path) throws IOException {
+        for (Path directory : directories) {
+            Path file = directory.resolve(path).normalize();
+            if (file.startsWith(directory)) {
+                StaticResource resource = fileResource(file.toString(), file);
+                if (null != resource) {
+                    return resource;
+                }
+            }
+        }
+        for (String prefix : classpathPrefixes) {
+            URL url = classLoader.getResource(prefix + path);
+            if (null == url) {
+                continue;
+            }
+            String name = CLASSPATH_PREFIX + prefix + path;
+            if ("file".equals(url.getProtocol())) {
+                try {
+                    StaticResource resource = fileResource(name, Paths.get(url.toURI()));
+                    if (null != resource) {
+                        return resource;
+                    }
+                } catch (URISyntaxException e) {
+                    // 无法转换成文件路径时按URL读取
+                }
+                continue;
+            }
+            // jar包在运行期间不会变，解析结果只算一次
+            StaticResource resource = jarResources.get(name);
+            if (null == resource) {
+                URLConnection connection = url.openConnection();
+                connection.setUseCaches(false);
+                // 打开连接后才有长度和修改时间，读完元数据立即关闭，jar的URLConnection不关闭会一直占着文件
+                InputStream in = connection.getInputStream();
+                try {
+                    resource = new StaticResource(name, null, url, Math.max(0, connection.getContentLengthLong()),
+                            connection.getLastModified());
+                } finally {
+                    in.close();
+                }
+                jarResources.put(name, resource);
+            }
+            return resource;
+        }
+        return null;
+    }
+
+    private static StaticResource fileResource(String name, Path file) throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return null;
+        }
+        if (!attributes.isRegularFile()) {
+            return null;
+        }
+        return new StaticResource(name, file, null, attributes.size(), attributes.lastModifiedTime().toMillis());
+    }
+
+    /**
+     * 功能描述: 去掉contextPath并解码，拒绝包含..、\、WEB-INF、META-INF的路径
+     * @author ykq
+     * @date 2026/10/18
+     * @param req
+     * @return java.lang.String 不以/开头的相对路径，不能作为静态资源时返回null
+     */
+    private static String relativePath(HttpServletRequest req) throws IOException {
+        String uri = req.getRequestURI();
+        String contextPath = req.getContextPath();
+        if (null != contextPath && uri.startsWith(contextPath)) {
+            uri = uri.substring(contextPath.length());
+        }
+        // 路径中的+不是空格
+        String path = URLDecoder.decode(uri.replace("+", "%2B"), "UTF-8");
+        while (path.startsWith("/")) {
+            path = path.substring(1);
+        }
+        if ("".equals(path) || path.endsWith("/") || path.indexOf('\\') >= 0 || path.indexOf('\0') >= 0) {
+            return null;
+        }
+        for (String segment : path.split("/")) {
+            if ("..".equals(segment) || "WEB-INF".equalsIgnoreCase(segment) || "META-INF".equalsIgnoreCase(segment)) {
+                return null;
+            }
+        }
+        return path;
+    }
+
+    private static boolean isNotModified(HttpServletRequest req, StaticResource resource) {
+        String ifNoneMatch = req.getHeader("If-None-Match");
+        if (null != ifNoneMatch) {
+            for (String tag : ifNoneMatch.split(",")) {
+                tag = tag.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if ("*".equals(tag) || tag.equals(resource.getEtag()) || tag.equals(resource.getGzipEtag())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long ifModifiedSince = dateHeader(req, "If-Modified-Since");
+        return ifModifiedSince >= 0 && resource.getLastModified() <= ifModifiedSince;
+    }
+
+    /**
+     * 功能描述: If-Range为ETag时按强比较，为日期时要求与最后修改时间相同；不满足时忽略Range返回整个文件
+     * @author ykq
+     * @date 2026/10/18
+     * @param req
+     * @param resource
+     * @return boolean
+     */
+    private static boolean isIfRangeSatisfied(HttpServletRequest req, StaticResource resource) {
+        String ifRange = req.getHeader("If-Range");
+        if (null == ifRange) {
+            return true;
+        }
+        ifRange = ifRange.trim();
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(resource.getEtag());
+        }
+        return dateHeader(req, "If-Range") == resource.getLastModified();
+    }
+
+    /**
+     * 功能描述: 解析单段Range。多段或格式错误时返回null（忽略Range），范围不可满足时返回空数组
+     * @author ykq
+     * @date 2026/10/18
+     * @param range Range请求头
+     * @param size 文件大小
+     * @return long[] {起始位置, 结束位置}，都包含在内
+     */
+    static long[] parseRange(String range, long size) {
+        range = range.trim();
+        if (!range.startsWith("bytes=") || range.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = range.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if ("".equals(first)) {
+                // bytes=-n：最后n个字节
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || 0 == size) {
+                    return new long[0];
+                }
+                return new long[]{Math.max(0, size - suffix), size - 1};
+            }
+            long start = Long.parseLong(first);
+            long end = "".equals(last) ? Long.MAX_VALUE : Long.parseLong(last);
+            if (start < 0 || end < start) {
+                return null;
+            }
+            if (start >= size) {
+                return new long[0];
+            }
+            return new long[]{start, Math.min(end, size - 1)};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static long dateHeader(HttpServletRequest req, String name) {
+        try {
+            return req.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    private String contentType(String name) {
+        String contentType = null == servletContext ? null : servletContext.getMimeType(name);
+        if (null != contentType) {
+            return contentType;
+        }
+        int dot = name.lastIndexOf('.');
+        contentType = dot < 0 ? null : MIME_TYPES.get(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+        return null == contentType ? "application/octet-stream" : contentType;
+    }
+
+    private static void setContentLength(HttpServletResponse resp, long length) {
+        if (length <= Integer.MAX_VALUE) {
+            resp.setContentLength((int) length);
+        } else {
+            resp.setHeader("Content-Length", String.valueOf(length));
+        }
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(data.length / 2 + 32);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(data);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static InputStream openStream(URL url) throws IOException {
+        URLConnection connection = url.openConnection();
+        connection.setUseCaches(false);
+        return connection.getInputStream();
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        byte[] chunk = new byte[8192];
+        int read;
+        while ((read = in.read(chunk)) >= 0) {
+            buffer.write(chunk, 0, read);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static void skipFully(InputStream in, long n) throws IOException {
+        while (n > 0) {
+            long skipped = in.skip(n);
+            if (skipped <= 0) {
+                if (in.read() < 0) {
+                    return;
+                }
+                skipped = 1;
+            }
+            n -= skipped;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.my.mvcFramework.v1.response;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * @ClassName BodyOutput
+ * @Description 响应体的输出流。先写进从BufferPool借来的缓冲区，满了再写到底层流（servlet输出流或gzip流）；
+ *              字符直接编码进缓冲区，不生成中间的String和byte[]。flush()会把已写内容推给客户端，
+ *              没有Content-Length时容器以chunked编码发送
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class BodyOutput extends OutputStream {
+    private final OutputStream target;
+
+    private final BufferPool pool;
+
+    private final Charset charset;
+
+    private byte[] buffer;
+
+    private int count;
+
+    private CharsetEncoder encoder;
+
+    BodyOutput(OutputStream target, BufferPool pool, Charset charset) {
+        this.target = target;
+        this.pool = pool;
+        this.charset = charset;
+        this.buffer = pool.acquire();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (count == buffer.length) {
+            drain();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        // 比缓冲区还大的块直接写到底层流，不再拷贝
+        if (len >= buffer.length) {
+            drain();
+            target.write(b, off, len);
+            return;
+        }
+        if (len > buffer.length - count) {
+            drain();
+        }
+        System.arraycopy(b, off, buffer, count, len);
+        count += len;
+    }
+
+    /**
+     * 功能描述: 写出ByteBuffer的剩余内容，不改变它的position
+     * @author ykq
+     * @date 2026/10/18
+     * @param src
+     * @return void
+     */
+    public void write(ByteBuffer src) throws IOException {
+        if (src.hasArray()) {
+            write(src.array(), src.arrayOffset() + src.position(), src.remaining());
+            return;
+        }
+        ByteBuffer view = src.duplicate();
+        while (view.hasRemaining()) {
+            if (count == buffer.length) {
+                drain();
+            }
+            int n = Math.min(view.remaining(), buffer.length - count);
+            view.get(buffer, count, n);
+            count += n;
+        }
+    }
+
+    /**
+     * 功能描述: 按响应的字符集把字符编码进缓冲区
+     * @author ykq
+     * @date 2026/10/18
+     * @param chars
+     * @return void
+     */
+    public void write(CharSequence chars) throws IOException {
+        if (null == encoder) {
+            encoder = charset.newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+        CharBuffer in = CharBuffer.wrap(chars);
+        encoder.reset();
+        boolean flushing = false;
+        while (true) {
+            ByteBuffer out = ByteBuffer.wrap(buffer, count, buffer.length - count);
+            CoderResult result = flushing ? encoder.flush(out) : encoder.encode(in, out, true);
+            count = out.position();
+            if (result.isOverflow()) {
+                drain();
+            } else if (flushing) {
+                return;
+            } else {
+                // 输入已全部编码，再写出编码器中剩余的字节
+                flushing = true;
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+        target.flush();
+    }
+
+    /**
+     * 功能描述: 写出剩余内容，归还缓冲区。gzip流关闭时写出尾部并释放Deflater；不关闭servlet输出流，由容器关闭
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return void
+     */
+    @Override
+    public void close() throws IOException {
+        if (null == buffer) {
+            return;
+        }
+        try {
+            drain();
+            if (target instanceof DeflaterOutputStream) {
+                // 只finish()时Deflater的本地内存要等到GC才释放
+                target.close();
+            } else {
+                target.flush();
+            }
+        } finally {
+            pool.release(buffer);
+            buffer = null;
+        }
+    }
+
+    private void drain() throws IOException {
+        if (count > 0) {
+            target.write(buffer, 0, count);
+            count = 0;
+        }
+    }
+}
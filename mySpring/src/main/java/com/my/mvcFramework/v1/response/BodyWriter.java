@@ -0,0 +1,14 @@
+package com.my.mvcFramework.v1.response;
+
+import java.io.IOException;
+
+/**
+ * @ClassName BodyWriter
+ * @Description 流式响应体，边生成边写出，内容不需要整体放在内存中
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public interface BodyWriter {
+    void writeTo(BodyOutput out) throws IOException;
+}
@@ -0,0 +1,180 @@
+package com.my.mvcFramework.v1.response;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @ClassName MyResponse
+ * @Description Handler可以返回的响应体：byte[]或ByteBuffer的视图、逐块输出的Iterator、流式的BodyWriter。
+ *              由框架通过池化的缓冲区写出，客户端支持时按需gzip压缩。
+ *              例：return MyResponse.chunks(lines.iterator()).contentType("text/csv;charset=UTF-8");
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public abstract class MyResponse {
+    public static final String DEFAULT_CONTENT_TYPE = "text/plain;charset=UTF-8";
+
+    private int status;
+
+    private String contentType = DEFAULT_CONTENT_TYPE;
+
+    private Map<String, String> headers;
+
+    /**
+     * 功能描述: 数组的视图，不拷贝
+     * @author ykq
+     * @date 2026/10/18
+     * @param bytes
+     * @return com.my.mvcFramework.v1.response.MyResponse
+     */
+    public static MyResponse bytes(byte[] bytes) {
+        return bytes(bytes, 0, bytes.length);
+    }
+
+    public static MyResponse bytes(final byte[] bytes, final int offset, final int length) {
+        return new MyResponse() {
+            @Override
+            public long getContentLength() {
+                return length;
+            }
+
+            @Override
+            protected void writeBody(BodyOutput out) throws IOException {
+                out.write(bytes, offset, length);
+            }
+        };
+    }
+
+    /**
+     * 功能描述: ByteBuffer剩余内容的视图，可以是堆外或内存映射的缓冲区，写出时不改变它的position
+     * @author ykq
+     * @date 2026/10/18
+     * @param buffer
+     * @return com.my.mvcFramework.v1.response.MyResponse
+     */
+    public static MyResponse buffer(final ByteBuffer buffer) {
+        return new MyResponse() {
+            @Override
+            public long getContentLength() {
+                return buffer.remaining();
+            }
+
+            @Override
+            protected void writeBody(BodyOutput out) throws IOException {
+                out.write(buffer);
+            }
+        };
+    }
+
+    /**
+     * 功能描述: 逐块输出，每块写完后flush，客户端按chunked编码逐块收到。
+     *          块可以是CharSequence、byte[]、ByteBuffer，其他对象按String.valueOf()输出
+     * @author ykq
+     * @date 2026/10/18
+     * @param chunks
+     * @return com.my.mvcFramework.v1.response.MyResponse
+     */
+    public static MyResponse chunks(final Iterator<?> chunks) {
+        return new MyResponse() {
+            @Override
+            protected void writeBody(BodyOutput out) throws IOException {
+                while (chunks.hasNext()) {
+                    Object chunk = chunks.next();
+                    if (chunk instanceof byte[]) {
+                        out.write((byte[]) chunk);
+                    } else if (chunk instanceof ByteBuffer) {
+                        out.write((ByteBuffer) chunk);
+                    } else if (chunk instanceof CharSequence) {
+                        out.write((CharSequence) chunk);
+                    } else {
+                        out.write(String.valueOf(chunk));
+                    }
+                    out.flush();
+                }
+            }
+        };
+    }
+
+    /**
+     * 功能描述: 流式输出，由writer自己决定写什么、什么时候flush
+     * @author ykq
+     * @date 2026/10/18
+     * @param writer
+     * @return com.my.mvcFramework.v1.response.MyResponse
+     */
+    public static MyResponse stream(final BodyWriter writer) {
+        return new MyResponse() {
+            @Override
+            protected void writeBody(BodyOutput out) throws IOException {
+                writer.writeTo(out);
+            }
+        };
+    }
+
+    public MyResponse status(int status) {
+        this.status = status;
+        return this;
+    }
+
+    public MyResponse contentType(String contentType) {
+        this.contentType = contentType;
+        return this;
+    }
+
+    public MyResponse header(String name, String value) {
+        if (null == headers) {
+            headers = new LinkedHashMap<>();
+        }
+        headers.put(name, value);
+        return this;
+    }
+
+    /** 0表示不设置，使用容器默认的200 */
+    public int getStatus() {
+        return status;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    /** 响应体的字节数，事先不知道时为-1 */
+    public long getContentLength() {
+        return -1;
+    }
+
+    /**
+     * 功能描述: Content-Type中声明的字符集，没有声明时为UTF-8
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return java.nio.charset.Charset
+     */
+    public Charset getCharset() {
+        if (null != contentType) {
+            int index = contentType.toLowerCase().indexOf("charset=");
+            if (index >= 0) {
+                String name = contentType.substring(index + "charset=".length()).trim();
+                int end = name.indexOf(';');
+                try {
+                    return Charset.forName(end < 0 ? name : name.substring(0, end).trim());
+                } catch (IllegalArgumentException e) {
+                    return StandardCharsets.UTF_8;
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    protected abstract void writeBody(BodyOutput out) throws IOException;
+}
@@ -0,0 +1,176 @@
+package com.my.mvcFramework.v1.response;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * @ClassName ResponseWriter
+ * @Description 把Handler返回的MyResponse写到servlet响应中。请求头Accept-Encoding接受gzip、类型可压缩、
+ *              且长度未知或不小于compression.minSize时用gzip输出；已知长度且不压缩时设置Content-Length，
+ *              否则由容器按chunked编码发送
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class ResponseWriter {
+    private final boolean compressionEnabled;
+
+    private final long compressionMinSize;
+
+    private final BufferPool bufferPool;
+
+    public ResponseWriter(Properties config) {
+        this.compressionEnabled = Boolean.parseBoolean(config.getProperty("compression.enabled", "true").trim());
+        this.compressionMinSize = Long.parseLong(config.getProperty("compression.minSize", "1024").trim());
+        this.bufferPool = new BufferPool(Integer.parseInt(config.getProperty("response.bufferSize", "8192").trim()),
+                Integer.parseInt(config.getProperty("response.maxPooledBuffers", "256").trim()));
+    }
+
+    /**
+     * 功能描述: 写出MyResponse
+     * @author ykq
+     * @date 2026/10/18
+     * @param req
+     * @param resp
+     * @param response
+     * @param compressible 为false时不压缩，如写入响应缓存时，缓存的内容要能发给不支持gzip的客户端
+     * @return void
+     */
+    public void write(HttpServletRequest req, HttpServletResponse resp, MyResponse response, boolean compressible) throws IOException {
+        if (response.getStatus() > 0) {
+            resp.setStatus(response.getStatus());
+        }
+        Map<String, String> headers = response.getHeaders();
+        if (null != headers) {
+            for (Map.Entry<String, String> header : headers.entrySet()) {
+                resp.setHeader(header.getKey(), header.getValue());
+            }
+        }
+        String contentType = response.getContentType();
+        if (null != contentType) {
+            resp.setContentType(contentType);
+        }
+
+        long length = response.getContentLength();
+        boolean gzip = compressible && compressionEnabled && null != contentType && isCompressible(contentType)
+                && (length < 0 || length >= compressionMinSize) && acceptsGzip(req)
+                && !resp.containsHeader("Content-Encoding");
+        OutputStream target = resp.getOutputStream();
+        if (gzip) {
+            resp.setHeader("Content-Encoding", "gzip");
+            resp.addHeader("Vary", "Accept-Encoding");
+            // syncFlush：BodyOutput.flush()时把已压缩的内容推给客户端，逐块输出才有意义
+            // BodyOutput.close()关闭gzip流以释放Deflater的本地内存，servlet输出流由容器关闭，中间隔一层不关闭的包装
+            target = new GZIPOutputStream(new NonClosingOutputStream(target), bufferPool.getBufferSize(), true);
+        } else if (length >= 0) {
+            if (length <= Integer.MAX_VALUE) {
+                resp.setContentLength((int) length);
+            } else {
+                resp.setHeader("Content-Length", String.valueOf(length));
+            }
+        }
+
+        BodyOutput out = new BodyOutput(target, bufferPool, response.getCharset());
+        try {
+            response.writeBody(out);
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * 功能描述: 输出500。堆栈只写入错误日志，响应中只给出错误编号，不向客户端暴露内部实现。
+     *          响应已提交时状态码和部分响应体已经发出，不再写任何内容，由容器关闭连接；
+     *          未提交时先清掉出错前写入缓冲区的部分响应体和为它设置的Content-Length、Content-Encoding等响应头
+     * @author ykq
+     * @date 2026/10/18
+     * @param resp
+     * @param errorId MyLogger.error()返回的编号，-1表示没有记录下来
+     * @return void
+     */
+    public static void writeError(HttpServletResponse resp, long errorId) throws IOException {
+        if (resp.isCommitted()) {
+            return;
+        }
+        resp.reset();
+        resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        String message = errorId >= 0 ? "500 Exception! See the error log, id: " + errorId : "500 Exception!";
+        PrintWriter writer;
+        try {
+            writer = resp.getWriter();
+        } catch (IllegalStateException e) {
+            // 出错前已经调用过getOutputStream()，reset()之后有的容器仍然不允许再取writer，改用字节流写出
+            resp.getOutputStream().write(message.getBytes(StandardCharsets.ISO_8859_1));
+            return;
+        }
+        writer.write(message);
+    }
+
+    /**
+     * 功能描述: Accept-Encoding中有gzip且q不为0
+     * @author ykq
+     * @date 2026/10/18
+     * @param req
+     * @return boolean
+     */
+    public static boolean acceptsGzip(HttpServletRequest req) {
+        String acceptEncoding = req.getHeader("Accept-Encoding");
+        if (null == acceptEncoding) {
+            return false;
+        }
+        for (String coding : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (!"gzip".equals(name) && !"*".equals(name)) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(parameter.substring(2).trim()) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    public static boolean isCompressible(String contentType) {
+        String type = contentType.toLowerCase(Locale.ROOT);
+        return type.startsWith("text/") || type.startsWith("application/javascript")
+                || type.startsWith("application/json") || type.startsWith("application/xml")
+                || type.startsWith("image/svg+xml");
+    }
+
+    /**
+     * 关闭时只flush、不关闭被包装的流。FilterOutputStream默认逐字节写，这里整块转发
+     */
+    static final class NonClosingOutputStream extends FilterOutputStream {
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
+}
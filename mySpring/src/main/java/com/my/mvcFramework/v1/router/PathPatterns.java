@@ -0,0 +1,90 @@
+package com.my.mvcFramework.v1.router;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @ClassName PathPatterns
+ * @Description url模板相关的工具方法。模板按/分段，每段可以是：静态文本、{name}路径变量、*任意一段、**（仅末尾）剩余所有段
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public final class PathPatterns {
+    public static final String WILDCARD = "*";
+
+    public static final String CATCH_ALL = "**";
+
+    private PathPatterns() {
+    }
+
+    /**
+     * 功能描述: 拼接并规范化url：保证以/开头，合并连续的/，去掉末尾的/。只遍历一次字符，不用正则
+     * @author ykq
+     * @date 2026/10/18
+     * @param parts 如类上和方法上@MyRequestMapping的值
+     * @return java.lang.String
+     */
+    public static String normalize(String... parts) {
+        StringBuilder sb = new StringBuilder();
+        for (String part : parts) {
+            if (null == part) {
+                continue;
+            }
+            for (int i = 0; i < part.length(); i++) {
+                char c = part.charAt(i);
+                if (c == '/') {
+                    continue;
+                }
+                // 每段的第一个字符前补一个/
+                if (i == 0 || part.charAt(i - 1) == '/') {
+                    sb.append('/');
+                }
+                sb.append(c);
+            }
+        }
+        return sb.length() == 0 ? "/" : sb.toString();
+    }
+
+    /**
+     * 功能描述: 当前段是否是{name}形式的路径变量
+     * @author ykq
+     * @date 2026/10/18
+     * @param segment
+     * @return boolean
+     */
+    public static boolean isVariable(String segment) {
+        return segment.length() > 2 && segment.charAt(0) == '{' && segment.charAt(segment.length() - 1) == '}';
+    }
+
+    /**
+     * 功能描述: 按出现顺序取出模板中的路径变量名
+     * @author ykq
+     * @date 2026/10/18
+     * @param pattern 已规范化的url模板
+     * @return java.lang.String[]
+     */
+    public static String[] variableNames(String pattern) {
+        List<String> names = new ArrayList<>();
+        for (String segment : segments(pattern)) {
+            if (isVariable(segment)) {
+                names.add(segment.substring(1, segment.length() - 1).trim());
+            }
+        }
+        return names.toArray(new String[names.size()]);
+    }
+
+    /**
+     * 功能描述: 把已规范化的模板拆成段，根路径/返回空数组
+     * @author ykq
+     * @date 2026/10/18
+     * @param pattern
+     * @return java.lang.String[]
+     */
+    static String[] segments(String pattern) {
+        if ("/".equals(pattern)) {
+            return new String[0];
+        }
+        return pattern.substring(1).split("/");
+    }
+}
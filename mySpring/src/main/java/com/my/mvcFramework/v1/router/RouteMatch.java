@@ -0,0 +1,31 @@
+package com.my.mvcFramework.v1.router;
+
+import com.my.mvcFramework.v1.handler.Handler;
+
+/**
+ * @ClassName RouteMatch
+ * @Description 一次路由的结果：命中的Handler，以及按模板中出现顺序排列的路径变量值
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class RouteMatch {
+    private static final String[] NO_VARIABLES = new String[0];
+
+    private final Handler handler;
+
+    private final String[] pathVariables;
+
+    public RouteMatch(Handler handler, String[] pathVariables) {
+        this.handler = handler;
+        this.pathVariables = null == pathVariables ? NO_VARIABLES : pathVariables;
+    }
+
+    public Handler getHandler() {
+        return handler;
+    }
+
+    public String[] getPathVariables() {
+        return pathVariables;
+    }
+}
@@ -0,0 +1,557 @@
+package com.my.mvcFramework.v1.router;
+
+import com.my.mvcFramework.v1.handler.Handler;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * @ClassName Router
+ * @Description 按段组织的前缀树路由，取代原来以完整url为key的HashMap。
+ *              查找时直接在原始requestURI上按字符推进：跳过contextPath、忽略连续的/，不生成规范化后的新字符串，
+ *              每段只做一次开放寻址的哈希查找，所以耗时只和路径长度有关，和路由数量无关。
+ *              匹配优先级：静态段 > {name} > * > **，前面的分支走不通时回溯到后面的分支。静态段按原始字符比较，路径变量的值做百分号解码。
+ *              注册完成后调用freeze()冻结：前缀树被压平成几个连续的数组（见CompactTable），之后不能再注册，
+ *              只读的数组发布给请求线程后无锁读取；热加载时用copy()复制出新的路由表，注册、冻结完再整体替换
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class Router {
+    /** 注册阶段的前缀树，冻结后置为null，由table代替 */
+    private Node root = new Node();
+
+    /** 冻结后的只读路由表 */
+    private CompactTable table;
+
+    /** 所有路由中路径变量最多的个数，用于一次性分配捕获数组 */
+    private int maxVariables;
+
+    private final List<Handler> handlers = new ArrayList<>();
+
+    /**
+     * 功能描述: 注册路由，同一个模板重复注册时直接报错
+     * @author ykq
+     * @date 2026/10/18
+     * @param handler handler.getUrl()是已规范化的url模板
+     * @return void
+     */
+    public void register(Handler handler) {
+        if (null != table) {
+            throw new IllegalStateException("Router is frozen, cannot register " + handler.getUrl());
+        }
+        String pattern = handler.getUrl();
+        String[] segments = PathPatterns.segments(pattern);
+        Node node = root;
+        int variables = 0;
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (PathPatterns.CATCH_ALL.equals(segment)) {
+                if (i != segments.length - 1) {
+                    throw new IllegalArgumentException("'**' must be the last segment: " + pattern);
+                }
+                if (null != node.catchAll) {
+                    throw duplicate(pattern, node.catchAll);
+                }
+                node.catchAll = handler;
+                maxVariables = Math.max(maxVariables, variables);
+                handlers.add(handler);
+                return;
+            }
+            if (PathPatterns.isVariable(segment)) {
+                variables++;
+                if (null == node.variable) {
+                    node.variable = new Node();
+                }
+                node = node.variable;
+            } else if (PathPatterns.WILDCARD.equals(segment)) {
+                if (null == node.wildcard) {
+                    node.wildcard = new Node();
+                }
+                node = node.wildcard;
+            } else {
+                node = node.child(segment);
+            }
+        }
+        if (null != node.handler) {
+            throw duplicate(pattern, node.handler);
+        }
+        node.handler = handler;
+        maxVariables = Math.max(maxVariables, variables);
+        handlers.add(handler);
+    }
+
+    /**
+     * 功能描述: 冻结路由表：把前缀树压平成CompactTable并丢弃树的节点，之后register()直接报错。重复调用无副作用
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return com.my.mvcFramework.v1.router.Router 当前路由表，便于链式调用
+     */
+    public Router freeze() {
+        if (null == table) {
+            table = new CompactTable(root, handlers);
+            root = null;
+        }
+        return this;
+    }
+
+    public boolean isFrozen() {
+        return null != table;
+    }
+
+    /**
+     * 功能描述: 复制出一个新的路由表，只保留满足条件的Handler，Handler对象本身（连同其指标、缓存）直接复用。
+     *          当前路由表不受影响，正在处理的请求照常使用
+     * @author ykq
+     * @date 2026/10/18
+     * @param keep
+     * @return com.my.mvcFramework.v1.router.Router
+     */
+    public Router copy(Predicate<Handler> keep) {
+        Router copy = new Router();
+        for (Handler handler : handlers) {
+            if (keep.test(handler)) {
+                copy.register(handler);
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * 功能描述: 按请求路径查找Handler
+     * @author ykq
+     * @date 2026/10/18
+     * @param requestUri req.getRequestURI()，未做任何处理
+     * @param contextPath req.getContextPath()，非空时从requestUri开头跳过
+     * @return com.my.mvcFramework.v1.router.RouteMatch 没有匹配的路由时返回null
+     */
+    public RouteMatch lookup(String requestUri, String contextPath) {
+        int start = 0;
+        if (null != contextPath && !contextPath.isEmpty() && requestUri.startsWith(contextPath)) {
+            start = contextPath.length();
+        }
+        // 每个路径变量占两个位置：起始下标、结束下标
+        int[] captures = maxVariables == 0 ? null : new int[maxVariables * 2];
+        Handler handler = null != table ? table.match(0, requestUri, start, captures, 0)
+                : match(root, requestUri, start, captures, 0);
+        if (null == handler) {
+            return null;
+        }
+        int count = handler.getPathVariableNames().length;
+        if (count == 0) {
+            return new RouteMatch(handler, null);
+        }
+        String[] values = new String[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = decode(requestUri, captures[i * 2], captures[i * 2 + 1]);
+        }
+        return new RouteMatch(handler, values);
+    }
+
+    /**
+     * 功能描述: 截取一个路径变量并做百分号解码，如a%20b解码为"a b"。requestURI未经解码，按UTF-8还原多字节字符；
+     *          路径中的+不是空格，原样保留；不完整或非法的%序列原样保留
+     * @author ykq
+     * @date 2026/10/18
+     * @param path
+     * @param start
+     * @param end
+     * @return java.lang.String
+     */
+    static String decode(String path, int start, int end) {
+        int percent = path.indexOf('%', start);
+        if (percent < 0 || percent >= end) {
+            return path.substring(start, end);
+        }
+        StringBuilder decoded = new StringBuilder(end - start);
+        decoded.append(path, start, percent);
+        byte[] bytes = new byte[(end - percent) / 3];
+        int i = percent;
+        while (i < end) {
+            // 连续的%XX先收集成字节，再整体按UTF-8解码
+            int count = 0;
+            while (i + 2 < end && path.charAt(i) == '%') {
+                int high = Character.digit(path.charAt(i + 1), 16);
+                int low = Character.digit(path.charAt(i + 2), 16);
+                if (high < 0 || low < 0) {
+                    break;
+                }
+                bytes[count++] = (byte) ((high << 4) | low);
+                i += 3;
+            }
+            if (count > 0) {
+                decoded.append(new String(bytes, 0, count, StandardCharsets.UTF_8));
+            } else {
+                decoded.append(path.charAt(i++));
+            }
+        }
+        return decoded.toString();
+    }
+
+    /**
+     * 功能描述: 已注册的所有Handler，按注册顺序
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return java.util.List<com.my.mvcFramework.v1.handler.Handler>
+     */
+    public List<Handler> getHandlers() {
+        return Collections.unmodifiableList(handlers);
+    }
+
+    public boolean isEmpty() {
+        return handlers.isEmpty();
+    }
+
+    private Handler match(Node node, String path, int pos, int[] captures, int captured) {
+        int length = path.length();
+        // 忽略连续的/，等价于原来的replaceAll("/+", "/")
+        while (pos < length && path.charAt(pos) == '/') {
+            pos++;
+        }
+        if (pos == length) {
+            return null != node.handler ? node.handler : node.catchAll;
+        }
+        int end = path.indexOf('/', pos);
+        if (end < 0) {
+            end = length;
+        }
+
+        Node next = node.find(path, pos, end);
+        if (null != next) {
+            Handler handler = match(next, path, end, captures, captured);
+            if (null != handler) {
+                return handler;
+            }
+        }
+        if (null != node.variable) {
+            captures[captured * 2] = pos;
+            captures[captured * 2 + 1] = end;
+            Handler handler = match(node.variable, path, end, captures, captured + 1);
+            if (null != handler) {
+                return handler;
+            }
+        }
+        if (null != node.wildcard) {
+            Handler handler = match(node.wildcard, path, end, captures, captured);
+            if (null != handler) {
+                return handler;
+            }
+        }
+        return node.catchAll;
+    }
+
+    private static int hash(String path, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + path.charAt(i);
+        }
+        return h;
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    private static IllegalStateException duplicate(String pattern, Handler existing) {
+        return new IllegalStateException("Duplicate mapping " + pattern + ", already mapped to " + existing.getMethod());
+    }
+
+    /**
+     * 树的一个节点。静态子节点放在开放寻址表里，表长为2的幂，负载不超过1/2
+     */
+    private static final class Node {
+        private String[] keys;
+
+        private Node[] children;
+
+        private int size;
+
+        private Node variable;
+
+        private Node wildcard;
+
+        private Handler handler;
+
+        private Handler catchAll;
+
+        Node child(String segment) {
+            Node existing = find(segment, 0, segment.length());
+            if (null != existing) {
+                return existing;
+            }
+            if (null == keys || (size + 1) * 2 > keys.length) {
+                resize();
+            }
+            Node node = new Node();
+            insert(keys, children, segment, node);
+            size++;
+            return node;
+        }
+
+        /**
+         * 按path[start, end)查找静态子节点，哈希算法与String.hashCode一致，不截取子串
+         */
+        Node find(String path, int start, int end) {
+            if (null == keys) {
+                return null;
+            }
+            int h = hash(path, start, end);
+            int len = end - start;
+            int mask = keys.length - 1;
+            int idx = spread(h) & mask;
+            String key;
+            while (null != (key = keys[idx])) {
+                if (key.length() == len && key.regionMatches(0, path, start, len)) {
+                    return children[idx];
+                }
+                idx = (idx + 1) & mask;
+            }
+            return null;
+        }
+
+        private void resize() {
+            int capacity = null == keys ? 4 : keys.length * 2;
+            String[] newKeys = new String[capacity];
+            Node[] newChildren = new Node[capacity];
+            if (null != keys) {
+                for (int i = 0; i < keys.length; i++) {
+                    if (null != keys[i]) {
+                        insert(newKeys, newChildren, keys[i], children[i]);
+                    }
+                }
+            }
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        private static void insert(String[] keys, Node[] children, String key, Node node) {
+            int mask = keys.length - 1;
+            int idx = spread(key.hashCode()) & mask;
+            while (null != keys[idx]) {
+                idx = (idx + 1) & mask;
+            }
+            keys[idx] = key;
+            children[idx] = node;
+        }
+    }
+
+    /**
+     * 冻结后的路由表，只由int数组和一个char数组组成：
+     * nodes中每个节点占NODE_SIZE个int：静态子节点表在slots中的起始位置、表长-1（没有静态子节点时为-1）、
+     * {name}子节点、*子节点、Handler、**的Handler，子节点存的是在nodes中的下标，Handler存的是在handlers中的下标，没有时为-1；
+     * 各节点的开放寻址表依次拼接在slots中，每个槽位占SLOT_SIZE个int：段的哈希值、段在chars中的起始位置（空槽为-1）、段长、子节点；
+     * 所有段的字符去重后拼接在chars中，相同的段（如每个资源下的items）只存一份。
+     * 查找只在这几个连续数组中前进，不再在Node对象和各自的小数组之间跳转，也省掉了每个节点、每个段的对象头和数组头。
+     * 冻结时每张表按实际子节点数重新分配，负载不超过2/3，只有一个子节点的表只占两个槽位
+     */
+    private static final class CompactTable {
+        private static final int NODE_SIZE = 6;
+
+        private static final int TABLE_OFFSET = 0;
+
+        private static final int TABLE_MASK = 1;
+
+        private static final int VARIABLE = 2;
+
+        private static final int WILDCARD = 3;
+
+        private static final int HANDLER = 4;
+
+        private static final int CATCH_ALL = 5;
+
+        private static final int SLOT_SIZE = 4;
+
+        private static final int SLOT_HASH = 0;
+
+        private static final int SLOT_START = 1;
+
+        private static final int SLOT_LENGTH = 2;
+
+        private static final int SLOT_CHILD = 3;
+
+        private final int[] nodes;
+
+        private final int[] slots;
+
+        private final char[] chars;
+
+        private final Handler[] handlers;
+
+        CompactTable(Node root, List<Handler> registered) {
+            // 广度优先编号，根节点为0，父子节点在数组中的位置相近
+            List<Node> order = new ArrayList<>();
+            Map<Node, Integer> index = new IdentityHashMap<>();
+            order.add(root);
+            index.put(root, 0);
+            int slotCount = 0;
+            for (int i = 0; i < order.size(); i++) {
+                Node node = order.get(i);
+                if (node.size > 0) {
+                    slotCount += capacity(node.size);
+                    for (Node child : node.children) {
+                        enqueue(child, order, index);
+                    }
+                }
+                enqueue(node.variable, order, index);
+                enqueue(node.wildcard, order, index);
+            }
+
+            this.handlers = registered.toArray(new Handler[registered.size()]);
+            Map<Handler, Integer> handlerIndex = new IdentityHashMap<>();
+            for (int i = 0; i < handlers.length; i++) {
+                handlerIndex.put(handlers[i], i);
+            }
+            this.nodes = new int[order.size() * NODE_SIZE];
+            this.slots = new int[slotCount * SLOT_SIZE];
+            StringBuilder text = new StringBuilder();
+            Map<String, Integer> textStart = new HashMap<>();
+            int offset = 0;
+            for (int i = 0; i < order.size(); i++) {
+                Node node = order.get(i);
+                int base = i * NODE_SIZE;
+                nodes[base + VARIABLE] = nodeOffset(node.variable, index);
+                nodes[base + WILDCARD] = nodeOffset(node.wildcard, index);
+                nodes[base + HANDLER] = null == node.handler ? -1 : handlerIndex.get(node.handler);
+                nodes[base + CATCH_ALL] = null == node.catchAll ? -1 : handlerIndex.get(node.catchAll);
+                if (0 == node.size) {
+                    nodes[base + TABLE_OFFSET] = 0;
+                    nodes[base + TABLE_MASK] = -1;
+                    continue;
+                }
+                int capacity = capacity(node.size);
+                int mask = capacity - 1;
+                nodes[base + TABLE_OFFSET] = offset;
+                nodes[base + TABLE_MASK] = mask;
+                for (int slot = offset; slot < offset + capacity * SLOT_SIZE; slot += SLOT_SIZE) {
+                    slots[slot + SLOT_START] = -1;
+                }
+                for (int k = 0; k < node.keys.length; k++) {
+                    String key = node.keys[k];
+                    if (null == key) {
+                        continue;
+                    }
+                    Integer start = textStart.get(key);
+                    if (null == start) {
+                        start = text.length();
+                        text.append(key);
+                        textStart.put(key, start);
+                    }
+                    int h = key.hashCode();
+                    int idx = spread(h) & mask;
+                    while (slots[offset + idx * SLOT_SIZE + SLOT_START] >= 0) {
+                        idx = (idx + 1) & mask;
+                    }
+                    int slot = offset + idx * SLOT_SIZE;
+                    slots[slot + SLOT_HASH] = h;
+                    slots[slot + SLOT_START] = start;
+                    slots[slot + SLOT_LENGTH] = key.length();
+                    slots[slot + SLOT_CHILD] = nodeOffset(node.children[k], index);
+                }
+                offset += capacity * SLOT_SIZE;
+            }
+            this.chars = text.toString().toCharArray();
+        }
+
+        /** 大于size*3/2的最小的2的幂，至少留一个空槽让查找终止 */
+        private static int capacity(int size) {
+            return Integer.highestOneBit(size + (size >> 1)) << 1;
+        }
+
+        private static void enqueue(Node node, List<Node> order, Map<Node, Integer> index) {
+            if (null != node && !index.containsKey(node)) {
+                index.put(node, order.size());
+                order.add(node);
+            }
+        }
+
+        private static int nodeOffset(Node node, Map<Node, Integer> index) {
+            return null == node ? -1 : index.get(node) * NODE_SIZE;
+        }
+
+        /**
+         * 与Router.match()的匹配规则完全一致，node是节点在nodes中的下标
+         */
+        Handler match(int node, String path, int pos, int[] captures, int captured) {
+            int length = path.length();
+            while (pos < length && path.charAt(pos) == '/') {
+                pos++;
+            }
+            if (pos == length) {
+                int handler = nodes[node + HANDLER];
+                return handlerAt(handler >= 0 ? handler : nodes[node + CATCH_ALL]);
+            }
+            int end = path.indexOf('/', pos);
+            if (end < 0) {
+                end = length;
+            }
+
+            int mask = nodes[node + TABLE_MASK];
+            if (mask >= 0) {
+                int child = find(nodes[node + TABLE_OFFSET], mask, path, pos, end);
+                if (child >= 0) {
+                    Handler handler = match(child, path, end, captures, captured);
+                    if (null != handler) {
+                        return handler;
+                    }
+                }
+            }
+            int variable = nodes[node + VARIABLE];
+            if (variable >= 0) {
+                captures[captured * 2] = pos;
+                captures[captured * 2 + 1] = end;
+                Handler handler = match(variable, path, end, captures, captured + 1);
+                if (null != handler) {
+                    return handler;
+                }
+            }
+            int wildcard = nodes[node + WILDCARD];
+            if (wildcard >= 0) {
+                Handler handler = match(wildcard, path, end, captures, captured);
+                if (null != handler) {
+                    return handler;
+                }
+            }
+            return handlerAt(nodes[node + CATCH_ALL]);
+        }
+
+        /**
+         * 在一个节点的表中查找path[pos, end)对应的子节点，先比较哈希值和长度，再逐个比较字符
+         */
+        private int find(int offset, int mask, String path, int pos, int end) {
+            int h = hash(path, pos, end);
+            int len = end - pos;
+            int idx = spread(h) & mask;
+            int slot = offset + idx * SLOT_SIZE;
+            int start;
+            while ((start = slots[slot + SLOT_START]) >= 0) {
+                if (slots[slot + SLOT_HASH] == h && slots[slot + SLOT_LENGTH] == len && regionMatches(start, path, pos, len)) {
+                    return slots[slot + SLOT_CHILD];
+                }
+                idx = (idx + 1) & mask;
+                slot = offset + idx * SLOT_SIZE;
+            }
+            return -1;
+        }
+
+        private boolean regionMatches(int start, String path, int pos, int len) {
+            for (int i = 0; i < len; i++) {
+                if (chars[start + i] != path.charAt(pos + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private Handler handlerAt(int index) {
+            return index < 0 ? null : handlers[index];
+        }
+    }
+}
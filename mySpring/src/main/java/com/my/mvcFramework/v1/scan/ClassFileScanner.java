@@ -0,0 +1,261 @@
+package com.my.mvcFramework.v1.scan;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * @ClassName ClassFileScanner
+ * @Description 没有组件索引时的兜底扫描。目录和jar中的class文件并行读取，只解析字节码里类级别的
+ *              RuntimeVisibleAnnotations，判断是否带有目标注解，不调用Class.forName，也就不会触发类的加载和初始化
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class ClassFileScanner {
+    private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+
+    /** 目标注解的类型描述符，如Lcom/my/mvcFramework/annotation/MyController; */
+    private final Set<String> annotationDescriptors;
+
+    public ClassFileScanner(Class<?>... annotationTypes) {
+        List<String> descriptors = new ArrayList<>();
+        for (Class<?> annotationType : annotationTypes) {
+            descriptors.add("L" + annotationType.getName().replace('.', '/') + ";");
+        }
+        this.annotationDescriptors = Collections.unmodifiableSet(new HashSet<>(descriptors));
+    }
+
+    /**
+     * 功能描述: 扫描包下（含子包）所有带目标注解的类
+     * @author ykq
+     * @date 2026/10/18
+     * @param classLoader
+     * @param scanPackage 如com.my.demo
+     * @return java.util.List<java.lang.String> 排好序的全类名
+     */
+    public List<String> scan(ClassLoader classLoader, String scanPackage) throws IOException {
+        String packagePath = scanPackage.replace('.', '/');
+        List<String> classNames = new ArrayList<>();
+        Enumeration<URL> roots = classLoader.getResources(packagePath);
+        while (roots.hasMoreElements()) {
+            URL root = roots.nextElement();
+            if ("jar".equals(root.getProtocol())) {
+                classNames.addAll(scanJar(root, packagePath));
+            } else if ("file".equals(root.getProtocol())) {
+                classNames.addAll(scanDirectory(toFile(root).toPath(), scanPackage));
+            }
+        }
+        Collections.sort(classNames);
+        return classNames;
+    }
+
+    private List<String> scanDirectory(final Path root, final String scanPackage) throws IOException {
+        List<Path> classFiles;
+        try (Stream<Path> paths = Files.walk(root)) {
+            classFiles = paths.filter(p -> p.getFileName().toString().endsWith(".class")).collect(Collectors.toList());
+        }
+        try {
+            return classFiles.parallelStream()
+                    .filter(p -> {
+                        try {
+                            return isCandidate(Files.readAllBytes(p));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    })
+                    .map(p -> {
+                        String relative = root.relativize(p).toString().replace(File.separatorChar, '.');
+                        return scanPackage + "." + relative.substring(0, relative.length() - ".class".length());
+                    })
+                    .collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private List<String> scanJar(URL root, final String packagePath) throws IOException {
+        JarURLConnection connection = (JarURLConnection) root.openConnection();
+        connection.setUseCaches(false);
+        try (final JarFile jarFile = connection.getJarFile()) {
+            List<JarEntry> entries = new ArrayList<>();
+            for (Enumeration<JarEntry> e = jarFile.entries(); e.hasMoreElements(); ) {
+                JarEntry entry = e.nextElement();
+                if (entry.getName().startsWith(packagePath + "/") && entry.getName().endsWith(".class")) {
+                    entries.add(entry);
+                }
+            }
+            try {
+                return entries.parallelStream()
+                        .filter(entry -> {
+                            try (InputStream is = jarFile.getInputStream(entry)) {
+                                return isCandidate(readAll(is));
+                            } catch (IOException ex) {
+                                throw new UncheckedIOException(ex);
+                            }
+                        })
+                        .map(entry -> {
+                            String name = entry.getName();
+                            return name.substring(0, name.length() - ".class".length()).replace('/', '.');
+                        })
+                        .collect(Collectors.toList());
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * 功能描述: 解析class文件，判断类上是否有目标注解。依次跳过常量池、字段、方法，只看类的属性表
+     * @author ykq
+     * @date 2026/10/18
+     * @param classFile
+     * @return boolean
+     */
+    boolean isCandidate(byte[] classFile) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(classFile));
+        if (in.readInt() != 0xCAFEBABE) {
+            return false;
+        }
+        // minor_version, major_version
+        in.skipBytes(4);
+        String[] utf8 = readConstantPool(in);
+        // access_flags, this_class, super_class
+        in.skipBytes(6);
+        int interfaces = in.readUnsignedShort();
+        in.skipBytes(interfaces * 2);
+        skipMembers(in);
+        skipMembers(in);
+
+        int attributes = in.readUnsignedShort();
+        for (int i = 0; i < attributes; i++) {
+            String name = utf8[in.readUnsignedShort()];
+            int length = in.readInt();
+            if (!RUNTIME_VISIBLE_ANNOTATIONS.equals(name)) {
+                in.skipBytes(length);
+                continue;
+            }
+            int annotations = in.readUnsignedShort();
+            for (int j = 0; j < annotations; j++) {
+                if (annotationDescriptors.contains(utf8[in.readUnsignedShort()])) {
+                    return true;
+                }
+                skipElementValuePairs(in);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 只保留CONSTANT_Utf8，其他类型的常量按长度跳过
+     */
+    private static String[] readConstantPool(DataInputStream in) throws IOException {
+        int count = in.readUnsignedShort();
+        String[] utf8 = new String[count];
+        for (int i = 1; i < count; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1:
+                    utf8[i] = in.readUTF();
+                    break;
+                case 3: case 4: case 9: case 10: case 11: case 12: case 17: case 18:
+                    in.skipBytes(4);
+                    break;
+                case 5: case 6:
+                    // long和double占两个常量池位置
+                    in.skipBytes(8);
+                    i++;
+                    break;
+                case 7: case 8: case 16: case 19: case 20:
+                    in.skipBytes(2);
+                    break;
+                case 15:
+                    in.skipBytes(3);
+                    break;
+                default:
+                    throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+        return utf8;
+    }
+
+    private static void skipMembers(DataInputStream in) throws IOException {
+        int count = in.readUnsignedShort();
+        for (int i = 0; i < count; i++) {
+            // access_flags, name_index, descriptor_index
+            in.skipBytes(6);
+            int attributes = in.readUnsignedShort();
+            for (int j = 0; j < attributes; j++) {
+                in.skipBytes(2);
+                in.skipBytes(in.readInt());
+            }
+        }
+    }
+
+    private static void skipElementValuePairs(DataInputStream in) throws IOException {
+        int pairs = in.readUnsignedShort();
+        for (int i = 0; i < pairs; i++) {
+            in.skipBytes(2);
+            skipElementValue(in);
+        }
+    }
+
+    private static void skipElementValue(DataInputStream in) throws IOException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case 'e':
+                in.skipBytes(4);
+                break;
+            case '@':
+                in.skipBytes(2);
+                skipElementValuePairs(in);
+                break;
+            case '[':
+                int values = in.readUnsignedShort();
+                for (int i = 0; i < values; i++) {
+                    skipElementValue(in);
+                }
+                break;
+            default:
+                // B C D F I J S Z s c
+                in.skipBytes(2);
+        }
+    }
+
+    private static byte[] readAll(InputStream is) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        byte[] buffer = new byte[4096];
+        int n;
+        while ((n = is.read(buffer)) > 0) {
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    private static File toFile(URL url) throws IOException {
+        try {
+            return new File(url.toURI());
+        } catch (URISyntaxException e) {
+            return new File(url.getFile());
+        }
+    }
+}
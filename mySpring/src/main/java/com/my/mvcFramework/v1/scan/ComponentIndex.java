@@ -0,0 +1,57 @@
+package com.my.mvcFramework.v1.scan;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @ClassName ComponentIndex
+ * @Description 读取ComponentIndexProcessor在编译期生成的组件索引
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public final class ComponentIndex {
+    public static final String LOCATION = "META-INF/my-components.index";
+
+    private ComponentIndex() {
+    }
+
+    /**
+     * 功能描述: 读取classpath上所有的索引文件（每个jar可以各带一份），只保留scanPackage下的类
+     * @author ykq
+     * @date 2026/10/18
+     * @param classLoader
+     * @param scanPackage
+     * @return java.util.List<java.lang.String> 没有任何索引文件时返回null，调用方应退回扫描
+     */
+    public static List<String> load(ClassLoader classLoader, String scanPackage) throws IOException {
+        Enumeration<URL> resources = classLoader.getResources(LOCATION);
+        if (!resources.hasMoreElements()) {
+            return null;
+        }
+        String prefix = scanPackage + ".";
+        Set<String> classNames = new LinkedHashSet<>();
+        while (resources.hasMoreElements()) {
+            try (InputStream is = resources.nextElement().openStream();
+                 BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+                String line;
+                while (null != (line = reader.readLine())) {
+                    line = line.trim();
+                    if (line.startsWith(prefix)) {
+                        classNames.add(line);
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(classNames);
+    }
+}
@@ -0,0 +1,74 @@
+package com.my.mvcFramework.v1.scan;
+
+import com.my.mvcFramework.annotation.MyController;
+import com.my.mvcFramework.annotation.MyService;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * @ClassName ComponentIndexProcessor
+ * @Description 编译期注解处理器，把所有@MyController、@MyService类的全类名写入META-INF/my-components.index。
+ *              MyDispatcherServlet初始化时优先读取该索引，不再遍历目录、加载每一个类
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+@SupportedAnnotationTypes({
+        "com.my.mvcFramework.annotation.MyController",
+        "com.my.mvcFramework.annotation.MyService"
+})
+public class ComponentIndexProcessor extends AbstractProcessor {
+    private final Set<String> components = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        collect(roundEnv.getElementsAnnotatedWith(MyController.class));
+        collect(roundEnv.getElementsAnnotatedWith(MyService.class));
+        // 最后一轮统一写出，避免多轮处理时重复创建同一个资源文件
+        if (roundEnv.processingOver() && !components.isEmpty()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    private void collect(Set<? extends Element> elements) {
+        for (Element element : elements) {
+            if (element instanceof TypeElement) {
+                components.add(processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString());
+            }
+        }
+    }
+
+    private void writeIndex() {
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", ComponentIndex.LOCATION);
+            try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (String component : components) {
+                    writer.write(component);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Cannot write " + ComponentIndex.LOCATION + ": " + e);
+        }
+    }
+}
@@ -1,20 +1,55 @@
 package com.my.mvcFramework.v1.servlet;
 
 import com.my.mvcFramework.annotation.*;
+import com.my.mvcFramework.v1.aop.AopProxyCreator;
+import com.my.mvcFramework.v1.aot.AotBootstraps;
+import com.my.mvcFramework.v1.aot.MyAotComponent;
+import com.my.mvcFramework.v1.aot.MyAotRouteRegistrar;
+import com.my.mvcFramework.v1.async.AsyncDispatcher;
+import com.my.mvcFramework.v1.batch.BatchDispatcher;
+import com.my.mvcFramework.v1.batch.BatchingBeanPostProcessor;
+import com.my.mvcFramework.v1.cache.BoundedCache;
+import com.my.mvcFramework.v1.cache.CacheKey;
+import com.my.mvcFramework.v1.cache.CachedResponse;
+import com.my.mvcFramework.v1.cache.CachingBeanPostProcessor;
+import com.my.mvcFramework.v1.cache.CapturingResponse;
+import com.my.mvcFramework.v1.cache.MyCacheManager;
+import com.my.mvcFramework.v1.config.ConfigFileWatcher;
+import com.my.mvcFramework.v1.config.MyConfigChange;
+import com.my.mvcFramework.v1.config.MyEnvironment;
+import com.my.mvcFramework.v1.config.ValueBindingBeanPostProcessor;
+import com.my.mvcFramework.v1.context.BeanDefinition;
+import com.my.mvcFramework.v1.context.MyBeanFactory;
+import com.my.mvcFramework.v1.context.RequestContextHolder;
+import com.my.mvcFramework.v1.handler.BadRequestException;
+import com.my.mvcFramework.v1.handler.Handler;
+import com.my.mvcFramework.v1.handler.HandlerInvoker;
+import com.my.mvcFramework.v1.handler.HandlerInvokers;
+import com.my.mvcFramework.v1.json.JsonCodec;
+import com.my.mvcFramework.v1.json.JsonType;
+import com.my.mvcFramework.v1.limit.RequestLimiter;
+import com.my.mvcFramework.v1.log.MyLogger;
+import com.my.mvcFramework.v1.metrics.HandlerMetrics;
+import com.my.mvcFramework.v1.metrics.MetricsRegistry;
+import com.my.mvcFramework.v1.reload.ClassFileWatcher;
+import com.my.mvcFramework.v1.reload.ReloadingClassLoader;
+import com.my.mvcFramework.v1.resource.StaticResourceHandler;
+import com.my.mvcFramework.v1.response.MyResponse;
+import com.my.mvcFramework.v1.response.ResponseWriter;
+import com.my.mvcFramework.v1.router.PathPatterns;
+import com.my.mvcFramework.v1.router.RouteMatch;
+import com.my.mvcFramework.v1.router.Router;
+import com.my.mvcFramework.v1.scan.ClassFileScanner;
+import com.my.mvcFramework.v1.scan.ComponentIndex;
 
 import javax.servlet.ServletConfig;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.lang.annotation.Annotation;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.net.URL;
+import java.nio.file.Path;
 import java.util.*;
 
 /**
@@ -25,17 +60,62 @@ import java.util.*;
  * @Version v1.0.0
  */
 public class MyDispatcherServlet extends HttpServlet {
-    /** 声明一个配置，用于持久application.properties配置文件中的建值 */
-    private Properties contextConfig = new Properties();
+    /** 声明一个配置，用于持久application.properties配置文件中的建值。
+     *  系统属性、环境变量和config.location指定的外部文件按层覆盖，配置文件重新加载后整体替换 */
+    private MyEnvironment contextConfig;
 
     /** 扫描包时，保存所有class的全类名。将被用于反射创建对应实例 */
     private List<String> classNames = new ArrayList<>();
 
-    /** IoC容器，即Map，存放的是扫描包下被@MyController和@MyService注解的类的实例 */
-    private Map<String, Object> ioc = new HashMap<>();
+    /** 编译期生成的组件注册代码，没有生成的启动类或aot.enabled=false时为null，走扫描和反射 */
+    private List<MyAotComponent> aotComponents;
 
-    /** 保存url和被@MyRequestMapping修饰的Method的关系 */
-    private Map<String, Method> handlerMapping = new HashMap<>();
+    /** IoC容器，保存扫描包下被@MyController和@MyService注解的类的bean定义和实例，支持延迟创建和singleton/prototype/request作用域 */
+    private final MyBeanFactory ioc = new MyBeanFactory();
+
+    /** bean的创建顺序，按依赖图分层，同一层互不依赖 */
+    private List<List<BeanDefinition>> dependencyOrder = new ArrayList<>();
+
+    /** 保存url模板和Handler的关系，按段组织的前缀树，支持{name}路径变量和*、**通配。Handler中已绑定好目标bean和预编译的调用器。
+     *  初始化的最后一步冻结后写入，热加载时复制出新的路由表，构建、冻结完成后整体替换。
+     *  请求线程每次只做一次volatile读，不加锁，也看不到构建了一半的路由表；init中在它之前写入的字段也随之对请求线程可见 */
+    private volatile Router handlerMapping = new Router();
+
+    /** 启动各阶段的耗时，单位毫秒 */
+    private final Map<String, Double> startupTimings = new LinkedHashMap<>();
+
+    /** 异步分发器，处理标注@MyAsync或返回CompletableFuture的Handler */
+    private AsyncDispatcher asyncDispatcher;
+
+    /** 批量请求端点，子请求经过与普通请求相同的分发路径 */
+    private BatchDispatcher batchDispatcher;
+
+    /** @MyCacheable缓存的注册表，Handler的响应缓存和service方法缓存都在这里 */
+    private final MyCacheManager cacheManager = new MyCacheManager();
+
+    /** 请求指标，由metrics.path配置的url以Prometheus文本格式输出 */
+    private MetricsRegistry metricsRegistry;
+
+    /** 静态资源，没有匹配到Handler的GET/HEAD请求由它处理；没有配置可用的目录时为null */
+    private StaticResourceHandler staticResources;
+
+    /** 写出Handler返回的MyResponse，负责缓冲区复用和gzip协商 */
+    private ResponseWriter responseWriter;
+
+    /** 全局的限流和舱壁，作用于所有请求（包括静态资源和404），没有配置limit.*时为null */
+    private RequestLimiter globalLimiter;
+
+    /** 切面织入器，热加载的Controller也要织入 */
+    private AopProxyCreator aopProxyCreator;
+
+    /** 访问日志和错误日志，请求线程只发布事件，由后台线程写文件 */
+    private MyLogger logger;
+
+    /** config.reload.enabled=true时监听配置文件的变化；未开启或没有可监听的文件时为null */
+    private ConfigFileWatcher configFileWatcher;
+
+    /** reload.enabled=true时监听class文件的变化，热加载改动的Controller；未开启时为null */
+    private ClassFileWatcher classFileWatcher;
 
     @Override
     protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
@@ -44,83 +124,215 @@ public class MyDispatcherServlet extends HttpServlet {
 
     @Override
     protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        long start = System.nanoTime();
+        // 全局限流在最前面，超出时连路由都不做，直接返回429/503
+        RequestLimiter global = globalLimiter;
+        if (null != global && !global.tryAcquire(resp)) {
+            logAccess(req, resp, null, start, -1L);
+            return;
+        }
+        // request作用域的bean从当前线程绑定的请求中获取
+        RequestContextHolder.set(req);
+        Handler handler = null;
+        long errorId = -1L;
         try {
-            // 6、根据url，委派给具体的方法
-            doDispatcher(req, resp);
+            // 7、根据url，委派给具体的方法。全局的并发名额由doDispatcher归还或交给异步流程
+            handler = doDispatcher(req, resp, global);
         } catch (Exception e) {
-            e.printStackTrace();
-            resp.getWriter().write("500 Exception! Detail：" + Arrays.toString(e.getStackTrace()));
+            // 堆栈只进错误日志，响应中只有错误编号
+            errorId = logger.error("Request failed: " + req.getMethod() + " " + req.getRequestURI(), e);
+            ResponseWriter.writeError(resp, errorId);
+        } finally {
+            RequestContextHolder.clear();
+            // 异步请求的访问日志由AsyncDispatcher在请求结束时记录
+            if (!req.isAsyncStarted()) {
+                logAccess(req, resp, handler, start, errorId);
+            }
         }
     }
 
+    /**
+     * 功能描述: 记录一次请求的访问日志，按路由的采样率采样
+     * @author ykq
+     * @date 2026/10/18
+     * @param req
+     * @param resp
+     * @param handler 匹配到的Handler，没有匹配或分发时出错为null
+     * @param start 请求开始的System.nanoTime()
+     * @param errorId 错误编号，没有时为-1
+     * @return void
+     */
+    private void logAccess(HttpServletRequest req, HttpServletResponse resp, Handler handler, long start, long errorId) {
+        logger.access(req, resp.getStatus(), System.nanoTime() - start, null == handler ? null : handler.getUrl(),
+                null == handler ? logger.getAccessSampleRate(null) : handler.getAccessLogSampleRate(), errorId);
+    }
+
     /***
-     * 功能描述: 按照请求，适配method
+     * 功能描述: 按照请求，适配method。请求交给AsyncDispatcher后，全局和路由级的并发名额在异步请求结束时归还，否则在这里归还
      * @author ykq
      * @date 2020/4/30 0:34
-     * @param
-     * @return void
+     * @param req
+     * @param resp
+     * @param global 已经取得名额的全局限流，没有全局限流或是批量请求中的子请求时为null
+     * @return com.my.mvcFramework.v1.handler.Handler 匹配到的Handler，没有匹配时为null
      */
-    private void doDispatcher(HttpServletRequest req, HttpServletResponse resp) throws IOException, InvocationTargetException, IllegalAccessException {
-        String url = req.getRequestURI();
-        // 当前页面所在的应用的名字
-        String contextPath = req.getContextPath();
-        // 去掉url中的项目名，并去掉多余的/
-        url = url.replace(contextPath, "").replaceAll("/+", "/");
-
-        // 判断处理去映射器中是否有改url
-        if (!handlerMapping.containsKey(url)) {
-            resp.getWriter().write("404 NOT FOUND!");
-            return;
-        }
+    private Handler doDispatcher(HttpServletRequest req, HttpServletResponse resp, RequestLimiter global) throws Exception {
+        long start = System.nanoTime();
+        Handler handler = null;
+        HandlerMetrics metrics = null;
+        RequestLimiter limiter = null;
+        boolean handedOff = false;
+        try {
+            // 路由时直接在原始uri上跳过项目名（contextPath）和多余的/，不再生成新的url字符串
+            RouteMatch match = handlerMapping.lookup(req.getRequestURI(), req.getContextPath());
 
-        // 获取目标方法
-        Method method = handlerMapping.get(url);
-
-        // url挂参的参数列表
-        Map<String, String[]> parameterMap = req.getParameterMap();
-
-        // 获取方法的形参列表，形参列表有三类值，Request、Rresponse、自定义参数
-        Class[] parametersTypes = method.getParameterTypes();
-
-        // 保存赋值参数的位置
-        Object[] paramValues = new Object[parametersTypes.length];
-
-        // 遍历方法形参列表
-        for (int i = 0; i < parametersTypes.length; i++) {
-            Class parameterType = parametersTypes[i];
-            // 判断参数是什么类型，分类讨论
-            if (parameterType == HttpServletRequest.class) {
-                paramValues[i] = req;
-            } else if (parameterType == HttpServletResponse.class) {
-                paramValues[i] = resp;
-            } else if (parameterType == String.class) {
-                // TODO 除了String类型，还有Integer等等
-                // 首先判断method的形参列表中是否被@MyRequestParam修饰
-                // 提取方法中加了注解的参数
-                // 因为参数前可以添加多个注解，所以是二维数组，一个参数上不可以添加相同的注解，同一个注解可以加在不同的参数上!
-                Annotation[][] annotations = method.getParameterAnnotations();
-                for (int j = 0; j < annotations.length; j++) {
-                    for (Annotation annotation: annotations[j]) {
-                        // 如果当前形参的注解有@MyRequestParam，则获取形参的名称
-                        if (annotation instanceof MyRequestParam) {
-                            String paramName = ((MyRequestParam) annotation).value().trim();
-                            if (!"".equals(paramName)) {
-                                String value = Arrays.toString(parameterMap.get(paramName))
-                                        .replaceAll("\\[|\\]", "")  // 将[]格式去掉
-                                        .replaceAll("\\s", ",");    // 去掉空字符
-
-                                paramValues[i] = value;
-                            }
-                        }
-                    }
+            // 判断处理去映射器中是否有改url
+            if (null == match) {
+                // 没有Handler时尝试静态资源
+                if (null != staticResources && staticResources.serve(req, resp)) {
+                    return null;
+                }
+                metricsRegistry.recordUnmatched();
+                resp.getWriter().write("404 NOT FOUND!");
+                return null;
+            }
+
+            // 获取目标Handler
+            handler = match.getHandler();
+            metrics = handler.getMetrics();
+            long routed = System.nanoTime();
+            metrics.recordRouting(routed - start);
+
+            // 路由级的限流和舱壁在绑定参数、查响应缓存之前，被拒绝的请求不做任何解析
+            RequestLimiter routeLimiter = handler.getLimiter();
+            if (null != routeLimiter && !routeLimiter.tryAcquire(resp)) {
+                return handler;
+            }
+            limiter = routeLimiter;
+
+            if (null != handler.getResponseCache()) {
+                doCachedDispatcher(req, resp, handler, match, routed);
+                return handler;
+            }
+
+            // 形参的类型、注解在初始化时已经解析成绑定计划，这里按下标直接取值
+            Object[] paramValues = handler.resolveArguments(req, resp, match.getPathVariables());
+            long bound = System.nanoTime();
+            metrics.recordBinding(bound - routed);
+
+            // 不支持异步的请求（批量请求中的子请求）在当前线程上等待异步Handler的结果
+            if (handler.isAsync() && !req.isAsyncSupported()) {
+                Object result = asyncDispatcher.invokeAndWait(handler, paramValues);
+                writeResult(req, resp, handler, result, null);
+                metrics.recordInvocation(System.nanoTime() - bound);
+                return handler;
+            }
+
+            // 异步Handler交给AsyncDispatcher，容器线程直接返回。调用耗时由AsyncDispatcher在写回时记录
+            if (handler.isAsync()) {
+                asyncDispatcher.dispatch(req, resp, handler, paramValues, start, global);
+                handedOff = true;
+                return handler;
+            }
+
+            // 目标bean在初始化时已经绑定到调用器上，这里直接传入参数调用
+            Object result = handler.getInvoker().invoke(paramValues);
+            writeResult(req, resp, handler, result, null);
+            metrics.recordInvocation(System.nanoTime() - bound);
+            return handler;
+        } catch (BadRequestException e) {
+            // 参数无法绑定是客户端的错误，返回400，不算Handler出错，也不记错误日志
+            if (!resp.isCommitted()) {
+                resp.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            }
+            return handler;
+        } catch (Exception e) {
+            if (null != metrics) {
+                metrics.recordError();
+            }
+            throw e;
+        } finally {
+            if (!handedOff) {
+                if (null != limiter) {
+                    limiter.release();
+                }
+                if (null != global) {
+                    global.release();
                 }
             }
         }
+    }
 
-        // 通过反射将参数引用给method
-        // invoke(调用该方法的对象，将被引用的新参数的Object数组)
-        String beanName = toLowFirstCase(method.getDeclaringClass().getSimpleName());
-        method.invoke(ioc.get(beanName), paramValues);
+    /**
+     * 功能描述: 有响应缓存的Handler。以绑定好的请求参数为key，命中时直接写出缓存的字节，不调用Handler；
+     *          未命中时把Handler的输出收集到内存，状态码为200时放入缓存，再写给客户端。
+     *          Handler调用了sendError或sendRedirect时响应已经发出，直接返回
+     * @author ykq
+     * @date 2026/10/18
+     * @param req
+     * @param resp
+     * @param handler
+     * @param match
+     * @param routed 路由完成的时间
+     * @return void
+     */
+    private void doCachedDispatcher(HttpServletRequest req, HttpServletResponse resp, Handler handler, RouteMatch match, long routed) throws Exception {
+        CapturingResponse capture = new CapturingResponse(resp);
+        // HttpServletResponse形参拿到的是收集输出的包装对象
+        Object[] paramValues = handler.resolveArguments(req, capture, match.getPathVariables());
+        CacheKey key = handler.cacheKey(paramValues);
+        long bound = System.nanoTime();
+        handler.getMetrics().recordBinding(bound - routed);
+
+        // 命中时调用阶段的耗时就是写出缓存的耗时
+        BoundedCache<Object, Object> cache = handler.getResponseCache();
+        CachedResponse cached = (CachedResponse) cache.get(key);
+        if (null == cached) {
+            Object result = handler.getInvoker().invoke(paramValues);
+            writeResult(req, capture, handler, result, null);
+            // sendError、sendRedirect已经提交了响应，不缓存也不重放收集到的响应体
+            if (capture.isSent()) {
+                handler.getMetrics().recordInvocation(System.nanoTime() - bound);
+                return;
+            }
+            cached = capture.toCachedResponse();
+            if (capture.isCacheable()) {
+                cache.put(key, cached);
+            }
+        }
+        cached.writeTo(resp);
+        handler.getMetrics().recordInvocation(System.nanoTime() - bound);
+    }
+
+    /**
+     * 功能描述: 把Handler的返回值写回response，同步和异步分发共用。返回void或null时不写，由Handler自己处理response；
+     *          返回MyResponse时流式写出并按需压缩；标注了@MyResponseBody的Handler的返回值直接序列化为JSON写出；
+     *          其他返回值按String.valueOf()写出
+     * @author ykq
+     * @date 2026/10/18
+     * @param req
+     * @param resp
+     * @param handler
+     * @param result
+     * @param error 异步执行失败时的异常
+     * @return void
+     */
+    private void writeResult(HttpServletRequest req, HttpServletResponse resp, Handler handler, Object result, Throwable error) throws IOException {
+        if (null != error) {
+            long errorId = logger.error("Request failed: " + req.getMethod() + " " + req.getRequestURI(), error);
+            ResponseWriter.writeError(resp, errorId);
+            return;
+        }
+        if (result instanceof MyResponse) {
+            // 写入响应缓存时不压缩，缓存的内容要能发给所有客户端
+            responseWriter.write(req, resp, (MyResponse) result, !(resp instanceof CapturingResponse));
+        } else if (null != result && null != handler && null != handler.getResponseBodyType()) {
+            final JsonType bodyType = handler.getResponseBodyType();
+            MyResponse json = MyResponse.stream(out -> JsonCodec.DEFAULT.write(out, result, bodyType)).contentType(JsonCodec.CONTENT_TYPE);
+            responseWriter.write(req, resp, json, !(resp instanceof CapturingResponse));
+        } else if (null != result) {
+            resp.getWriter().write(String.valueOf(result));
+        }
     }
 
     /**
@@ -132,27 +344,145 @@ public class MyDispatcherServlet extends HttpServlet {
      */
     @Override
     public void init(ServletConfig config) throws ServletException {
+        long start = System.nanoTime();
         // 1、加载配置文件，持久至属性Properties的实例contextConfig中
         // config.getInitParameter("contextConfigLocation")返回的是application.properties
         doLoadConfig(config.getInitParameter("contextConfigLocation"));
+        logger = new MyLogger(contextConfig);
+        cacheManager.setConfig(contextConfig);
+        start = recordPhase("config", start);
+
+        try {
+            doInit(config, start);
+            // 同一应用中的其他组件（如内嵌服务器）从ServletContext取得日志，和框架写到同一组文件
+            config.getServletContext().setAttribute(MyLogger.BEAN_NAME, logger);
+        } catch (ServletException | RuntimeException e) {
+            // 初始化失败时容器不会调用destroy()，这里把错误写出后停止日志线程
+            logger.error("MySpring framework init failed", e);
+            logger.close();
+            throw e;
+        }
+    }
 
+    /**
+     * 功能描述: 加载配置之后的各个初始化阶段
+     * @author ykq
+     * @date 2026/10/18
+     * @param config
+     * @param start 上一阶段结束的时间
+     * @return void
+     */
+    private void doInit(ServletConfig config, long start) throws ServletException {
         // 2、通过contextConfig的scanPackage，扫描相关的类，保存至内存中
         doScanner(contextConfig.getProperty("scanPackage"));
-        
+        start = recordPhase("scan", start);
+
         // 3、初始化IoC容器；通过2中获取的所有类的全类名，反射创建实例并保存至IoC容器
         doInstance();
-        
+        start = recordPhase("instance", start);
+
         // 4、DI，实现注入
         doAutowired();
+        start = recordPhase("autowire", start);
 
         // 5、初始化HandlerMapping
         doInitHandlerMapping();
+        start = recordPhase("mapping", start);
+
+        // 6、初始化全局限流、响应写出器、异步分发器、批量端点、指标端点和静态资源
+        globalLimiter = RequestLimiter.create("global", contextConfig, "limit.", null, null);
+        responseWriter = new ResponseWriter(contextConfig);
+        asyncDispatcher = new AsyncDispatcher(contextConfig, this::writeResult, logger);
+        doInitBatch();
+        doInitMetrics();
+        StaticResourceHandler resources = new StaticResourceHandler(contextConfig, config.getServletContext(),
+                this.getClass().getClassLoader(), cacheManager);
+        staticResources = resources.isEmpty() ? null : resources;
+
+        // 7、冻结容器和路由表，安全发布给请求线程
+        doFreeze();
+
+        // 8、开发模式下监听class文件，热加载Controller
+        doInitReload();
+
+        // 9、监听配置文件，重新加载后调整线程池、缓存等
+        doInitConfigReload();
+
+        logger.info("MySpring framework is init" + (null != aotComponents ? " from the generated bootstrap" : "")
+                + ". Startup phases(ms): " + startupTimings);
+        logger.info("Bean instantiations: " + ioc.getInstantiationCounts());
+    }
+
+    /**
+     * 功能描述: 记录一个启动阶段的耗时
+     * @author ykq
+     * @date 2026/10/18
+     * @param phase 阶段名：config、scan、instance、autowire、mapping
+     * @param start 阶段开始时的System.nanoTime()
+     * @return long 当前时间，作为下一阶段的开始
+     */
+    private long recordPhase(String phase, long start) {
+        long now = System.nanoTime();
+        startupTimings.put(phase, (now - start) / 1000000.0);
+        return now;
+    }
+
+    /**
+     * 功能描述: 各启动阶段的耗时，单位毫秒，按执行顺序
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return java.util.Map<java.lang.String,java.lang.Double>
+     */
+    public Map<String, Double> getStartupTimings() {
+        return Collections.unmodifiableMap(startupTimings);
+    }
 
-        System.out.println("MySpring framework is init.");
+    /**
+     * 功能描述: 每个bean实际创建过的实例数，0表示延迟创建的bean至今没被用到
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return java.util.Map<java.lang.String,java.lang.Long>
+     */
+    public Map<String, Long> getBeanInstantiations() {
+        return ioc.getInstantiationCounts();
+    }
+
+    public MetricsRegistry getMetricsRegistry() {
+        return metricsRegistry;
+    }
+
+    public MyCacheManager getCacheManager() {
+        return cacheManager;
+    }
+
+    @Override
+    public void destroy() {
+        if (null != configFileWatcher) {
+            try {
+                configFileWatcher.close();
+            } catch (IOException e) {
+                logger.error("Cannot close the config file watcher", e);
+            }
+        }
+        if (null != classFileWatcher) {
+            classFileWatcher.close();
+        }
+        if (null != asyncDispatcher) {
+            asyncDispatcher.shutdown();
+        }
+        if (null != batchDispatcher) {
+            batchDispatcher.shutdown();
+        }
+        // 最后关闭，其他组件停止时的错误也能写出
+        if (null != logger) {
+            logger.close();
+        }
     }
 
     /**
-     * 功能描述: 遍历被@MyRequestMapping修饰的类和方法，保存其映射关系
+     * 功能描述: 遍历被@MyRequestMapping修饰的类和方法，保存其映射关系。有编译期生成的启动类时由生成的代码直接注册
      * @author ykq
      * @date 2020/4/30 0:16
      * @param
@@ -163,141 +493,559 @@ public class MyDispatcherServlet extends HttpServlet {
             return;
         }
 
+        if (null != aotComponents) {
+            registerGeneratedHandlers();
+            return;
+        }
+
         // 遍历IoC容器，找到被@MyRequestMapping修饰的Controller类和其中的方法
-        for (Map.Entry<String, Object> entry : ioc.entrySet()) {
-            Class clazz = entry.getValue().getClass();
+        for (BeanDefinition definition : ioc.getBeanDefinitions()) {
+            if (definition.getBeanClass().isAnnotationPresent(MyController.class)) {
+                registerHandlers(handlerMapping, definition);
+            }
+        }
+    }
 
-            if (!clazz.isAnnotationPresent(MyController.class)) {
+    /**
+     * 功能描述: 把一个Controller中被@MyRequestMapping修饰的方法注册到路由表。启动和热加载共用
+     * @author ykq
+     * @date 2026/10/18
+     * @param router
+     * @param definition Controller的bean定义
+     * @return void
+     */
+    private void registerHandlers(Router router, BeanDefinition definition) {
+        Class<?> clazz = definition.getBeanClass();
+        Object controller = controllerOf(definition);
+
+        // 保存Controller类上的映射关系
+        String baseUrl = "";
+        if (clazz.isAnnotationPresent(MyRequestMapping.class)) {
+            MyRequestMapping myRequestMapping = clazz.getAnnotation(MyRequestMapping.class);
+            baseUrl = myRequestMapping.value();
+        }
+
+        // 遍历当前Controller的所有方法，检查是否被@MyRequestMapping修饰
+        for (Method method : clazz.getMethods()) {
+            if (!method.isAnnotationPresent(MyRequestMapping.class)) {
                 continue;
             }
 
-            // 保存Controller类上的映射关系
-            String baseUrl = "";
-            if (clazz.isAnnotationPresent(MyRequestMapping.class)) {
-                MyRequestMapping myRequestMapping = (MyRequestMapping) clazz.getAnnotation(MyRequestMapping.class);
-                baseUrl = myRequestMapping.value();
+            MyRequestMapping myRequestMapping = method.getAnnotation(MyRequestMapping.class);
+
+            // 如果有连续/，统一替换为一个
+            String url = PathPatterns.normalize(baseUrl, myRequestMapping.value());
+            registerHandler(router, definition, method, url,
+                    HandlerInvokers.create(contextConfig.getProperty("invokerMode"), controller, method));
+        }
+    }
+
+    /**
+     * 功能描述: 由生成的代码注册路由：方法按签名直接获取，调用器是生成的直接调用代码，不再遍历Controller的方法、创建MethodHandle。
+     *          invokerMode=reflect时仍按配置创建调用器
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return void
+     */
+    private void registerGeneratedHandlers() {
+        final String invokerMode = contextConfig.getProperty("invokerMode");
+        MyAotRouteRegistrar registrar = new MyAotRouteRegistrar() {
+            @Override
+            public Object controller(BeanDefinition definition) {
+                return controllerOf(definition);
             }
 
-            // 遍历当前Controller的所有方法，检查是否被@MyRequestMapping修饰
-            for (Method method : clazz.getMethods()) {
-                if (!method.isAnnotationPresent(MyRequestMapping.class)) {
-                    continue;
+            @Override
+            public void route(BeanDefinition definition, Method method, String url, HandlerInvoker invoker) {
+                if (null == invoker || HandlerInvokers.MODE_REFLECT.equalsIgnoreCase(null == invokerMode ? "" : invokerMode.trim())) {
+                    invoker = HandlerInvokers.create(invokerMode, ioc.getBean(definition), method);
                 }
+                registerHandler(handlerMapping, definition, method, url, invoker);
+            }
+        };
+        try {
+            for (MyAotComponent component : aotComponents) {
+                component.registerRoutes(registrar);
+            }
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Generated bootstrap is out of date, recompile the application", e);
+        }
+    }
+
+    /**
+     * 功能描述: Handler绑定的是固定的实例，Controller只能是单例；延迟创建的Controller在这里被创建
+     * @author ykq
+     * @date 2026/10/18
+     * @param definition Controller的bean定义
+     * @return java.lang.Object
+     */
+    private Object controllerOf(BeanDefinition definition) {
+        if (!definition.isSingleton()) {
+            throw new IllegalStateException("Controller " + definition.getBeanName() + " must be singleton");
+        }
+        return ioc.getBean(definition);
+    }
+
+    /**
+     * 功能描述: 注册一个Handler：绑定调用器，按注解配置响应缓存和限流。反射和生成的代码共用
+     * @author ykq
+     * @date 2026/10/18
+     * @param router
+     * @param definition Controller的bean定义
+     * @param method 被@MyRequestMapping修饰的方法
+     * @param url 规范化后的url模板
+     * @param invoker
+     * @return void
+     */
+    private void registerHandler(Router router, BeanDefinition definition, Method method, String url, HandlerInvoker invoker) {
+        Class<?> clazz = definition.getBeanClass();
+        // 目标bean在初始化时绑定一次，请求时不再计算beanName、查IoC容器
+        Handler handler = new Handler(url, ioc.getBean(definition), method, invoker);
+        // 异步Handler的输出在其他线程写出，读取请求体的Handler的输出不只由缓存key决定，都不做响应缓存
+        if (method.isAnnotationPresent(MyCacheable.class) && !handler.isAsync() && !handler.isReadsRequestBody()) {
+            MyCacheable cacheable = method.getAnnotation(MyCacheable.class);
+            String name = "".equals(cacheable.value().trim()) ? MyCacheManager.ROUTE_PREFIX + url : cacheable.value();
+            handler.setResponseCache(cacheManager.getOrCreate(name, cacheable.ttlMillis(), cacheable.maxSize()));
+        }
+        // 方法上的注解优先于类上的，limit.route.{url}.*配置优先于注解
+        MyRateLimit rateLimit = method.isAnnotationPresent(MyRateLimit.class)
+                ? method.getAnnotation(MyRateLimit.class) : clazz.getAnnotation(MyRateLimit.class);
+        MyBulkhead bulkhead = method.isAnnotationPresent(MyBulkhead.class)
+                ? method.getAnnotation(MyBulkhead.class) : clazz.getAnnotation(MyBulkhead.class);
+        handler.setLimiter(RequestLimiter.create(url, contextConfig, "limit.route." + url + ".", rateLimit, bulkhead));
+        handler.setAccessLogSampleRate(logger.getAccessSampleRate(url));
+        router.register(handler);
+        logger.info("Mapper: " + handler + (null == handler.getLimiter() ? "" : ", limit " + handler.getLimiter()));
+    }
 
-                MyRequestMapping myRequestMapping = method.getAnnotation(MyRequestMapping.class);
+    /**
+     * 功能描述: 创建批量分发器，并把批量端点作为一个Handler注册到路由上，路由级限流、指标与普通Handler相同。batch.path为空（默认）时不注册
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return void
+     */
+    private void doInitBatch() throws ServletException {
+        String path = contextConfig.getProperty("batch.path", "").trim();
+        if ("".equals(path)) {
+            return;
+        }
+        batchDispatcher = new BatchDispatcher(contextConfig, this::doBatchItem);
+        try {
+            Method handle = BatchDispatcher.class.getMethod("handle", HttpServletRequest.class, HttpServletResponse.class);
+            String url = PathPatterns.normalize(path);
+            Handler handler = new Handler(url, batchDispatcher, handle,
+                    HandlerInvokers.create(contextConfig.getProperty("invokerMode"), batchDispatcher, handle));
+            handler.setLimiter(RequestLimiter.create(url, contextConfig, "limit.route." + url + ".", null, null));
+            handler.setAccessLogSampleRate(logger.getAccessSampleRate(url));
+            handlerMapping.register(handler);
+            logger.info("Mapper: " + handler);
+        } catch (NoSuchMethodException e) {
+            throw new ServletException(e);
+        }
+    }
 
-                // 正则，如果有连续/，统一替换为一个
-                String url = ("/" + baseUrl + "/" + myRequestMapping.value()).replaceAll("/+", "/");
-                handlerMapping.put(url, method);
-                System.out.println("Mapper: " + url + "," + method);
+    /**
+     * 功能描述: 分发批量请求中的一个子请求。可能在批量线程池中执行，request作用域的bean绑定到子请求上，结束后恢复。
+     *          子请求与普通请求一样记录访问日志，出错时记录错误日志并输出500
+     * @author ykq
+     * @date 2026/10/18
+     * @param req 子请求
+     * @param resp 子请求的响应
+     * @return void
+     */
+    private void doBatchItem(HttpServletRequest req, HttpServletResponse resp) throws Exception {
+        long start = System.nanoTime();
+        HttpServletRequest outer = RequestContextHolder.get();
+        RequestContextHolder.set(req);
+        Handler handler = null;
+        long errorId = -1L;
+        try {
+            handler = doDispatcher(req, resp, null);
+        } catch (Exception e) {
+            errorId = logger.error("Batch item failed: " + req.getMethod() + " " + req.getRequestURI(), e);
+            ResponseWriter.writeError(resp, errorId);
+        } finally {
+            if (null == outer) {
+                RequestContextHolder.clear();
+            } else {
+                RequestContextHolder.set(outer);
             }
+            logAccess(req, resp, handler, start, errorId);
         }
     }
 
-    /***
-     * 功能描述: 遍历ioc容器中的实例，为实例中被@MyAutowired修饰的属性赋值
+    /**
+     * 功能描述: 创建指标注册表，并把指标端点作为一个Handler注册到路由上。metrics.path为空（默认）时不注册端点，指标照常记录
      * @author ykq
-     * @date 2020/4/29 23:45
+     * @date 2026/10/18
      * @param
      * @return void
      */
-    private void doAutowired() {
-        // 先判读IoC容器为空，则返回
-        if (ioc.isEmpty()) {
+    private void doInitMetrics() throws ServletException {
+        metricsRegistry = new MetricsRegistry(() -> handlerMapping, cacheManager, asyncDispatcher, globalLimiter, logger);
+        String path = contextConfig.getProperty("metrics.path", "").trim();
+        if ("".equals(path)) {
+            return;
+        }
+        try {
+            Method scrape = MetricsRegistry.class.getMethod("scrape", HttpServletResponse.class);
+            String url = PathPatterns.normalize(path);
+            Handler handler = new Handler(url, metricsRegistry, scrape,
+                    HandlerInvokers.create(contextConfig.getProperty("invokerMode"), metricsRegistry, scrape));
+            handler.setAccessLogSampleRate(logger.getAccessSampleRate(url));
+            handlerMapping.register(handler);
+            logger.info("Mapper: " + handler);
+        } catch (NoSuchMethodException e) {
+            throw new ServletException(e);
+        }
+    }
+
+    /**
+     * 功能描述: 冻结初始化阶段构建的结构：IoC容器换成只读副本，路由表压平成只读数组，扫描结果和创建顺序不再修改。
+     *          最后写入volatile的handlerMapping，请求线程读到它时init中的其他写入也都可见
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return void
+     */
+    private void doFreeze() {
+        classNames = Collections.unmodifiableList(classNames);
+        dependencyOrder = Collections.unmodifiableList(dependencyOrder);
+        ioc.freeze();
+        handlerMapping = handlerMapping.freeze();
+    }
+
+    /**
+     * 功能描述: reload.enabled=true时启动class文件监听。只用于开发环境，扫描包只在jar中时无法监听
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return void
+     */
+    private void doInitReload() throws ServletException {
+        if (!Boolean.parseBoolean(contextConfig.getProperty("reload.enabled", "false").trim())) {
             return;
         }
+        long quietMillis = Long.parseLong(contextConfig.getProperty("reload.quietMillis", "300").trim());
+        try {
+            ClassFileWatcher watcher = new ClassFileWatcher(this.getClass().getClassLoader(),
+                    contextConfig.getProperty("scanPackage"), quietMillis, this::reloadClasses, logger);
+            if (watcher.isEmpty()) {
+                watcher.close();
+                logger.info("Hot reload disabled: no class directory found for " + contextConfig.getProperty("scanPackage"));
+                return;
+            }
+            classFileWatcher = watcher;
+            classFileWatcher.start();
+            logger.info("Hot reload watching: " + classFileWatcher.getPackageDirectories());
+        } catch (IOException e) {
+            throw new ServletException(e);
+        }
+    }
+
+    /**
+     * 功能描述: 注册配置变化的处理；config.reload.enabled=true时监听配置文件，变化后重新加载。
+     *          classpath中的配置文件只有在目录中（而不是war、jar包中）才能监听
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return void
+     */
+    private void doInitConfigReload() throws ServletException {
+        contextConfig.addListener(this::onConfigChange);
+        if (!Boolean.parseBoolean(contextConfig.getProperty("config.reload.enabled", "false").trim())) {
+            return;
+        }
+        long quietMillis = Long.parseLong(contextConfig.getProperty("config.reload.quietMillis", "300").trim());
+        try {
+            ConfigFileWatcher watcher = new ConfigFileWatcher(contextConfig.getWatchableFiles(), quietMillis, this::reloadConfig);
+            if (watcher.isEmpty()) {
+                watcher.close();
+                logger.info("Config reload disabled: no config file found on the file system");
+                return;
+            }
+            configFileWatcher = watcher;
+            configFileWatcher.start();
+            logger.info("Config reload watching: " + contextConfig.getWatchableFiles());
+        } catch (IOException e) {
+            throw new ServletException(e);
+        }
+    }
+
+    /**
+     * 功能描述: 重新加载配置文件，由监听线程调用。文件读取失败时保留原来的配置
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return void
+     */
+    private void reloadConfig() {
+        try {
+            MyConfigChange change = contextConfig.reload();
+            if (!change.isEmpty()) {
+                logger.info("Config reloaded, changed keys: " + change);
+            }
+        } catch (Exception e) {
+            logger.error("Config reload failed", e);
+        }
+    }
+
+    /**
+     * 功能描述: 配置变化后调整框架组件：异步和批量的线程池、超时、上限，缓存容量，访问日志采样率。
+     *          各组件先校验全部新值再修改，一个组件的配置不合法时只有它保持原样
+     * @author ykq
+     * @date 2026/10/18
+     * @param change
+     * @param environment
+     * @return void
+     */
+    private void onConfigChange(MyConfigChange change, MyEnvironment environment) {
+        if (change.hasPrefix("async.")) {
+            reconfigure("async", () -> asyncDispatcher.reconfigure(environment));
+        }
+        if (change.hasPrefix("batch.") && null != batchDispatcher) {
+            reconfigure("batch", () -> batchDispatcher.reconfigure(environment));
+        }
+        if (change.hasPrefix("cache.")) {
+            reconfigure("cache", cacheManager::reconfigure);
+        }
+        if (change.hasPrefix("log.access.")) {
+            reconfigure("log", () -> {
+                logger.reconfigure();
+                for (Handler handler : handlerMapping.getHandlers()) {
+                    handler.setAccessLogSampleRate(logger.getAccessSampleRate(handler.getUrl()));
+                }
+            });
+        }
+    }
+
+    private void reconfigure(String component, Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            logger.error("Cannot apply the reloaded " + component + ".* config, keeping the current settings", e);
+        }
+    }
 
-        // entry是IoC容器的元素集
-        // 否则遍历IoC容器的实例，将其中被MyAutowired注解的属性赋值
-        for (Map.Entry<String, Object> entry : ioc.entrySet()) {
-            // 获取实例中所有被public、protected、private修饰的属性。注意getDeclaredFields与getDeclaredField的不同
-            // getDeclaredFields忽略字段的修饰符
-            Field[] fields = entry.getValue().getClass().getDeclaredFields();
-            // 遍历属性集合，如果被@MyAutowired修饰，则为属性赋值
-            for (Field field : fields) {
-                if (!field.isAnnotationPresent(MyAutowired.class)) {
+    /**
+     * 功能描述: 热加载一批改动过的类，由监听线程调用。只处理Controller：
+     *          改动或新增的Controller在新的子加载器中重新定义，建好bean定义、织入切面、创建实例并注入已有的bean，
+     *          再复制当前路由表、去掉旧Controller的Handler、注册新的Handler，全部成功后替换bean定义并一次性发布新路由表；
+     *          任何一步失败都保留原来的路由表。删除的Controller去掉其路由。
+     *          service等其他类被其他bean持有，无法单独替换，只提示需要重启
+     * @author ykq
+     * @date 2026/10/18
+     * @param changed 有变化的顶层类的全类名
+     * @return void
+     */
+    private synchronized void reloadClasses(Set<String> changed) {
+        long start = System.nanoTime();
+        ReloadingClassLoader loader = new ReloadingClassLoader(this.getClass().getClassLoader(), changed, classFileWatcher::classFile);
+        List<BeanDefinition> removed = new ArrayList<>();
+        List<BeanDefinition> added = new ArrayList<>();
+        List<String> restartRequired = new ArrayList<>();
+        try {
+            for (String className : changed) {
+                BeanDefinition existing = findDefinition(className);
+                if (null != existing && !existing.getBeanClass().isAnnotationPresent(MyController.class)) {
+                    restartRequired.add(className);
                     continue;
                 }
+                Path classFile = classFileWatcher.classFile(className);
+                Class<?> clazz = null == classFile ? null : Class.forName(className, false, loader);
+                boolean controller = null != clazz && clazz.isAnnotationPresent(MyController.class);
+                if (null != existing) {
+                    removed.add(existing);
+                }
+                if (controller) {
+                    BeanDefinition definition = controllerDefinition(clazz);
+                    aopProxyCreator.weave(definition);
+                    added.add(definition);
+                } else if (null != clazz && null == existing) {
+                    restartRequired.add(className);
+                }
+            }
+            if (removed.isEmpty() && added.isEmpty()) {
+                logger.info("Hot reload skipped, restart required for " + restartRequired);
+                return;
+            }
 
-                // 如果没有自定义beanName，则默认根据类名称注入
-                MyAutowired myAutowired = field.getAnnotation(MyAutowired.class);
-                String beanName = myAutowired.value().trim();
-                // 是否使用类名首字母小写的判断
-                if ("".equals(beanName)) {
-                    beanName = field.getType().getName();
+            // 旧Controller的Handler不再复制到新路由表，正在处理的请求仍然持有旧Handler，照常执行完。
+            // 只取已经创建的实例：还没创建的Controller不会有Handler，不能为了下线它再创建一次
+            Set<Object> retired = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+            for (BeanDefinition definition : removed) {
+                Object controller = ioc.getSingletonIfCreated(definition);
+                if (null != controller) {
+                    retired.add(controller);
                 }
+            }
+            Router current = handlerMapping;
+            Router router = current.copy(handler -> !retired.contains(handler.getController()));
+            for (BeanDefinition definition : added) {
+                registerHandlers(router, definition);
+            }
 
-                // 如果不是public，但被@MyAutowired注解的属性，则强制赋值
-                field.setAccessible(true);
+            ioc.replaceBeanDefinitions(removed, added);
+            handlerMapping = router.freeze();
 
-                try {
-                    // 使用反射给属性赋值，set(要被修改的对象，修改后的新实例)
-                    field.set(entry.getValue(), ioc.get(beanName));
-                } catch (IllegalAccessException e) {
-                    e.printStackTrace();
+            // 路由换了实现，旧实现缓存的响应不再可信
+            for (Handler handler : current.getHandlers()) {
+                if (retired.contains(handler.getController()) && null != handler.getResponseCache()) {
+                    handler.getResponseCache().invalidateAll();
                 }
             }
+            logger.info("Hot reloaded " + changed + " in " + (System.nanoTime() - start) / 1000000.0
+                    + "ms, " + router.getHandlers().size() + " routes" + (restartRequired.isEmpty() ? "" : ", restart required for " + restartRequired));
+        } catch (Exception | LinkageError e) {
+            logger.error("Hot reload of " + changed + " failed, keeping current routes", e);
+        }
+    }
+
+    /**
+     * 功能描述: 按类的全类名查找bean定义
+     * @author ykq
+     * @date 2026/10/18
+     * @param className
+     * @return com.my.mvcFramework.v1.context.BeanDefinition 不是bean时返回null
+     */
+    private BeanDefinition findDefinition(String className) {
+        for (BeanDefinition definition : ioc.getBeanDefinitions()) {
+            if (definition.getBeanClass().getName().equals(className)) {
+                return definition;
+            }
+        }
+        return null;
+    }
+
+    /***
+     * 功能描述: DI。按依赖图的拓扑顺序创建非延迟单例，同一层互不依赖的bean并行创建，
+     *          创建时完成构造器注入和@MyAutowired属性注入。延迟单例、prototype、request作用域的bean在使用时才创建
+     * @author ykq
+     * @date 2020/4/29 23:45
+     * @param
+     * @return void
+     */
+    private void doAutowired() {
+        // 先判读IoC容器为空，则返回
+        if (ioc.isEmpty()) {
+            return;
         }
+
+        int parallelism = Integer.parseInt(contextConfig.getProperty("ioc.parallelism",
+                String.valueOf(Runtime.getRuntime().availableProcessors())).trim());
+        ioc.instantiateSingletons(dependencyOrder, parallelism);
     }
 
     /**
-     * 功能描述: 根据扫描得到的类信息，创建实例，并保存
+     * 功能描述: 根据扫描得到的类信息，注册bean定义，并建立依赖图。依赖缺失或循环依赖时直接抛出异常，初始化失败。
+     *          有编译期生成的启动类时由生成的代码注册，不再反射加载类、解析注入点
      * @author ykq
      * @date 2020/4/29 22:58
      * @param
      * @return void
      */
-    private void doInstance() {
+    private void doInstance() throws ServletException {
         // 如果没扫描到类，则结束
-         if (classNames.isEmpty()) {
+        if (null != aotComponents ? aotComponents.isEmpty() : classNames.isEmpty()) {
             return;
         }
 
-        // 遍历全类名List-classNames，通过反射创建对象，保存至IoC容器中。但不是所有的类都要创建对象，只有加了@MyController、@MyService注解的才会创建
+        // 缓存管理器作为内置bean注册，@MyCacheable的service方法由BeanPostProcessor生成代理。
+        // 有批量变体的service方法先包一层合并调用的代理，缓存代理在它外面，命中缓存的调用不参与合并
+        ioc.registerSingleton(MyCacheManager.BEAN_NAME, cacheManager);
+        ioc.registerSingleton(MyLogger.BEAN_NAME, logger);
+        ioc.registerSingleton(MyEnvironment.BEAN_NAME, contextConfig);
+        // 配置在代理之前注入到原始实例上
+        ioc.addBeanPostProcessor(new ValueBindingBeanPostProcessor(contextConfig));
+        ioc.addBeanPostProcessor(new BatchingBeanPostProcessor(logger));
+        ioc.addBeanPostProcessor(new CachingBeanPostProcessor(cacheManager));
+
+        if (null != aotComponents) {
+            // 生成的代码直接new出bean定义，注入点在编译期已经解析好
+            for (MyAotComponent component : aotComponents) {
+                component.registerBeans(ioc);
+            }
+        } else {
+            registerScannedBeans();
+        }
+
+        // 实例创建之前织入切面，匹配到通知的bean改为实例化生成的代理子类
+        aopProxyCreator = new AopProxyCreator(ioc);
+        Map<String, Integer> woven = aopProxyCreator.apply();
+        if (!woven.isEmpty()) {
+            logger.info("AOP woven methods: " + woven);
+        }
+
+        // 按依赖关系排好创建顺序，实例在doAutowired中创建
+        dependencyOrder = ioc.resolveDependencyOrder();
+    }
+
+    /**
+     * 功能描述: 反射加载扫描到的类，注册bean定义。任何一个类加载或注册失败时初始化失败
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return void
+     */
+    private void registerScannedBeans() throws ServletException {
+        // 遍历全类名List-classNames，注册bean定义。但不是所有的类都是bean，只有加了@MyController、@MyService注解的才是
         // beanName首先默认取用首字母小写的类名。如果存在多个相同命名的类，则取用注解的value的值
         for (String className : classNames) {
             try {
-                Class clazz = Class.forName(className);
+                Class<?> clazz = Class.forName(className);
+
+                // 作用域和是否延迟创建
+                String scope = clazz.isAnnotationPresent(MyScope.class) ? clazz.getAnnotation(MyScope.class).value() : MyScope.SINGLETON;
+                boolean lazy = clazz.isAnnotationPresent(MyLazy.class);
 
                 // 分类讨论Controller和Service
                 // 判断当前类是否注解了@MyController
                 if (clazz.isAnnotationPresent(MyController.class)) {
-                    Object instance = clazz.newInstance();
-                    // Spring的beanName默认是首字母小写的类名
-                    String beanName = toLowFirstCase(clazz.getSimpleName());
-                    ioc.put(beanName, instance);
+                    ioc.registerBeanDefinition(controllerDefinition(clazz));
                 } else if (clazz.isAnnotationPresent(MyService.class)) {
                     // TODO 如果是Service，需要考虑接口有多个实现类和一个类实现多个接口的情况
                     // 此处，只适用类实现多个接口，但接口仅有一个实现类
-                    MyService myService = (MyService) clazz.getAnnotation(MyService.class);
+                    MyService myService = clazz.getAnnotation(MyService.class);
                     // 默认beanName是MyService的value值
                     String beanName = myService.value();
                     if ("".equals(beanName.trim())) {
                         // MyService的value如果为空，则首字母小写类名作为beanName
                         beanName = toLowFirstCase(clazz.getSimpleName());
                     }
-                    Object instance = clazz.newInstance();
-                    ioc.put(beanName, instance);
+                    BeanDefinition definition = new BeanDefinition(beanName, clazz, scope, lazy);
+                    ioc.registerBeanDefinition(definition);
 
                     // TODO 多实现类处理
-                    // 类实现了多个接口，则为所有接口赋值自己的实例，beanName取首字母小写的接口名
-                    for (Class i : clazz.getInterfaces()) {
-                        if (ioc.containsKey(i.getName())) {
-                            throw new Exception("The " + i.getName() + " is exited!Please use alias!");
-                        }
-                        ioc.put(i.getName(), instance);
+                    // 类实现了多个接口，则为所有接口注册同一个bean定义，别名取接口的全类名
+                    for (Class<?> i : clazz.getInterfaces()) {
+                        ioc.registerAlias(i.getName(), definition);
                     }
                 } else {
                     // 其他注解不处理
                     continue;
                 }
 
-            }  catch (Exception e) {
-                e.printStackTrace();
+            } catch (Exception | LinkageError e) {
+                // 类加载失败、beanName或别名重复时初始化失败，不带着不完整的容器启动
+                throw new ServletException("Cannot register bean " + className, e);
             }
         }
     }
 
+    /**
+     * 功能描述: Controller的bean定义，Spring的beanName默认是首字母小写的类名
+     * @author ykq
+     * @date 2026/10/18
+     * @param clazz 被@MyController修饰的类
+     * @return com.my.mvcFramework.v1.context.BeanDefinition
+     */
+    private BeanDefinition controllerDefinition(Class<?> clazz) {
+        String scope = clazz.isAnnotationPresent(MyScope.class) ? clazz.getAnnotation(MyScope.class).value() : MyScope.SINGLETON;
+        return new BeanDefinition(toLowFirstCase(clazz.getSimpleName()), clazz, scope, clazz.isAnnotationPresent(MyLazy.class));
+    }
+
     /**
      * 功能描述: 将传入字符串首字母小写
      * @author ykq
@@ -312,43 +1060,46 @@ public class MyDispatcherServlet extends HttpServlet {
     }
 
     /**
-     * 功能描述： 获取配置文件中需要扫描的包路径，获取包下所有类文件的全类名
+     * 功能描述： 获取配置文件中需要扫描的包路径，获取包下所有组件类的全类名。
+     *          有编译期生成的启动类时直接取其中的组件，不再扫描；其次读取编译期生成的META-INF/my-components.index；没有索引时并行读取class文件，按字节码中的注解筛选，
+     *          两种方式都不会加载类，目录和jar包都支持
      * @author ykq
      * @date 2020/4/29 13:54
      * @param
      * @return
      */
-    private void doScanner(String scanPackage) {
-        // 遍历文件夹，找到类，并获取其全类名
-        // 转换文件路径，将.替换为/。 注意getResource和getResources不一样
-        URL url = this.getClass().getClassLoader().getResource("/" + scanPackage.replaceAll("\\.", "/"));
-        File classPath = new File(url.getFile());
-
-        // 遍历当前目录下为文件，如果是class文件，则保存类名，如果是文件夹，则递归
-        for (File file : classPath.listFiles()) {
-            if (file.isDirectory()) {
-                doScanner(scanPackage + "." + file.getName());
+    private void doScanner(String scanPackage) throws ServletException {
+        ClassLoader classLoader = this.getClass().getClassLoader();
+        // 有编译期生成的启动类时，组件列表和注册代码都由它给出
+        if (Boolean.parseBoolean(contextConfig.getProperty("aot.enabled", "true").trim())) {
+            aotComponents = AotBootstraps.load(classLoader, scanPackage);
+            if (null != aotComponents) {
+                return;
             }
-            // 阿里的取反写法，不满足调价直接返回，减少嵌套
-            // 如果是诸如.xml等的文件，则直接跳过。
-            if (!file.getName().endsWith(".class")) {
-                continue;
+        }
+        try {
+            boolean useIndex = Boolean.parseBoolean(contextConfig.getProperty("componentIndex", "true").trim());
+            List<String> indexed = useIndex ? ComponentIndex.load(classLoader, scanPackage) : null;
+            if (null != indexed) {
+                classNames.addAll(indexed);
+                return;
             }
-            // 为防止不同包下，有相同名称的类，则将根目录下的全路径作为name。拿到全类名，用于反射创建实例
-            String className = scanPackage + "." + file.getName().replace(".class", "");
-            classNames.add(className);
+            // 没有索引则扫描。注意getResource和getResources不一样，后者会返回所有classpath根下的同名包
+            classNames.addAll(new ClassFileScanner(MyController.class, MyService.class).scan(classLoader, scanPackage));
+        } catch (IOException e) {
+            throw new ServletException("Cannot scan package " + scanPackage, e);
         }
     }
 
     /**
-     * 功能描述： 通过web.xml加载配置文件，持久化为Properties实例
+     * 功能描述： 通过web.xml加载配置文件，持久化为Properties实例。系统属性、环境变量、config.location指定的外部文件依次覆盖其中的值
      * @author ykq
      * @date 2020/4/29 13:30
      * @param
      * @return
      * 找到名叫contextConfigLocation的init-param，使用param-value对应的配置文件
      */
-    private void doLoadConfig(String contextConfigLocation) {
+    private void doLoadConfig(String contextConfigLocation) throws ServletException {
         // 通过类路径找到spring配置文件的路径，并且将其读取生成流，用于加载Properties
         /* class是指当前类的class对象，getClassLoader()是获取当前的类加载器，什么是类加载器？
             简单点说，就是用来加载java类的,类加载器负责把class文件加载进内存中，
@@ -356,20 +1107,13 @@ public class MyDispatcherServlet extends HttpServlet {
             getResourceAsStream(path)是用来获取资源的，而类加载器默认是从classPath下获取资源的，因为这下面有class文件，
             所以这段代码总的意思是通过类加载器在classPath目录下获取资源.并且是以流的形式。
             原文链接：https://blog.csdn.net/feeltouch/article/details/83796764 */
-        // TODO
-        InputStream is = this.getClass().getClassLoader().getResourceAsStream(contextConfigLocation);
+        if (null == contextConfigLocation) {
+            throw new ServletException("Missing init-param contextConfigLocation");
+        }
         try {
-            contextConfig.load(is);
+            contextConfig = MyEnvironment.load(this.getClass().getClassLoader(), contextConfigLocation);
         } catch (IOException e) {
-            e.printStackTrace();
-        } finally {
-            if (null != is) {
-                try {
-                    is.close();
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
-            }
+            throw new ServletException("Cannot read config " + contextConfigLocation, e);
         }
     }
 }
@@ -0,0 +1,151 @@
+package com.my.mvcFramework.v1.aop;
+
+import com.my.mvcFramework.annotation.MyAround;
+import com.my.mvcFramework.annotation.MyAspect;
+import com.my.mvcFramework.annotation.MyScope;
+import com.my.mvcFramework.annotation.MyService;
+import com.my.mvcFramework.v1.context.BeanDefinition;
+import com.my.mvcFramework.v1.context.MyBeanFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @ClassName ProxyClassGeneratorTest
+ * @Description 生成的代理子类：long/double占两个局部变量槽位、各种基本类型的装箱拆箱、void方法、重载方法，
+ *              以及环绕通知替换参数后目标方法收到的是新参数
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class ProxyClassGeneratorTest {
+
+    @MyService
+    public static class Calculator {
+        public String remembered;
+
+        public long add(long a, long b) {
+            return a + b;
+        }
+
+        public double mix(int i, long l, double d, float f) {
+            return i + l + d + f;
+        }
+
+        public int primitives(boolean flag, byte b, char c, short s) {
+            return flag ? b + c + s : -1;
+        }
+
+        public char next(char c) {
+            return (char) (c + 1);
+        }
+
+        public boolean negate(boolean flag) {
+            return !flag;
+        }
+
+        public void remember(String prefix, long value, double factor) {
+            remembered = prefix + value + "/" + factor;
+        }
+
+        public String describe(String name) {
+            return "name:" + name;
+        }
+
+        public String describe(String name, int times) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < times; i++) {
+                sb.append(name);
+            }
+            return sb.toString();
+        }
+
+        public String describe(long id) {
+            return "id:" + id;
+        }
+
+        public long scale(long value, double factor) {
+            return (long) (value * factor);
+        }
+    }
+
+    @MyAspect
+    public static class RecordingAspect {
+        final List<String> calls = new ArrayList<>();
+
+        @MyAround("@within(com.my.mvcFramework.annotation.MyService)")
+        public Object record(MyJoinPoint joinPoint) throws Throwable {
+            calls.add(joinPoint.getMethod().getName() + Arrays.toString(joinPoint.getArgs()));
+            if ("scale".equals(joinPoint.getMethod().getName())) {
+                Object[] args = joinPoint.getArgs();
+                return joinPoint.proceed(new Object[]{(Long) args[0] * 2, args[1]});
+            }
+            return joinPoint.proceed();
+        }
+    }
+
+    private Calculator calculator;
+
+    private RecordingAspect aspect;
+
+    @Before
+    public void weave() {
+        MyBeanFactory beanFactory = new MyBeanFactory();
+        beanFactory.registerBeanDefinition(new BeanDefinition("calculator", Calculator.class, MyScope.SINGLETON, false));
+        beanFactory.registerBeanDefinition(new BeanDefinition("recordingAspect", RecordingAspect.class, MyScope.SINGLETON, false));
+        assertEquals(Integer.valueOf(10), new AopProxyCreator(beanFactory).apply().get("calculator"));
+        calculator = (Calculator) beanFactory.getBean("calculator");
+        aspect = (RecordingAspect) beanFactory.getBean("recordingAspect");
+    }
+
+    @Test
+    public void beanIsTheGeneratedSubclass() {
+        assertNotSame(Calculator.class, calculator.getClass());
+        assertSame(Calculator.class, calculator.getClass().getSuperclass());
+    }
+
+    @Test
+    public void passesWideParametersThroughTheirSlots() {
+        assertEquals(Long.MAX_VALUE, calculator.add(Long.MAX_VALUE - 5, 5));
+        assertEquals(1 + 2L + 0.5 + 0.25f, calculator.mix(1, 2L, 0.5, 0.25f), 0.0);
+        assertEquals(Arrays.asList("add[" + (Long.MAX_VALUE - 5) + ", 5]", "mix[1, 2, 0.5, 0.25]"), aspect.calls);
+    }
+
+    @Test
+    public void boxesAndUnboxesNarrowPrimitives() {
+        assertEquals(1 + 'a' + 3, calculator.primitives(true, (byte) 1, 'a', (short) 3));
+        assertEquals(-1, calculator.primitives(false, (byte) 1, 'a', (short) 3));
+        assertEquals('b', calculator.next('a'));
+        assertTrue(calculator.negate(false));
+        assertEquals(4, aspect.calls.size());
+    }
+
+    @Test
+    public void voidMethodRunsTheTarget() {
+        calculator.remember("v", 1L << 40, 1.5);
+        assertEquals("v" + (1L << 40) + "/1.5", calculator.remembered);
+        assertEquals(Arrays.asList("remember[v, " + (1L << 40) + ", 1.5]"), aspect.calls);
+    }
+
+    @Test
+    public void overloadsReachTheirOwnTarget() {
+        assertEquals("name:x", calculator.describe("x"));
+        assertEquals("xxx", calculator.describe("x", 3));
+        assertEquals("id:7", calculator.describe(7L));
+        assertEquals(Arrays.asList("describe[x]", "describe[x, 3]", "describe[7]"), aspect.calls);
+    }
+
+    @Test
+    public void aroundAdviceCanReplaceArguments() {
+        assertEquals(30L, calculator.scale(10L, 1.5));
+        assertEquals(Arrays.asList("scale[10, 1.5]"), aspect.calls);
+    }
+}
@@ -0,0 +1,283 @@
+package com.my.mvcFramework.v1.async;
+
+import com.my.mvcFramework.annotation.MyAsync;
+import com.my.mvcFramework.v1.handler.Handler;
+import com.my.mvcFramework.v1.handler.HandlerInvoker;
+import com.my.mvcFramework.v1.log.MyLogger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @ClassName AsyncDispatcherTest
+ * @Description 异步分发的背压和收尾：挂起请求超过async.maxPending时返回503，超时返回503，
+ *              Handler在交给异步流程之前抛出异常时挂起名额照样归还
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class AsyncDispatcherTest {
+
+    public CompletableFuture<String> later() {
+        return null;
+    }
+
+    @MyAsync
+    public String offload() {
+        return null;
+    }
+
+    /**
+     * 一次请求的容器侧状态：AsyncContext的监听器、超时和complete()，response的状态和sendError()
+     */
+    private static final class Exchange {
+        final List<AsyncListener> listeners = new ArrayList<>();
+
+        long timeout = -1;
+
+        boolean started;
+
+        boolean completed;
+
+        int status = 200;
+
+        String errorMessage;
+
+        RuntimeException startAsyncFailure;
+
+        HttpServletRequest request;
+
+        HttpServletResponse response;
+
+        Exchange() {
+            response = (HttpServletResponse) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{HttpServletResponse.class}, (p, method, args) -> {
+                        switch (method.getName()) {
+                            case "sendError":
+                                status = (Integer) args[0];
+                                errorMessage = args.length > 1 ? (String) args[1] : null;
+                                return null;
+                            case "getStatus":
+                                return status;
+                            default:
+                                return null;
+                        }
+                    });
+            final AsyncContext asyncContext = (AsyncContext) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{AsyncContext.class}, (p, method, args) -> {
+                        switch (method.getName()) {
+                            case "getRequest":
+                                return request;
+                            case "getResponse":
+                                return response;
+                            case "setTimeout":
+                                timeout = (Long) args[0];
+                                return null;
+                            case "addListener":
+                                listeners.add((AsyncListener) args[0]);
+                                return null;
+                            case "complete":
+                                completed = true;
+                                return null;
+                            default:
+                                return null;
+                        }
+                    });
+            request = (HttpServletRequest) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{HttpServletRequest.class}, (p, method, args) -> {
+                        switch (method.getName()) {
+                            case "startAsync":
+                                if (null != startAsyncFailure) {
+                                    throw startAsyncFailure;
+                                }
+                                started = true;
+                                return asyncContext;
+                            case "getMethod":
+                                return "GET";
+                            case "getRequestURI":
+                                return "/async";
+                            default:
+                                return null;
+                        }
+                    });
+        }
+
+        void timeOut() throws Exception {
+            for (AsyncListener listener : listeners) {
+                listener.onTimeout(null);
+            }
+        }
+    }
+
+    private final List<Object> written = new ArrayList<>();
+
+    private final List<Throwable> errors = new ArrayList<>();
+
+    private CountDownLatch writes = new CountDownLatch(1);
+
+    private MyLogger logger;
+
+    private AsyncDispatcher dispatcher;
+
+    @Before
+    public void setUp() {
+        Properties logConfig = new Properties();
+        logConfig.setProperty("log.access.enabled", "false");
+        logger = new MyLogger(logConfig);
+    }
+
+    @After
+    public void tearDown() {
+        if (null != dispatcher) {
+            dispatcher.shutdown();
+        }
+        logger.close();
+    }
+
+    private AsyncDispatcher dispatcher(String maxPending, String timeoutMillis) {
+        Properties config = new Properties();
+        config.setProperty("async.threads", "2");
+        config.setProperty("async.virtualThreads", "false");
+        config.setProperty("async.maxPending", maxPending);
+        config.setProperty("async.timeoutMillis", timeoutMillis);
+        dispatcher = new AsyncDispatcher(config, (req, resp, handler, result, error) -> {
+            synchronized (written) {
+                written.add(result);
+                errors.add(error);
+            }
+            writes.countDown();
+        }, logger);
+        return dispatcher;
+    }
+
+    private Handler handler(String methodName, HandlerInvoker invoker) throws NoSuchMethodException {
+        return new Handler("/async", this, AsyncDispatcherTest.class.getMethod(methodName), invoker);
+    }
+
+    @Test
+    public void rejectsWhenMaxPendingExceeded() throws Exception {
+        AsyncDispatcher dispatcher = dispatcher("2", "30000");
+        final List<CompletableFuture<String>> futures = new ArrayList<>();
+        Handler handler = handler("later", args -> {
+            CompletableFuture<String> future = new CompletableFuture<>();
+            futures.add(future);
+            return future;
+        });
+        for (int i = 0; i < 2; i++) {
+            Exchange exchange = new Exchange();
+            dispatcher.dispatch(exchange.request, exchange.response, handler, new Object[0], System.nanoTime(), null);
+            assertTrue(exchange.started);
+        }
+        assertEquals(2, dispatcher.getPendingCount());
+
+        Exchange rejected = new Exchange();
+        dispatcher.dispatch(rejected.request, rejected.response, handler, new Object[0], System.nanoTime(), null);
+        assertFalse(rejected.started);
+        assertEquals(503, rejected.status);
+        assertEquals("Too many pending async requests", rejected.errorMessage);
+        assertEquals(2, futures.size());
+        assertEquals(1L, handler.getMetrics().getErrors());
+
+        // 一个请求完成后名额归还，可以再接收新的请求
+        futures.get(0).complete("done");
+        assertEquals(1, dispatcher.getPendingCount());
+        Exchange accepted = new Exchange();
+        dispatcher.dispatch(accepted.request, accepted.response, handler, new Object[0], System.nanoTime(), null);
+        assertTrue(accepted.started);
+        assertEquals(2, dispatcher.getPendingCount());
+    }
+
+    @Test
+    public void timeoutSendsServiceUnavailable() throws Exception {
+        AsyncDispatcher dispatcher = dispatcher("10", "250");
+        final CompletableFuture<String> future = new CompletableFuture<>();
+        Handler handler = handler("later", args -> future);
+        Exchange exchange = new Exchange();
+        dispatcher.dispatch(exchange.request, exchange.response, handler, new Object[0], System.nanoTime(), null);
+        assertEquals(250L, exchange.timeout);
+        assertEquals(1, dispatcher.getPendingCount());
+
+        exchange.timeOut();
+        assertEquals(503, exchange.status);
+        assertEquals("Async request timed out after 250ms", exchange.errorMessage);
+        assertTrue(exchange.completed);
+        assertEquals(0, dispatcher.getPendingCount());
+        assertEquals(1L, handler.getMetrics().getErrors());
+
+        // 超时后才到的结果不再写回，也不会重复归还名额
+        future.complete("late");
+        assertTrue(written.isEmpty());
+        assertEquals(0, dispatcher.getPendingCount());
+    }
+
+    @Test
+    public void releasesPermitWhenHandlerThrowsBeforeHandoff() throws Exception {
+        AsyncDispatcher dispatcher = dispatcher("1", "30000");
+        final IllegalStateException failure = new IllegalStateException("boom");
+        Handler handler = handler("later", args -> {
+            throw failure;
+        });
+        Exchange exchange = new Exchange();
+        dispatcher.dispatch(exchange.request, exchange.response, handler, new Object[0], System.nanoTime(), null);
+        assertEquals(1, written.size());
+        assertNull(written.get(0));
+        assertSame(failure, errors.get(0));
+        assertTrue(exchange.completed);
+        assertEquals(0, dispatcher.getPendingCount());
+
+        // 线程池中执行时抛出异常同样归还
+        writes = new CountDownLatch(1);
+        Handler offload = handler("offload", args -> {
+            throw failure;
+        });
+        Exchange offloaded = new Exchange();
+        dispatcher.dispatch(offloaded.request, offloaded.response, offload, new Object[0], System.nanoTime(), null);
+        assertTrue(writes.await(5, TimeUnit.SECONDS));
+        assertSame(failure, errors.get(1));
+        // 写回之后才在finally中归还名额
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (dispatcher.getPendingCount() != 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(0, dispatcher.getPendingCount());
+    }
+
+    @Test
+    public void releasesPermitWhenStartAsyncFails() throws Exception {
+        AsyncDispatcher dispatcher = dispatcher("1", "30000");
+        Handler handler = handler("later", args -> new CompletableFuture<String>());
+        Exchange exchange = new Exchange();
+        exchange.startAsyncFailure = new IllegalStateException("async not supported");
+        try {
+            dispatcher.dispatch(exchange.request, exchange.response, handler, new Object[0], System.nanoTime(), null);
+            fail("expected startAsync() failure to propagate");
+        } catch (IllegalStateException expected) {
+            assertEquals("async not supported", expected.getMessage());
+        }
+        assertEquals(0, dispatcher.getPendingCount());
+
+        Exchange next = new Exchange();
+        dispatcher.dispatch(next.request, next.response, handler, new Object[0], System.nanoTime(), null);
+        assertTrue(next.started);
+        assertEquals(1, dispatcher.getPendingCount());
+    }
+}
@@ -0,0 +1,134 @@
+package com.my.mvcFramework.v1.batch;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * @ClassName BatchContextTest
+ * @Description 多个子请求线程的调用合并成一次批量调用、相同参数只传一次，批量方法抛出的异常交给每个等待的调用方；
+ *              只有一个子请求在执行时直接调用单个方法
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class BatchContextTest {
+
+    public static class UserService {
+        final AtomicInteger singleCalls = new AtomicInteger();
+
+        final List<List<String>> batches = Collections.synchronizedList(new ArrayList<List<String>>());
+
+        volatile RuntimeException failure;
+
+        public String get(String id) {
+            singleCalls.incrementAndGet();
+            return "user-" + id;
+        }
+
+        public List<String> get(List<String> ids) {
+            batches.add(new ArrayList<>(ids));
+            if (null != failure) {
+                throw failure;
+            }
+            List<String> users = new ArrayList<>();
+            for (String id : ids) {
+                users.add("user-" + id);
+            }
+            return users;
+        }
+    }
+
+    private final UserService service = new UserService();
+
+    private final BatchLoader loader;
+
+    public BatchContextTest() throws NoSuchMethodException {
+        loader = new BatchLoader(service, UserService.class.getMethod("get", String.class),
+                UserService.class.getMethod("get", List.class));
+    }
+
+    @Test
+    public void coalescesCallsFromAllSubRequests() throws Exception {
+        List<Object> results = loadConcurrently(Arrays.asList("a", "b", "a", "c"));
+        assertEquals(Arrays.<Object>asList("user-a", "user-b", "user-a", "user-c"), results);
+        assertEquals(0, service.singleCalls.get());
+        assertEquals(1, service.batches.size());
+        List<String> batch = new ArrayList<>(service.batches.get(0));
+        Collections.sort(batch);
+        assertEquals(Arrays.asList("a", "b", "c"), batch);
+    }
+
+    @Test
+    public void deliversBatchErrorToEveryCaller() throws Exception {
+        service.failure = new IllegalArgumentException("backend down");
+        List<Object> results = loadConcurrently(Arrays.asList("a", "b", "c"));
+        for (Object result : results) {
+            assertSame(service.failure, result);
+        }
+        assertEquals(1, service.batches.size());
+    }
+
+    @Test
+    public void singleSubRequestCallsSingleMethod() throws Throwable {
+        BatchContext context = new BatchContext();
+        context.enter();
+        try {
+            assertSame(context, BatchContext.current());
+            assertEquals("user-a", context.load(loader, "a"));
+        } finally {
+            context.exit();
+        }
+        assertNull(BatchContext.current());
+        assertEquals(1, service.singleCalls.get());
+        assertEquals(0, service.batches.size());
+    }
+
+    /** 每个参数一个子请求线程，全部enter()之后再调用，返回各自的结果或抛出的异常 */
+    private List<Object> loadConcurrently(List<String> keys) throws Exception {
+        final BatchContext context = new BatchContext();
+        final CountDownLatch entered = new CountDownLatch(keys.size());
+        ExecutorService executor = Executors.newFixedThreadPool(keys.size());
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (final String key : keys) {
+                futures.add(executor.submit(() -> {
+                    context.enter();
+                    try {
+                        entered.countDown();
+                        entered.await();
+                        return context.load(loader, key);
+                    } catch (Throwable t) {
+                        return t;
+                    } finally {
+                        context.exit();
+                    }
+                }));
+            }
+            List<Object> results = new ArrayList<>();
+            for (Future<Object> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                fail("sub-request threads did not finish");
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.my.mvcFramework.v1.batch;
+
+import org.junit.Test;
+
+import javax.servlet.http.HttpServletRequest;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * @ClassName BatchSubRequestTest
+ * @Description 子请求的路径、参数，以及外层请求被容器回收后仍能读取复制下来的请求头和项目名
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class BatchSubRequestTest {
+
+    /**
+     * 功能描述: 模拟外层请求，recycled置为true后任何调用都抛出异常
+     * @author ykq
+     * @date 2026/10/18
+     * @param recycled
+     * @return javax.servlet.http.HttpServletRequest
+     */
+    private static HttpServletRequest outerRequest(final AtomicBoolean recycled) {
+        final Map<String, String[]> headers = new LinkedHashMap<>();
+        headers.put("Authorization", new String[]{"Bearer t"});
+        headers.put("Accept-Encoding", new String[]{"gzip"});
+        headers.put("X-Trace", new String[]{"a", "b"});
+        headers.put("If-Modified-Since", new String[]{"Sun, 18 Oct 2026 10:00:00 GMT"});
+        final Map<String, Object> values = new HashMap<>();
+        values.put("getContextPath", "/app");
+        values.put("getScheme", "http");
+        values.put("getServerName", "localhost");
+        values.put("getServerPort", 8080);
+        values.put("getProtocol", "HTTP/1.1");
+        values.put("getRemoteAddr", "127.0.0.1");
+        return (HttpServletRequest) Proxy.newProxyInstance(BatchSubRequestTest.class.getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class}, (proxy, method, args) -> {
+                    if (recycled.get()) {
+                        throw new IllegalStateException("request recycled: " + method.getName());
+                    }
+                    switch (method.getName()) {
+                        case "getHeaderNames":
+                            return Collections.enumeration(headers.keySet());
+                        case "getHeaders":
+                            return Collections.enumeration(Arrays.asList(headers.get(args[0])));
+                        default:
+                            return values.get(method.getName());
+                    }
+                });
+    }
+
+    private static BatchRequest item(String path) {
+        BatchRequest item = new BatchRequest();
+        item.setPath(path);
+        item.setParams(Collections.<String, Object>singletonMap("id", Arrays.asList(1, 2)));
+        return item;
+    }
+
+    @Test
+    public void readsCopiedStateAfterOuterRequestIsRecycled() {
+        AtomicBoolean recycled = new AtomicBoolean();
+        HttpServletRequest outer = outerRequest(recycled);
+        BatchSubRequest.OuterRequest copy = BatchSubRequest.OuterRequest.copyOf(outer);
+        recycled.set(true);
+
+        BatchSubRequest sub = new BatchSubRequest(outer, copy, item("/demo/query?name=a%20b"));
+        assertEquals("/app/demo/query", sub.getRequestURI());
+        assertEquals("http://localhost:8080/app/demo/query", sub.getRequestURL().toString());
+        assertEquals("127.0.0.1", sub.getRemoteAddr());
+        assertEquals("Bearer t", sub.getHeader("authorization"));
+        assertEquals(Arrays.asList("a", "b"), Collections.list(sub.getHeaders("X-Trace")));
+        assertEquals(1792317600000L, sub.getDateHeader("If-Modified-Since"));
+        assertEquals(-1, sub.getIntHeader("Content-Length"));
+        // 子请求的响应体不压缩
+        assertNull(sub.getHeader("Accept-Encoding"));
+        assertEquals(3, Collections.list(sub.getHeaderNames()).size());
+
+        assertEquals("a b", sub.getParameter("name"));
+        assertArrayEquals(new String[]{"1", "2"}, sub.getParameterValues("id"));
+        assertEquals("GET", sub.getMethod());
+    }
+}
@@ -0,0 +1,141 @@
+package com.my.mvcFramework.v1.cache;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * @ClassName BoundedCacheTest
+ * @Description 有界缓存的LRU淘汰、过期、运行时缩容（包括缩到分段数以下）和计数
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class BoundedCacheTest {
+
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>("test", 0, 3);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        // 访问a后b成为最久未访问的
+        assertEquals(Integer.valueOf(1), cache.get("a"));
+        cache.put("d", 4);
+
+        assertEquals(3, cache.size());
+        assertNull(cache.get("b"));
+        assertEquals(Integer.valueOf(1), cache.get("a"));
+        assertEquals(Integer.valueOf(3), cache.get("c"));
+        assertEquals(Integer.valueOf(4), cache.get("d"));
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    public void neverExceedsMaxSizeAcrossSegments() {
+        // 256以上分16段，每段各自淘汰
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>("segmented", 0, 256);
+        for (int i = 0; i < 10000; i++) {
+            cache.put(i, i);
+        }
+        assertEquals(256, cache.size());
+        assertEquals(10000 - 256, cache.getEvictions());
+    }
+
+    @Test
+    public void segmentCapacitiesAddUpToMaxSize() {
+        // 不是16的倍数时余数分给前几段，总数不能超出maxSize
+        for (int maxSize : new int[]{257, 300, 1000, 1023}) {
+            BoundedCache<Integer, Integer> cache = new BoundedCache<>("uneven", 0, maxSize);
+            for (int i = 0; i < 100000; i++) {
+                cache.put(i, i);
+            }
+            assertEquals("maxSize " + maxSize, maxSize, cache.size());
+        }
+
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>("reconfigured", 0, 1000);
+        for (int i = 0; i < 100000; i++) {
+            cache.put(i, i);
+        }
+        cache.reconfigure(0, 300);
+        assertEquals(300, cache.size());
+        for (int i = 0; i < 100000; i++) {
+            cache.put(i, i);
+        }
+        assertEquals(300, cache.size());
+    }
+
+    @Test
+    public void reconfigureBelowSegmentCountKeepsCaching() {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>("resegmented", 0, 1024);
+        for (int i = 0; i < 1024; i++) {
+            cache.put(i, i);
+        }
+        // 从16段缩到只剩8个条目，每个key都要还能缓存
+        cache.reconfigure(0, 8);
+        assertEquals(8, cache.size());
+        for (int i = 0; i < 100; i++) {
+            cache.put(10000 + i, i);
+            assertEquals("key " + (10000 + i), Integer.valueOf(i), cache.get(10000 + i));
+        }
+        assertEquals(8, cache.size());
+
+        // 再放大到分段的阈值以上，已有条目保留
+        cache.reconfigure(0, 512);
+        assertEquals(8, cache.size());
+        assertEquals(Integer.valueOf(99), cache.get(10099));
+        for (int i = 0; i < 10000; i++) {
+            cache.put(i, i);
+        }
+        assertEquals(512, cache.size());
+    }
+
+    @Test
+    public void expiresAfterTtl() throws InterruptedException {
+        BoundedCache<String, String> cache = new BoundedCache<>("ttl", 50, 10);
+        cache.put("k", "v");
+        assertEquals("v", cache.get("k"));
+        Thread.sleep(80);
+
+        assertNull(cache.get("k"));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getExpirations());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void reconfigureShrinksImmediately() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>("shrink", 0, 4);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        cache.put("d", 4);
+        cache.get("a");
+        cache.reconfigure(0, 2);
+
+        assertEquals(2, cache.getMaxSize());
+        assertEquals(2, cache.size());
+        assertEquals(Integer.valueOf(1), cache.get("a"));
+        assertEquals(Integer.valueOf(4), cache.get("d"));
+        assertNull(cache.get("b"));
+        assertEquals(2, cache.getEvictions());
+    }
+
+    @Test
+    public void invalidateRemovesEntries() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>("invalidate", 0, 4);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.invalidate("a");
+        assertNull(cache.get("a"));
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveMaxSize() {
+        new BoundedCache<String, String>("empty", 0, 0);
+    }
+}
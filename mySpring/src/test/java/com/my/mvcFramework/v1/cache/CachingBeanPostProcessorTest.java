@@ -0,0 +1,62 @@
+package com.my.mvcFramework.v1.cache;
+
+import com.my.mvcFramework.annotation.MyCacheable;
+import com.my.mvcFramework.annotation.MyScope;
+import com.my.mvcFramework.v1.context.BeanDefinition;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * @ClassName CachingBeanPostProcessorTest
+ * @Description 重载的@MyCacheable方法默认缓存名带参数类型，各自使用注解中的容量
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class CachingBeanPostProcessorTest {
+
+    public interface Lookup {
+        String get(String id);
+
+        String get(List<String> ids);
+    }
+
+    public static class LookupImpl implements Lookup {
+        @Override
+        @MyCacheable(maxSize = 10)
+        public String get(String id) {
+            return id;
+        }
+
+        @Override
+        @MyCacheable(maxSize = 20)
+        public String get(List<String> ids) {
+            return String.join(",", ids);
+        }
+    }
+
+    @Test
+    public void overloadsGetSeparateCaches() {
+        MyCacheManager cacheManager = new MyCacheManager();
+        BeanDefinition definition = new BeanDefinition("lookup", LookupImpl.class, MyScope.SINGLETON, false);
+        Lookup proxy = (Lookup) new CachingBeanPostProcessor(cacheManager).postProcess(definition, new LookupImpl());
+
+        assertEquals("a", proxy.get("a"));
+        assertEquals("a,b", proxy.get(Arrays.asList("a", "b")));
+
+        String prefix = LookupImpl.class.getName() + "#get(";
+        BoundedCache<Object, Object> single = cacheManager.getCache(prefix + "java.lang.String)");
+        BoundedCache<Object, Object> list = cacheManager.getCache(prefix + "java.util.List)");
+        assertNotNull(single);
+        assertNotNull(list);
+        assertEquals(10, single.getMaxSize());
+        assertEquals(20, list.getMaxSize());
+        assertEquals(1, single.size());
+        assertEquals(1, list.size());
+    }
+}
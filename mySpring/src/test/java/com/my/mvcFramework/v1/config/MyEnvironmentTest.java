@@ -0,0 +1,125 @@
+package com.my.mvcFramework.v1.config;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @ClassName MyEnvironmentTest
+ * @Description 配置的优先级：系统属性 > 环境变量 > config.location指定的外部文件 > classpath中的配置文件；
+ *              重新加载时只报告生效值变化了的key，被系统属性或环境变量覆盖的key不算变化
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class MyEnvironmentTest {
+    private static final String LOCATION = "test-application.properties";
+
+    /** 系统属性是进程级的，用不会与其他配置冲突的前缀 */
+    private static final String PREFIX = "myenvtest.";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File classpathFile;
+
+    private File externalFile;
+
+    private URLClassLoader classLoader;
+
+    private final Map<String, String> systemEnv = new HashMap<>();
+
+    @Before
+    public void setUp() throws IOException {
+        File classpathRoot = folder.newFolder("classes");
+        classpathFile = new File(classpathRoot, LOCATION);
+        externalFile = folder.newFile("external.properties");
+        classLoader = new URLClassLoader(new URL[]{classpathRoot.toURI().toURL()}, null);
+        systemEnv.put(MyEnvironment.toEnvName(MyEnvironment.CONFIG_LOCATION), externalFile.getPath());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith(PREFIX)) {
+                System.clearProperty(name);
+            }
+        }
+        classLoader.close();
+    }
+
+    @Test
+    public void appliesSourcesInPrecedenceOrder() throws IOException {
+        write(classpathFile, PREFIX + "a=classpath", PREFIX + "b=classpath", PREFIX + "c=classpath", PREFIX + "d=classpath");
+        write(externalFile, PREFIX + "a=external", PREFIX + "b=external", PREFIX + "c=external");
+        systemEnv.put("MYENVTEST_A", "env");
+        systemEnv.put("MYENVTEST_B", "env");
+        System.setProperty(PREFIX + "a", "system");
+
+        MyEnvironment environment = MyEnvironment.load(classLoader, LOCATION, systemEnv);
+        assertEquals("system", environment.getProperty(PREFIX + "a"));
+        assertEquals("env", environment.getProperty(PREFIX + "b"));
+        assertEquals("external", environment.getProperty(PREFIX + "c"));
+        assertEquals("classpath", environment.getProperty(PREFIX + "d"));
+        assertNull(environment.getProperty(PREFIX + "missing"));
+        assertEquals("fallback", environment.getProperty(PREFIX + "missing", "fallback"));
+        // 覆盖只体现在getProperty上，Properties中保存的是文件中的值
+        assertEquals("external", environment.get(PREFIX + "a"));
+    }
+
+    @Test
+    public void reloadReportsEffectiveChanges() throws IOException {
+        write(classpathFile, PREFIX + "kept=1", PREFIX + "changed=1", PREFIX + "removed=1", PREFIX + "overridden=1");
+        write(externalFile, PREFIX + "shadowed=external");
+        systemEnv.put("MYENVTEST_OVERRIDDEN", "env");
+        MyEnvironment environment = MyEnvironment.load(classLoader, LOCATION, systemEnv);
+        final List<MyConfigChange> notified = new ArrayList<>();
+        environment.addListener((change, env) -> {
+            notified.add(change);
+            assertEquals("2", env.getProperty(PREFIX + "changed"));
+        });
+
+        write(classpathFile, PREFIX + "kept=1", PREFIX + "changed=2", PREFIX + "overridden=2", PREFIX + "added=1",
+                PREFIX + "shadowed=classpath");
+        write(externalFile, PREFIX + "shadowed=external");
+        MyConfigChange change = environment.reload();
+        assertEquals(new HashSet<>(Arrays.asList(PREFIX + "changed", PREFIX + "removed", PREFIX + "added")), change.getKeys());
+        assertEquals("1", change.getPreviousValue(PREFIX + "changed"));
+        assertEquals("2", change.getValue(PREFIX + "changed"));
+        assertEquals("1", change.getPreviousValue(PREFIX + "removed"));
+        assertNull(change.getValue(PREFIX + "removed"));
+        assertNull(change.getPreviousValue(PREFIX + "added"));
+        assertEquals("1", change.getValue(PREFIX + "added"));
+        assertTrue(change.hasPrefix(PREFIX + "add"));
+        assertEquals(1, notified.size());
+        assertSame(change, notified.get(0));
+        assertNull(environment.getProperty(PREFIX + "removed"));
+
+        assertTrue(environment.reload().isEmpty());
+        assertEquals(1, notified.size());
+    }
+
+    private static void write(File file, String... lines) throws IOException {
+        Files.write(file.toPath(), Arrays.asList(lines), StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,197 @@
+package com.my.mvcFramework.v1.context;
+
+import com.my.mvcFramework.annotation.MyAutowired;
+import com.my.mvcFramework.annotation.MyScope;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.servlet.http.HttpServletRequest;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @ClassName BeanScopeTest
+ * @Description 延迟单例在并发的第一次访问时只创建一次，通过接口注入时注入代理、调用时才创建；
+ *              prototype每次获取都是新实例；request作用域的实例按请求隔离；实例数按bean统计
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class BeanScopeTest {
+
+    static final AtomicInteger SLOW_CREATED = new AtomicInteger();
+
+    public interface Greeter {
+        String greet();
+    }
+
+    public static class SlowGreeter implements Greeter {
+        public SlowGreeter() throws InterruptedException {
+            SLOW_CREATED.incrementAndGet();
+            // 放大并发创建的窗口
+            Thread.sleep(20);
+        }
+
+        @Override
+        public String greet() {
+            return "hi";
+        }
+    }
+
+    public static class Client {
+        @MyAutowired
+        Greeter greeter;
+    }
+
+    public static class Counter {
+        int value;
+    }
+
+    public static class Holder {
+        @MyAutowired
+        Counter counter;
+    }
+
+    private MyBeanFactory factory;
+
+    @Before
+    public void setUp() {
+        SLOW_CREATED.set(0);
+        factory = new MyBeanFactory();
+    }
+
+    @After
+    public void tearDown() {
+        RequestContextHolder.clear();
+    }
+
+    private BeanDefinition register(String beanName, Class<?> beanClass, String scope, boolean lazy) {
+        BeanDefinition definition = new BeanDefinition(beanName, beanClass, scope, lazy);
+        factory.registerBeanDefinition(definition);
+        factory.registerAlias(beanClass.getName(), definition);
+        for (Class<?> i : beanClass.getInterfaces()) {
+            factory.registerAlias(i.getName(), definition);
+        }
+        return definition;
+    }
+
+    private static HttpServletRequest request() {
+        final Map<String, Object> attributes = new HashMap<>();
+        return (HttpServletRequest) Proxy.newProxyInstance(BeanScopeTest.class.getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getAttribute":
+                            return attributes.get(args[0]);
+                        case "setAttribute":
+                            attributes.put((String) args[0], args[1]);
+                            return null;
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    @Test
+    public void createsLazySingletonOnceUnderConcurrency() throws Exception {
+        BeanDefinition greeter = register("greeter", SlowGreeter.class, MyScope.SINGLETON, true);
+        factory.instantiateSingletons(factory.resolveDependencyOrder(), 4);
+        assertNull(factory.getSingletonIfCreated(greeter));
+        assertEquals(0, SLOW_CREATED.get());
+        assertEquals(0L, factory.getInstantiationCounts().get("greeter").longValue());
+
+        int threads = 16;
+        final CyclicBarrier barrier = new CyclicBarrier(threads);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(pool.submit(new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception {
+                        barrier.await();
+                        return factory.getBean("greeter");
+                    }
+                }));
+            }
+            Object first = futures.get(0).get();
+            for (Future<Object> future : futures) {
+                assertSame(first, future.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, SLOW_CREATED.get());
+        assertEquals(1L, factory.getInstantiationCounts().get("greeter").longValue());
+        assertSame(factory.getBean("greeter"), factory.getSingletonIfCreated(greeter));
+    }
+
+    @Test
+    public void injectsLazySingletonAsProxyUntilFirstCall() {
+        register("greeter", SlowGreeter.class, MyScope.SINGLETON, true);
+        register("client", Client.class, MyScope.SINGLETON, false);
+        factory.instantiateSingletons(factory.resolveDependencyOrder(), 1);
+
+        Client client = (Client) factory.getBean("client");
+        assertTrue(Proxy.isProxyClass(client.greeter.getClass()));
+        assertEquals(0, SLOW_CREATED.get());
+        assertEquals("hi", client.greeter.greet());
+        assertEquals("hi", client.greeter.greet());
+        assertEquals(1, SLOW_CREATED.get());
+    }
+
+    @Test
+    public void createsNewPrototypePerLookupAndInjection() {
+        register("counter", Counter.class, MyScope.PROTOTYPE, false);
+        register("holderA", Holder.class, MyScope.SINGLETON, false);
+        BeanDefinition holderB = new BeanDefinition("holderB", Holder.class, MyScope.SINGLETON, false);
+        factory.registerBeanDefinition(holderB);
+        factory.instantiateSingletons(factory.resolveDependencyOrder(), 1);
+
+        assertNotSame(factory.getBean("counter"), factory.getBean("counter"));
+        assertNotSame(((Holder) factory.getBean("holderA")).counter, ((Holder) factory.getBean("holderB")).counter);
+        Map<String, Long> counts = factory.getInstantiationCounts();
+        assertEquals(4L, counts.get("counter").longValue());
+        assertEquals(1L, counts.get("holderA").longValue());
+        assertEquals(1L, counts.get("holderB").longValue());
+    }
+
+    @Test
+    public void isolatesRequestScopedBeansPerRequest() {
+        register("counter", Counter.class, MyScope.REQUEST, false);
+        factory.freeze();
+        try {
+            factory.getBean("counter");
+            fail("expected an error without a bound request");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("counter"));
+        }
+
+        RequestContextHolder.set(request());
+        Counter first = (Counter) factory.getBean("counter");
+        first.value = 1;
+        assertSame(first, factory.getBean("counter"));
+
+        RequestContextHolder.set(request());
+        Counter second = (Counter) factory.getBean("counter");
+        assertNotSame(first, second);
+        assertEquals(0, second.value);
+        assertEquals(2L, factory.getInstantiationCounts().get("counter").longValue());
+    }
+}
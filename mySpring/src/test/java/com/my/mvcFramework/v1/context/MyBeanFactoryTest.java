@@ -0,0 +1,154 @@
+package com.my.mvcFramework.v1.context;
+
+import com.my.mvcFramework.annotation.MyAutowired;
+import com.my.mvcFramework.annotation.MyScope;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @ClassName MyBeanFactoryTest
+ * @Description 按依赖图创建单例：循环依赖和缺失的依赖在启动时报错并指出相关的bean，
+ *              构造器注入的bean在其依赖之后创建，并行创建时同样如此
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class MyBeanFactoryTest {
+
+    /** 各bean的创建顺序，并行创建时多个线程同时写入 */
+    static final List<String> CREATED = Collections.synchronizedList(new ArrayList<String>());
+
+    public static class CycleA {
+        @MyAutowired
+        public CycleA(CycleB b) {
+        }
+    }
+
+    public static class CycleB {
+        @MyAutowired
+        private CycleA a;
+    }
+
+    public interface Missing {
+    }
+
+    public static class Orphan {
+        @MyAutowired
+        private Missing missing;
+    }
+
+    public static class Repository {
+        public Repository() {
+            CREATED.add("repository");
+        }
+    }
+
+    public static class Clock {
+        public Clock() {
+            CREATED.add("clock");
+        }
+    }
+
+    public static class Service {
+        final Repository repository;
+
+        final Clock clock;
+
+        @MyAutowired
+        public Service(Repository repository, Clock clock) {
+            CREATED.add("service");
+            this.repository = repository;
+            this.clock = clock;
+        }
+    }
+
+    public static class Controller {
+        final Service service;
+
+        @MyAutowired
+        public Controller(@MyAutowired("service") Service service) {
+            CREATED.add("controller");
+            this.service = service;
+        }
+    }
+
+    @Before
+    public void reset() {
+        CREATED.clear();
+    }
+
+    private static BeanDefinition register(MyBeanFactory factory, String beanName, Class<?> beanClass) {
+        BeanDefinition definition = new BeanDefinition(beanName, beanClass, MyScope.SINGLETON, false);
+        factory.registerBeanDefinition(definition);
+        factory.registerAlias(beanClass.getName(), definition);
+        return definition;
+    }
+
+    @Test
+    public void failsFastOnCircularDependency() {
+        MyBeanFactory factory = new MyBeanFactory();
+        register(factory, "cycleA", CycleA.class);
+        register(factory, "cycleB", CycleB.class);
+        try {
+            factory.resolveDependencyOrder();
+            fail("expected a circular dependency error");
+        } catch (IllegalStateException e) {
+            String message = e.getMessage();
+            assertTrue(message, message.startsWith("Circular dependency: "));
+            assertTrue(message, message.endsWith("cycleA -> cycleB -> cycleA") || message.endsWith("cycleB -> cycleA -> cycleB"));
+        }
+    }
+
+    @Test
+    public void failsFastOnMissingBean() {
+        MyBeanFactory factory = new MyBeanFactory();
+        register(factory, "orphan", Orphan.class);
+        try {
+            factory.resolveDependencyOrder();
+            fail("expected an unsatisfied dependency error");
+        } catch (IllegalStateException e) {
+            String message = e.getMessage();
+            assertTrue(message, message.startsWith("Unsatisfied dependencies: "));
+            // 注入点和找不到的beanName都要出现在错误中
+            assertTrue(message, message.contains(Orphan.class.getName() + ".missing"));
+            assertTrue(message, message.contains("-> " + Missing.class.getName()));
+        }
+    }
+
+    @Test
+    public void createsDependenciesBeforeDependents() {
+        for (int parallelism : new int[]{1, 4}) {
+            CREATED.clear();
+            MyBeanFactory factory = new MyBeanFactory();
+            // 注册顺序与依赖顺序相反
+            register(factory, "controller", Controller.class);
+            register(factory, "service", Service.class);
+            register(factory, "clock", Clock.class);
+            register(factory, "repository", Repository.class);
+
+            List<List<BeanDefinition>> levels = factory.resolveDependencyOrder();
+            assertEquals(3, levels.size());
+            assertEquals(2, levels.get(0).size());
+            factory.instantiateSingletons(levels, parallelism);
+
+            assertEquals("parallelism " + parallelism, 4, CREATED.size());
+            assertTrue(CREATED.toString(), CREATED.indexOf("service") > CREATED.indexOf("repository"));
+            assertTrue(CREATED.toString(), CREATED.indexOf("service") > CREATED.indexOf("clock"));
+            assertEquals(CREATED.toString(), "controller", CREATED.get(3));
+
+            Controller controller = (Controller) factory.getBean("controller");
+            assertSame(factory.getBean("service"), controller.service);
+            assertSame(factory.getBean("repository"), controller.service.repository);
+            assertEquals(1, factory.getInstantiationCounts().get("service").longValue());
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.my.mvcFramework.v1.handler;
+
+import com.my.mvcFramework.annotation.MyPathVariable;
+import com.my.mvcFramework.annotation.MyRequestParam;
+import org.junit.Test;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @ClassName ParameterBindersTest
+ * @Description 绑定计划：请求参数和路径变量的类型转换、缺省时基本类型的默认值、无法转换的值抛出BadRequestException（输出400），
+ *              以及HttpServletRequest、HttpServletResponse形参的绑定
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class ParameterBindersTest {
+
+    public enum Mode {
+        FAST, SLOW
+    }
+
+    @SuppressWarnings("unused")
+    public static class Target {
+        public void typed(@MyRequestParam("i") int i, @MyRequestParam("l") long l, @MyRequestParam("d") double d,
+                          @MyRequestParam("b") boolean b, @MyRequestParam("mode") Mode mode,
+                          @MyRequestParam("tags") String[] tags, @MyRequestParam("name") String name) {
+        }
+
+        public void boxed(@MyRequestParam("i") Integer i, @MyRequestParam("l") Long l, @MyRequestParam("d") Double d,
+                          @MyRequestParam("b") Boolean b) {
+        }
+
+        public void slots(HttpServletResponse resp, @MyPathVariable("id") long id, HttpServletRequest req, int unannotated) {
+        }
+    }
+
+    private static Method method(String name) {
+        for (Method method : Target.class.getMethods()) {
+            if (method.getName().equals(name)) {
+                return method;
+            }
+        }
+        throw new IllegalArgumentException(name);
+    }
+
+    private static HttpServletRequest request(final Map<String, String[]> parameters) {
+        return (HttpServletRequest) Proxy.newProxyInstance(ParameterBindersTest.class.getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class}, (proxy, method, args) ->
+                        "getParameterValues".equals(method.getName()) ? parameters.get(args[0]) : null);
+    }
+
+    private static Object[] bind(String methodName, Map<String, String[]> parameters, String... pathVariables) {
+        return bind(methodName, request(parameters), null, new String[0], pathVariables);
+    }
+
+    private static Object[] bind(String methodName, HttpServletRequest req, HttpServletResponse resp,
+                                 String[] pathVariableNames, String[] pathVariables) {
+        ParameterBinder[] binders = ParameterBinders.resolve(method(methodName), pathVariableNames);
+        Object[] values = new Object[binders.length];
+        for (int i = 0; i < binders.length; i++) {
+            values[i] = binders[i].bind(req, resp, pathVariables);
+        }
+        return values;
+    }
+
+    @Test
+    public void convertsRequestParameters() {
+        Map<String, String[]> parameters = new HashMap<>();
+        parameters.put("i", new String[]{" 42 "});
+        parameters.put("l", new String[]{"9000000000"});
+        parameters.put("d", new String[]{"2.5"});
+        parameters.put("b", new String[]{"on"});
+        parameters.put("mode", new String[]{"SLOW"});
+        parameters.put("tags", new String[]{"a", "b"});
+        parameters.put("name", new String[]{"x", "y"});
+
+        Object[] values = bind("typed", parameters);
+        assertEquals(42, values[0]);
+        assertEquals(9000000000L, values[1]);
+        assertEquals(2.5, values[2]);
+        assertEquals(Boolean.TRUE, values[3]);
+        assertSame(Mode.SLOW, values[4]);
+        assertArrayEquals(new String[]{"a", "b"}, (String[]) values[5]);
+        // String形参的多个值用,拼接
+        assertEquals("x,y", values[6]);
+    }
+
+    @Test
+    public void defaultsMissingPrimitivesAndLeavesBoxedNull() {
+        Map<String, String[]> parameters = new HashMap<>();
+        parameters.put("i", new String[]{""});
+
+        Object[] values = bind("typed", parameters);
+        assertEquals(0, values[0]);
+        assertEquals(0L, values[1]);
+        assertEquals(0.0, values[2]);
+        assertEquals(Boolean.FALSE, values[3]);
+        assertNull(values[4]);
+        assertNull(values[5]);
+        assertNull(values[6]);
+
+        assertArrayEquals(new Object[]{null, null, null, null}, bind("boxed", parameters));
+    }
+
+    @Test
+    public void rejectsInvalidValuesAsBadRequest() {
+        assertBadRequest("i", "abc");
+        assertBadRequest("l", "1.5");
+        assertBadRequest("d", "NaN?");
+        assertBadRequest("b", "maybe");
+        assertBadRequest("mode", "MEDIUM");
+    }
+
+    private static void assertBadRequest(String name, String value) {
+        Map<String, String[]> parameters = new HashMap<>();
+        parameters.put(name, new String[]{value});
+        try {
+            bind("typed", parameters);
+            fail("expected 400 for " + name + "=" + value);
+        } catch (BadRequestException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("'" + name + "'"));
+        }
+    }
+
+    @Test
+    public void bindsRequestResponseAndPathVariableSlots() {
+        HttpServletRequest req = request(new HashMap<String, String[]>());
+        HttpServletResponse resp = (HttpServletResponse) Proxy.newProxyInstance(ParameterBindersTest.class.getClassLoader(),
+                new Class<?>[]{HttpServletResponse.class}, (proxy, method, args) -> null);
+
+        Object[] values = bind("slots", req, resp, new String[]{"id"}, new String[]{"7"});
+        assertSame(resp, values[0]);
+        assertEquals(7L, values[1]);
+        assertSame(req, values[2]);
+        // 没有注解的基本类型形参绑定为默认值
+        assertEquals(0, values[3]);
+
+        try {
+            bind("slots", req, resp, new String[]{"id"}, new String[]{"seven"});
+            fail("expected 400 for a bad path variable");
+        } catch (BadRequestException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("'id'"));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void failsInitForUnknownPathVariable() {
+        ParameterBinders.resolve(method("slots"), new String[]{"other"});
+    }
+}
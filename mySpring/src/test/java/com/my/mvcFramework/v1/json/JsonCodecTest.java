@@ -0,0 +1,172 @@
+package com.my.mvcFramework.v1.json;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @ClassName JsonCodecTest
+ * @Description JSON编解码的往返、格式错误的输入和嵌套深度限制
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class JsonCodecTest {
+
+    public static class Order {
+        private String id;
+
+        private int count;
+
+        private List<String> tags;
+
+        private Order child;
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+
+        public Order getChild() {
+            return child;
+        }
+
+        public void setChild(Order child) {
+            this.child = child;
+        }
+    }
+
+    private static String write(Object value) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonCodec.DEFAULT.write(out, value);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static Object read(String json, Type type) throws IOException {
+        return JsonCodec.DEFAULT.read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), type);
+    }
+
+    /**
+     * 功能描述: 读取应当失败，断言抛出IllegalArgumentException且消息包含expected
+     * @author ykq
+     * @date 2026/10/18
+     * @param json
+     * @param type
+     * @param expected
+     * @return void
+     */
+    private static void assertMalformed(String json, Type type, String expected) throws IOException {
+        try {
+            read(json, type);
+            fail("accepted " + json);
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(expected));
+        }
+    }
+
+    private static String nested(char open, char close, int depth) {
+        StringBuilder json = new StringBuilder(depth * 2);
+        for (int i = 0; i < depth; i++) {
+            json.append(open);
+        }
+        for (int i = 0; i < depth; i++) {
+            json.append(close);
+        }
+        return json.toString();
+    }
+
+    @Test
+    public void roundTripsBean() throws IOException {
+        Order order = new Order();
+        order.setId("a\"1\n中文");
+        order.setCount(3);
+        order.setTags(Arrays.asList("x", "y"));
+        Order child = new Order();
+        child.setId("c");
+        order.setChild(child);
+
+        Order copy = (Order) read(write(order), Order.class);
+        assertEquals(order.getId(), copy.getId());
+        assertEquals(3, copy.getCount());
+        assertEquals(Arrays.asList("x", "y"), copy.getTags());
+        assertEquals("c", copy.getChild().getId());
+        assertNull(copy.getChild().getChild());
+    }
+
+    @Test
+    public void roundTripsMapsAndLists() throws IOException {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("long", 12345678901L);
+        map.put("double", 2.5);
+        map.put("bool", true);
+        map.put("null", null);
+        List<Object> list = new ArrayList<>();
+        list.add("s");
+        list.add(1L);
+        map.put("list", list);
+
+        String json = write(map);
+        assertEquals("{\"long\":12345678901,\"double\":2.5,\"bool\":true,\"null\":null,\"list\":[\"s\",1]}", json);
+        assertEquals(map, read(json, Map.class));
+        assertEquals(map, read(json, Object.class));
+    }
+
+    @Test
+    public void ignoresUnknownProperties() throws IOException {
+        Order order = (Order) read("{\"unknown\":{\"a\":[1,{\"b\":null}]},\"id\":\"x\"}", Order.class);
+        assertEquals("x", order.getId());
+    }
+
+    @Test
+    public void rejectsMalformedInput() throws IOException {
+        assertMalformed("", Map.class, "empty body");
+        assertMalformed("{\"id\":", Order.class, "");
+        assertMalformed("{\"id\":\"x\"} 1", Order.class, "unexpected content");
+        assertMalformed("{\"count\":\"x\"}", Order.class, "");
+        assertMalformed("[1,2", List.class, "");
+        assertMalformed("tru", Object.class, "");
+    }
+
+    @Test
+    public void limitsNestingDepth() throws IOException {
+        // 上限以内的嵌套照常读取
+        read(nested('[', ']', JsonReader.MAX_DEPTH), Object.class);
+        assertMalformed(nested('[', ']', JsonReader.MAX_DEPTH + 1), Object.class, "nesting too deep");
+        assertMalformed(nested('[', ']', 200000), List.class, "nesting too deep");
+        // 未知属性被跳过时同样受限制
+        assertMalformed("{\"unknown\":" + nested('[', ']', 200000) + "}", Order.class, "nesting too deep");
+    }
+}
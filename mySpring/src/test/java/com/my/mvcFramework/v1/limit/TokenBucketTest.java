@@ -0,0 +1,95 @@
+package com.my.mvcFramework.v1.limit;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @ClassName TokenBucketTest
+ * @Description 令牌桶的突发容量、按速率补充和并发下的放行数。速率取得足够低，用例执行期间补充的令牌不影响断言
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class TokenBucketTest {
+
+    @Test
+    public void allowsBurstThenRejects() {
+        TokenBucket bucket = new TokenBucket(1, 5);
+        assertEquals(5, bucket.getAvailableTokens());
+        for (int i = 0; i < 5; i++) {
+            assertTrue("permit " + i, bucket.tryAcquire());
+        }
+        assertFalse(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+        assertEquals(2, bucket.getRejected());
+        assertEquals(0, bucket.getAvailableTokens());
+        assertTrue(bucket.getWaitNanos() > 0);
+    }
+
+    @Test
+    public void refillsAtConfiguredRate() throws InterruptedException {
+        // 每20ms一个令牌
+        TokenBucket bucket = new TokenBucket(50, 2);
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+
+        Thread.sleep(30);
+        assertTrue(bucket.tryAcquire());
+
+        // 空闲再久也只补满到burst
+        Thread.sleep(200);
+        assertEquals(2, bucket.getAvailableTokens());
+        assertEquals(0, bucket.getWaitNanos());
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+    }
+
+    @Test
+    public void defaultsBurstToOneSecondOfPermits() {
+        assertEquals(20, new TokenBucket(20, 0).getBurst());
+        assertEquals(1, new TokenBucket(0.5, -1).getBurst());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveRate() {
+        new TokenBucket(0, 1);
+    }
+
+    @Test
+    public void concurrentAcquiresNeverExceedBurst() throws InterruptedException {
+        // 10秒一个令牌，并发期间不会补充
+        final TokenBucket bucket = new TokenBucket(0.1, 100);
+        final AtomicInteger granted = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int n = 0; n < 1000; n++) {
+                    if (bucket.tryAcquire()) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(100, granted.get());
+        assertEquals(8 * 1000 - 100, bucket.getRejected());
+    }
+}
@@ -0,0 +1,121 @@
+package com.my.mvcFramework.v1.log;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * @ClassName LogRingBufferTest
+ * @Description 环形缓冲区的认领、发布、按序消费，满时丢弃，以及多个生产者并发时每个事件恰好消费一次
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class LogRingBufferTest {
+
+    private static LogEvent publish(LogRingBuffer ring, String message) {
+        LogEvent event = ring.claim();
+        assertNotNull(event);
+        event.message = message;
+        ring.publish(event);
+        return event;
+    }
+
+    @Test
+    public void roundsCapacityUpToPowerOfTwo() {
+        assertEquals(8, new LogRingBuffer(5).getCapacity());
+        assertEquals(8, new LogRingBuffer(8).getCapacity());
+        assertEquals(2, new LogRingBuffer(0).getCapacity());
+    }
+
+    @Test
+    public void consumesInClaimOrder() {
+        LogRingBuffer ring = new LogRingBuffer(4);
+        LogEvent first = ring.claim();
+        assertEquals(0, LogRingBuffer.positionOf(first));
+        LogEvent second = publish(ring, "second");
+
+        // 先认领的事件还没发布，后面已发布的也不能被取出
+        assertNull(ring.poll());
+        first.message = "first";
+        ring.publish(first);
+
+        LogEvent event = ring.poll();
+        assertSame(first, event);
+        assertEquals("first", event.message);
+        ring.release(event);
+        assertNull(event.message);
+
+        assertSame(second, ring.poll());
+        ring.release(second);
+        assertNull(ring.poll());
+    }
+
+    @Test
+    public void dropsWhenFullAndRecoversAfterRelease() {
+        LogRingBuffer ring = new LogRingBuffer(2);
+        publish(ring, "a");
+        publish(ring, "b");
+        assertNull(ring.claim());
+        assertNull(ring.claim());
+        assertEquals(2, ring.getDropped());
+
+        ring.release(ring.poll());
+        LogEvent next = ring.claim();
+        assertNotNull(next);
+        // 序号全局递增，进入下一圈后继续编号
+        assertEquals(2, LogRingBuffer.positionOf(next));
+        ring.publish(next);
+
+        assertEquals("b", ring.poll().message);
+        ring.release(ring.poll());
+        assertSame(next, ring.poll());
+    }
+
+    @Test
+    public void concurrentProducersPublishEachEventOnce() throws InterruptedException {
+        final LogRingBuffer ring = new LogRingBuffer(64);
+        final int producers = 4;
+        final int perProducer = 20000;
+        final AtomicLong claimed = new AtomicLong();
+        Thread[] threads = new Thread[producers];
+        for (int i = 0; i < producers; i++) {
+            threads[i] = new Thread(() -> {
+                for (int n = 0; n < perProducer; n++) {
+                    LogEvent event = ring.claim();
+                    if (null != event) {
+                        event.message = "m";
+                        ring.publish(event);
+                        claimed.incrementAndGet();
+                    }
+                }
+            });
+            threads[i].start();
+        }
+
+        long consumed = 0;
+        long expectedPosition = 0;
+        boolean producing = true;
+        while (producing || null != ring.poll()) {
+            producing = false;
+            for (Thread thread : threads) {
+                producing |= thread.isAlive();
+            }
+            LogEvent event;
+            while (null != (event = ring.poll())) {
+                assertEquals(expectedPosition + 1, event.sequence);
+                assertEquals("m", event.message);
+                ring.release(event);
+                expectedPosition++;
+                consumed++;
+            }
+        }
+        assertEquals(claimed.get(), consumed);
+        assertEquals((long) producers * perProducer, consumed + ring.getDropped());
+    }
+}
@@ -0,0 +1,57 @@
+package com.my.mvcFramework.v1.metrics;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @ClassName HandlerMetricsTest
+ * @Description 每个Handler的指标占用：没有请求时不分配桶数组，有请求后不超过三个直方图；以及直方图的量程上限
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class HandlerMetricsTest {
+
+    @Test
+    public void allocatesNoBucketsBeforeFirstRequest() {
+        HandlerMetrics metrics = new HandlerMetrics();
+        assertEquals(0, metrics.getBucketBytes());
+        assertArrayEquals(new long[]{0, 0}, metrics.getRouting().percentiles(0.5, 0.99));
+    }
+
+    @Test
+    public void boundsFootprintAfterRequests() {
+        HandlerMetrics metrics = new HandlerMetrics();
+        long histogramBytes = (long) LatencyHistogram.BUCKET_COUNT * Long.BYTES;
+        metrics.recordRouting(300);
+        assertEquals(histogramBytes, metrics.getBucketBytes());
+        metrics.recordBinding(800);
+        assertEquals(2 * histogramBytes, metrics.getBucketBytes());
+
+        metrics.recordInvocation(TimeUnit.MILLISECONDS.toNanos(3));
+        metrics.recordRouting(400);
+        long bytes = metrics.getBucketBytes();
+        assertEquals(3 * histogramBytes, bytes);
+        // 三个直方图合计不超过25KB，且只有收到过请求的路由才占用
+        assertTrue("per-handler bucket bytes " + bytes, bytes <= 25 * 1024);
+        assertEquals(2, metrics.getRequests());
+    }
+
+    @Test
+    public void clampsValuesBeyondRangeToLastBucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        long timeout = TimeUnit.SECONDS.toNanos(30);
+        histogram.record(timeout);
+        long p50 = histogram.percentiles(0.5)[0];
+        // 30秒仍在量程内，相对误差不超过1/32
+        assertTrue("p50 " + p50, p50 <= timeout && p50 >= timeout - timeout / 32);
+
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.indexOf(Long.MAX_VALUE));
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.indexOf(1L << 40));
+    }
+}
@@ -0,0 +1,207 @@
+package com.my.mvcFramework.v1.response;
+
+import org.junit.Test;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @ClassName ResponseWriterTest
+ * @Description 写响应体中途出错后输出500：丢弃已写入的部分响应体和它的响应头，已经取过字节流时不再调用getWriter()；
+ *              gzip输出结束时关闭gzip流，但不关闭servlet输出流
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class ResponseWriterTest {
+
+    /**
+     * 按容器的规则记录状态的response：getWriter()和getOutputStream()互斥，且和部分容器一样reset()后仍记得用过哪一个
+     */
+    private static final class FakeResponse {
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        final Map<String, String> headers = new HashMap<>();
+
+        int status = 200;
+
+        boolean committed;
+
+        boolean streamClosed;
+
+        PrintWriter writer;
+
+        ServletOutputStream stream;
+
+        HttpServletResponse proxy() {
+            return (HttpServletResponse) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{HttpServletResponse.class}, (p, method, args) -> {
+                        switch (method.getName()) {
+                            case "isCommitted":
+                                return committed;
+                            case "reset":
+                                body.reset();
+                                headers.clear();
+                                status = 200;
+                                return null;
+                            case "setStatus":
+                                status = (Integer) args[0];
+                                return null;
+                            case "setHeader":
+                            case "addHeader":
+                                headers.put((String) args[0], (String) args[1]);
+                                return null;
+                            case "containsHeader":
+                                return headers.containsKey(args[0]);
+                            case "getWriter":
+                                if (null != stream) {
+                                    throw new IllegalStateException("getOutputStream() has already been called");
+                                }
+                                if (null == writer) {
+                                    writer = new PrintWriter(new OutputStreamWriter(body, StandardCharsets.ISO_8859_1), true);
+                                }
+                                return writer;
+                            case "getOutputStream":
+                                if (null != writer) {
+                                    throw new IllegalStateException("getWriter() has already been called");
+                                }
+                                if (null == stream) {
+                                    stream = new ServletOutputStream() {
+                                        @Override
+                                        public void write(int b) {
+                                            body.write(b);
+                                        }
+
+                                        @Override
+                                        public void close() {
+                                            streamClosed = true;
+                                        }
+
+                                        @Override
+                                        public boolean isReady() {
+                                            return true;
+                                        }
+
+                                        @Override
+                                        public void setWriteListener(WriteListener writeListener) {
+                                            throw new IllegalStateException();
+                                        }
+                                    };
+                                }
+                                return stream;
+                            default:
+                                return null;
+                        }
+                    });
+        }
+
+        String text() {
+            if (null != writer) {
+                writer.flush();
+            }
+            return new String(body.toByteArray(), StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    @Test
+    public void replacesPartialStreamBody() throws Exception {
+        FakeResponse fake = new FakeResponse();
+        HttpServletResponse resp = fake.proxy();
+        resp.setHeader("Content-Encoding", "gzip");
+        resp.getOutputStream().write("{\"half\":".getBytes(StandardCharsets.ISO_8859_1));
+
+        ResponseWriter.writeError(resp, 42L);
+        assertEquals(500, fake.status);
+        assertNull(fake.headers.get("Content-Encoding"));
+        assertEquals("500 Exception! See the error log, id: 42", fake.text());
+    }
+
+    @Test
+    public void writesThroughWriterWhenNothingWasWritten() throws Exception {
+        FakeResponse fake = new FakeResponse();
+        ResponseWriter.writeError(fake.proxy(), -1L);
+        assertEquals(500, fake.status);
+        assertEquals("500 Exception!", fake.text());
+    }
+
+    @Test
+    public void leavesCommittedResponseAlone() throws Exception {
+        FakeResponse fake = new FakeResponse();
+        HttpServletResponse resp = fake.proxy();
+        resp.getOutputStream().write('x');
+        fake.committed = true;
+
+        ResponseWriter.writeError(resp, 7L);
+        assertEquals(200, fake.status);
+        assertEquals("x", fake.text());
+    }
+
+    private static HttpServletRequest gzipRequest() {
+        return (HttpServletRequest) Proxy.newProxyInstance(ResponseWriterTest.class.getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class},
+                (p, method, args) -> "getHeader".equals(method.getName()) && "Accept-Encoding".equals(args[0]) ? "gzip" : null);
+    }
+
+    @Test
+    public void closesGzipStreamButNotServletStream() throws Exception {
+        FakeResponse fake = new FakeResponse();
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            text.append("line ").append(i).append('\n');
+        }
+        new ResponseWriter(new Properties()).write(gzipRequest(), fake.proxy(),
+                MyResponse.bytes(text.toString().getBytes(StandardCharsets.UTF_8)), true);
+
+        assertEquals("gzip", fake.headers.get("Content-Encoding"));
+        assertFalse(fake.streamClosed);
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(fake.body.toByteArray()))) {
+            byte[] chunk = new byte[1024];
+            for (int n; (n = in.read(chunk)) > 0; ) {
+                plain.write(chunk, 0, n);
+            }
+        }
+        assertEquals(text.toString(), new String(plain.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void bodyOutputClosesDeflaterStream() throws Exception {
+        FakeResponse fake = new FakeResponse();
+        boolean[] closed = new boolean[1];
+        GZIPOutputStream gzip = new GZIPOutputStream(
+                new ResponseWriter.NonClosingOutputStream(fake.proxy().getOutputStream()), 512, true) {
+            @Override
+            public void close() throws IOException {
+                closed[0] = true;
+                super.close();
+            }
+        };
+        BodyOutput out = new BodyOutput(gzip, new BufferPool(512, 1), StandardCharsets.UTF_8);
+        out.write("hello");
+        out.close();
+
+        assertTrue(closed[0]);
+        assertFalse(fake.streamClosed);
+        assertTrue(fake.body.size() > 0);
+    }
+}
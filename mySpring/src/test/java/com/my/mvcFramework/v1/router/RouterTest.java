@@ -0,0 +1,200 @@
+package com.my.mvcFramework.v1.router;
+
+import com.my.mvcFramework.v1.handler.Handler;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @ClassName RouterTest
+ * @Description 路由的匹配优先级、回溯、路径变量解码；每个用例分别在前缀树（frozen=false）和冻结后的CompactTable（frozen=true）上运行，
+ *              两者结果必须一致
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+@RunWith(Parameterized.class)
+public class RouterTest {
+
+    @Parameterized.Parameters(name = "frozen={0}")
+    public static Collection<Object[]> parameters() {
+        return Arrays.asList(new Object[][]{{false}, {true}});
+    }
+
+    private final boolean frozen;
+
+    public RouterTest(boolean frozen) {
+        this.frozen = frozen;
+    }
+
+    public void handle() {
+    }
+
+    private static final String[] PATTERNS = {
+            "/users/me",
+            "/users/{id}",
+            "/users/*",
+            "/users/**",
+            "/users/{id}/orders",
+            "/users/me/profile",
+            "/files/*/raw",
+            "/files/{name}/meta",
+            "/static/**",
+            "/",
+    };
+
+    /**
+     * 功能描述: 注册PATTERNS，frozen为true时冻结成CompactTable
+     * @author ykq
+     * @date 2026/10/18
+     * @param
+     * @return com.my.mvcFramework.v1.router.Router
+     */
+    private Router router() throws NoSuchMethodException {
+        Method method = RouterTest.class.getMethod("handle");
+        Router router = new Router();
+        for (String pattern : PATTERNS) {
+            router.register(new Handler(pattern, this, method, null));
+        }
+        return prepare(router);
+    }
+
+    private Router prepare(Router router) {
+        if (frozen) {
+            router.freeze();
+        }
+        assertEquals(frozen, router.isFrozen());
+        return router;
+    }
+
+    /**
+     * 功能描述: 查找uri，断言匹配到期望的模板和路径变量
+     * @author ykq
+     * @date 2026/10/18
+     * @param uri
+     * @param expected 期望的url模板，没有匹配时为null
+     * @param variables 期望的路径变量
+     * @return void
+     */
+    private void assertRoute(String uri, String expected, String... variables) throws NoSuchMethodException {
+        RouteMatch match = router().lookup(uri, "");
+        if (null == expected) {
+            assertNull(uri, match);
+            return;
+        }
+        assertEquals(uri, expected, match.getHandler().getUrl());
+        String[] actual = null == match.getPathVariables() ? new String[0] : match.getPathVariables();
+        assertArrayEquals(uri + " -> " + Arrays.toString(actual), variables, actual);
+    }
+
+    @Test
+    public void staticBeatsVariableBeatsWildcardBeatsCatchAll() throws Exception {
+        assertRoute("/users/me", "/users/me");
+        assertRoute("/users/42", "/users/{id}", "42");
+        assertRoute("/users/42/x/y", "/users/**");
+        assertRoute("/static/css/site.css", "/static/**");
+    }
+
+    @Test
+    public void backtracksWhenStaticBranchFails() throws Exception {
+        // me匹配静态段，但me下面没有orders，回溯到{id}
+        assertRoute("/users/me/orders", "/users/{id}/orders", "me");
+        assertRoute("/users/me/profile", "/users/me/profile");
+        // {name}下面没有raw，回溯到*
+        assertRoute("/files/a.txt/raw", "/files/*/raw");
+        assertRoute("/files/a.txt/meta", "/files/{name}/meta", "a.txt");
+        // 都走不通时落到**
+        assertRoute("/users/me/unknown", "/users/**");
+        assertRoute("/files/a.txt/unknown", null);
+    }
+
+    @Test
+    public void ignoresRepeatedSlashesAndContextPath() throws Exception {
+        assertRoute("//users///42", "/users/{id}", "42");
+        assertRoute("/", "/");
+        assertEquals("/users/{id}", router().lookup("/app/users/7", "/app").getHandler().getUrl());
+    }
+
+    @Test
+    public void decodesPathVariables() throws Exception {
+        assertRoute("/users/a%20b", "/users/{id}", "a b");
+        assertRoute("/users/%E4%B8%AD%E6%96%87", "/users/{id}", "中文");
+        assertRoute("/users/a+b", "/users/{id}", "a+b");
+    }
+
+    @Test
+    public void capturesVariablesBeforeCatchAll() throws Exception {
+        // 只有**路由带路径变量时，捕获数组也要按它的变量数分配
+        Method method = RouterTest.class.getMethod("handle");
+        Router router = new Router();
+        router.register(new Handler("/files/{bucket}/**", this, method, null));
+        RouteMatch match = prepare(router).lookup("/files/x/y/z", "");
+        assertEquals("/files/{bucket}/**", match.getHandler().getUrl());
+        assertArrayEquals(new String[]{"x"}, match.getPathVariables());
+
+        // 其他路由的变量更少时，捕获数组同样要够长
+        Router deeper = new Router();
+        deeper.register(new Handler("/{a}/{b}/**", this, method, null));
+        deeper.register(new Handler("/{a}", this, method, null));
+        assertArrayEquals(new String[]{"p", "q"}, prepare(deeper).lookup("/p/q/r", "").getPathVariables());
+    }
+
+    @Test
+    public void keepsMalformedEscapes() {
+        assertEquals("100%", Router.decode("100%", 0, 4));
+        assertEquals("%zz1", Router.decode("%zz1", 0, 4));
+        assertEquals("a%2", Router.decode("a%2", 0, 3));
+        assertEquals("/", Router.decode("x%2Fy", 1, 4));
+    }
+
+    @Test
+    public void rejectsDuplicates() throws Exception {
+        Method method = RouterTest.class.getMethod("handle");
+        Router router = new Router();
+        router.register(new Handler("/users/{id}", this, method, null));
+        try {
+            router.register(new Handler("/users/{name}", this, method, null));
+            throw new AssertionError("duplicate variable route accepted");
+        } catch (IllegalStateException expected) {
+            assertTrue(expected.getMessage().startsWith("Duplicate mapping"));
+        }
+    }
+
+    @Test
+    public void rejectsRegistrationOnlyAfterFreeze() throws Exception {
+        Method method = RouterTest.class.getMethod("handle");
+        Router router = router();
+        try {
+            router.register(new Handler("/other", this, method, null));
+            if (frozen) {
+                throw new AssertionError("registered into a frozen router");
+            }
+        } catch (IllegalStateException expected) {
+            assertTrue(frozen);
+            assertTrue(expected.getMessage().startsWith("Router is frozen"));
+        }
+        // 冻结后查找表不变，冻结前注册的路由立即可查
+        RouteMatch match = router.lookup("/other", "");
+        if (frozen) {
+            assertNull(match);
+        } else {
+            assertEquals("/other", match.getHandler().getUrl());
+        }
+    }
+
+    @Test
+    public void copyKeepsSelectedHandlers() throws Exception {
+        Router copy = prepare(router().copy(handler -> !handler.getUrl().startsWith("/users/me")));
+        assertEquals("/users/{id}", copy.lookup("/users/me", null).getHandler().getUrl());
+        assertEquals(PATTERNS.length - 2, copy.getHandlers().size());
+    }
+}
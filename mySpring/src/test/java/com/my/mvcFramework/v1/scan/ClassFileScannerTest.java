@@ -0,0 +1,167 @@
+package com.my.mvcFramework.v1.scan;
+
+import com.my.mvcFramework.annotation.MyController;
+import com.my.mvcFramework.annotation.MyService;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @ClassName ClassFileScannerTest
+ * @Description 只解析字节码判断类上的注解：常量池中的long/double、目标注解前各种取值的其他注解都要正确跳过；
+ *              目录和jar两种来源都能扫描，扫描不会触发类的初始化
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class ClassFileScannerTest {
+    private static final String PACKAGE = ClassFileScannerTest.class.getPackage().getName();
+
+    static final AtomicBoolean INITIALIZED = new AtomicBoolean();
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Tagged {
+        String value();
+
+        int[] numbers();
+
+        ElementType kind();
+
+        Retention nested();
+
+        Class<?> type();
+
+        double ratio();
+    }
+
+    @MyController
+    static class PlainController {
+    }
+
+    @Tagged(value = "x", numbers = {1, 2, 3}, kind = ElementType.TYPE, nested = @Retention(RetentionPolicy.CLASS),
+            type = String.class, ratio = 0.5)
+    @MyService
+    static class AnnotatedService {
+        static final long BIG = 1L << 40;
+
+        static final double HALF = 0.5;
+
+        long counter = BIG;
+
+        double ratio = HALF;
+
+        long next() {
+            return counter++;
+        }
+    }
+
+    @Tagged(value = "y", numbers = {}, kind = ElementType.FIELD, nested = @Retention(RetentionPolicy.SOURCE),
+            type = int.class, ratio = 1)
+    static class OtherAnnotationOnly {
+    }
+
+    static class Unannotated {
+    }
+
+    @MyService
+    static class StaticInitializer {
+        static {
+            INITIALIZED.set(true);
+        }
+    }
+
+    @Test
+    public void readsClassAnnotationsFromBytecode() throws IOException {
+        ClassFileScanner scanner = new ClassFileScanner(MyController.class, MyService.class);
+        assertTrue(scanner.isCandidate(classFile(PlainController.class)));
+        assertTrue(scanner.isCandidate(classFile(AnnotatedService.class)));
+        assertFalse(scanner.isCandidate(classFile(OtherAnnotationOnly.class)));
+        assertFalse(scanner.isCandidate(classFile(Unannotated.class)));
+        assertFalse(scanner.isCandidate(new byte[]{1, 2, 3, 4}));
+    }
+
+    @Test
+    public void onlyMatchesRequestedAnnotations() throws IOException {
+        ClassFileScanner scanner = new ClassFileScanner(MyController.class);
+        assertTrue(scanner.isCandidate(classFile(PlainController.class)));
+        assertFalse(scanner.isCandidate(classFile(AnnotatedService.class)));
+    }
+
+    @Test
+    public void scansDirectoryWithoutInitializingClasses() throws IOException {
+        List<String> classNames = new ClassFileScanner(MyController.class, MyService.class)
+                .scan(getClass().getClassLoader(), PACKAGE);
+        assertEquals(expectedNames(), classNames);
+        assertFalse(INITIALIZED.get());
+    }
+
+    @Test
+    public void scansJar() throws IOException {
+        File jar = File.createTempFile("scan", ".jar");
+        try {
+            try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+                // 和打包插件一样写入目录条目，ClassLoader.getResources按目录查找包
+                String directory = "";
+                for (String segment : PACKAGE.split("\\.")) {
+                    directory += segment + "/";
+                    out.putNextEntry(new JarEntry(directory));
+                    out.closeEntry();
+                }
+                for (Class<?> type : Arrays.asList(PlainController.class, AnnotatedService.class,
+                        OtherAnnotationOnly.class, Unannotated.class, StaticInitializer.class)) {
+                    out.putNextEntry(new JarEntry(type.getName().replace('.', '/') + ".class"));
+                    out.write(classFile(type));
+                    out.closeEntry();
+                }
+            }
+            // 父加载器为null，只能从jar中找到这个包
+            try (URLClassLoader loader = new URLClassLoader(new URL[]{jar.toURI().toURL()}, null)) {
+                List<String> classNames = new ClassFileScanner(MyController.class, MyService.class).scan(loader, PACKAGE);
+                assertEquals(expectedNames(), classNames);
+            }
+        } finally {
+            assertTrue(jar.delete());
+        }
+        assertFalse(INITIALIZED.get());
+    }
+
+    private static List<String> expectedNames() {
+        String prefix = ClassFileScannerTest.class.getName() + "$";
+        return Arrays.asList(prefix + "AnnotatedService", prefix + "PlainController", prefix + "StaticInitializer");
+    }
+
+    private static byte[] classFile(Class<?> type) throws IOException {
+        String resource = "/" + type.getName().replace('.', '/') + ".class";
+        try (InputStream in = ClassFileScannerTest.class.getResourceAsStream(resource)) {
+            return readAll(in);
+        }
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int n;
+        while ((n = in.read(buffer)) > 0) {
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+}
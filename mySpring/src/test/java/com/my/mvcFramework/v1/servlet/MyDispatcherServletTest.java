@@ -0,0 +1,290 @@
+package com.my.mvcFramework.v1.servlet;
+
+import com.my.mvcFramework.annotation.MyController;
+import com.my.mvcFramework.v1.log.MyLogger;
+import com.my.mvcFramework.v1.reload.ClassFileWatcher;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.servlet.ServletConfig;
+import javax.servlet.ServletContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @ClassName MyDispatcherServletTest
+ * @Description 从init到分发的完整流程，Controller在fixture包中：参数无法转换时输出400而不是500，且不计为Handler的错误；
+ *              热加载替换Controller的路由，加载失败时保留原来的路由表
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+public class MyDispatcherServletTest {
+    private static final String CONFIG = "servlet-test.properties";
+
+    private static final String FIXTURE_PACKAGE = "com.my.mvcFramework.v1.servlet.fixture";
+
+    private static final String RELOADED = FIXTURE_PACKAGE + ".ReloadAction";
+
+    private MyDispatcherServlet servlet;
+
+    /** 存放新版本class文件的临时目录 */
+    private Path reloadRoot;
+
+    /**
+     * 记录状态码、sendError和写出内容的response
+     */
+    static final class FakeResponse {
+        final StringWriter body = new StringWriter();
+
+        final PrintWriter writer = new PrintWriter(body);
+
+        int status = 200;
+
+        String errorMessage;
+
+        HttpServletResponse proxy() {
+            return (HttpServletResponse) Proxy.newProxyInstance(MyDispatcherServletTest.class.getClassLoader(),
+                    new Class<?>[]{HttpServletResponse.class}, (p, method, args) -> {
+                        switch (method.getName()) {
+                            case "getWriter":
+                                return writer;
+                            case "setStatus":
+                                status = (Integer) args[0];
+                                return null;
+                            case "getStatus":
+                                return status;
+                            case "sendError":
+                                status = (Integer) args[0];
+                                errorMessage = args.length > 1 ? (String) args[1] : null;
+                                return null;
+                            case "isCommitted":
+                            case "containsHeader":
+                                return false;
+                            default:
+                                return null;
+                        }
+                    });
+        }
+
+        String text() {
+            writer.flush();
+            return body.toString();
+        }
+    }
+
+    static ServletConfig servletConfig(final String location) {
+        final ServletContext context = (ServletContext) Proxy.newProxyInstance(MyDispatcherServletTest.class.getClassLoader(),
+                new Class<?>[]{ServletContext.class}, (proxy, method, args) -> null);
+        return (ServletConfig) Proxy.newProxyInstance(MyDispatcherServletTest.class.getClassLoader(),
+                new Class<?>[]{ServletConfig.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getInitParameter":
+                            return "contextConfigLocation".equals(args[0]) ? location : null;
+                        case "getServletName":
+                            return "mymvc";
+                        case "getServletContext":
+                            return context;
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    /**
+     * 功能描述: 不支持异步的GET请求
+     * @author ykq
+     * @date 2026/10/18
+     * @param uri
+     * @param parameters 参数名、参数值交替
+     * @return javax.servlet.http.HttpServletRequest
+     */
+    static HttpServletRequest get(final String uri, String... parameters) {
+        final Map<String, String[]> values = new HashMap<>();
+        for (int i = 0; i < parameters.length; i += 2) {
+            values.put(parameters[i], new String[]{parameters[i + 1]});
+        }
+        return (HttpServletRequest) Proxy.newProxyInstance(MyDispatcherServletTest.class.getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getMethod":
+                            return "GET";
+                        case "getRequestURI":
+                            return uri;
+                        case "getContextPath":
+                        case "getServletPath":
+                            return "";
+                        case "getProtocol":
+                            return "HTTP/1.1";
+                        case "getParameterValues":
+                            return values.get(args[0]);
+                        case "getParameter":
+                            return null == values.get(args[0]) ? null : values.get(args[0])[0];
+                        case "getDateHeader":
+                            return -1L;
+                        case "isAsyncSupported":
+                        case "isAsyncStarted":
+                            return false;
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        servlet = new MyDispatcherServlet();
+        servlet.init(servletConfig(CONFIG));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        servlet.destroy();
+        if (null != reloadRoot) {
+            try (Stream<Path> paths = Files.walk(reloadRoot)) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    private FakeResponse service(HttpServletRequest req) throws Exception {
+        FakeResponse fake = new FakeResponse();
+        servlet.service(req, fake.proxy());
+        return fake;
+    }
+
+    @Test
+    public void bindsConvertedArguments() throws Exception {
+        FakeResponse resp = service(get("/bind/sum", "a", "2", "b", "40", "mode", "FAST"));
+        assertEquals(200, resp.status);
+        assertEquals("42:FAST", resp.text());
+        assertEquals("item 7", service(get("/bind/item/7")).text());
+    }
+
+    @Test
+    public void answersBadRequestForUnconvertibleValues() throws Exception {
+        FakeResponse number = service(get("/bind/sum", "a", "two"));
+        assertEquals(400, number.status);
+        assertTrue(number.errorMessage, number.errorMessage.contains("'a'"));
+
+        FakeResponse mode = service(get("/bind/sum", "a", "1", "mode", "MEDIUM"));
+        assertEquals(400, mode.status);
+        assertTrue(mode.errorMessage, mode.errorMessage.contains("'mode'"));
+
+        assertEquals(400, service(get("/bind/item/seven")).status);
+        // 客户端的错误不计入Handler的异常数
+        String metrics = servlet.getMetricsRegistry().format();
+        assertTrue(metrics, metrics.contains("myspring_request_errors_total{route=\"/bind/sum\"} 0\n"));
+        assertTrue(metrics, metrics.contains("myspring_request_errors_total{route=\"/bind/item/{id}\"} 0\n"));
+    }
+
+    /**
+     * 功能描述: 在临时目录中编译ReloadAction的新版本，返回class文件的根目录
+     * @author ykq
+     * @date 2026/10/18
+     * @param source ReloadAction的完整源码
+     * @return java.nio.file.Path
+     */
+    private Path compileReloadAction(String source) throws Exception {
+        reloadRoot = Files.createTempDirectory("myspring-reload");
+        Path sourceFile = reloadRoot.resolve("src").resolve("ReloadAction.java");
+        Files.createDirectories(sourceFile.getParent());
+        Files.write(sourceFile, source.getBytes(StandardCharsets.UTF_8));
+        Path classes = Files.createDirectories(reloadRoot.resolve("classes"));
+
+        JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+        assertNotNull("A JDK is required to compile the reloaded controller", javac);
+        String classpath = new File(MyController.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+        int exit = javac.run(null, null, null, "-proc:none", "-nowarn", "-classpath", classpath,
+                "-d", classes.toString(), sourceFile.toString());
+        assertEquals("compilation of the reloaded controller failed", 0, exit);
+        return classes;
+    }
+
+    /**
+     * 功能描述: 用监听classes目录的ClassFileWatcher热加载ReloadAction。直接调用监听回调，不等文件事件
+     * @author ykq
+     * @date 2026/10/18
+     * @param classes 新版本class文件的根目录
+     * @return void
+     */
+    private void reload(Path classes) throws Exception {
+        MyLogger logger = (MyLogger) field("logger").get(servlet);
+        ClassLoader classDirectory = new URLClassLoader(new URL[]{classes.toUri().toURL()}, null);
+        field("classFileWatcher").set(servlet, new ClassFileWatcher(classDirectory, FIXTURE_PACKAGE, 300, changed -> {
+        }, logger));
+        Method reloadClasses = MyDispatcherServlet.class.getDeclaredMethod("reloadClasses", Set.class);
+        reloadClasses.setAccessible(true);
+        reloadClasses.invoke(servlet, Collections.singleton(RELOADED));
+    }
+
+    private static Field field(String name) throws NoSuchFieldException {
+        Field field = MyDispatcherServlet.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return field;
+    }
+
+    @Test
+    public void reloadReplacesControllerRoutes() throws Exception {
+        assertEquals("v1", service(get("/reload/version")).text());
+        Object before = field("handlerMapping").get(servlet);
+
+        reload(compileReloadAction("package " + FIXTURE_PACKAGE + ";\n"
+                + "import com.my.mvcFramework.annotation.MyController;\n"
+                + "import com.my.mvcFramework.annotation.MyRequestMapping;\n"
+                + "@MyController\n"
+                + "@MyRequestMapping(\"/reload\")\n"
+                + "public class ReloadAction {\n"
+                + "    @MyRequestMapping(\"/next\")\n"
+                + "    public String next() { return \"v2\"; }\n"
+                + "}\n"));
+
+        assertNotSame(before, field("handlerMapping").get(servlet));
+        assertEquals("v2", service(get("/reload/next")).text());
+        // 旧版本的路由随旧Controller一起下线，其他Controller的路由不变
+        assertEquals("404 NOT FOUND!", service(get("/reload/version")).text());
+        assertEquals("item 7", service(get("/bind/item/7")).text());
+        assertEquals(1L, servlet.getBeanInstantiations().get("reloadAction").longValue());
+    }
+
+    @Test
+    public void failedReloadKeepsCurrentRouter() throws Exception {
+        Object before = field("handlerMapping").get(servlet);
+        // 写坏的class文件，定义类时抛出ClassFormatError
+        reloadRoot = Files.createTempDirectory("myspring-reload");
+        Path classFile = reloadRoot.resolve(RELOADED.replace('.', File.separatorChar) + ".class");
+        Files.createDirectories(classFile.getParent());
+        Files.write(classFile, new byte[]{(byte) 0xCA, (byte) 0xFE, 0, 1, 2, 3});
+
+        reload(reloadRoot);
+
+        assertSame(before, field("handlerMapping").get(servlet));
+        assertEquals("v1", service(get("/reload/version")).text());
+    }
+}
@@ -0,0 +1,32 @@
+package com.my.mvcFramework.v1.servlet.fixture;
+
+import com.my.mvcFramework.annotation.MyController;
+import com.my.mvcFramework.annotation.MyPathVariable;
+import com.my.mvcFramework.annotation.MyRequestMapping;
+import com.my.mvcFramework.annotation.MyRequestParam;
+
+/**
+ * @ClassName BindingAction
+ * @Description MyDispatcherServletTest使用的Controller：参数需要类型转换的路由
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+@MyController
+@MyRequestMapping("/bind")
+public class BindingAction {
+
+    public enum Mode {
+        FAST, SLOW
+    }
+
+    @MyRequestMapping("/sum")
+    public String sum(@MyRequestParam("a") int a, @MyRequestParam("b") long b, @MyRequestParam("mode") Mode mode) {
+        return (a + b) + ":" + mode;
+    }
+
+    @MyRequestMapping("/item/{id}")
+    public String item(@MyPathVariable("id") long id) {
+        return "item " + id;
+    }
+}
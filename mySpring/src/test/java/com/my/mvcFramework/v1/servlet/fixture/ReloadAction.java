@@ -0,0 +1,21 @@
+package com.my.mvcFramework.v1.servlet.fixture;
+
+import com.my.mvcFramework.annotation.MyController;
+import com.my.mvcFramework.annotation.MyRequestMapping;
+
+/**
+ * @ClassName ReloadAction
+ * @Description MyDispatcherServletTest中被热加载替换的Controller，新版本的源码在测试中编译
+ * @Author ykq
+ * @Date 2026/10/18
+ * @Version v1.0.0
+ */
+@MyController
+@MyRequestMapping("/reload")
+public class ReloadAction {
+
+    @MyRequestMapping("/version")
+    public String version() {
+        return "v1";
+    }
+}